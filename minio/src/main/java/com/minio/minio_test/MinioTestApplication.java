@@ -1,6 +1,24 @@
 package com.minio.minio_test;
 
+import com.minio.minio_test.config.CoalescingProperties;
+import com.minio.minio_test.config.ErrorLogProperties;
+import com.minio.minio_test.config.ImageProperties;
+import com.minio.minio_test.config.IngestProperties;
 import com.minio.minio_test.config.MinioClientProperties;
+import com.minio.minio_test.config.NotificationProperties;
+import com.minio.minio_test.config.ObjectIndexProperties;
+import com.minio.minio_test.config.PackingProperties;
+import com.minio.minio_test.config.QosProperties;
+import com.minio.minio_test.config.ReplicationProperties;
+import com.minio.minio_test.config.ResilienceProperties;
+import com.minio.minio_test.config.SpoolProperties;
+import com.minio.minio_test.config.StatProperties;
+import com.minio.minio_test.config.SyncProperties;
+import com.minio.minio_test.config.TracingProperties;
+import com.minio.minio_test.config.TransferProperties;
+import com.minio.minio_test.config.UploadFormProperties;
+import com.minio.minio_test.config.UsageProperties;
+import com.minio.minio_test.config.WarmupProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -12,7 +30,13 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  * @author zhang
  * @date 2022/11/29
  */
-@EnableConfigurationProperties({MinioClientProperties.class})
+@EnableConfigurationProperties({MinioClientProperties.class, ObjectIndexProperties.class,
+        NotificationProperties.class, UsageProperties.class, ResilienceProperties.class,
+        ReplicationProperties.class, TransferProperties.class, SyncProperties.class,
+        ImageProperties.class, QosProperties.class, CoalescingProperties.class,
+        TracingProperties.class, WarmupProperties.class, ErrorLogProperties.class,
+        IngestProperties.class, StatProperties.class, SpoolProperties.class,
+        PackingProperties.class, UploadFormProperties.class})
 @EnableScheduling
 @SpringBootApplication
 public class MinioTestApplication {
@@ -0,0 +1,202 @@
+package com.minio.minio_test.cluster;
+
+import com.minio.minio_test.config.ClientPoolProperties;
+import io.minio.MinioClient;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balances requests across the configured Minio endpoints.
+ * <p>
+ * Each endpoint has its own {@link MinioClient}. Requests go to the healthy node with the fewest
+ * requests in flight. A node is ejected after consecutive failed health checks or failed requests,
+ * and readmitted after consecutive successful health checks against {@code /minio/health/live}.
+ * If every node is ejected, requests are still spread over all of them rather than failing outright.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/02/26
+ */
+public class MinioClientPool {
+
+    private static final String HEALTH_PATH = "minio/health/live";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MinioClientPool.class);
+
+    private final List<MinioNode> nodes;
+
+    private final ClientPoolProperties poolProperties;
+
+    private final OkHttpClient healthClient;
+
+    private ScheduledExecutorService healthChecker;
+
+    public MinioClientPool(List<MinioNode> nodes, ClientPoolProperties poolProperties) {
+        this.nodes = List.copyOf(nodes);
+        this.poolProperties = poolProperties;
+        long timeout = poolProperties.getHealthCheckTimeout().toMillis();
+        this.healthClient = new OkHttpClient.Builder()
+                .connectTimeout(timeout, TimeUnit.MILLISECONDS)
+                .readTimeout(timeout, TimeUnit.MILLISECONDS)
+                .callTimeout(timeout, TimeUnit.MILLISECONDS)
+                .retryOnConnectionFailure(false)
+                .build();
+    }
+
+    /**
+     * Starts the periodic health checks.
+     */
+    public void start() {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("minio-health-");
+        factory.setDaemon(true);
+        healthChecker = Executors.newScheduledThreadPool(Math.min(nodes.size(), 4), factory);
+        long interval = poolProperties.getHealthCheckInterval().toMillis();
+        for (MinioNode node : nodes) {
+            healthChecker.scheduleWithFixedDelay(() -> check(node), 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void shutdown() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        healthClient.dispatcher().executorService().shutdown();
+        healthClient.connectionPool().evictAll();
+    }
+
+    public List<MinioNode> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Picks a node for a request and counts the request as outstanding until {@link #release}.
+     *
+     * @param excluded Nodes that must not be picked, e.g. because their circuit is open.
+     * @return The node, or null if every node is excluded.
+     */
+    public MinioNode acquire(Collection<MinioNode> excluded) {
+        MinioNode node = select(excluded);
+        if (node != null) {
+            node.outstanding().incrementAndGet();
+        }
+        return node;
+    }
+
+    /**
+     * Ends a request started with {@link #acquire}.
+     *
+     * @param node The node the request went to.
+     */
+    public void release(MinioNode node) {
+        node.outstanding().decrementAndGet();
+    }
+
+    /**
+     * Records the outcome of a request; consecutive failures eject the node.
+     *
+     * @param node   The node the request went to.
+     * @param failed Whether the request failed in a way that indicates an unhealthy node.
+     */
+    public void onResult(MinioNode node, boolean failed) {
+        if (!failed) {
+            node.consecutiveFailures().set(0);
+            return;
+        }
+        int failures = node.consecutiveFailures().incrementAndGet();
+        if (failures >= poolProperties.getFailureThreshold() && node.isHealthy()) {
+            eject(node, failures + " consecutive request failures");
+        }
+    }
+
+    /**
+     * Returns the client of the least loaded healthy node, for long-lived calls such as
+     * listings and notification streams that are not tracked as outstanding requests.
+     *
+     * @return The client.
+     */
+    public MinioClient client() {
+        return node().getClient();
+    }
+
+    /**
+     * Returns the least loaded healthy node without counting a request against it.
+     *
+     * @return The node.
+     */
+    public MinioNode node() {
+        return select(Collections.emptyList());
+    }
+
+    private MinioNode select(Collection<MinioNode> excluded) {
+        MinioNode best = pick(excluded, true);
+        return best != null ? best : pick(excluded, false);
+    }
+
+    private MinioNode pick(Collection<MinioNode> excluded, boolean healthyOnly) {
+        // Start at a random node so that ties are spread evenly
+        int size = nodes.size();
+        int offset = size > 1 ? ThreadLocalRandom.current().nextInt(size) : 0;
+        MinioNode best = null;
+        for (int i = 0; i < size; i++) {
+            MinioNode node = nodes.get((offset + i) % size);
+            if ((healthyOnly && !node.isHealthy()) || excluded.contains(node)) {
+                continue;
+            }
+            if (best == null || node.getOutstanding() < best.getOutstanding()) {
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    private void check(MinioNode node) {
+        String error = probe(node);
+        node.setLastCheckTime(System.currentTimeMillis());
+        if (error == null) {
+            node.checkFailures = 0;
+            node.checkSuccesses++;
+            if (!node.isHealthy() && node.checkSuccesses >= poolProperties.getHealthyThreshold()) {
+                node.consecutiveFailures().set(0);
+                node.setLastError(null);
+                node.setHealthy(true);
+                LOGGER.info("Minio node readmitted: {}", node.getEndpoint());
+            }
+        } else {
+            node.checkSuccesses = 0;
+            node.checkFailures++;
+            node.setLastError(error);
+            if (node.isHealthy() && node.checkFailures >= poolProperties.getUnhealthyThreshold()) {
+                eject(node, error);
+            }
+        }
+    }
+
+    private String probe(MinioNode node) {
+        String endpoint = node.getEndpoint();
+        String url = endpoint.endsWith("/") ? endpoint + HEALTH_PATH : endpoint + "/" + HEALTH_PATH;
+        try (Response response = healthClient.newCall(new Request.Builder().url(url).get().build()).execute()) {
+            return response.isSuccessful() ? null : "Health check returned HTTP " + response.code();
+        } catch (Exception e) {
+            return "Health check failed: " + e.getMessage();
+        }
+    }
+
+    private void eject(MinioNode node, String reason) {
+        node.setHealthy(false);
+        node.checkSuccesses = 0;
+        node.setLastError(reason);
+        LOGGER.warn("Minio node ejected: {}. Reason: {}", node.getEndpoint(), reason);
+    }
+}
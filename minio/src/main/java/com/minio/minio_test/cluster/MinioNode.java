@@ -0,0 +1,108 @@
+package com.minio.minio_test.cluster;
+
+import io.minio.MinioAsyncClient;
+import io.minio.MinioClient;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One Minio endpoint of the client pool and its load and health state.
+ *
+ * @author Zhang
+ * @date 2025/02/26
+ */
+public class MinioNode {
+
+    private final String endpoint;
+
+    private final MinioClient client;
+
+    private final MinioAsyncClient asyncClient;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile boolean healthy = true;
+
+    private volatile long lastCheckTime;
+
+    private volatile String lastError;
+
+    /** Health check streaks, only touched by the health check of this node */
+    volatile int checkFailures;
+
+    volatile int checkSuccesses;
+
+    public MinioNode(String endpoint, MinioClient client, MinioAsyncClient asyncClient) {
+        this.endpoint = endpoint;
+        this.client = client;
+        this.asyncClient = asyncClient;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public MinioClient getClient() {
+        return client;
+    }
+
+    /**
+     * The asynchronous client of this node, which also exposes the low-level multipart API.
+     */
+    public MinioAsyncClient getAsyncClient() {
+        return asyncClient;
+    }
+
+    /**
+     * Requests currently in flight against this node.
+     */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Requests that failed in a row since the last success.
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public long getLastCheckTime() {
+        return lastCheckTime;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    AtomicInteger outstanding() {
+        return outstanding;
+    }
+
+    AtomicInteger consecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    void setLastCheckTime(long lastCheckTime) {
+        this.lastCheckTime = lastCheckTime;
+    }
+
+    void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    @Override
+    public String toString() {
+        return endpoint;
+    }
+}
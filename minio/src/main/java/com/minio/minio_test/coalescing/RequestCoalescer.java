@@ -0,0 +1,168 @@
+package com.minio.minio_test.coalescing;
+
+import com.minio.minio_test.config.CoalescingProperties;
+import com.minio.minio_test.resilience.BackendOperation;
+import io.minio.GetObjectResponse;
+import io.minio.errors.MinioException;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces concurrent identical backend calls, so a burst of requests for the same bucket or
+ * object reaches MinIO once.
+ * <p>
+ * Metadata and listing results are shared as they are. A GET is shared only when the object is
+ * small enough to buffer: the first request reads it into memory and every request joining it
+ * is served a copy of the buffer. Buffers held by in-progress GETs are bounded in total; a larger
+ * object, or one arriving while the budget is used up, is streamed by each request on its own.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/07
+ */
+@Component
+public class RequestCoalescer {
+
+    @Resource
+    private CoalescingProperties coalescingProperties;
+
+    private final Map<BackendOperation, SingleFlight> flights = new EnumMap<>(BackendOperation.class);
+
+    private final AtomicLong bufferedBytes = new AtomicLong();
+
+    private final AtomicLong unbuffered = new AtomicLong();
+
+    public RequestCoalescer() {
+        for (BackendOperation operation : BackendOperation.values()) {
+            flights.put(operation, new SingleFlight());
+        }
+    }
+
+    /**
+     * Runs a read-only call, or joins an identical one in progress. The result is shared between
+     * callers and must not be modified.
+     *
+     * @param operation The kind of call.
+     * @param key       The arguments identifying identical calls.
+     * @param call      The call.
+     * @return The result of the call.
+     */
+    public <T> T execute(BackendOperation operation, String key, SharedCall<T> call)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        if (!coalescingProperties.isEnabled()) {
+            return call.call();
+        }
+        return flights.get(operation).execute(key, call);
+    }
+
+    /**
+     * Gets an object, sharing the fetch with concurrent requests for it if it is small.
+     *
+     * @param bucketName The bucket name.
+     * @param objectName The object name.
+     * @param fetch      The GET call.
+     * @return The object; the caller closes it.
+     */
+    public GetObjectResponse getObject(String bucketName, String objectName, SharedCall<GetObjectResponse> fetch)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        if (!coalescingProperties.isEnabled()) {
+            return fetch.call();
+        }
+        // Set by the lambda, which only runs on the thread leading the flight
+        GetObjectResponse[] own = new GetObjectResponse[1];
+        long[] reserved = new long[1];
+        SharedObject shared;
+        try {
+            shared = flights.get(BackendOperation.GET_OBJECT).execute(bucketName + "/" + objectName, () -> {
+                GetObjectResponse object = fetch.call();
+                long size = contentLength(object);
+                if (size < 0 || size > coalescingProperties.getMaxObjectSize().toBytes() || !reserve(size)) {
+                    // Not shareable; the leader streams it and every joiner fetches its own
+                    unbuffered.incrementAndGet();
+                    own[0] = object;
+                    return null;
+                }
+                reserved[0] = size;
+                try (object) {
+                    return new SharedObject(object, object.readAllBytes());
+                }
+            });
+        } finally {
+            bufferedBytes.addAndGet(-reserved[0]);
+        }
+        if (own[0] != null) {
+            return own[0];
+        }
+        if (shared == null) {
+            return fetch.call();
+        }
+        return new GetObjectResponse(shared.source.headers(), shared.source.bucket(), shared.source.region(),
+                shared.source.object(), new ByteArrayInputStream(shared.data));
+    }
+
+    /**
+     * Returns the coalescing counters of an operation.
+     */
+    public SingleFlight flight(BackendOperation operation) {
+        return flights.get(operation);
+    }
+
+    /**
+     * Bytes currently buffered by shared GETs.
+     */
+    public long bufferedBytes() {
+        return bufferedBytes.get();
+    }
+
+    /**
+     * GETs that could not be shared because the object was too large or the budget was used up.
+     */
+    public long unbuffered() {
+        return unbuffered.get();
+    }
+
+    private boolean reserve(long size) {
+        long limit = coalescingProperties.getMaxBufferedBytes().toBytes();
+        while (true) {
+            long current = bufferedBytes.get();
+            if (current + size > limit) {
+                return false;
+            }
+            if (bufferedBytes.compareAndSet(current, current + size)) {
+                return true;
+            }
+        }
+    }
+
+    private static long contentLength(GetObjectResponse object) {
+        String header = object.headers().get("Content-Length");
+        try {
+            return header != null ? Long.parseLong(header) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * A buffered object shared between requests.
+     */
+    private static final class SharedObject {
+
+        private final GetObjectResponse source;
+
+        private final byte[] data;
+
+        private SharedObject(GetObjectResponse source, byte[] data) {
+            this.source = source;
+            this.data = data;
+        }
+    }
+}
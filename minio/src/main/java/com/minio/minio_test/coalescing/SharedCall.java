@@ -0,0 +1,20 @@
+package com.minio.minio_test.coalescing;
+
+import io.minio.errors.MinioException;
+
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A backend call whose result may be shared by concurrent identical requests.
+ *
+ * @param <T> The result type.
+ * @author Zhang
+ * @date 2025/03/07
+ */
+@FunctionalInterface
+public interface SharedCall<T> {
+
+    T call() throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException;
+}
@@ -0,0 +1,126 @@
+package com.minio.minio_test.coalescing;
+
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.BackendUnavailableException;
+import com.minio.minio_test.resilience.RequestDeadline;
+import io.minio.errors.MinioException;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs at most one call per key at a time.
+ * <p>
+ * The first caller of a key runs the call on its own thread, so it keeps its request deadline;
+ * callers arriving while it runs wait for and receive the same result or exception. Nothing is
+ * cached: once the call completes, the next caller starts a new one.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/07
+ */
+public final class SingleFlight {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    private final AtomicLong calls = new AtomicLong();
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Runs the call for a key, or joins the one in progress.
+     *
+     * @param key  Identifies identical calls.
+     * @param call The call.
+     * @return The result of the call.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, SharedCall<T> call)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> flight = flights.putIfAbsent(key, created);
+        if (flight != null) {
+            coalesced.incrementAndGet();
+            return (T) await(flight);
+        }
+        calls.incrementAndGet();
+        try {
+            T result = call.call();
+            created.complete(result);
+            return result;
+        } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException | RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, created);
+        }
+    }
+
+    /**
+     * Calls that reached the backend.
+     */
+    public long calls() {
+        return calls.get();
+    }
+
+    /**
+     * Calls answered by joining another one.
+     */
+    public long coalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * Calls currently in progress.
+     */
+    public int inFlight() {
+        return flights.size();
+    }
+
+    /**
+     * Waits for a flight, no longer than the deadline of the current request.
+     */
+    private static Object await(CompletableFuture<Object> flight)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        try {
+            Long deadline = RequestDeadline.current();
+            if (deadline == null) {
+                return flight.get();
+            }
+            return flight.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BackendUnavailableException("Interrupted while waiting for a shared backend call.");
+        } catch (TimeoutException e) {
+            throw new BusinessException(HttpStatus.GATEWAY_TIMEOUT.value(), "Deadline exceeded waiting for a shared MinIO call.");
+        } catch (ExecutionException e) {
+            // Rethrow the leader's failure as is, so callers handle it like their own
+            Throwable cause = e.getCause();
+            if (cause instanceof MinioException minioException) {
+                throw minioException;
+            }
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof NoSuchAlgorithmException noSuchAlgorithmException) {
+                throw noSuchAlgorithmException;
+            }
+            if (cause instanceof InvalidKeyException invalidKeyException) {
+                throw invalidKeyException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw (Error) cause;
+        }
+    }
+}
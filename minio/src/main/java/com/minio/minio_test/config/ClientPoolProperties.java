@@ -0,0 +1,52 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Client Pool Configuration Properties.
+ * Controls health checking of the configured Minio endpoints.
+ *
+ * @author Zhang
+ * @date 2025/02/26
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.pool")
+public class ClientPoolProperties {
+
+    /**
+     * Interval between active health checks of each endpoint.
+     */
+    @NotNull(message = "Pool health check interval cannot be null.")
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Timeout of a single health check request.
+     */
+    @NotNull(message = "Pool health check timeout cannot be null.")
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Consecutive failed health checks after which an endpoint is ejected.
+     */
+    @Min(value = 1, message = "Pool unhealthy threshold must be at least 1.")
+    private int unhealthyThreshold = 2;
+
+    /**
+     * Consecutive successful health checks after which an ejected endpoint is readmitted.
+     */
+    @Min(value = 1, message = "Pool healthy threshold must be at least 1.")
+    private int healthyThreshold = 2;
+
+    /**
+     * Consecutive failed requests after which an endpoint is ejected without waiting for a health check.
+     */
+    @Min(value = 1, message = "Pool failure threshold must be at least 1.")
+    private int failureThreshold = 5;
+}
@@ -0,0 +1,37 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Coalescing Configuration Properties.
+ * Controls sharing of concurrent identical backend calls.
+ *
+ * @author Zhang
+ * @date 2025/03/07
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.coalescing")
+public class CoalescingProperties {
+
+    /**
+     * Whether concurrent identical calls share one backend call.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Largest object whose GET is buffered and shared.
+     */
+    @NotNull(message = "Max object size cannot be null.")
+    private DataSize maxObjectSize = DataSize.ofMegabytes(1);
+
+    /**
+     * Total bytes buffered by shared GETs at a time.
+     */
+    @NotNull(message = "Max buffered bytes cannot be null.")
+    private DataSize maxBufferedBytes = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,40 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Error Log Configuration Properties.
+ * Controls how often failures of the same kind are logged.
+ *
+ * @author Zhang
+ * @date 2025/03/13
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.error-log")
+public class ErrorLogProperties {
+
+    /**
+     * Window in which the logging of one kind of failure is limited.
+     */
+    @NotNull(message = "Error log interval cannot be null.")
+    private Duration interval = Duration.ofMinutes(1);
+
+    /**
+     * Failures of one kind logged per window; further ones are counted and summarized.
+     */
+    @Min(value = 1, message = "Max per interval must be at least 1.")
+    private int maxPerInterval = 5;
+
+    /**
+     * Kinds of failure tracked at a time; the tracking is reset when exceeded.
+     */
+    @Min(value = 1, message = "Max kinds must be at least 1.")
+    private int maxKinds = 1000;
+}
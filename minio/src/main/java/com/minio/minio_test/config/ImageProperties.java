@@ -0,0 +1,71 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Image Configuration Properties.
+ * Controls generation and caching of image derivatives.
+ *
+ * @author Zhang
+ * @date 2025/03/05
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.image")
+public class ImageProperties {
+
+    /**
+     * Bucket the generated derivatives are stored in; created on first use.
+     */
+    @NotBlank(message = "Derivative bucket cannot be empty.")
+    private String derivativeBucket = "image-derivatives";
+
+    /**
+     * Threads generating derivatives.
+     */
+    @Min(value = 1, message = "Image worker threads must be at least 1.")
+    private int workerThreads = 4;
+
+    /**
+     * Generations waiting for a worker before further requests are rejected.
+     */
+    @Min(value = 0, message = "Image queue capacity cannot be negative.")
+    private int queueCapacity = 32;
+
+    /**
+     * Largest source object that is transformed.
+     */
+    @NotNull(message = "Max source size cannot be null.")
+    private DataSize maxSourceSize = DataSize.ofMegabytes(32);
+
+    /**
+     * Largest number of source pixels that is decoded.
+     */
+    @Min(value = 1, message = "Max source pixels must be at least 1.")
+    private long maxSourcePixels = 50_000_000L;
+
+    /**
+     * Largest width or height of a derivative.
+     */
+    @Min(value = 1, message = "Max dimension must be at least 1.")
+    private int maxDimension = 4096;
+
+    /**
+     * How long a request waits for a derivative being generated.
+     */
+    @NotNull(message = "Generation timeout cannot be null.")
+    private Duration generationTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Cache-Control header of derivative responses.
+     */
+    private String cacheControl = "public, max-age=86400";
+}
@@ -0,0 +1,87 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ingest Configuration Properties.
+ * Controls fetching remote URLs and storing their content in buckets.
+ *
+ * @author Zhang
+ * @date 2025/03/14
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.ingest")
+public class IngestProperties {
+
+    /**
+     * Number of URLs fetched and stored concurrently, over all requests.
+     */
+    @Min(value = 1, message = "Ingest concurrency must be at least 1.")
+    private int concurrency = 16;
+
+    /**
+     * Ingests waiting for a free slot, over all requests; further items fail at once.
+     */
+    @Min(value = 0, message = "Ingest queue capacity cannot be negative.")
+    private int queueCapacity = 1000;
+
+    /**
+     * Maximum number of URLs in one request.
+     */
+    @Min(value = 1, message = "Ingest batch size must be at least 1.")
+    @Max(value = 10000, message = "Ingest batch size cannot exceed 10000.")
+    private int maxBatchSize = 100;
+
+    /**
+     * Timeout for connecting to a remote host.
+     */
+    @NotNull(message = "Ingest connect timeout cannot be null.")
+    private Duration connectTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Timeout between two reads from a remote host.
+     */
+    @NotNull(message = "Ingest read timeout cannot be null.")
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Upper bound on fetching one URL, including its whole body.
+     */
+    @NotNull(message = "Ingest item timeout cannot be null.")
+    private Duration itemTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Part size of the multipart upload used when the remote does not send a length.
+     * One part per ingest is buffered in memory.
+     */
+    @NotNull(message = "Ingest part size cannot be null.")
+    private DataSize partSize = DataSize.ofMegabytes(16);
+
+    /**
+     * Largest object accepted; larger declared lengths fail the item before anything is stored.
+     */
+    @NotNull(message = "Ingest max object size cannot be null.")
+    private DataSize maxObjectSize = DataSize.ofGigabytes(5);
+
+    /**
+     * Hosts URLs may point to; empty for any host.
+     */
+    private List<String> allowedHosts = new ArrayList<>();
+
+    /**
+     * Hosts that may resolve to loopback, link-local or private addresses, matched like allowed
+     * hosts; URLs of any other host reaching such an address are rejected.
+     */
+    private List<String> internalHosts = new ArrayList<>();
+}
@@ -5,7 +5,10 @@ import org.hibernate.validator.constraints.URL;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Minio Client Configuration Properties.
@@ -20,12 +23,16 @@ import jakarta.validation.constraints.NotBlank;
 public class MinioClientProperties {
 
     /**
-     * Minio server endpoint URL.
+     * Minio server endpoint URL, used when {@code endpoints} is empty.
      */
-    @NotBlank(message = "Minio server endpoint cannot be empty.")
     @URL(message = "Invalid Minio server URL format.")
     private String endpoint;
 
+    /**
+     * Endpoint URLs of the nodes of a distributed Minio deployment; requests are balanced across them.
+     */
+    private List<@URL(message = "Invalid Minio server URL format.") String> endpoints = new ArrayList<>();
+
     /**
      * Minio authentication access key.
      */
@@ -37,4 +44,21 @@ public class MinioClientProperties {
      */
     @NotBlank(message = "Minio authentication secret key cannot be empty.")
     private String secretKey;
+
+    /**
+     * Returns the endpoints to connect to: {@code endpoints} if set, otherwise the single {@code endpoint}.
+     *
+     * @return The endpoint URLs.
+     */
+    public List<String> resolveEndpoints() {
+        if (!endpoints.isEmpty()) {
+            return endpoints;
+        }
+        return endpoint == null || endpoint.isBlank() ? List.of() : List.of(endpoint);
+    }
+
+    @AssertTrue(message = "Minio server endpoint cannot be empty.")
+    public boolean isEndpointConfigured() {
+        return !resolveEndpoints().isEmpty();
+    }
 }
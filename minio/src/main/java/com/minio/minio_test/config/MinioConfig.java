@@ -1,40 +1,113 @@
 package com.minio.minio_test.config;
 
+import com.minio.minio_test.cluster.MinioClientPool;
+import com.minio.minio_test.cluster.MinioNode;
+import com.minio.minio_test.resilience.BackendCallScope;
+import com.minio.minio_test.tracing.BackendTracingInterceptor;
+import com.minio.minio_test.tracing.Tracer;
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
+import io.minio.http.HttpUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Minio Configuration Class
- * Responsible for initializing the MinioClient and providing it as a Spring Bean.
+ * Responsible for initializing one MinioClient per configured endpoint and providing them as a Spring Bean.
  *
  * @author zhang
  * @date 2023/01/31
  */
 @Slf4j
 @Configuration
-@EnableConfigurationProperties(MinioClientProperties.class)
+@EnableConfigurationProperties({MinioClientProperties.class, ClientPoolProperties.class})
 @RequiredArgsConstructor
 public class MinioConfig {
 
     private final MinioClientProperties minioClientProperties;
 
+    private final ClientPoolProperties clientPoolProperties;
+
+    private final WarmupProperties warmupProperties;
+
+    private final ResilienceProperties resilienceProperties;
+
+    private final StatProperties statProperties;
+
+    private final Tracer tracer;
+
     /**
-     * Initializes the MinioClient with the configured endpoint, access key, and secret key.
+     * The HTTP client shared by the MinIO clients of all endpoints: the SDK's default settings,
+     * a span per request, calls that abandoned backend attempts can cancel, and room for the
+     * connections the warm-up opens per endpoint.
+     * <p>
+     * The MinIO clients send even blocking calls through the OkHttp dispatcher, whose default of
+     * 5 calls per host would queue the calls of the backend and stat threads behind each other.
+     * Every thread that can call MinIO may therefore have a call in flight to the same host.
+     * </p>
      *
-     * @return MinioClient instance
+     * @return OkHttpClient instance
      */
     @Bean
-    public MinioClient minioClient() {
+    public OkHttpClient minioHttpClient() {
+        long timeout = TimeUnit.MINUTES.toMillis(5);
+        int endpoints = minioClientProperties.resolveEndpoints().size();
+        int connections = warmupProperties.getConnectionsPerEndpoint();
+        OkHttpClient defaults = HttpUtils.newDefaultHttpClient(timeout, timeout, timeout);
+
+        int callsPerHost = Math.max(defaults.dispatcher().getMaxRequestsPerHost(), connections);
+        callsPerHost = Math.max(callsPerHost, resilienceProperties.getBackendThreads());
+        callsPerHost = Math.max(callsPerHost, statProperties.getThreads());
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Math.max(defaults.dispatcher().getMaxRequests(), endpoints * callsPerHost));
+        dispatcher.setMaxRequestsPerHost(callsPerHost);
+        BackendTracingInterceptor tracingInterceptor = new BackendTracingInterceptor(tracer);
+        return defaults.newBuilder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(Math.max(5, endpoints * connections), 5, TimeUnit.MINUTES))
+                .addInterceptor(tracingInterceptor)
+                .eventListenerFactory(call -> {
+                    BackendCallScope.register(call);
+                    return tracingInterceptor.create(call);
+                })
+                .build();
+    }
+
+    /**
+     * Initializes a MinioClient for each configured endpoint with the configured access key and secret key,
+     * and balances requests across them.
+     *
+     * @param httpClient The shared HTTP client.
+     * @return MinioClientPool instance
+     */
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    public MinioClientPool minioClientPool(OkHttpClient httpClient) {
+        List<MinioNode> nodes = new ArrayList<>();
+        for (String endpoint : minioClientProperties.resolveEndpoints()) {
+            nodes.add(new MinioNode(endpoint, minioClient(endpoint, httpClient), minioAsyncClient(endpoint, httpClient)));
+        }
+        log.info("MinioClient pool initialized with {} endpoint(s).", nodes.size());
+        return new MinioClientPool(nodes, clientPoolProperties);
+    }
+
+    private MinioClient minioClient(String endpoint, OkHttpClient httpClient) {
         try {
-            log.info("Initializing MinioClient, connecting to Minio server at: {}", minioClientProperties.getEndpoint());
+            log.info("Initializing MinioClient, connecting to Minio server at: {}", endpoint);
 
             MinioClient minioClient = MinioClient.builder()
-                    .endpoint(minioClientProperties.getEndpoint())
+                    .endpoint(endpoint)
                     .credentials(minioClientProperties.getAccessKey(), minioClientProperties.getSecretKey())
+                    .httpClient(httpClient)
                     .build();
 
             log.info("MinioClient successfully initialized.");
@@ -44,4 +117,12 @@ public class MinioConfig {
             throw new RuntimeException("MinioClient initialization failed. Ensure the Minio endpoint, access key, and secret key are correctly configured.", e);
         }
     }
+
+    private MinioAsyncClient minioAsyncClient(String endpoint, OkHttpClient httpClient) {
+        return MinioAsyncClient.builder()
+                .endpoint(endpoint)
+                .credentials(minioClientProperties.getAccessKey(), minioClientProperties.getSecretKey())
+                .httpClient(httpClient)
+                .build();
+    }
 }
@@ -0,0 +1,64 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Bucket Notification Configuration Properties.
+ * Controls the shared notification subscriptions and the server-sent event stream built on them.
+ *
+ * @author Zhang
+ * @date 2025/02/14
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.notification")
+public class NotificationProperties {
+
+    /**
+     * Delay before re-subscribing to bucket notifications after the stream drops.
+     */
+    @NotNull(message = "Notification reconnect delay cannot be null.")
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    /**
+     * Number of events buffered per event stream client before events are dropped.
+     */
+    @Min(value = 1, message = "Event client buffer size must be at least 1.")
+    private int clientBufferSize = 256;
+
+    /**
+     * Maximum number of concurrently connected event stream clients.
+     */
+    @Min(value = 1, message = "Max event clients must be at least 1.")
+    private int maxClients = 1000;
+
+    /**
+     * Number of threads writing events to clients.
+     */
+    @Min(value = 1, message = "Event sender threads must be at least 1.")
+    private int senderThreads = 4;
+
+    /**
+     * Longest a write to one client may block before the client is dropped, freeing its sender thread.
+     */
+    @NotNull(message = "Event send timeout cannot be null.")
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Lifetime of an event stream connection; clients are expected to reconnect after it. Zero means no timeout.
+     */
+    @NotNull(message = "Event stream timeout cannot be null.")
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Interval between keep-alive comments sent to idle clients.
+     */
+    @NotNull(message = "Event heartbeat interval cannot be null.")
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+}
@@ -0,0 +1,54 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Object Metadata Index Configuration Properties.
+ * Controls the local per-bucket index used for fast listing and search.
+ *
+ * @author Zhang
+ * @date 2025/02/10
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.index")
+public class ObjectIndexProperties {
+
+    /**
+     * Whether the local object index is enabled. When disabled every query is answered by a live listing.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Buckets to index eagerly once the application is ready. Other buckets are indexed on first query.
+     */
+    private List<String> buckets = new ArrayList<>();
+
+    /**
+     * Number of prefixes crawled concurrently while (re)building a bucket index.
+     */
+    @Min(value = 1, message = "Index crawl parallelism must be at least 1.")
+    @Max(value = 64, message = "Index crawl parallelism cannot exceed 64.")
+    private int crawlParallelism = 8;
+
+    /**
+     * Maximum age of a full crawl before the index is considered stale and rebuilt in the background.
+     */
+    @NotNull(message = "Index max age cannot be null.")
+    private Duration maxAge = Duration.ofHours(1);
+
+    /**
+     * Upper bound on the number of entries returned by a single index query.
+     */
+    @Min(value = 1, message = "Index max results must be at least 1.")
+    private int maxResults = 10000;
+}
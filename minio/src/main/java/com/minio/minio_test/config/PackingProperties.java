@@ -0,0 +1,99 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Packing Configuration Properties.
+ * Controls storing small uploads inside larger pack objects.
+ *
+ * @author Zhang
+ * @date 2025/03/20
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.packing")
+public class PackingProperties {
+
+    /**
+     * Whether small uploads are packed.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Largest upload that is packed; larger ones are stored as objects of their own.
+     */
+    @NotNull(message = "Packing max object size cannot be null.")
+    private DataSize maxObjectSize = DataSize.ofKilobytes(4);
+
+    /**
+     * Bucket the packs are stored in; created on first use.
+     */
+    @NotBlank(message = "Pack bucket cannot be empty.")
+    private String bucket = "packs";
+
+    /**
+     * Size at which a pack is written without waiting for further uploads.
+     */
+    @NotNull(message = "Pack size cannot be null.")
+    private DataSize packSize = DataSize.ofMegabytes(8);
+
+    /**
+     * Time an upload waits for others to share its pack; bounds the added upload latency.
+     */
+    @NotNull(message = "Packing linger cannot be null.")
+    private Duration linger = Duration.ofMillis(20);
+
+    /**
+     * Threads writing packs.
+     */
+    @Min(value = 1, message = "Packing writer threads must be at least 1.")
+    private int writerThreads = 4;
+
+    /**
+     * Directory of the pack index journal.
+     */
+    @NotBlank(message = "Pack index directory cannot be empty.")
+    private String indexDir = "packing";
+
+    /**
+     * Number of index journal records after which the journal may be rewritten with only the current index.
+     */
+    @Min(value = 100, message = "Pack index compact threshold must be at least 100.")
+    private int indexCompactThreshold = 100000;
+
+    /**
+     * Interval between compaction runs.
+     */
+    @NotNull(message = "Packing compaction interval cannot be null.")
+    private Duration compactionInterval = Duration.ofMinutes(1);
+
+    /**
+     * Packs with a smaller share of live bytes are rewritten by compaction.
+     */
+    @DecimalMin(value = "0.0", message = "Packing live ratio must be between 0 and 1.")
+    @DecimalMax(value = "1.0", message = "Packing live ratio must be between 0 and 1.")
+    private double minLiveRatio = 0.5;
+
+    /**
+     * Packs smaller than this, typically written after the linger expired, are merged by compaction.
+     */
+    @NotNull(message = "Packing min pack size cannot be null.")
+    private DataSize minPackSize = DataSize.ofMegabytes(1);
+
+    /**
+     * Time a pack without live objects is kept before it is deleted, so reads that looked up
+     * its location just before can still complete.
+     */
+    @NotNull(message = "Packing delete grace cannot be null.")
+    private Duration deleteGrace = Duration.ofMinutes(1);
+}
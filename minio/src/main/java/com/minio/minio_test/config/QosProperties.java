@@ -0,0 +1,115 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * QoS Configuration Properties.
+ * Controls bandwidth limits and fair sharing of downloads. Rates are per second; a rate of 0
+ * means unlimited.
+ *
+ * @author Zhang
+ * @date 2025/03/06
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.qos")
+public class QosProperties {
+
+    /**
+     * Whether downloads are shaped. Off by default, as the rates below have to fit the link and
+     * the clients of the deployment.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Request header identifying the client; the remote address is used without it.
+     */
+    @NotBlank(message = "Client header cannot be empty.")
+    private String clientHeader = "X-Api-Key";
+
+    /**
+     * Transfers of a known size below this use the small lane.
+     */
+    @NotNull(message = "Small transfer threshold cannot be null.")
+    private DataSize smallTransferThreshold = DataSize.ofMegabytes(1);
+
+    /**
+     * Bandwidth shared by all small transfers.
+     */
+    @NotNull(message = "Small lane rate cannot be null.")
+    private DataSize smallLaneRate = DataSize.ofBytes(0);
+
+    /**
+     * Bandwidth shared by all large transfers; keep it below the link speed to leave room for
+     * small transfers.
+     */
+    @NotNull(message = "Large lane rate cannot be null.")
+    private DataSize largeLaneRate = DataSize.ofMegabytes(80);
+
+    /**
+     * Default bandwidth of one client.
+     */
+    @NotNull(message = "Client rate cannot be null.")
+    private DataSize clientRate = DataSize.ofMegabytes(32);
+
+    /**
+     * Default bandwidth of one bucket.
+     */
+    @NotNull(message = "Bucket rate cannot be null.")
+    private DataSize bucketRate = DataSize.ofBytes(0);
+
+    /**
+     * Largest burst allowed by a limit.
+     */
+    @NotNull(message = "Burst cannot be null.")
+    private DataSize burst = DataSize.ofMegabytes(1);
+
+    /**
+     * Bytes written per bandwidth grant.
+     */
+    @NotNull(message = "Chunk size cannot be null.")
+    private DataSize chunkSize = DataSize.ofKilobytes(64);
+
+    /**
+     * Per-client overrides by client identifier.
+     */
+    @Valid
+    private Map<String, Client> clients = new HashMap<>();
+
+    /**
+     * Per-bucket rate overrides by bucket name.
+     */
+    private Map<String, DataSize> buckets = new HashMap<>();
+
+    /**
+     * How long the state of an idle client or bucket is kept.
+     */
+    @NotNull(message = "Idle timeout cannot be null.")
+    private Duration idleTimeout = Duration.ofMinutes(5);
+
+    @Data
+    public static class Client {
+
+        /**
+         * Bandwidth of the client; the default client rate if not set.
+         */
+        private DataSize rate;
+
+        /**
+         * Share of the lane bandwidth relative to other transfers.
+         */
+        @Min(value = 1, message = "Client weight must be at least 1.")
+        private int weight = 1;
+    }
+}
@@ -0,0 +1,95 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Replication Configuration Properties.
+ * Controls asynchronous replication of writes to a secondary Minio deployment.
+ *
+ * @author Zhang
+ * @date 2025/02/27
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.replication")
+public class ReplicationProperties {
+
+    /**
+     * Whether successful writes are queued for replication.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Endpoint URL of the secondary Minio deployment.
+     */
+    private String endpoint;
+
+    /**
+     * Access key of the secondary deployment.
+     */
+    private String accessKey;
+
+    /**
+     * Secret key of the secondary deployment.
+     */
+    private String secretKey;
+
+    /**
+     * Directory of the replication journal that keeps queued writes across restarts.
+     */
+    @NotBlank(message = "Replication journal directory cannot be empty.")
+    private String journalDir = "replication";
+
+    /**
+     * Maximum number of queued writes replicated per batch.
+     */
+    @Min(value = 1, message = "Replication batch size must be at least 1.")
+    private int batchSize = 100;
+
+    /**
+     * Number of objects copied concurrently.
+     */
+    @Min(value = 1, message = "Replication parallelism must be at least 1.")
+    private int parallelism = 4;
+
+    /**
+     * Delay before the first retry of a failed write; doubled on every further failure.
+     */
+    @NotNull(message = "Replication initial backoff cannot be null.")
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Upper bound of the retry delay.
+     */
+    @NotNull(message = "Replication max backoff cannot be null.")
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    /**
+     * Interval at which the journal is flushed to disk.
+     */
+    @NotNull(message = "Replication sync interval cannot be null.")
+    private Duration syncInterval = Duration.ofSeconds(1);
+
+    /**
+     * Number of journal records after which the journal is rewritten with only the pending writes.
+     */
+    @Min(value = 100, message = "Replication compact threshold must be at least 100.")
+    private int compactThreshold = 10000;
+
+    @AssertTrue(message = "Replication endpoint, access key and secret key are required when replication is enabled.")
+    public boolean isSecondaryConfigured() {
+        return !enabled || (isSet(endpoint) && isSet(accessKey) && isSet(secretKey));
+    }
+
+    private static boolean isSet(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,191 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Resilience Configuration Properties.
+ * Controls retries, hedged reads, circuit breaking and deadlines around MinIO calls.
+ *
+ * @author Zhang
+ * @date 2025/02/25
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.resilience")
+public class ResilienceProperties {
+
+    /**
+     * Whether backend calls go through the resilience layer at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Threads executing backend calls on behalf of request threads.
+     */
+    @Min(value = 1, message = "Backend threads must be at least 1.")
+    private int backendThreads = 64;
+
+    /**
+     * Backend calls queued when all backend threads are busy; further calls are rejected.
+     */
+    @Min(value = 0, message = "Backend queue capacity cannot be negative.")
+    private int backendQueueCapacity = 512;
+
+    @Valid
+    private Retry retry = new Retry();
+
+    @Valid
+    private Hedge hedge = new Hedge();
+
+    @Valid
+    private Breaker breaker = new Breaker();
+
+    @Valid
+    private Deadline deadline = new Deadline();
+
+    /**
+     * Retry settings for idempotent operations.
+     */
+    @Data
+    public static class Retry {
+
+        /**
+         * Total attempts per call, including the first one.
+         */
+        @Min(value = 1, message = "Retry max attempts must be at least 1.")
+        private int maxAttempts = 3;
+
+        /**
+         * Base delay of the exponential backoff.
+         */
+        @NotNull(message = "Retry initial backoff cannot be null.")
+        private Duration initialBackoff = Duration.ofMillis(50);
+
+        /**
+         * Upper bound of a single backoff delay.
+         */
+        @NotNull(message = "Retry max backoff cannot be null.")
+        private Duration maxBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Retry tokens earned per call; retries and hedges spend one token each.
+         */
+        @DecimalMin(value = "0.0", message = "Retry budget ratio cannot be negative.")
+        @DecimalMax(value = "1.0", message = "Retry budget ratio cannot exceed 1.")
+        private double budgetRatio = 0.1;
+
+        /**
+         * Maximum number of retry tokens that can be saved up.
+         */
+        @Min(value = 1, message = "Retry budget max tokens must be at least 1.")
+        private int budgetMaxTokens = 100;
+    }
+
+    /**
+     * Hedged read settings.
+     */
+    @Data
+    public static class Hedge {
+
+        /**
+         * Whether object reads are hedged.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Latency percentile after which the hedged request is sent.
+         */
+        @DecimalMin(value = "0.5", message = "Hedge percentile must be at least 0.5.")
+        @DecimalMax(value = "0.999", message = "Hedge percentile cannot exceed 0.999.")
+        private double percentile = 0.95;
+
+        /**
+         * Lower bound of the hedge delay, also used until enough latencies are recorded.
+         */
+        @NotNull(message = "Hedge min delay cannot be null.")
+        private Duration minDelay = Duration.ofMillis(20);
+    }
+
+    /**
+     * Circuit breaker settings, applied per endpoint and operation.
+     */
+    @Data
+    public static class Breaker {
+
+        /**
+         * Number of most recent calls the failure and slow-call rates are computed over.
+         */
+        @Min(value = 1, message = "Breaker window size must be at least 1.")
+        private int windowSize = 50;
+
+        /**
+         * Calls required in the window before the breaker may open.
+         */
+        @Min(value = 1, message = "Breaker minimum calls must be at least 1.")
+        private int minimumCalls = 20;
+
+        /**
+         * Failure percentage at which the breaker opens.
+         */
+        @Min(value = 1, message = "Breaker failure rate threshold must be at least 1.")
+        private int failureRateThreshold = 50;
+
+        /**
+         * Slow-call percentage at which the breaker opens.
+         */
+        @Min(value = 1, message = "Breaker slow call rate threshold must be at least 1.")
+        private int slowCallRateThreshold = 80;
+
+        /**
+         * Duration above which a call counts as slow.
+         */
+        @NotNull(message = "Breaker slow call duration cannot be null.")
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+
+        /**
+         * How long the breaker stays open before letting probes through.
+         */
+        @NotNull(message = "Breaker open duration cannot be null.")
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * Probe calls allowed while half-open; all must succeed to close the breaker.
+         */
+        @Min(value = 1, message = "Breaker half-open probes must be at least 1.")
+        private int halfOpenProbes = 3;
+    }
+
+    /**
+     * Request deadline settings.
+     */
+    @Data
+    public static class Deadline {
+
+        /**
+         * Request header carrying the client's remaining time budget in milliseconds.
+         */
+        @NotNull(message = "Deadline header cannot be null.")
+        private String header = "X-Request-Timeout";
+
+        /**
+         * Budget of requests that do not send the header, and of calls made outside a request.
+         */
+        @NotNull(message = "Deadline default timeout cannot be null.")
+        private Duration defaultTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Upper bound on a budget requested through the header.
+         */
+        @NotNull(message = "Deadline max timeout cannot be null.")
+        private Duration maxTimeout = Duration.ofMinutes(5);
+    }
+}
@@ -0,0 +1,77 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Upload Spool Configuration Properties.
+ * Controls write-behind uploads, accepted into a local spool and flushed to Minio in the background.
+ *
+ * @author Zhang
+ * @date 2025/03/19
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.spool")
+public class SpoolProperties {
+
+    /**
+     * Whether write-behind uploads are accepted.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory of the spooled files and their journal.
+     */
+    @NotBlank(message = "Spool directory cannot be empty.")
+    private String directory = "spool";
+
+    /**
+     * Total size of spooled files not yet flushed; uploads beyond it are rejected with 429.
+     */
+    @NotNull(message = "Spool max size cannot be null.")
+    private DataSize maxSize = DataSize.ofGigabytes(1);
+
+    /**
+     * Maximum number of spooled uploads flushed per batch.
+     */
+    @Min(value = 1, message = "Spool batch size must be at least 1.")
+    private int batchSize = 32;
+
+    /**
+     * Number of spooled uploads flushed concurrently.
+     */
+    @Min(value = 1, message = "Spool parallelism must be at least 1.")
+    private int parallelism = 4;
+
+    /**
+     * Delay before the first retry of a failed flush; doubled on every further failure.
+     */
+    @NotNull(message = "Spool initial backoff cannot be null.")
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Upper bound of the retry delay.
+     */
+    @NotNull(message = "Spool max backoff cannot be null.")
+    private Duration maxBackoff = Duration.ofMinutes(1);
+
+    /**
+     * Number of journal records after which the journal is rewritten with only the pending uploads.
+     */
+    @Min(value = 100, message = "Spool compact threshold must be at least 100.")
+    private int compactThreshold = 10000;
+
+    /**
+     * Number of finished uploads whose outcome can still be looked up by handle.
+     */
+    @Min(value = 0, message = "Spool history size cannot be negative.")
+    private int historySize = 10000;
+}
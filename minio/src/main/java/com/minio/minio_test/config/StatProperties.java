@@ -0,0 +1,39 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Batch Stat Configuration Properties.
+ * Controls the fan-out of metadata lookups for many objects.
+ *
+ * @author Zhang
+ * @date 2025/03/17
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.stat")
+public class StatProperties {
+
+    /**
+     * Threads running lookups, shared by all requests.
+     */
+    @Min(value = 1, message = "Stat threads must be at least 1.")
+    private int threads = 64;
+
+    /**
+     * Lookups of one request in flight at a time, so a large batch does not hold back others.
+     */
+    @Min(value = 1, message = "Stat request concurrency must be at least 1.")
+    private int requestConcurrency = 32;
+
+    /**
+     * Maximum number of keys in one request.
+     */
+    @Min(value = 1, message = "Stat max keys must be at least 1.")
+    @Max(value = 100000, message = "Stat max keys cannot exceed 100000.")
+    private int maxKeys = 10000;
+}
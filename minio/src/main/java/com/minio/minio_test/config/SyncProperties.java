@@ -0,0 +1,53 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Sync Configuration Properties.
+ * Controls incremental synchronization between local directories and buckets.
+ *
+ * @author Zhang
+ * @date 2025/03/03
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.sync")
+public class SyncProperties {
+
+    /**
+     * Directory that synced and mirrored directories must lie in; requested directories are
+     * resolved against it, and paths outside it are rejected.
+     */
+    @NotBlank(message = "Sync base directory cannot be empty.")
+    private String baseDirectory = "sync";
+
+    /**
+     * Number of threads walking the local directory tree.
+     */
+    @Min(value = 1, message = "Sync walk parallelism must be at least 1.")
+    private int walkParallelism = 4;
+
+    /**
+     * Number of files uploaded concurrently.
+     */
+    @Min(value = 1, message = "Sync upload parallelism must be at least 1.")
+    private int uploadParallelism = 8;
+
+    /**
+     * Number of objects downloaded concurrently by a mirror.
+     */
+    @Min(value = 1, message = "Sync download parallelism must be at least 1.")
+    private int downloadParallelism = 8;
+
+    /**
+     * Number of orphaned objects removed per batch request.
+     */
+    @Min(value = 1, message = "Sync delete batch size must be at least 1.")
+    @Max(value = 1000, message = "Sync delete batch size cannot exceed 1000.")
+    private int deleteBatchSize = 1000;
+}
@@ -0,0 +1,91 @@
+package com.minio.minio_test.config;
+
+import com.minio.minio_test.tracing.InMemorySpanExporter;
+import com.minio.minio_test.tracing.LoggingSpanExporter;
+import com.minio.minio_test.tracing.ServiceTracingInterceptor;
+import com.minio.minio_test.tracing.SpanExporter;
+import com.minio.minio_test.tracing.Tracer;
+import com.minio.minio_test.tracing.TracingFilter;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracing Configuration Class
+ * Creates the tracer and hooks it into incoming requests and service calls.
+ *
+ * @author zhang
+ * @date 2025/03/10
+ */
+@Configuration
+public class TracingConfig {
+
+    private static final String SERVICE_PACKAGE = "com.minio.minio_test.service";
+
+    private static final String SERVICE_IMPL_PACKAGE = SERVICE_PACKAGE + ".serviceImpl";
+
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter(TracingProperties tracingProperties) {
+        return new InMemorySpanExporter(tracingProperties.getMemoryCapacity());
+    }
+
+    @Bean
+    public Tracer tracer(TracingProperties tracingProperties, InMemorySpanExporter inMemorySpanExporter) {
+        List<SpanExporter> exporters = new ArrayList<>();
+        for (TracingProperties.Exporter exporter : tracingProperties.getExporters()) {
+            exporters.add(exporter == TracingProperties.Exporter.MEMORY ? inMemorySpanExporter : new LoggingSpanExporter());
+        }
+        return new Tracer(tracingProperties.isEnabled(), tracingProperties.getSampleRatio(), exporters);
+    }
+
+    /**
+     * Registers the tracing filter right after the character encoding filter, so the server span
+     * covers everything else, including multipart parsing.
+     */
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Traces the public methods of the service implementations declared by their service interfaces.
+     * Applied by the infrastructure auto-proxy creator, as transactions and caching are.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceTracingAdvisor(ObjectProvider<Tracer> tracer) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                if (!SERVICE_IMPL_PACKAGE.equals(targetClass.getPackageName()) || !Modifier.isPublic(method.getModifiers())) {
+                    return false;
+                }
+                for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+                    if (SERVICE_PACKAGE.equals(type.getPackageName())
+                            && ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes())) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new ServiceTracingInterceptor(tracer));
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,59 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracing Configuration Properties.
+ * Controls the spans recorded for requests, service calls and MinIO requests.
+ *
+ * @author Zhang
+ * @date 2025/03/10
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.tracing")
+public class TracingProperties {
+
+    /**
+     * Where sampled spans are sent.
+     */
+    public enum Exporter {
+        /** One DEBUG log line per span */
+        LOGGING,
+        /** A bounded in-memory buffer, readable through the tracing endpoint */
+        MEMORY
+    }
+
+    /**
+     * Whether spans are recorded.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Share of new traces that are sampled; traces continued from a caller follow its decision.
+     */
+    @DecimalMin(value = "0.0", message = "Sample ratio cannot be negative.")
+    @DecimalMax(value = "1.0", message = "Sample ratio cannot exceed 1.")
+    private double sampleRatio = 0.1;
+
+    /**
+     * Exporters of sampled spans.
+     */
+    @NotNull(message = "Exporters cannot be null.")
+    private List<Exporter> exporters = new ArrayList<>(List.of(Exporter.LOGGING));
+
+    /**
+     * Number of spans kept by the in-memory exporter.
+     */
+    @Min(value = 1, message = "Memory capacity must be at least 1.")
+    private int memoryCapacity = 2048;
+}
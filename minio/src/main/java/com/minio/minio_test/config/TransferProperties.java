@@ -0,0 +1,109 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transfer Configuration Properties.
+ * Controls parallel multipart uploads of large local files and asynchronous downloads.
+ *
+ * @author Zhang
+ * @date 2025/02/28
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.transfer")
+public class TransferProperties {
+
+    /**
+     * Files of at least this size are uploaded as parallel multipart uploads.
+     */
+    @NotNull(message = "Multipart threshold cannot be null.")
+    private DataSize multipartThreshold = DataSize.ofMegabytes(64);
+
+    /**
+     * Smallest part size; S3 requires at least 5MB for every part but the last.
+     */
+    @NotNull(message = "Min part size cannot be null.")
+    private DataSize minPartSize = DataSize.ofMegabytes(8);
+
+    /**
+     * Largest part size; S3 allows at most 5GB.
+     */
+    @NotNull(message = "Max part size cannot be null.")
+    private DataSize maxPartSize = DataSize.ofMegabytes(512);
+
+    /**
+     * Number of parts a file is split into when the part size bounds allow it.
+     */
+    @Min(value = 1, message = "Target parts must be at least 1.")
+    @Max(value = 10000, message = "Target parts cannot exceed 10000.")
+    private int targetParts = 64;
+
+    /**
+     * Maximum number of parts of one file uploaded concurrently.
+     */
+    @Min(value = 1, message = "Max parallelism must be at least 1.")
+    private int maxParallelism = 8;
+
+    /**
+     * Threads uploading parts, shared by all uploads.
+     */
+    @Min(value = 1, message = "Upload threads must be at least 1.")
+    private int uploadThreads = 16;
+
+    /**
+     * Attempts per part before the upload fails.
+     */
+    @Min(value = 1, message = "Part attempts must be at least 1.")
+    private int partAttempts = 3;
+
+    /**
+     * Directory of upload checkpoints, which let an interrupted upload resume with the missing parts.
+     */
+    @NotBlank(message = "Checkpoint directory cannot be empty.")
+    private String checkpointDir = "upload-checkpoints";
+
+    /**
+     * Validity of the pre-signed URL of one part upload.
+     */
+    @NotNull(message = "Part URL expiry cannot be null.")
+    private Duration partUrlExpiry = Duration.ofHours(1);
+
+    /**
+     * Stream downloads with non-blocking servlet I/O, so a slow client does not hold a request thread.
+     */
+    private boolean asyncDownloads = true;
+
+    /**
+     * Longest an asynchronous download may go without the client taking any data before the
+     * connection is closed. Waits for the QoS shaper do not count; the download as a whole is not limited.
+     */
+    @NotNull(message = "Async download idle timeout cannot be null.")
+    private Duration asyncDownloadIdleTimeout = Duration.ofMinutes(2);
+
+    /**
+     * Sizes of the pooled copy buffers; a download uses the smallest one that holds the whole
+     * object, or the largest.
+     */
+    @NotEmpty(message = "Download buffer sizes cannot be empty.")
+    private List<DataSize> downloadBufferSizes = new ArrayList<>(List.of(
+            DataSize.ofKilobytes(8), DataSize.ofKilobytes(64), DataSize.ofKilobytes(256)));
+
+    /**
+     * Idle buffers kept per size; buffers beyond this are left to the garbage collector.
+     */
+    @Min(value = 1, message = "Pooled download buffers must be at least 1.")
+    private int pooledDownloadBuffers = 256;
+}
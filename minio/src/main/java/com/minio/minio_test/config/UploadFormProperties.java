@@ -0,0 +1,41 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Upload Form Configuration Properties.
+ * Limits the presigned POST forms browsers use to upload directly to MinIO.
+ *
+ * @author Zhang
+ * @date 2025/03/24
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.upload-form")
+public class UploadFormProperties {
+
+    /**
+     * Largest upload a form may allow, and the limit of forms requested without one.
+     */
+    @NotNull(message = "Upload form max size cannot be null.")
+    private DataSize maxSize = DataSize.ofGigabytes(5);
+
+    /**
+     * Content types forms may be issued for; a type ending in '/' allows all of its subtypes.
+     * Empty allows any content type.
+     */
+    private List<String> allowedContentTypes = new ArrayList<>();
+
+    /**
+     * Endpoint browsers post the forms to, when MinIO is reached through a different address
+     * than the one the application uses. Empty uses the endpoint of a MinIO node.
+     */
+    private String publicEndpoint;
+}
@@ -0,0 +1,43 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Prefix Usage Configuration Properties.
+ * Controls how bucket and prefix usage statistics are computed and cached.
+ *
+ * @author Zhang
+ * @date 2025/02/18
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.usage")
+public class UsageProperties {
+
+    /**
+     * Number of prefix levels broken down in cached usage. Deeper queries are computed on demand.
+     */
+    @Min(value = 0, message = "Usage max depth cannot be negative.")
+    @Max(value = 10, message = "Usage max depth cannot exceed 10.")
+    private int maxDepth = 3;
+
+    /**
+     * Number of prefixes listed concurrently while computing usage.
+     */
+    @Min(value = 1, message = "Usage parallelism must be at least 1.")
+    @Max(value = 64, message = "Usage parallelism cannot exceed 64.")
+    private int parallelism = 8;
+
+    /**
+     * Maximum age of cached usage when bucket notifications are unavailable to track changes.
+     */
+    @NotNull(message = "Usage max age cannot be null.")
+    private Duration maxAge = Duration.ofMinutes(10);
+}
@@ -0,0 +1,83 @@
+package com.minio.minio_test.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warm-up Configuration Properties.
+ * Controls the warm-up that runs at startup before the application reports ready.
+ *
+ * @author Zhang
+ * @date 2025/03/11
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "minio.warmup")
+public class WarmupProperties {
+
+    /**
+     * Whether the warm-up runs at startup.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on the whole warm-up; remaining steps are skipped once it is spent.
+     */
+    @NotNull(message = "Warm-up timeout cannot be null.")
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /**
+     * Connections opened and kept idle per endpoint.
+     */
+    @Min(value = 1, message = "Connections per endpoint must be at least 1.")
+    private int connectionsPerEndpoint = 4;
+
+    /**
+     * Upper bound on the buckets whose existence and region are primed on every endpoint.
+     */
+    @Min(value = 0, message = "Max buckets must not be negative.")
+    private int maxBuckets = 50;
+
+    /**
+     * Buckets primed in addition to those listed, e.g. buckets the credentials cannot list.
+     */
+    @NotNull(message = "Buckets cannot be null.")
+    private List<String> buckets = new ArrayList<>();
+
+    /**
+     * Serializations of sample responses run to warm up the JSON code paths.
+     */
+    @Min(value = 0, message = "Serialization iterations must not be negative.")
+    private int serializationIterations = 2000;
+
+    /**
+     * In-memory copies run to warm up the transfer code paths.
+     */
+    @Min(value = 0, message = "Transfer iterations must not be negative.")
+    private int transferIterations = 200;
+
+    /**
+     * Size of the data of one transfer iteration and of the round-trip object.
+     */
+    @NotNull(message = "Transfer size cannot be null.")
+    private DataSize transferSize = DataSize.ofKilobytes(256);
+
+    /**
+     * Bucket used for put/get/remove round trips of a scratch object; empty to skip them.
+     */
+    private String transferBucket;
+
+    /**
+     * Put/get/remove round trips made against the transfer bucket.
+     */
+    @Min(value = 0, message = "Round trips must not be negative.")
+    private int roundTrips = 3;
+}
@@ -0,0 +1,31 @@
+package com.minio.minio_test.config;
+
+import com.minio.minio_test.resilience.DeadlineInterceptor;
+import com.minio.minio_test.tracing.HandlerTracingInterceptor;
+import com.minio.minio_test.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC Configuration Class
+ * Registers the request interceptors of the application.
+ *
+ * @author zhang
+ * @date 2025/02/25
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final DeadlineInterceptor deadlineInterceptor;
+
+    private final Tracer tracer;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(deadlineInterceptor);
+        registry.addInterceptor(new HandlerTracingInterceptor(tracer));
+    }
+}
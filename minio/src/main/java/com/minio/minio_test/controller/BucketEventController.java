@@ -0,0 +1,38 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.service.BucketEventService;
+import jakarta.annotation.Resource;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Bucket event controller.
+ * Streams object changes to clients as server-sent events instead of having them poll listings.
+ *
+ * @author zhang
+ * @date 2025/02/14
+ */
+@RestController
+public class BucketEventController {
+
+    @Resource
+    private BucketEventService bucketEventService;
+
+    /**
+     * Subscribe to created/removed events of a bucket.
+     *
+     * @param bucketName The name of the bucket.
+     * @param prefix     Only report keys starting with this prefix.
+     * @param suffix     Only report keys ending with this suffix.
+     * @return {@link SseEmitter} streaming the events
+     */
+    @GetMapping("/events")
+    public SseEmitter events(
+            @RequestParam("bucketName") String bucketName,
+            @RequestParam(value = "prefix", required = false, defaultValue = "") String prefix,
+            @RequestParam(value = "suffix", required = false, defaultValue = "") String suffix) {
+        return bucketEventService.subscribe(bucketName, prefix, suffix);
+    }
+}
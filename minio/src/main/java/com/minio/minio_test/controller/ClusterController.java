@@ -0,0 +1,35 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.Response.ResponseData;
+import com.minio.minio_test.service.ClusterService;
+import com.minio.minio_test.vo.NodeStatusVO;
+import jakarta.annotation.Resource;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Cluster controller.
+ * Health and load of the configured Minio endpoints.
+ *
+ * @author zhang
+ * @date 2025/02/26
+ */
+@RestController
+@RequestMapping("/cluster")
+public class ClusterController {
+
+    @Resource
+    private ClusterService clusterService;
+
+    /**
+     * Retrieve the state of every configured endpoint.
+     *
+     * @return {@link ResponseData} containing one {@link NodeStatusVO} per endpoint
+     */
+    @ResponseBody
+    @GetMapping("/nodes")
+    public ResponseData<List<NodeStatusVO>> listNodes() {
+        return ResponseData.success(clusterService.listNodes());
+    }
+}
@@ -0,0 +1,33 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.Response.ResponseData;
+import com.minio.minio_test.service.CoalescingService;
+import com.minio.minio_test.vo.CoalescingStatusVO;
+import jakarta.annotation.Resource;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Coalescing controller.
+ * Reports the sharing of concurrent identical backend calls.
+ *
+ * @author zhang
+ * @date 2025/03/07
+ */
+@RestController
+@RequestMapping("/coalescing")
+public class CoalescingController {
+
+    @Resource
+    private CoalescingService coalescingService;
+
+    /**
+     * Get the number of backend calls made and coalesced per operation.
+     *
+     * @return {@link ResponseData} containing the {@link CoalescingStatusVO}
+     */
+    @ResponseBody
+    @GetMapping("/status")
+    public ResponseData<CoalescingStatusVO> status() {
+        return ResponseData.success(coalescingService.status());
+    }
+}
@@ -0,0 +1,63 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.config.ImageProperties;
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.image.ImageSpec;
+import com.minio.minio_test.service.ImageService;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Image controller.
+ * Resized derivatives of images stored in buckets.
+ *
+ * @author zhang
+ * @date 2025/03/05
+ */
+@RestController
+@RequestMapping("/image")
+public class ImageController {
+
+    @Resource
+    private ImageService imageService;
+
+    @Resource
+    private ImageProperties imageProperties;
+
+    /**
+     * Download a resized derivative of an image.
+     *
+     * @param bucketName The bucket name where the image is stored.
+     * @param fileName   The name of the image.
+     * @param width      Target width; derived from the height if omitted.
+     * @param height     Target height; derived from the width if omitted.
+     * @param fit        {@code contain}, {@code cover} or {@code fill}.
+     * @param format     {@code jpeg} or {@code png}.
+     * @param quality    JPEG quality from 1 to 100.
+     * @param request    The HTTP request.
+     * @param response   The HTTP response to write the derivative to.
+     */
+    @ResponseBody
+    @GetMapping("/derivative")
+    public void derivative(
+            @RequestParam("bucketName") String bucketName,
+            @RequestParam("fileName") String fileName,
+            @RequestParam(value = "width", required = false) Integer width,
+            @RequestParam(value = "height", required = false) Integer height,
+            @RequestParam(value = "fit", required = false, defaultValue = "contain") String fit,
+            @RequestParam(value = "format", required = false, defaultValue = "jpeg") String format,
+            @RequestParam(value = "quality", required = false, defaultValue = "85") int quality,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        ImageSpec spec;
+        try {
+            spec = ImageSpec.of(width, height, fit, format, quality, imageProperties.getMaxDimension());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        }
+        imageService.derivative(bucketName, fileName, spec, request, response);
+    }
+}
@@ -0,0 +1,53 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.Response.ResponseData;
+import com.minio.minio_test.service.IngestService;
+import com.minio.minio_test.vo.IngestResultVO;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ingest controller.
+ * Stores the content of remote URLs in buckets.
+ *
+ * @author zhang
+ * @date 2025/03/14
+ */
+@RestController
+@RequestMapping("/ingest")
+public class IngestController {
+
+    @Resource
+    private IngestService ingestService;
+
+    /**
+     * Fetch a batch of URLs and store each response body as an object.
+     *
+     * The URLs are sent as repeated {@code urls} parameters, optionally with one {@code objectNames}
+     * parameter per URL; when omitted, the file name of each URL is used.
+     *
+     * @param bucketName The name of the bucket.
+     * @param prefix     Key prefix prepended to every object name.
+     * @param request    The HTTP request carrying the {@code urls} and {@code objectNames} parameters.
+     * @return {@link ResponseData} containing the {@link IngestResultVO} with one result per URL
+     */
+    @ResponseBody
+    @PostMapping("/urls")
+    public ResponseData<IngestResultVO> ingestUrls(
+            @RequestParam("bucketName") String bucketName,
+            @RequestParam(value = "prefix", required = false, defaultValue = "") String prefix,
+            HttpServletRequest request) {
+        // Read the raw values: binding to a list would split a single URL at its commas
+        return ResponseData.success(ingestService.ingest(bucketName, prefix,
+                values(request, "urls"), values(request, "objectNames")));
+    }
+
+    private static List<String> values(HttpServletRequest request, String name) {
+        String[] values = request.getParameterValues(name);
+        return values == null ? List.of() : Arrays.asList(values);
+    }
+}
@@ -4,6 +4,7 @@ import com.minio.minio_test.Response.ResponseData;
 import com.minio.minio_test.exception.BusinessException;
 import com.minio.minio_test.vo.BucketVO;
 import com.minio.minio_test.vo.FileItemVO;
+import com.minio.minio_test.vo.UploadFormVO;
 import com.minio.minio_test.service.MinioService;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.web.bind.annotation.*;
@@ -152,6 +153,30 @@ public class MinioController {
 
 
 
+    /**
+     * Stream the objects under a prefix as JSON, with selectable fields.
+     *
+     * @param bucketName The name of the bucket
+     * @param prefix     The key prefix
+     * @param recursive  Whether to list all nested keys instead of one level
+     * @param fields     Comma-separated fields: name, size, lastModified, isDir, etag, owner, storageClass
+     * @param timeFormat Timestamp encoding: epoch or iso
+     * @param response   The HTTP response to write the listing to
+     */
+    @GetMapping("/listObjects/stream")
+    public void listObjectsStream(
+            @RequestParam("bucketName") String bucketName,
+            @RequestParam(value = "prefix", required = false, defaultValue = "") String prefix,
+            @RequestParam(value = "recursive", required = false, defaultValue = "false") boolean recursive,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "timeFormat", required = false, defaultValue = "epoch") String timeFormat,
+            HttpServletResponse response) {
+        minioService.listObjectsStream(bucketName, prefix, recursive, fields, timeFormat, response);
+    }
+
+
+
+
     /**
      * Retrieve all bucket names.
      *
@@ -242,6 +267,35 @@ public class MinioController {
     }
 
 
+    /**
+     * Generate a presigned POST form for uploading files directly from a browser to MinIO.
+     *
+     * @param bucketName  The name of the bucket where the files will be uploaded.
+     * @param keyPrefix   The prefix the object names must start with.
+     * @param contentType The content type the files must have, or a prefix such as "image/".
+     * @param minSize     The smallest allowed file size in bytes.
+     * @param maxSize     The largest allowed file size in bytes.
+     * @param expires     The expiration time of the form in minutes.
+     * @return {@link ResponseData}<{@link UploadFormVO}> The form URL and fields wrapped in a response object.
+     */
+    @ResponseBody
+    @PostMapping("/getUploadForm")
+    public ResponseData<UploadFormVO> createUploadForm(
+            @RequestParam("bucketName") String bucketName,
+            @RequestParam("keyPrefix") String keyPrefix,
+            @RequestParam(value = "contentType", required = false) String contentType,
+            @RequestParam(value = "minSize", required = false) Long minSize,
+            @RequestParam(value = "maxSize", required = false) Long maxSize,
+            @RequestParam(value = "expires", required = false, defaultValue = "60") Integer expires) {
+
+        // Call the service method to generate the upload form
+        UploadFormVO uploadForm = minioService.createUploadForm(bucketName, keyPrefix, contentType, minSize, maxSize, expires);
+
+        // Return a success response with the generated upload form
+        return ResponseData.success("File upload form created successfully", uploadForm);
+    }
+
+
     /**
      * Downloads a file using the file URL provided in the HTTP request.
      *
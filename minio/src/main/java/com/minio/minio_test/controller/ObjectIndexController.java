@@ -0,0 +1,90 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.Response.ResponseData;
+import com.minio.minio_test.service.ObjectIndexService;
+import com.minio.minio_test.vo.IndexStatusVO;
+import com.minio.minio_test.vo.ObjectListingVO;
+import jakarta.annotation.Resource;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Object index controller.
+ * Prefix listing, sorting and key search answered from the local metadata index.
+ *
+ * @author zhang
+ * @date 2025/02/10
+ */
+@RestController
+@RequestMapping("/index")
+public class ObjectIndexController {
+
+    @Resource
+    private ObjectIndexService objectIndexService;
+
+    /**
+     * List objects under a prefix, sorted by name, size or last modified time.
+     *
+     * @param bucketName The name of the bucket.
+     * @param prefix     The key prefix; empty for the whole bucket.
+     * @param sort       The sort field: name, size or time.
+     * @param desc       Whether to sort in descending order.
+     * @param limit      Maximum number of objects to return.
+     * @return {@link ResponseData} containing an {@link ObjectListingVO}
+     */
+    @ResponseBody
+    @GetMapping("/listObjects")
+    public ResponseData<ObjectListingVO> listObjects(
+            @RequestParam("bucketName") String bucketName,
+            @RequestParam(value = "prefix", required = false, defaultValue = "") String prefix,
+            @RequestParam(value = "sort", required = false, defaultValue = "name") String sort,
+            @RequestParam(value = "desc", required = false, defaultValue = "false") boolean desc,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        ObjectListingVO listing = objectIndexService.listObjects(bucketName, prefix, sort, desc, limit);
+        return ResponseData.success(listing);
+    }
+
+    /**
+     * Search object keys by glob or substring.
+     *
+     * @param bucketName The name of the bucket.
+     * @param pattern    A glob ({@code *}, {@code **}, {@code ?}) or a plain substring.
+     * @param prefix     The key prefix to search under.
+     * @param limit      Maximum number of objects to return.
+     * @return {@link ResponseData} containing an {@link ObjectListingVO}
+     */
+    @ResponseBody
+    @GetMapping("/search")
+    public ResponseData<ObjectListingVO> search(
+            @RequestParam("bucketName") String bucketName,
+            @RequestParam("pattern") String pattern,
+            @RequestParam(value = "prefix", required = false, defaultValue = "") String prefix,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        ObjectListingVO listing = objectIndexService.search(bucketName, prefix, pattern, limit);
+        return ResponseData.success(listing);
+    }
+
+    /**
+     * Trigger a background rebuild of a bucket index.
+     *
+     * @param bucketName The name of the bucket.
+     * @return {@link ResponseData} containing the result message
+     */
+    @ResponseBody
+    @PostMapping("/rebuild")
+    public ResponseData<String> rebuild(@RequestParam("bucketName") String bucketName) {
+        objectIndexService.rebuild(bucketName);
+        return ResponseData.success("Index rebuild scheduled for bucket: " + bucketName);
+    }
+
+    /**
+     * Retrieve the state of a bucket index.
+     *
+     * @param bucketName The name of the bucket.
+     * @return {@link ResponseData} containing an {@link IndexStatusVO}
+     */
+    @ResponseBody
+    @GetMapping("/status")
+    public ResponseData<IndexStatusVO> status(@RequestParam("bucketName") String bucketName) {
+        return ResponseData.success(objectIndexService.status(bucketName));
+    }
+}
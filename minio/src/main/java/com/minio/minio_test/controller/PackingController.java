@@ -0,0 +1,33 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.Response.ResponseData;
+import com.minio.minio_test.service.PackingService;
+import com.minio.minio_test.vo.PackingStatusVO;
+import jakarta.annotation.Resource;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Packing controller.
+ * Small uploads packed into shared pack objects.
+ *
+ * @author zhang
+ * @date 2025/03/20
+ */
+@RestController
+@RequestMapping("/packing")
+public class PackingController {
+
+    @Resource
+    private PackingService packingService;
+
+    /**
+     * Retrieve pack counts, live bytes and compaction progress.
+     *
+     * @return {@link ResponseData} containing the {@link PackingStatusVO}
+     */
+    @ResponseBody
+    @GetMapping("/status")
+    public ResponseData<PackingStatusVO> getStatus() {
+        return ResponseData.success(packingService.status());
+    }
+}
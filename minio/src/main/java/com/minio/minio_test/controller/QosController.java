@@ -0,0 +1,33 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.Response.ResponseData;
+import com.minio.minio_test.service.QosService;
+import com.minio.minio_test.vo.QosStatusVO;
+import jakarta.annotation.Resource;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * QoS controller.
+ * Reports download bandwidth shaping.
+ *
+ * @author zhang
+ * @date 2025/03/06
+ */
+@RestController
+@RequestMapping("/qos")
+public class QosController {
+
+    @Resource
+    private QosService qosService;
+
+    /**
+     * Get the bandwidth limits and current rates of lanes, clients and buckets.
+     *
+     * @return {@link ResponseData} containing the {@link QosStatusVO}
+     */
+    @ResponseBody
+    @GetMapping("/status")
+    public ResponseData<QosStatusVO> status() {
+        return ResponseData.success(qosService.status());
+    }
+}
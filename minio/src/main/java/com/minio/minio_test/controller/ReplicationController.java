@@ -0,0 +1,33 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.Response.ResponseData;
+import com.minio.minio_test.service.ReplicationService;
+import com.minio.minio_test.vo.ReplicationStatusVO;
+import jakarta.annotation.Resource;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Replication controller.
+ * Queue depth and lag of replication to the secondary deployment.
+ *
+ * @author zhang
+ * @date 2025/02/27
+ */
+@RestController
+@RequestMapping("/replication")
+public class ReplicationController {
+
+    @Resource
+    private ReplicationService replicationService;
+
+    /**
+     * Retrieve the replication status.
+     *
+     * @return {@link ResponseData} containing the {@link ReplicationStatusVO}
+     */
+    @ResponseBody
+    @GetMapping("/status")
+    public ResponseData<ReplicationStatusVO> getStatus() {
+        return ResponseData.success(replicationService.status());
+    }
+}
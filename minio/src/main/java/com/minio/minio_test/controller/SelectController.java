@@ -0,0 +1,43 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.select.SelectOptions;
+import com.minio.minio_test.service.SelectService;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Select controller.
+ * SQL queries evaluated by MinIO, returning only matching records.
+ *
+ * @author zhang
+ * @date 2025/03/18
+ */
+@RestController
+@RequestMapping("/select")
+public class SelectController {
+
+    @Resource
+    private SelectService selectService;
+
+    /**
+     * Run a SQL expression against a CSV, JSON or Parquet object and stream the matching records.
+     * Serialization is given as request parameters, e.g. {@code inputFormat=csv&fileHeader=use&outputFormat=json};
+     * bytes scanned, processed and returned follow as HTTP trailers.
+     *
+     * @param bucketName The name of the bucket
+     * @param objectName The object to query
+     * @param expression The SQL expression
+     * @param options    Input and output serialization
+     * @param response   The HTTP response to write the records to
+     */
+    @PostMapping("/objects")
+    public void select(
+            @RequestParam("bucketName") String bucketName,
+            @RequestParam("objectName") String objectName,
+            @RequestParam("expression") String expression,
+            @ModelAttribute SelectOptions options,
+            HttpServletResponse response) {
+        selectService.select(bucketName, objectName, expression, options, response);
+    }
+}
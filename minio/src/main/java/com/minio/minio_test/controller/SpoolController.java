@@ -0,0 +1,71 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.Response.ResponseData;
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.service.SpoolService;
+import com.minio.minio_test.vo.SpoolStatusVO;
+import com.minio.minio_test.vo.SpoolUploadVO;
+import jakarta.annotation.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+/**
+ * Spool controller.
+ * Write-behind uploads, accepted locally and flushed to Minio in the background.
+ *
+ * @author zhang
+ * @date 2025/03/19
+ */
+@RestController
+@RequestMapping("/spool")
+public class SpoolController {
+
+    @Resource
+    private SpoolService spoolService;
+
+    /**
+     * Accept files into the spool and answer 202 once they are stored durably; they are written
+     * to Minio asynchronously and can be downloaded in the meantime.
+     *
+     * @param files      List of files to be uploaded.
+     * @param bucketName The target bucket name.
+     * @return {@link ResponseData} containing one {@link SpoolUploadVO} with its handle per file
+     */
+    @ResponseBody
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PostMapping("/upload")
+    public ResponseData<List<SpoolUploadVO>> upload(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam("bucketName") String bucketName) {
+        if (files == null || files.isEmpty()) {
+            throw new BusinessException("No files provided for upload.");
+        }
+        return ResponseData.success("Files accepted for upload", spoolService.spool(files, bucketName));
+    }
+
+    /**
+     * Retrieve the state of a spooled upload.
+     *
+     * @param handle The handle returned when the upload was accepted
+     * @return {@link ResponseData} containing the {@link SpoolUploadVO}
+     */
+    @ResponseBody
+    @GetMapping("/uploads/{handle}")
+    public ResponseData<SpoolUploadVO> getUpload(@PathVariable("handle") String handle) {
+        return ResponseData.success(spoolService.upload(handle));
+    }
+
+    /**
+     * Retrieve spool size and flush lag.
+     *
+     * @return {@link ResponseData} containing the {@link SpoolStatusVO}
+     */
+    @ResponseBody
+    @GetMapping("/status")
+    public ResponseData<SpoolStatusVO> getStatus() {
+        return ResponseData.success(spoolService.status());
+    }
+}
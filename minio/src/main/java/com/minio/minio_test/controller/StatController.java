@@ -0,0 +1,43 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.service.StatService;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Stat controller.
+ * Metadata of many objects in one request.
+ *
+ * @author zhang
+ * @date 2025/03/17
+ */
+@RestController
+@RequestMapping("/stat")
+public class StatController {
+
+    @Resource
+    private StatService statService;
+
+    /**
+     * Stream the size, ETag, content type and last modified time of each given object.
+     * The body has the shape of {@code ResponseData}; {@code data} holds one entry per key with
+     * {@code found} set to false for missing objects, and {@code code} and {@code message} follow
+     * the entries.
+     *
+     * @param bucketName The name of the bucket
+     * @param timeFormat Timestamp encoding: epoch or iso
+     * @param keys       JSON array of object keys
+     * @param response   The HTTP response to write the results to
+     */
+    @PostMapping("/objects")
+    public void statObjects(
+            @RequestParam("bucketName") String bucketName,
+            @RequestParam(value = "timeFormat", required = false, defaultValue = "epoch") String timeFormat,
+            @RequestBody List<String> keys,
+            HttpServletResponse response) {
+        statService.statObjects(bucketName, keys, timeFormat, response);
+    }
+}
@@ -0,0 +1,60 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.Response.ResponseData;
+import com.minio.minio_test.service.SyncService;
+import com.minio.minio_test.vo.SyncResultVO;
+import jakarta.annotation.Resource;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Sync controller.
+ * Incremental synchronization between local directories and buckets.
+ *
+ * @author zhang
+ * @date 2025/03/03
+ */
+@RestController
+@RequestMapping("/sync")
+public class SyncController {
+
+    @Resource
+    private SyncService syncService;
+
+    /**
+     * Upload the new and changed files of a local directory to a bucket prefix.
+     *
+     * @param directory     The local directory, inside the sync base directory.
+     * @param bucketName    The name of the bucket.
+     * @param prefix        The key prefix the directory maps to.
+     * @param deleteOrphans Whether to remove objects under the prefix that have no local file.
+     * @return {@link ResponseData} containing the {@link SyncResultVO}
+     */
+    @ResponseBody
+    @PostMapping("/directory")
+    public ResponseData<SyncResultVO> syncDirectory(
+            @RequestParam("directory") String directory,
+            @RequestParam("bucketName") String bucketName,
+            @RequestParam(value = "prefix", required = false, defaultValue = "") String prefix,
+            @RequestParam(value = "deleteOrphans", required = false, defaultValue = "false") boolean deleteOrphans) {
+        return ResponseData.success(syncService.syncDirectory(directory, bucketName, prefix, deleteOrphans));
+    }
+
+    /**
+     * Download the new and changed objects under a bucket prefix to a local directory.
+     *
+     * @param bucketName    The name of the bucket.
+     * @param prefix        The key prefix to mirror.
+     * @param directory     The local directory, inside the sync base directory.
+     * @param deleteOrphans Whether to remove mirrored files whose object is gone.
+     * @return {@link ResponseData} containing the {@link SyncResultVO}
+     */
+    @ResponseBody
+    @PostMapping("/mirror")
+    public ResponseData<SyncResultVO> mirrorBucket(
+            @RequestParam("bucketName") String bucketName,
+            @RequestParam(value = "prefix", required = false, defaultValue = "") String prefix,
+            @RequestParam("directory") String directory,
+            @RequestParam(value = "deleteOrphans", required = false, defaultValue = "false") boolean deleteOrphans) {
+        return ResponseData.success(syncService.mirrorBucket(bucketName, prefix, directory, deleteOrphans));
+    }
+}
@@ -0,0 +1,36 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.Response.ResponseData;
+import com.minio.minio_test.service.TracingService;
+import com.minio.minio_test.vo.SpanVO;
+import jakarta.annotation.Resource;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Tracing controller.
+ * Shows the spans recorded for a request.
+ *
+ * @author zhang
+ * @date 2025/03/10
+ */
+@RestController
+@RequestMapping("/tracing")
+public class TracingController {
+
+    @Resource
+    private TracingService tracingService;
+
+    /**
+     * Get the spans of a trace kept by the memory exporter.
+     *
+     * @param traceId The trace ID from the X-Trace-Id response header.
+     * @return {@link ResponseData} containing the list of {@link SpanVO}
+     */
+    @ResponseBody
+    @GetMapping("/traces/{traceId}")
+    public ResponseData<List<SpanVO>> trace(@PathVariable("traceId") String traceId) {
+        return ResponseData.success(tracingService.trace(traceId));
+    }
+}
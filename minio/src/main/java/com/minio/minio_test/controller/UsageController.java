@@ -0,0 +1,52 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.Response.ResponseData;
+import com.minio.minio_test.service.UsageService;
+import com.minio.minio_test.vo.UsageVO;
+import jakarta.annotation.Resource;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Usage controller.
+ * Object count and total size per bucket and per prefix.
+ *
+ * @author zhang
+ * @date 2025/02/18
+ */
+@RestController
+@RequestMapping("/usage")
+public class UsageController {
+
+    @Resource
+    private UsageService usageService;
+
+    /**
+     * Retrieve the usage of a bucket or prefix, broken down by child prefix.
+     *
+     * @param bucketName The name of the bucket.
+     * @param prefix     The prefix; empty for the whole bucket.
+     * @param depth      Number of child prefix levels to break down.
+     * @return {@link ResponseData} containing a {@link UsageVO} tree
+     */
+    @ResponseBody
+    @GetMapping
+    public ResponseData<UsageVO> getUsage(
+            @RequestParam("bucketName") String bucketName,
+            @RequestParam(value = "prefix", required = false, defaultValue = "") String prefix,
+            @RequestParam(value = "depth", required = false, defaultValue = "1") Integer depth) {
+        return ResponseData.success(usageService.getUsage(bucketName, prefix, depth));
+    }
+
+    /**
+     * Retrieve the total usage of every bucket.
+     *
+     * @return {@link ResponseData} containing one {@link UsageVO} per bucket
+     */
+    @ResponseBody
+    @GetMapping("/buckets")
+    public ResponseData<List<UsageVO>> listBucketUsage() {
+        return ResponseData.success(usageService.listBucketUsage());
+    }
+}
@@ -0,0 +1,45 @@
+package com.minio.minio_test.controller;
+
+import com.minio.minio_test.Response.ResponseData;
+import com.minio.minio_test.service.WarmupService;
+import com.minio.minio_test.vo.WarmupStatusVO;
+import jakarta.annotation.Resource;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Warm-up controller.
+ * Reports the startup warm-up and serves as readiness probe.
+ *
+ * @author zhang
+ * @date 2025/03/11
+ */
+@RestController
+@RequestMapping("/warmup")
+public class WarmupController {
+
+    @Resource
+    private WarmupService warmupService;
+
+    /**
+     * Get the progress and step durations of the startup warm-up.
+     *
+     * @return {@link ResponseData} containing the {@link WarmupStatusVO}
+     */
+    @ResponseBody
+    @GetMapping("/status")
+    public ResponseData<WarmupStatusVO> status() {
+        return ResponseData.success(warmupService.status());
+    }
+
+    /**
+     * Readiness probe: 200 once startup and warm-up have completed, 503 before.
+     *
+     * @return {@link ResponseData} indicating readiness
+     */
+    @ResponseBody
+    @GetMapping("/ready")
+    public ResponseData<Void> ready() {
+        warmupService.checkReady();
+        return ResponseData.success("Ready.");
+    }
+}
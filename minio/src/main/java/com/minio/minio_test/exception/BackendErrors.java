@@ -0,0 +1,85 @@
+package com.minio.minio_test.exception;
+
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.ServerException;
+import org.springframework.http.HttpStatus;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Translates failed MinIO calls into the typed business exceptions.
+ * <p>
+ * S3 error codes for missing buckets and objects become {@link NotFoundException}, state
+ * conflicts {@link ConflictException}, MinIO's own throttling {@link ThrottledException}, and
+ * server errors or unreachable endpoints {@link BackendUnavailableException}. Requests MinIO
+ * rejects as invalid answer 400; anything else is unexpected and becomes a plain
+ * {@link BusinessException} with its stack trace.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/13
+ */
+public final class BackendErrors {
+
+    private static final Set<String> NOT_FOUND_CODES = Set.of("NoSuchKey", "NoSuchBucket", "NoSuchUpload", "NoSuchVersion");
+
+    private static final Set<String> CONFLICT_CODES = Set.of("BucketAlreadyExists", "BucketAlreadyOwnedByYou",
+            "BucketNotEmpty", "OperationAborted");
+
+    private static final Set<String> THROTTLED_CODES = Set.of("SlowDown", "SlowDownRead", "SlowDownWrite",
+            "TooManyRequests", "RequestLimitExceeded");
+
+    private static final Duration THROTTLED_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private BackendErrors() {
+    }
+
+    /**
+     * Whether MinIO answered that the bucket or object does not exist.
+     *
+     * @param e The error response.
+     * @return true for not-found error codes.
+     */
+    public static boolean isNotFound(ErrorResponseException e) {
+        return e.errorResponse() != null && NOT_FOUND_CODES.contains(e.errorResponse().code());
+    }
+
+    /**
+     * Translates the failure of a MinIO call.
+     *
+     * @param e       The failure.
+     * @param message The message of the resulting exception.
+     * @return The exception to throw.
+     */
+    public static BusinessException translate(Exception e, String message) {
+        if (e instanceof BusinessException business) {
+            return business;
+        }
+        if (e instanceof ErrorResponseException response && response.errorResponse() != null) {
+            String code = response.errorResponse().code();
+            if (NOT_FOUND_CODES.contains(code)) {
+                return new NotFoundException(message + ": " + response.errorResponse().message());
+            }
+            if (CONFLICT_CODES.contains(code)) {
+                return new ConflictException(message + ": " + response.errorResponse().message());
+            }
+            if (THROTTLED_CODES.contains(code)) {
+                return new ThrottledException(message + ": MinIO is throttling requests.", THROTTLED_RETRY_AFTER);
+            }
+            if (response.response() != null && response.response().code() == HttpStatus.BAD_REQUEST.value()) {
+                // The request itself was invalid, e.g. a malformed select expression
+                return new BusinessException(HttpStatus.BAD_REQUEST.value(), message + ": " + response.errorResponse().message());
+            }
+        }
+        if (e instanceof ServerException || e instanceof ConnectException || e instanceof SocketTimeoutException
+                || e instanceof UnknownHostException || e instanceof NoRouteToHostException) {
+            return new BackendUnavailableException(message + ": MinIO is unavailable (" + e.getMessage() + ").", e);
+        }
+        return new BusinessException(message, e);
+    }
+}
@@ -0,0 +1,46 @@
+package com.minio.minio_test.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * MinIO cannot be reached or is refusing calls, e.g. because every endpoint is down or its
+ * circuit is open. Answered with 503 and, when known, a {@code Retry-After} header.
+ * <p>
+ * An outage fails many requests the same way, so the exception carries no stack trace of its
+ * own; the cause, if any, keeps the trace of the original failure.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/13
+ */
+@Getter
+public class BackendUnavailableException extends BusinessException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** Suggested delay before retrying, null if unknown */
+    private final Duration retryAfter;
+
+    public BackendUnavailableException(String errorMessage) {
+        this(errorMessage, null, null);
+    }
+
+    public BackendUnavailableException(String errorMessage, Throwable cause) {
+        this(errorMessage, cause, null);
+    }
+
+    public BackendUnavailableException(String errorMessage, Throwable cause, Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE.value(), errorMessage, cause, true);
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean isExpected() {
+        return true;
+    }
+}
@@ -3,6 +3,8 @@ package com.minio.minio_test.exception;
 import com.minio.minio_test.Response.ResponseData;
 import lombok.Getter;
 
+import java.io.Serial;
+
 /**
  * Custom exception class for business logic errors.
  * This exception is thrown when an expected business-related error occurs.
@@ -16,6 +18,9 @@ import lombok.Getter;
 @Getter
 public class BusinessException extends RuntimeException {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private final Integer errorCode;
     private final String errorMessage;
 
@@ -64,4 +69,29 @@ public class BusinessException extends RuntimeException {
     public BusinessException(String errorMessage, Throwable cause) {
         this(ResponseData.error().getCode(), errorMessage, cause);
     }
+
+    /**
+     * Constructs a BusinessException for an expected condition, optionally without capturing a
+     * stack trace; capturing one is most of the cost of throwing.
+     *
+     * @param errorCode    The specific error code.
+     * @param errorMessage The error message describing the issue.
+     * @param cause        The underlying throwable cause, may be null.
+     * @param stackless    Whether to skip capturing the stack trace.
+     */
+    protected BusinessException(Integer errorCode, String errorMessage, Throwable cause, boolean stackless) {
+        super(errorMessage, cause, true, !stackless);
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Whether this is an expected condition, such as a missing object, rather than a fault;
+     * expected conditions are answered without logging a stack trace.
+     *
+     * @return true for expected conditions.
+     */
+    public boolean isExpected() {
+        return false;
+    }
 }
@@ -0,0 +1,27 @@
+package com.minio.minio_test.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+
+/**
+ * The request conflicts with the current state, e.g. a bucket that already exists or is not
+ * empty. Answered with 409, without a stack trace.
+ *
+ * @author Zhang
+ * @date 2025/03/13
+ */
+public class ConflictException extends BusinessException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ConflictException(String errorMessage) {
+        super(HttpStatus.CONFLICT.value(), errorMessage, null, true);
+    }
+
+    @Override
+    public boolean isExpected() {
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package com.minio.minio_test.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+
+/**
+ * A bucket, object or other resource does not exist. Answered with 404.
+ * <p>
+ * Thrown on every miss, so it carries no stack trace.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/13
+ */
+public class NotFoundException extends BusinessException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public NotFoundException(String errorMessage) {
+        super(HttpStatus.NOT_FOUND.value(), errorMessage, null, true);
+    }
+
+    @Override
+    public boolean isExpected() {
+        return true;
+    }
+}
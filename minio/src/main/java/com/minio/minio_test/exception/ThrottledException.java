@@ -0,0 +1,34 @@
+package com.minio.minio_test.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * The request was turned away to protect the application or MinIO from overload and may be
+ * retried later. Answered with 429 and a {@code Retry-After} header, without a stack trace.
+ *
+ * @author Zhang
+ * @date 2025/03/13
+ */
+@Getter
+public class ThrottledException extends BusinessException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** Suggested delay before retrying */
+    private final Duration retryAfter;
+
+    public ThrottledException(String errorMessage, Duration retryAfter) {
+        super(HttpStatus.TOO_MANY_REQUESTS.value(), errorMessage, null, true);
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean isExpected() {
+        return true;
+    }
+}
@@ -0,0 +1,91 @@
+package com.minio.minio_test.handler;
+
+import com.minio.minio_test.config.ErrorLogProperties;
+import com.minio.minio_test.exception.BackendErrors;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Limits how often failures of the same kind are logged.
+ * <p>
+ * A kind is the exception type plus the place it was thrown, so that one failing code path
+ * logs a few full entries per window and a count of the rest, instead of one stack trace per
+ * request. Different failures are limited independently. Frames inside the exception package
+ * are skipped, so a failure translated by {@link BackendErrors} is keyed by the code that
+ * translated it rather than by the translation itself.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/13
+ */
+@Component
+public class ErrorLogLimiter {
+
+    @Resource
+    private ErrorLogProperties errorLogProperties;
+
+    private static final String EXCEPTION_PACKAGE = BackendErrors.class.getPackageName() + ".";
+
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Counts a failure and decides whether to log it.
+     *
+     * @param error The failure.
+     * @return -1 if the failure must not be logged, otherwise the number of failures of the same
+     * kind suppressed since the last one logged.
+     */
+    public long acquire(Throwable error) {
+        if (windows.size() >= errorLogProperties.getMaxKinds()) {
+            windows.clear();
+        }
+        Window window = windows.computeIfAbsent(kind(error), key -> new Window());
+        return window.acquire(System.nanoTime(), errorLogProperties.getInterval().toNanos(),
+                errorLogProperties.getMaxPerInterval());
+    }
+
+    static String kind(Throwable error) {
+        StringBuilder kind = new StringBuilder(error.getClass().getName());
+        for (StackTraceElement frame : error.getStackTrace()) {
+            if (!frame.getClassName().startsWith(EXCEPTION_PACKAGE)) {
+                kind.append('@').append(frame);
+                break;
+            }
+        }
+        Throwable cause = error.getCause();
+        if (cause != null) {
+            kind.append('<').append(cause.getClass().getName());
+        }
+        return kind.toString();
+    }
+
+    /**
+     * Fixed window of one kind of failure.
+     */
+    private static final class Window {
+
+        private long start;
+
+        private int logged;
+
+        private long suppressed;
+
+        private synchronized long acquire(long now, long interval, int maxPerInterval) {
+            if (logged == 0 || now - start >= interval) {
+                start = now;
+                logged = 0;
+            }
+            if (logged >= maxPerInterval) {
+                suppressed++;
+                return -1;
+            }
+            logged++;
+            long count = suppressed;
+            suppressed = 0;
+            return count;
+        }
+    }
+}
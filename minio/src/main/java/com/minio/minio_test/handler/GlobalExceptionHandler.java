@@ -1,13 +1,21 @@
 package com.minio.minio_test.handler;
 
 import com.minio.minio_test.Response.ResponseData;
+import com.minio.minio_test.exception.BackendUnavailableException;
 import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.ThrottledException;
+import com.minio.minio_test.tracing.Tracer;
+import jakarta.annotation.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -24,6 +32,12 @@ public class GlobalExceptionHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    @Resource
+    private Tracer tracer;
+
+    @Resource
+    private ErrorLogLimiter errorLogLimiter;
+
     /**
      * Handles custom BusinessException.
      *
@@ -32,16 +46,60 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(BusinessException.class)
     @ResponseBody
-    public ResponseData<Object> handleBusinessException(BusinessException e) {
-        // Log the exception with detailed message and stack trace
-        LOGGER.error("BusinessException occurred: {}", e.getErrorMessage(), e);
+    public ResponseEntity<ResponseData<Object>> handleBusinessException(BusinessException e) {
+        tracer.currentSpan().recordError(e);
+
+        // Error codes that are HTTP error statuses are also used as the response status
+        HttpStatus status = e.getErrorCode() == null ? null : HttpStatus.resolve(e.getErrorCode());
+        if (status == null || !status.isError()) {
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        log(e, status);
+
+        // Throttled and unavailable responses tell the client when to retry
+        Duration retryAfter = null;
+        if (e instanceof ThrottledException throttled) {
+            retryAfter = throttled.getRetryAfter();
+        } else if (e instanceof BackendUnavailableException unavailable) {
+            retryAfter = unavailable.getRetryAfter();
+        }
 
         // Create an error response with the current timestamp
         String timestamp = LocalDateTime.now().format(DATE_TIME_FORMATTER);
-        return ResponseData.error(
-                ResponseData.error().getCode(),
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (retryAfter != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        }
+        return response.body(ResponseData.error(
+                status.value(),
                 e.getErrorMessage(),
                 timestamp
-        );
+        ));
+    }
+
+    /**
+     * Logs the exception once, here, at a level matching its kind.
+     * Expected outcomes such as missing objects are debug noise; an unavailable backend is logged
+     * without stack trace; anything else is a bug and logged with it. Warnings and errors are
+     * rate-limited per kind of failure so an outage does not flood the log.
+     *
+     * @param e      The exception.
+     * @param status The response status.
+     */
+    private void log(BusinessException e, HttpStatus status) {
+        if (status.is4xxClientError() || (e.isExpected() && !(e instanceof BackendUnavailableException))) {
+            LOGGER.debug("Request failed with {}: {}", status.value(), e.getErrorMessage());
+            return;
+        }
+        long suppressed = errorLogLimiter.acquire(e);
+        if (suppressed < 0) {
+            return;
+        }
+        String similar = suppressed == 0 ? "" : " (" + suppressed + " similar errors suppressed)";
+        if (e instanceof BackendUnavailableException) {
+            LOGGER.warn("Backend unavailable: {}{}", e.getErrorMessage(), similar);
+        } else {
+            LOGGER.error("BusinessException occurred: {}{}", e.getErrorMessage(), similar, e);
+        }
     }
 }
@@ -0,0 +1,154 @@
+package com.minio.minio_test.image;
+
+import java.util.Locale;
+
+/**
+ * A requested image derivative: target box, fit mode, output format and quality.
+ * The spec is part of the derivative's storage key, so equal specs share one stored derivative.
+ *
+ * @author Zhang
+ * @date 2025/03/05
+ */
+public final class ImageSpec {
+
+    /**
+     * How the source is fitted into the target box.
+     */
+    public enum Fit {
+        /** Scale down to fit inside the box, keeping the aspect ratio */
+        CONTAIN,
+        /** Scale to cover the box, keeping the aspect ratio, and crop the overflow centered */
+        COVER,
+        /** Scale to exactly the box, ignoring the aspect ratio */
+        FILL
+    }
+
+    /**
+     * Output formats supported by the built-in ImageIO writers.
+     */
+    public enum Format {
+        JPEG("jpg", "image/jpeg", false),
+        PNG("png", "image/png", true);
+
+        private final String extension;
+
+        private final String contentType;
+
+        private final boolean alpha;
+
+        Format(String extension, String contentType, boolean alpha) {
+            this.extension = extension;
+            this.contentType = contentType;
+            this.alpha = alpha;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public boolean hasAlpha() {
+            return alpha;
+        }
+    }
+
+    private final int width;
+
+    private final int height;
+
+    private final Fit fit;
+
+    private final Format format;
+
+    private final int quality;
+
+    private ImageSpec(int width, int height, Fit fit, Format format, int quality) {
+        this.width = width;
+        this.height = height;
+        this.fit = fit;
+        this.format = format;
+        this.quality = quality;
+    }
+
+    /**
+     * Validates and builds a spec.
+     *
+     * @param width        Target width, or null to derive it from the height.
+     * @param height       Target height, or null to derive it from the width.
+     * @param fit          Fit mode name, case-insensitive.
+     * @param format       Format name ({@code jpeg}, {@code jpg} or {@code png}), case-insensitive.
+     * @param quality      Output quality from 1 to 100; only used by JPEG.
+     * @param maxDimension Largest allowed width or height.
+     * @throws IllegalArgumentException if the spec is invalid.
+     */
+    public static ImageSpec of(Integer width, Integer height, String fit, String format, int quality, int maxDimension) {
+        int w = width == null ? 0 : width;
+        int h = height == null ? 0 : height;
+        if (w == 0 && h == 0) {
+            throw new IllegalArgumentException("Width or height is required.");
+        }
+        if (w < 0 || h < 0 || w > maxDimension || h > maxDimension) {
+            throw new IllegalArgumentException("Width and height must be between 1 and " + maxDimension + ".");
+        }
+        if (quality < 1 || quality > 100) {
+            throw new IllegalArgumentException("Quality must be between 1 and 100.");
+        }
+        Fit parsedFit;
+        try {
+            parsedFit = Fit.valueOf(fit.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported fit: " + fit);
+        }
+        if (parsedFit != Fit.CONTAIN && (w == 0 || h == 0)) {
+            throw new IllegalArgumentException("Fit " + fit + " requires both width and height.");
+        }
+        Format parsedFormat = switch (format.trim().toLowerCase(Locale.ROOT)) {
+            case "jpeg", "jpg" -> Format.JPEG;
+            case "png" -> Format.PNG;
+            default -> throw new IllegalArgumentException("Unsupported format: " + format);
+        };
+        return new ImageSpec(w, h, parsedFit, parsedFormat, parsedFormat == Format.JPEG ? quality : 100);
+    }
+
+    /**
+     * Target width, 0 if derived from the height.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Target height, 0 if derived from the width.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    public Fit getFit() {
+        return fit;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public int getQuality() {
+        return quality;
+    }
+
+    /**
+     * Canonical file name of the derivative, e.g. {@code w320-h240-cover-q85.jpg}.
+     */
+    public String key() {
+        return "w" + width + "-h" + height + "-" + fit.name().toLowerCase(Locale.ROOT)
+                + "-q" + quality + "." + format.getExtension();
+    }
+
+    @Override
+    public String toString() {
+        return key();
+    }
+}
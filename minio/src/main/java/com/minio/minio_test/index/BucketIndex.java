@@ -0,0 +1,266 @@
+package com.minio.minio_test.index;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * In-memory metadata index of a single bucket.
+ * <p>
+ * Entries are kept in a sorted concurrent map so that prefix listings are a range scan.
+ * While a rebuild is in progress, live updates are applied to the current map and also
+ * buffered, then replayed onto the freshly crawled map before it is swapped in, so no
+ * notification received during the crawl is lost.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/02/10
+ */
+public class BucketIndex {
+
+    private final String bucketName;
+
+    private final Object lock = new Object();
+
+    /** Shared content type strings, so millions of entries do not each hold their own copy */
+    private final Map<String, String> contentTypes = new ConcurrentHashMap<>();
+
+    private volatile ConcurrentSkipListMap<String, IndexedObject> entries = new ConcurrentSkipListMap<>();
+
+    /** Updates received while a rebuild is running; null when no rebuild is running */
+    private List<Map.Entry<String, IndexedObject>> pending;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    private volatile boolean ready;
+
+    private volatile boolean listening;
+
+    private volatile long builtAt;
+
+    private volatile long rebuildStartedAt;
+
+    private volatile long invalidatedAt;
+
+    public BucketIndex(String bucketName) {
+        this.bucketName = bucketName;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    /**
+     * Records a created or overwritten object.
+     */
+    public void put(String objectName, long size, long lastModified, String etag, String contentType) {
+        apply(objectName, newEntry(size, lastModified, etag, contentType));
+    }
+
+    /**
+     * Records a removed object.
+     */
+    public void remove(String objectName) {
+        apply(objectName, null);
+    }
+
+    private void apply(String objectName, IndexedObject value) {
+        synchronized (lock) {
+            if (value == null) {
+                entries.remove(objectName);
+            } else {
+                entries.put(objectName, value);
+            }
+            if (pending != null) {
+                pending.add(new AbstractMap.SimpleImmutableEntry<>(objectName, value));
+            }
+        }
+    }
+
+    /**
+     * Claims the right to rebuild this index. Only one rebuild may run at a time.
+     *
+     * @return a fresh map to crawl into, or null if a rebuild is already running.
+     */
+    public ConcurrentSkipListMap<String, IndexedObject> beginRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return null;
+        }
+        synchronized (lock) {
+            pending = new ArrayList<>();
+            rebuildStartedAt = System.nanoTime();
+        }
+        return new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Creates an entry for a crawled object, sharing content type strings with live updates.
+     */
+    public IndexedObject newEntry(long size, long lastModified, String etag, String contentType) {
+        String sharedType = contentType == null ? null : contentTypes.computeIfAbsent(contentType, t -> t);
+        return new IndexedObject(size, lastModified, stripQuotes(etag), sharedType);
+    }
+
+    /**
+     * Replays updates received during the crawl and swaps the crawled map in.
+     *
+     * @param crawled The map filled by the crawl, or null if the crawl failed.
+     */
+    public void completeRebuild(ConcurrentSkipListMap<String, IndexedObject> crawled) {
+        synchronized (lock) {
+            if (crawled != null) {
+                for (Map.Entry<String, IndexedObject> update : pending) {
+                    if (update.getValue() == null) {
+                        crawled.remove(update.getKey());
+                    } else {
+                        crawled.put(update.getKey(), update.getValue());
+                    }
+                }
+                entries = crawled;
+                builtAt = System.currentTimeMillis();
+                // A crawl that overlapped an invalidation may have missed events
+                ready = invalidatedAt - rebuildStartedAt < 0;
+            }
+            pending = null;
+        }
+        rebuilding.set(false);
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    public void setListening(boolean listening) {
+        this.listening = listening;
+    }
+
+    /**
+     * Marks the index as no longer trustworthy, e.g. after notifications were missed.
+     */
+    public void invalidate() {
+        invalidatedAt = System.nanoTime();
+        ready = false;
+    }
+
+    public long getBuiltAt() {
+        return builtAt;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Whether queries may be answered from this index.
+     *
+     * @param maxAgeMillis Maximum age of the last full crawl.
+     * @return true if the index is complete, kept current by notifications and recent enough.
+     */
+    public boolean isFresh(long maxAgeMillis) {
+        return ready && listening && System.currentTimeMillis() - builtAt <= maxAgeMillis;
+    }
+
+    /**
+     * Queries the index.
+     *
+     * @param prefix     Key prefix to restrict the scan to; blank for the whole bucket.
+     * @param filter     Optional key filter; null to accept every key.
+     * @param sort       Sort order of the result.
+     * @param descending Whether to sort in descending order.
+     * @param limit      Maximum number of entries to return.
+     * @return The matching entries, sorted and truncated to {@code limit}.
+     */
+    public List<Map.Entry<String, IndexedObject>> query(String prefix, Predicate<String> filter,
+                                                        IndexSort sort, boolean descending, int limit) {
+        return select(entries, prefix, filter, sort, descending, limit);
+    }
+
+    /**
+     * Selects, sorts and truncates entries of a sorted map.
+     * Name order walks the key range and stops at the limit; other orders use a bounded top-k heap.
+     */
+    public static List<Map.Entry<String, IndexedObject>> select(NavigableMap<String, IndexedObject> map, String prefix,
+                                                                Predicate<String> filter, IndexSort sort,
+                                                                boolean descending, int limit) {
+        NavigableMap<String, IndexedObject> range = prefixRange(map, prefix);
+
+        if (sort == IndexSort.NAME) {
+            // Natural key order: stream the range and stop at the limit
+            NavigableMap<String, IndexedObject> ordered = descending ? range.descendingMap() : range;
+            List<Map.Entry<String, IndexedObject>> result = new ArrayList<>(Math.min(limit, 1024));
+            for (Map.Entry<String, IndexedObject> entry : ordered.entrySet()) {
+                if (filter == null || filter.test(entry.getKey())) {
+                    result.add(entry);
+                    if (result.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        }
+
+        // Top-k selection keeps the worst retained entry at the head of the heap
+        Comparator<Map.Entry<String, IndexedObject>> order = sort.comparator(descending);
+        PriorityQueue<Map.Entry<String, IndexedObject>> heap = new PriorityQueue<>(Math.min(limit, 1024) + 1, order.reversed());
+        for (Map.Entry<String, IndexedObject> entry : range.entrySet()) {
+            if (filter != null && !filter.test(entry.getKey())) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(entry);
+            } else if (order.compare(entry, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        List<Map.Entry<String, IndexedObject>> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+
+    /**
+     * Returns the sub-map of keys starting with the given prefix.
+     */
+    static NavigableMap<String, IndexedObject> prefixRange(NavigableMap<String, IndexedObject> map, String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return map;
+        }
+        int last = prefix.length() - 1;
+        if (prefix.charAt(last) == Character.MAX_VALUE) {
+            return map.tailMap(prefix, true);
+        }
+        String upper = prefix.substring(0, last) + (char) (prefix.charAt(last) + 1);
+        return map.subMap(prefix, true, upper, false);
+    }
+
+    private static String stripQuotes(String etag) {
+        if (etag != null && etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            return etag.substring(1, etag.length() - 1);
+        }
+        return etag;
+    }
+
+    /**
+     * Returns an unmodifiable view of all entries, in key order.
+     */
+    public NavigableMap<String, IndexedObject> entries() {
+        return Collections.unmodifiableNavigableMap(entries);
+    }
+}
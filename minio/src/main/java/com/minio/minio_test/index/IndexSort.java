@@ -0,0 +1,61 @@
+package com.minio.minio_test.index;
+
+import com.minio.minio_test.exception.BusinessException;
+import org.springframework.http.HttpStatus;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sort orders supported by index queries.
+ *
+ * @author Zhang
+ * @date 2025/02/10
+ */
+public enum IndexSort {
+
+    /** Lexicographic key order (the natural order of the index) */
+    NAME(Map.Entry.comparingByKey()),
+
+    /** Object size in bytes */
+    SIZE(Comparator.comparingLong((Map.Entry<String, IndexedObject> e) -> e.getValue().getSize())
+            .thenComparing(Map.Entry.comparingByKey())),
+
+    /** Last modified time */
+    TIME(Comparator.comparingLong((Map.Entry<String, IndexedObject> e) -> e.getValue().getLastModified())
+            .thenComparing(Map.Entry.comparingByKey()));
+
+    private final Comparator<Map.Entry<String, IndexedObject>> comparator;
+
+    IndexSort(Comparator<Map.Entry<String, IndexedObject>> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns the comparator for this sort, reversed when descending.
+     *
+     * @param descending Whether to sort in descending order.
+     * @return The entry comparator.
+     */
+    public Comparator<Map.Entry<String, IndexedObject>> comparator(boolean descending) {
+        return descending ? comparator.reversed() : comparator;
+    }
+
+    /**
+     * Parses a sort name from a request parameter.
+     *
+     * @param value The parameter value (case-insensitive), blank means {@link #NAME}.
+     * @return The matching sort.
+     */
+    public static IndexSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NAME;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Unsupported sort field: " + value);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.minio.minio_test.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Compact, immutable metadata entry held by a {@link BucketIndex}.
+ * The object key itself is the map key and is not repeated here.
+ *
+ * @author Zhang
+ * @date 2025/02/10
+ */
+@Getter
+@AllArgsConstructor
+public final class IndexedObject {
+
+    /** Object size in bytes */
+    private final long size;
+
+    /** Last modified time in epoch milliseconds */
+    private final long lastModified;
+
+    /** ETag without surrounding quotes */
+    private final String etag;
+
+    /** Content type, or null when the backend did not report one */
+    private final String contentType;
+}
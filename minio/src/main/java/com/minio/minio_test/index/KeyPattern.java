@@ -0,0 +1,57 @@
+package com.minio.minio_test.index;
+
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles object key search patterns.
+ * A pattern containing {@code *} or {@code ?} is a glob matched against the whole key,
+ * where {@code *} does not cross a {@code /} and {@code **} does; anything else is a substring match.
+ *
+ * @author Zhang
+ * @date 2025/02/10
+ */
+public final class KeyPattern {
+
+    private KeyPattern() {
+    }
+
+    /**
+     * Compiles a search pattern into a key predicate.
+     *
+     * @param pattern The glob or substring; blank matches every key.
+     * @return The key predicate, or null when every key matches.
+     */
+    public static Predicate<String> compile(String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            return null;
+        }
+        if (pattern.indexOf('*') < 0 && pattern.indexOf('?') < 0) {
+            return key -> key.contains(pattern);
+        }
+        Pattern regex = Pattern.compile(globToRegex(pattern));
+        return key -> regex.matcher(key).matches();
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() + 16);
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    regex.append(".*");
+                    i++;
+                } else {
+                    regex.append("[^/]*");
+                }
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else if ("\\.[]{}()+-^$|".indexOf(c) >= 0) {
+                regex.append('\\').append(c);
+            } else {
+                regex.append(c);
+            }
+        }
+        return regex.toString();
+    }
+}
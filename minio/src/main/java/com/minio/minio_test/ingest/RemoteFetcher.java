@@ -0,0 +1,195 @@
+package com.minio.minio_test.ingest;
+
+import com.minio.minio_test.config.IngestProperties;
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.NotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import okhttp3.ConnectionPool;
+import okhttp3.Dns;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Opens remote http(s) URLs for streaming.
+ * <p>
+ * All fetches share one client, so connections to the same host are pooled and reused across
+ * items and requests. Every fetch is bounded by the connect, read and whole-call timeouts of
+ * {@link IngestProperties}; redirects are followed, but only to hosts that are allowed too.
+ * </p>
+ * <p>
+ * Hosts must not resolve to loopback, link-local, private or unspecified addresses, so a URL
+ * cannot reach the services next to this application or the cloud metadata endpoint, unless the
+ * host is listed in {@link IngestProperties#getInternalHosts()}. The check is made on the
+ * addresses the client actually connects to, for the URL and every redirect.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/14
+ */
+@Component
+public class RemoteFetcher {
+
+    private static final int MAX_REDIRECTS = 20;
+
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    @Resource
+    private IngestProperties ingestProperties;
+
+    private OkHttpClient httpClient;
+
+    @PostConstruct
+    public void init() {
+        httpClient = new OkHttpClient.Builder()
+                .connectTimeout(ingestProperties.getConnectTimeout())
+                .readTimeout(ingestProperties.getReadTimeout())
+                .callTimeout(ingestProperties.getItemTimeout())
+                .connectionPool(new ConnectionPool(ingestProperties.getConcurrency(), 5, TimeUnit.MINUTES))
+                .dns(this::lookup)
+                // Followed in open, so every location is checked before connecting to it
+                .followRedirects(false)
+                .followSslRedirects(false)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpClient.connectionPool().evictAll();
+    }
+
+    /**
+     * Sends a GET request to the URL and returns the body of a successful response.
+     *
+     * @param url The http or https URL.
+     * @return The resource; the caller must close it.
+     * @throws BusinessException If the URL is invalid or not allowed (400), or the remote answers 404.
+     * @throws IOException       If the remote cannot be reached or answers with another error.
+     */
+    public RemoteResource open(String url) throws IOException {
+        HttpUrl httpUrl = HttpUrl.parse(url == null ? "" : url.trim());
+        if (httpUrl == null) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Invalid URL, only http and https are supported: " + url);
+        }
+        for (int redirects = 0; ; redirects++) {
+            checkHost(httpUrl);
+            Response response;
+            try {
+                response = httpClient.newCall(new Request.Builder().url(httpUrl).get().build()).execute();
+            } catch (InternalAddressException e) {
+                throw new BusinessException(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            }
+            if (response.isRedirect()) {
+                String location = response.header("Location");
+                response.close();
+                HttpUrl next = location == null ? null : httpUrl.resolve(location);
+                if (next == null) {
+                    throw new IOException("Remote answered " + response.code() + " without a valid location for " + url);
+                }
+                if (redirects >= MAX_REDIRECTS) {
+                    throw new IOException("Too many redirects for " + url);
+                }
+                httpUrl = next;
+                continue;
+            }
+            if (!response.isSuccessful()) {
+                response.close();
+                if (response.code() == HttpStatus.NOT_FOUND.value()) {
+                    throw new NotFoundException("Remote resource not found: " + url);
+                }
+                throw new IOException("Remote answered " + response.code() + " for " + url);
+            }
+            return new RemoteResource(url, response);
+        }
+    }
+
+    private void checkHost(HttpUrl url) {
+        String host = url.host();
+        if (!ingestProperties.getAllowedHosts().isEmpty() && !matches(host, ingestProperties.getAllowedHosts())) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Host is not allowed: " + host);
+        }
+        // Addresses given literally are connected to without a lookup
+        if (isAddressLiteral(host) && !matches(host, ingestProperties.getInternalHosts())) {
+            try {
+                if (isInternal(InetAddress.getByName(host))) {
+                    throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Host is an internal address: " + host);
+                }
+            } catch (UnknownHostException e) {
+                throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Invalid host address: " + host);
+            }
+        }
+    }
+
+    private List<InetAddress> lookup(String hostname) throws UnknownHostException {
+        List<InetAddress> addresses = Dns.SYSTEM.lookup(hostname);
+        if (matches(hostname, ingestProperties.getInternalHosts())) {
+            return addresses;
+        }
+        for (InetAddress address : addresses) {
+            if (isInternal(address)) {
+                throw new InternalAddressException("Host resolves to an internal address: " + hostname);
+            }
+        }
+        return addresses;
+    }
+
+    private static boolean matches(String host, List<String> patterns) {
+        String name = host.toLowerCase(Locale.ROOT);
+        for (String allowed : patterns) {
+            String pattern = allowed.toLowerCase(Locale.ROOT);
+            if (name.equals(pattern) || pattern.startsWith("*.") && name.endsWith(pattern.substring(1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAddressLiteral(String host) {
+        return host.indexOf(':') >= 0 || IPV4.matcher(host).matches();
+    }
+
+    /**
+     * Whether an address belongs to this machine or a private network rather than the internet.
+     */
+    private static boolean isInternal(InetAddress address) {
+        if (address.isLoopbackAddress() || address.isLinkLocalAddress() || address.isSiteLocalAddress()
+                || address.isAnyLocalAddress() || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            // 100.64.0.0/10, shared address space of carrier-grade NAT
+            return (bytes[0] & 0xff) == 100 && (bytes[1] & 0xc0) == 64;
+        }
+        // fc00::/7, unique local IPv6 addresses
+        return (bytes[0] & 0xfe) == 0xfc;
+    }
+
+    /**
+     * Signals that a host resolved to an address fetches may not reach.
+     */
+    private static final class InternalAddressException extends UnknownHostException {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private InternalAddressException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.minio.minio_test.ingest;
+
+import okhttp3.Response;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * The body of a successful response to a remote URL, read as a stream.
+ * Closing it releases the connection back to the pool.
+ *
+ * @author Zhang
+ * @date 2025/03/14
+ */
+public final class RemoteResource implements Closeable {
+
+    private final String url;
+
+    private final Response response;
+
+    RemoteResource(String url, Response response) {
+        this.url = url;
+        this.response = response;
+    }
+
+    public InputStream getBody() {
+        return response.body().byteStream();
+    }
+
+    /**
+     * @return The declared length, or -1 if the remote sent none.
+     */
+    public long getContentLength() {
+        return response.body().contentLength();
+    }
+
+    /**
+     * @return The declared content type, or {@code application/octet-stream}.
+     */
+    public String getContentType() {
+        return StringUtils.defaultIfBlank(response.header("Content-Type"), "application/octet-stream");
+    }
+
+    /**
+     * The file name of the resource: the last segment of the final URL after redirects.
+     *
+     * @return The file name, or an empty string if the path ends with a slash.
+     */
+    public String getFileName() {
+        List<String> segments = response.request().url().pathSegments();
+        return segments.get(segments.size() - 1);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+}
@@ -0,0 +1,97 @@
+package com.minio.minio_test.listing;
+
+import com.minio.minio_test.exception.BusinessException;
+import org.springframework.http.HttpStatus;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Fields that can be selected in a streamed object listing.
+ *
+ * @author Zhang
+ * @date 2025/02/21
+ */
+public enum ListingField {
+
+    NAME("name"),
+    SIZE("size"),
+    LAST_MODIFIED("lastModified"),
+    IS_DIR("isDir"),
+    ETAG("etag"),
+    OWNER("owner"),
+    STORAGE_CLASS("storageClass");
+
+    /** Fields written when the client does not select any */
+    public static final Set<ListingField> DEFAULTS = EnumSet.of(NAME, SIZE, LAST_MODIFIED, IS_DIR);
+
+    private final String jsonName;
+
+    ListingField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Parses a comma-separated field selection.
+     *
+     * @param fields The selection, e.g. {@code name,size}; blank selects {@link #DEFAULTS}.
+     * @return The selected fields.
+     */
+    public static Set<ListingField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.copyOf(DEFAULTS);
+        }
+        Set<ListingField> selected = EnumSet.noneOf(ListingField.class);
+        for (String token : fields.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            selected.add(fromJsonName(name));
+        }
+        return selected.isEmpty() ? EnumSet.copyOf(DEFAULTS) : selected;
+    }
+
+    private static ListingField fromJsonName(String name) {
+        for (ListingField field : values()) {
+            if (field.jsonName.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Unsupported listing field: " + name);
+    }
+
+    /**
+     * Timestamp encodings supported by streamed listings.
+     */
+    public enum TimeFormat {
+
+        /** Milliseconds since the epoch, written as a JSON number */
+        EPOCH,
+
+        /** ISO-8601 instant in UTC, written as a JSON string */
+        ISO;
+
+        /**
+         * Parses a time format from a request parameter.
+         *
+         * @param value The parameter value (case-insensitive), blank means {@link #EPOCH}.
+         * @return The matching format.
+         */
+        public static TimeFormat parse(String value) {
+            if (value == null || value.isBlank()) {
+                return EPOCH;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Unsupported time format: " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.minio.minio_test.listing;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.minio.messages.Item;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * Writes listing items straight to a {@link JsonGenerator}, one JSON object per item,
+ * without building intermediate value objects.
+ *
+ * @author Zhang
+ * @date 2025/02/21
+ */
+public final class ListingWriter {
+
+    private final JsonGenerator generator;
+
+    private final boolean name;
+    private final boolean size;
+    private final boolean lastModified;
+    private final boolean isDir;
+    private final boolean etag;
+    private final boolean owner;
+    private final boolean storageClass;
+
+    private final ListingField.TimeFormat timeFormat;
+
+    public ListingWriter(JsonGenerator generator, Set<ListingField> fields, ListingField.TimeFormat timeFormat) {
+        this.generator = generator;
+        this.timeFormat = timeFormat;
+        // Resolve the selection once instead of probing the set for every item
+        this.name = fields.contains(ListingField.NAME);
+        this.size = fields.contains(ListingField.SIZE);
+        this.lastModified = fields.contains(ListingField.LAST_MODIFIED);
+        this.isDir = fields.contains(ListingField.IS_DIR);
+        this.etag = fields.contains(ListingField.ETAG);
+        this.owner = fields.contains(ListingField.OWNER);
+        this.storageClass = fields.contains(ListingField.STORAGE_CLASS);
+    }
+
+    /**
+     * Writes one item as a JSON object.
+     *
+     * @param item The listing item.
+     * @throws IOException if writing to the underlying stream fails.
+     */
+    public void write(Item item) throws IOException {
+        boolean dir = item.isDir();
+        write(item.objectName(), dir ? 0L : item.size(), dir ? null : item.lastModified(), dir,
+                dir ? null : stripQuotes(item.etag()),
+                dir || item.owner() == null ? null : item.owner().displayName(),
+                dir ? null : item.storageClass());
+    }
+
+    /**
+     * Writes one entry that does not come from a MinIO listing as a JSON object.
+     *
+     * @param objectName       The object name, or the prefix of a directory.
+     * @param objectSize       The size in bytes, 0 for directories.
+     * @param modified         The last modification time, null for directories.
+     * @param dir              Whether the entry is a directory.
+     * @param entityTag        The unquoted ETag, or null.
+     * @param ownerName        The owner's display name, or null.
+     * @param storageClassName The storage class, or null.
+     * @throws IOException if writing to the underlying stream fails.
+     */
+    public void write(String objectName, long objectSize, ZonedDateTime modified, boolean dir,
+                      String entityTag, String ownerName, String storageClassName) throws IOException {
+        generator.writeStartObject();
+        if (name) {
+            generator.writeStringField(ListingField.NAME.getJsonName(), objectName);
+        }
+        if (size) {
+            generator.writeNumberField(ListingField.SIZE.getJsonName(), objectSize);
+        }
+        if (lastModified) {
+            generator.writeFieldName(ListingField.LAST_MODIFIED.getJsonName());
+            writeTime(modified);
+        }
+        if (isDir) {
+            generator.writeBooleanField(ListingField.IS_DIR.getJsonName(), dir);
+        }
+        if (etag) {
+            generator.writeFieldName(ListingField.ETAG.getJsonName());
+            writeNullable(entityTag);
+        }
+        if (owner) {
+            generator.writeFieldName(ListingField.OWNER.getJsonName());
+            writeNullable(ownerName);
+        }
+        if (storageClass) {
+            generator.writeFieldName(ListingField.STORAGE_CLASS.getJsonName());
+            writeNullable(storageClassName);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeTime(ZonedDateTime time) throws IOException {
+        if (time == null) {
+            generator.writeNull();
+        } else if (timeFormat == ListingField.TimeFormat.ISO) {
+            generator.writeString(DateTimeFormatter.ISO_INSTANT.format(time));
+        } else {
+            generator.writeNumber(time.toInstant().toEpochMilli());
+        }
+    }
+
+    private void writeNullable(String value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    private static String stripQuotes(String etag) {
+        if (etag != null && etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            return etag.substring(1, etag.length() - 1);
+        }
+        return etag;
+    }
+}
@@ -0,0 +1,48 @@
+package com.minio.minio_test.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * An object created or removed event received from a bucket notification stream.
+ *
+ * @author Zhang
+ * @date 2025/02/14
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class BucketEvent {
+
+    /**
+     * Kind of change.
+     */
+    public enum Type {
+        CREATED, REMOVED
+    }
+
+    /** The bucket the object belongs to */
+    private final String bucketName;
+
+    /** The object key, URL-decoded */
+    private final String objectName;
+
+    /** Kind of change */
+    private final Type type;
+
+    /** The raw S3 event name, e.g. {@code s3:ObjectCreated:Put} */
+    private final String eventName;
+
+    /** Object size in bytes; 0 for removals */
+    private final long size;
+
+    /** Object ETag; null for removals */
+    private final String etag;
+
+    /** Content type if reported by the server, otherwise null */
+    private final String contentType;
+
+    /** Event time in epoch milliseconds */
+    private final long eventTime;
+}
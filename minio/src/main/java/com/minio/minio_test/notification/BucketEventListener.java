@@ -0,0 +1,32 @@
+package com.minio.minio_test.notification;
+
+/**
+ * Receives events of a bucket from the {@link BucketNotificationHub}.
+ * Callbacks run on the notification thread of the bucket and must not block.
+ *
+ * @author Zhang
+ * @date 2025/02/14
+ */
+public interface BucketEventListener {
+
+    /**
+     * Called for each object created or removed event.
+     *
+     * @param event The event.
+     */
+    void onEvent(BucketEvent event);
+
+    /**
+     * Called when the notification stream of the bucket is connected, or immediately on
+     * subscription if it already is. Events before this call may have been missed.
+     */
+    default void onConnected() {
+    }
+
+    /**
+     * Called when the notification stream of the bucket drops. Events are missed until
+     * the next {@link #onConnected()}.
+     */
+    default void onDisconnected() {
+    }
+}
@@ -0,0 +1,248 @@
+package com.minio.minio_test.notification;
+
+import com.minio.minio_test.cluster.MinioClientPool;
+import com.minio.minio_test.config.NotificationProperties;
+import io.minio.CloseableIterator;
+import io.minio.ListenBucketNotificationArgs;
+import io.minio.Result;
+import io.minio.messages.Event;
+import io.minio.messages.NotificationRecords;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shares one MinIO notification subscription per bucket among any number of listeners.
+ * <p>
+ * The first subscriber of a bucket opens a {@code listenBucketNotification} stream for all
+ * object created/removed events; later subscribers attach to it and filter locally. The
+ * stream is reconnected after failures, to a healthy endpoint of the client pool, and closed when
+ * the last subscriber leaves.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/02/14
+ */
+@Component
+public class BucketNotificationHub {
+
+    private static final String[] OBJECT_EVENTS = {"s3:ObjectCreated:*", "s3:ObjectRemoved:*"};
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BucketNotificationHub.class);
+
+    @Resource
+    private MinioClientPool clientPool;
+
+    @Resource
+    private NotificationProperties notificationProperties;
+
+    private final ConcurrentMap<String, Channel> channels = new ConcurrentHashMap<>();
+
+    private ExecutorService listenerExecutor;
+
+    private volatile boolean running = true;
+
+    @PostConstruct
+    public void init() {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("bucket-notify-");
+        factory.setDaemon(true);
+        listenerExecutor = Executors.newCachedThreadPool(factory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        channels.values().forEach(Channel::close);
+        listenerExecutor.shutdownNow();
+    }
+
+    /**
+     * Subscribes a listener to the events of a bucket.
+     *
+     * @param bucketName The bucket name.
+     * @param listener   The listener; its callbacks must not block.
+     * @return a handle that removes the listener when closed.
+     */
+    public Closeable subscribe(String bucketName, BucketEventListener listener) {
+        Channel channel;
+        synchronized (channels) {
+            channel = channels.computeIfAbsent(bucketName, name -> {
+                Channel created = new Channel(name);
+                listenerExecutor.execute(created::run);
+                return created;
+            });
+            channel.listeners.add(listener);
+        }
+        if (channel.connected) {
+            listener.onConnected();
+        }
+        return () -> unsubscribe(channel, listener);
+    }
+
+    /**
+     * Whether the notification stream of a bucket is currently connected.
+     *
+     * @param bucketName The bucket name.
+     * @return true if connected.
+     */
+    public boolean isConnected(String bucketName) {
+        Channel channel = channels.get(bucketName);
+        return channel != null && channel.connected;
+    }
+
+    private void unsubscribe(Channel channel, BucketEventListener listener) {
+        synchronized (channels) {
+            channel.listeners.remove(listener);
+            if (channel.listeners.isEmpty() && channels.remove(channel.bucketName, channel)) {
+                channel.close();
+                LOGGER.info("Last subscriber left, closing notifications of bucket: {}", channel.bucketName);
+            }
+        }
+    }
+
+    /**
+     * Converts a MinIO event record, or returns null for event types that are not forwarded.
+     */
+    static BucketEvent toBucketEvent(Event event) {
+        if (event.eventType() == null || event.objectName() == null) {
+            return null;
+        }
+        String eventName = event.eventType().toString();
+        BucketEvent.Type type;
+        if (eventName.startsWith("s3:ObjectCreated:")) {
+            type = BucketEvent.Type.CREATED;
+        } else if (eventName.startsWith("s3:ObjectRemoved:")) {
+            type = BucketEvent.Type.REMOVED;
+        } else {
+            return null;
+        }
+        // Keys in S3 event records are URL-encoded
+        String objectName = URLDecoder.decode(event.objectName(), StandardCharsets.UTF_8);
+        long eventTime = event.eventTime() != null
+                ? event.eventTime().toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+        return new BucketEvent(event.bucketName(), objectName, type, eventName,
+                type == BucketEvent.Type.CREATED ? event.objectSize() : 0L,
+                type == BucketEvent.Type.CREATED ? event.etag() : null,
+                contentType(event.userMetadata()), eventTime);
+    }
+
+    private static String contentType(Map<String, String> metadata) {
+        if (metadata == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> entry : metadata.entrySet()) {
+            if ("content-type".equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One shared subscription.
+     */
+    private final class Channel {
+
+        private final String bucketName;
+
+        private final List<BucketEventListener> listeners = new CopyOnWriteArrayList<>();
+
+        private volatile boolean connected;
+
+        private volatile boolean closed;
+
+        private volatile Closeable stream;
+
+        private Channel(String bucketName) {
+            this.bucketName = bucketName;
+        }
+
+        private void run() {
+            while (running && !closed) {
+                try (CloseableIterator<Result<NotificationRecords>> iterator = clientPool.client().listenBucketNotification(
+                        ListenBucketNotificationArgs.builder()
+                                .bucket(bucketName)
+                                .prefix("")
+                                .suffix("")
+                                .events(OBJECT_EVENTS)
+                                .build())) {
+                    stream = iterator;
+                    if (closed) {
+                        break;
+                    }
+                    connected = true;
+                    LOGGER.info("Subscribed to notifications of bucket: {}", bucketName);
+                    listeners.forEach(BucketEventListener::onConnected);
+
+                    while (iterator.hasNext()) {
+                        NotificationRecords records = iterator.next().get();
+                        for (Event record : records.events()) {
+                            BucketEvent event = toBucketEvent(record);
+                            if (event != null) {
+                                dispatch(event);
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    if (running && !closed) {
+                        LOGGER.warn("Notification stream of bucket '{}' failed: {}", bucketName, e.getMessage());
+                    }
+                } finally {
+                    stream = null;
+                    if (connected) {
+                        connected = false;
+                        listeners.forEach(BucketEventListener::onDisconnected);
+                    }
+                }
+
+                if (running && !closed) {
+                    try {
+                        Thread.sleep(notificationProperties.getReconnectDelay().toMillis());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void dispatch(BucketEvent event) {
+            for (BucketEventListener listener : listeners) {
+                try {
+                    listener.onEvent(event);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Bucket event listener failed for bucket '{}': {}", bucketName, e.getMessage(), e);
+                }
+            }
+        }
+
+        private void close() {
+            closed = true;
+            Closeable current = stream;
+            if (current != null) {
+                try {
+                    current.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Error closing notification stream of bucket '{}': {}", bucketName, e.getMessage());
+                }
+            }
+        }
+    }
+}
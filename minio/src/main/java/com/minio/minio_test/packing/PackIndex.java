@@ -0,0 +1,474 @@
+package com.minio.minio_test.packing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index of packed objects: key to pack, offset and length, with the live bytes of every pack.
+ * <p>
+ * Lookups and listings read sorted concurrent maps without locking. Every change is appended to
+ * a journal as one JSON line; on open the journal is replayed, and once it holds more than twice
+ * as many records as there are live packs and objects it is rewritten with only the current state
+ * and atomically swapped in. A line torn by a crash is skipped on replay.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/20
+ */
+public class PackIndex implements Closeable {
+
+    private static final String JOURNAL_FILE = "pack-index.journal";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PackIndex.class);
+
+    private final Path file;
+
+    private final ObjectMapper objectMapper;
+
+    private final int compactThreshold;
+
+    /** Packed objects by bucket, sorted by key */
+    private final Map<String, ConcurrentSkipListMap<String, PackedObject>> buckets = new ConcurrentHashMap<>();
+
+    private final Map<String, Pack> packs = new ConcurrentHashMap<>();
+
+    private FileChannel channel;
+
+    private int records;
+
+    private boolean dirty;
+
+    public PackIndex(Path directory, ObjectMapper objectMapper, int compactThreshold) {
+        this.file = directory.resolve(JOURNAL_FILE);
+        this.objectMapper = objectMapper;
+        this.compactThreshold = compactThreshold;
+    }
+
+    /**
+     * Opens the journal, creating it if needed, and replays it.
+     */
+    public synchronized void open() throws IOException {
+        Files.createDirectories(file.getParent());
+        if (Files.exists(file)) {
+            replay();
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        compact();
+    }
+
+    /**
+     * Looks up a packed object.
+     *
+     * @return The object, or null if the key is not packed.
+     */
+    public PackedObject get(String bucketName, String objectName) {
+        ConcurrentSkipListMap<String, PackedObject> entries = buckets.get(bucketName);
+        return entries == null ? null : entries.get(objectName);
+    }
+
+    /**
+     * Lists packed objects under a prefix in key order. Without recursion, keys below the next
+     * {@code /} are collapsed into one {@link PackedObject#DIRECTORY} entry per common prefix,
+     * as S3 lists them.
+     *
+     * @param bucketName The bucket name.
+     * @param prefix     The key prefix, may be empty.
+     * @param recursive  Whether to list nested keys.
+     * @return The entries; reflects concurrent changes like the underlying map.
+     */
+    public Iterator<Map.Entry<String, PackedObject>> list(String bucketName, String prefix, boolean recursive) {
+        ConcurrentSkipListMap<String, PackedObject> entries = buckets.get(bucketName);
+        if (entries == null) {
+            return Collections.emptyIterator();
+        }
+        return new Iterator<>() {
+
+            private Map.Entry<String, PackedObject> next = entries.ceilingEntry(prefix);
+
+            @Override
+            public boolean hasNext() {
+                return next != null && next.getKey().startsWith(prefix);
+            }
+
+            @Override
+            public Map.Entry<String, PackedObject> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String key = next.getKey();
+                int slash = recursive ? -1 : key.indexOf('/', prefix.length());
+                if (slash < 0) {
+                    Map.Entry<String, PackedObject> current = next;
+                    next = entries.higherEntry(key);
+                    return current;
+                }
+                // Skip every key under the common prefix: they sort before the prefix with '/' replaced by '0'
+                String directory = key.substring(0, slash + 1);
+                next = entries.ceilingEntry(key.substring(0, slash) + '0');
+                return new AbstractMap.SimpleImmutableEntry<>(directory, PackedObject.DIRECTORY);
+            }
+        };
+    }
+
+    /**
+     * Records a written pack and points its objects at it. Objects packed before under the same
+     * keys are replaced.
+     *
+     * @param bucketName The bucket of the objects.
+     * @param packId     The pack.
+     * @param size       Size of the pack in bytes.
+     * @param createdAt  Time the pack was opened.
+     * @param objects    The objects in the pack by key.
+     */
+    public synchronized void addPack(String bucketName, String packId, long size, long createdAt,
+                                     Map<String, PackedObject> objects) throws IOException {
+        writePack(bucketName, packId, size, createdAt);
+        for (Map.Entry<String, PackedObject> entry : objects.entrySet()) {
+            put(bucketName, entry.getKey(), entry.getValue());
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Records a pack written by compaction and moves objects into it, each only if it still has
+     * the location it was copied from; objects replaced or removed meanwhile stay as they are.
+     *
+     * @param bucketName The bucket of the objects.
+     * @param packId     The new pack.
+     * @param size       Size of the new pack in bytes.
+     * @param createdAt  Time the objects to move were looked up.
+     * @param moves      The objects to move by key, each with its old and new location.
+     * @return The number of objects moved.
+     */
+    public synchronized int relocate(String bucketName, String packId, long size, long createdAt,
+                                     Map<String, PackedObject[]> moves) throws IOException {
+        writePack(bucketName, packId, size, createdAt);
+        ConcurrentSkipListMap<String, PackedObject> entries = buckets.get(bucketName);
+        int moved = 0;
+        for (Map.Entry<String, PackedObject[]> move : moves.entrySet()) {
+            if (entries != null && entries.get(move.getKey()) == move.getValue()[0]) {
+                put(bucketName, move.getKey(), move.getValue()[1]);
+                moved++;
+            }
+        }
+        compactIfNeeded();
+        return moved;
+    }
+
+    /**
+     * Removes a packed object.
+     *
+     * @return true if the key was packed.
+     */
+    public synchronized boolean remove(String bucketName, String objectName) throws IOException {
+        ConcurrentSkipListMap<String, PackedObject> entries = buckets.get(bucketName);
+        PackedObject removed = entries == null ? null : entries.remove(objectName);
+        if (removed == null) {
+            return false;
+        }
+        release(removed);
+        write(objectMapper.createObjectNode().put("del", objectName).put("bucket", bucketName));
+        compactIfNeeded();
+        return true;
+    }
+
+    /**
+     * Forgets a pack that no longer holds live objects and has been deleted.
+     */
+    public synchronized void dropPack(String packId) throws IOException {
+        if (packs.remove(packId) != null) {
+            write(objectMapper.createObjectNode().put("drop", packId));
+        }
+    }
+
+    /**
+     * Whether the index holds no packs, as after a first start or the loss of the journal.
+     */
+    public boolean isEmpty() {
+        return packs.isEmpty();
+    }
+
+    /**
+     * All packs, including empty ones not dropped yet.
+     */
+    public List<Pack> packs() {
+        return new ArrayList<>(packs.values());
+    }
+
+    /**
+     * Flushes appended records to disk.
+     */
+    public synchronized void sync() throws IOException {
+        if (dirty && channel != null) {
+            channel.force(false);
+            dirty = false;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            sync();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void put(String bucketName, String objectName, PackedObject object) throws IOException {
+        PackedObject previous = buckets.computeIfAbsent(bucketName, name -> new ConcurrentSkipListMap<>())
+                .put(objectName, object);
+        if (previous != null) {
+            release(previous);
+        }
+        Pack pack = packs.get(object.getPackId());
+        if (pack != null) {
+            pack.liveBytes += object.getLength();
+            pack.liveCount++;
+            pack.emptiedAt = 0;
+        }
+        write(objectRecord(bucketName, objectName, object));
+    }
+
+    private void release(PackedObject object) {
+        Pack pack = packs.get(object.getPackId());
+        if (pack != null) {
+            pack.liveBytes -= object.getLength();
+            if (--pack.liveCount == 0) {
+                pack.emptiedAt = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private void writePack(String bucketName, String packId, long size, long createdAt) throws IOException {
+        Pack pack = new Pack(packId, bucketName, size, createdAt);
+        // Empty until objects are put into it
+        pack.emptiedAt = System.currentTimeMillis();
+        packs.put(packId, pack);
+        write(packRecord(pack));
+    }
+
+    private void write(JsonNode record) throws IOException {
+        if (channel == null) {
+            throw new IOException("Pack index is not open: " + file);
+        }
+        byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        records++;
+        dirty = true;
+    }
+
+    private void replay() throws IOException {
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode record;
+                try {
+                    record = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    skipped++;
+                    continue;
+                }
+                if (record.has("put")) {
+                    JsonNode contentType = record.get("type");
+                    PackedObject object = new PackedObject(record.get("pack").asText(), record.get("off").asLong(),
+                            record.get("len").asInt(),
+                            contentType == null || contentType.isNull() ? null : contentType.asText(),
+                            record.get("etag").asText(), record.get("time").asLong());
+                    PackedObject previous = buckets.computeIfAbsent(record.get("bucket").asText(),
+                            name -> new ConcurrentSkipListMap<>()).put(record.get("put").asText(), object);
+                    if (previous != null) {
+                        release(previous);
+                    }
+                    Pack pack = packs.get(object.getPackId());
+                    if (pack != null) {
+                        pack.liveBytes += object.getLength();
+                        pack.liveCount++;
+                        pack.emptiedAt = 0;
+                    }
+                } else if (record.has("del")) {
+                    ConcurrentSkipListMap<String, PackedObject> entries = buckets.get(record.get("bucket").asText());
+                    PackedObject removed = entries == null ? null : entries.remove(record.get("del").asText());
+                    if (removed != null) {
+                        release(removed);
+                    }
+                } else if (record.has("pack")) {
+                    Pack pack = new Pack(record.get("pack").asText(), record.get("bucket").asText(),
+                            record.get("size").asLong(), record.get("time").asLong());
+                    // Empty until its objects are replayed; counts as emptied now if none are
+                    pack.emptiedAt = System.currentTimeMillis();
+                    packs.put(pack.getId(), pack);
+                } else if (record.has("drop")) {
+                    packs.remove(record.get("drop").asText());
+                }
+            }
+        }
+        if (skipped > 0) {
+            LOGGER.warn("Skipped {} unreadable record(s) in pack index: {}", skipped, file);
+        }
+        long objects = buckets.values().stream().mapToLong(Map::size).sum();
+        LOGGER.info("Replayed pack index: {} object(s) in {} pack(s).", objects, packs.size());
+    }
+
+    private void compactIfNeeded() throws IOException {
+        if (records < compactThreshold) {
+            return;
+        }
+        long live = packs.size();
+        for (ConcurrentSkipListMap<String, PackedObject> entries : buckets.values()) {
+            live += entries.size();
+        }
+        if (records > 2 * live) {
+            compact();
+        }
+    }
+
+    /**
+     * Rewrites the journal with only the current packs and objects.
+     */
+    private void compact() throws IOException {
+        Path temp = file.resolveSibling(JOURNAL_FILE + ".tmp");
+        int written = 0;
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream stream = Channels.newOutputStream(out);
+            for (Pack pack : packs.values()) {
+                stream.write((objectMapper.writeValueAsString(packRecord(pack)) + "\n").getBytes(StandardCharsets.UTF_8));
+                written++;
+            }
+            for (Map.Entry<String, ConcurrentSkipListMap<String, PackedObject>> bucket : buckets.entrySet()) {
+                for (Map.Entry<String, PackedObject> entry : bucket.getValue().entrySet()) {
+                    ObjectNode record = objectRecord(bucket.getKey(), entry.getKey(), entry.getValue());
+                    stream.write((objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8));
+                    written++;
+                }
+            }
+            stream.flush();
+            out.force(true);
+        }
+        channel.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        records = written;
+        dirty = false;
+    }
+
+    private ObjectNode packRecord(Pack pack) {
+        return objectMapper.createObjectNode()
+                .put("pack", pack.getId())
+                .put("bucket", pack.getBucketName())
+                .put("size", pack.getSize())
+                .put("time", pack.getCreatedAt());
+    }
+
+    private ObjectNode objectRecord(String bucketName, String objectName, PackedObject object) {
+        return objectMapper.createObjectNode()
+                .put("put", objectName)
+                .put("bucket", bucketName)
+                .put("pack", object.getPackId())
+                .put("off", object.getOffset())
+                .put("len", object.getLength())
+                .put("type", object.getContentType())
+                .put("etag", object.getEtag())
+                .put("time", object.getLastModified());
+    }
+
+    /**
+     * A pack object and how much of it is still referenced.
+     */
+    public static final class Pack {
+
+        private final String id;
+
+        private final String bucketName;
+
+        private final long size;
+
+        private final long createdAt;
+
+        private volatile long liveBytes;
+
+        private volatile int liveCount;
+
+        private volatile long emptiedAt;
+
+        private Pack(String id, String bucketName, long size, long createdAt) {
+            this.id = id;
+            this.bucketName = bucketName;
+            this.size = size;
+            this.createdAt = createdAt;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Bucket of the objects in the pack.
+         */
+        public String getBucketName() {
+            return bucketName;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Time the pack was opened, or for a pack written by compaction the time its objects were
+         * looked up; no object in the pack was current only before this time.
+         */
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        /**
+         * Bytes of the pack still referenced by the index.
+         */
+        public long getLiveBytes() {
+            return liveBytes;
+        }
+
+        public int getLiveCount() {
+            return liveCount;
+        }
+
+        /**
+         * Time the last live object left the pack in epoch milliseconds, or 0 while it has live objects.
+         */
+        public long getEmptiedAt() {
+            return emptiedAt;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.minio.minio_test.packing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Index of one pack, stored in MinIO next to the pack.
+ * <p>
+ * It lists every object written into the pack with its location and metadata, so that the local
+ * index can be rebuilt from MinIO alone. It is written once after the pack and never changed;
+ * objects that left the pack later are told apart by their modification time, against newer
+ * copies in other packs and against removal tombstones.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/24
+ */
+public final class PackSidecar {
+
+    /** Suffix of the sidecar's key, appended to the pack's key */
+    public static final String SUFFIX = ".index";
+
+    private final String bucketName;
+
+    private final String packId;
+
+    private final long size;
+
+    private final long createdAt;
+
+    private final Map<String, PackedObject> objects;
+
+    /**
+     * @param bucketName The bucket of the objects.
+     * @param packId     The pack.
+     * @param size       Size of the pack in bytes.
+     * @param createdAt  Time the pack was opened, no later than any object in it was current.
+     * @param objects    The objects in the pack by key.
+     */
+    public PackSidecar(String bucketName, String packId, long size, long createdAt, Map<String, PackedObject> objects) {
+        this.bucketName = bucketName;
+        this.packId = packId;
+        this.size = size;
+        this.createdAt = createdAt;
+        this.objects = objects;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public String getPackId() {
+        return packId;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public Map<String, PackedObject> getObjects() {
+        return objects;
+    }
+
+    public byte[] toBytes(ObjectMapper objectMapper) throws IOException {
+        ObjectNode root = objectMapper.createObjectNode()
+                .put("bucket", bucketName)
+                .put("pack", packId)
+                .put("size", size)
+                .put("time", createdAt);
+        ObjectNode entries = root.putObject("objects");
+        for (Map.Entry<String, PackedObject> entry : objects.entrySet()) {
+            PackedObject object = entry.getValue();
+            entries.putObject(entry.getKey())
+                    .put("off", object.getOffset())
+                    .put("len", object.getLength())
+                    .put("type", object.getContentType())
+                    .put("etag", object.getEtag())
+                    .put("time", object.getLastModified());
+        }
+        return objectMapper.writeValueAsBytes(root);
+    }
+
+    public static PackSidecar parse(ObjectMapper objectMapper, byte[] content) throws IOException {
+        JsonNode root = objectMapper.readTree(content);
+        String packId = root.get("pack").asText();
+        Map<String, PackedObject> objects = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> entries = root.get("objects").fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            JsonNode object = entry.getValue();
+            JsonNode contentType = object.get("type");
+            objects.put(entry.getKey(), new PackedObject(packId, object.get("off").asLong(), object.get("len").asInt(),
+                    contentType == null || contentType.isNull() ? null : contentType.asText(),
+                    object.get("etag").asText(), object.get("time").asLong()));
+        }
+        return new PackSidecar(root.get("bucket").asText(), packId, root.get("size").asLong(),
+                root.get("time").asLong(), objects);
+    }
+}
@@ -0,0 +1,71 @@
+package com.minio.minio_test.packing;
+
+/**
+ * Location and metadata of a small object stored inside a pack.
+ *
+ * @author Zhang
+ * @date 2025/03/20
+ */
+public final class PackedObject {
+
+    /** Placeholder for a common prefix in non-recursive listings */
+    public static final PackedObject DIRECTORY = new PackedObject(null, 0, 0, null, null, 0);
+
+    private final String packId;
+
+    private final long offset;
+
+    private final int length;
+
+    private final String contentType;
+
+    private final String etag;
+
+    private final long lastModified;
+
+    public PackedObject(String packId, long offset, int length, String contentType, String etag, long lastModified) {
+        this.packId = packId;
+        this.offset = offset;
+        this.length = length;
+        this.contentType = contentType;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public String getPackId() {
+        return packId;
+    }
+
+    /**
+     * Offset of the object's first byte in the pack.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * MD5 of the content in hex, as S3 reports for single-part objects.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Time the object was packed, in epoch milliseconds; copies made by compaction keep it.
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public boolean isDirectory() {
+        return this == DIRECTORY;
+    }
+}
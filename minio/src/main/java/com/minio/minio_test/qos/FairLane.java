@@ -0,0 +1,133 @@
+package com.minio.minio_test.qos;
+
+import java.io.InterruptedIOException;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shares the bandwidth of a lane among its transfers by weight.
+ * <p>
+ * Start-time fair queueing: every chunk a transfer wants to send is tagged with a virtual finish
+ * time that advances by the chunk size divided by the transfer's weight, and the lane's tokens are
+ * granted in tag order. A transfer of weight 2 therefore gets twice the bandwidth of one of weight
+ * 1 while both are busy, and one that was idle does not get to catch up at the others' expense.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/06
+ */
+public final class FairLane {
+
+    /** Virtual time units per byte at weight 1 */
+    private static final long WEIGHT_SCALE = 1024;
+
+    private final TrafficAccount account;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition changed = lock.newCondition();
+
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+            Comparator.comparingLong((Waiter waiter) -> waiter.finish).thenComparingLong(waiter -> waiter.sequence));
+
+    private long virtualTime;
+
+    private long sequence;
+
+    public FairLane(TrafficAccount account) {
+        this.account = account;
+    }
+
+    public TrafficAccount getAccount() {
+        return account;
+    }
+
+    /**
+     * Number of chunks waiting for bandwidth.
+     */
+    public int waiting() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the lane grants bandwidth for a chunk of a flow.
+     *
+     * @param flow  The transfer.
+     * @param bytes The chunk size.
+     */
+    public void acquire(Flow flow, long bytes) throws InterruptedIOException {
+        TokenBucket bucket = account.getBucket();
+        if (bucket != null) {
+            lock.lock();
+            try {
+                long start = Math.max(virtualTime, flow.finishTag);
+                Waiter waiter = new Waiter(start, start + bytes * WEIGHT_SCALE / flow.weight, sequence++);
+                waiters.add(waiter);
+                // The new chunk may be ahead of the current head
+                changed.signalAll();
+                try {
+                    while (true) {
+                        if (waiters.peek() == waiter) {
+                            long wait = bucket.tryTake(bytes);
+                            if (wait == 0) {
+                                break;
+                            }
+                            changed.awaitNanos(wait);
+                        } else {
+                            changed.await();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    waiters.remove(waiter);
+                    changed.signalAll();
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for bandwidth");
+                }
+                waiters.poll();
+                virtualTime = waiter.start;
+                flow.finishTag = waiter.finish;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+        account.getMeter().record(bytes);
+    }
+
+    /**
+     * The fair-queueing state of one transfer in a lane.
+     */
+    public static final class Flow {
+
+        private final int weight;
+
+        /** Guarded by the lane lock */
+        private long finishTag;
+
+        public Flow(int weight) {
+            this.weight = Math.max(1, weight);
+        }
+    }
+
+    private static final class Waiter {
+
+        private final long start;
+
+        private final long finish;
+
+        private final long sequence;
+
+        private Waiter(long start, long finish, long sequence) {
+            this.start = start;
+            this.finish = finish;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.minio.minio_test.qos;
+
+/**
+ * Measures a byte rate over a sliding window of whole seconds.
+ *
+ * @author Zhang
+ * @date 2025/03/06
+ */
+public final class RateMeter {
+
+    private static final int WINDOW_SECONDS = 5;
+
+    /** Bytes per second, one slot per second of the window plus the current second */
+    private final long[] slots = new long[WINDOW_SECONDS + 1];
+
+    private long currentSecond = System.nanoTime() / 1_000_000_000L;
+
+    private long total;
+
+    public synchronized void record(long bytes) {
+        advance();
+        slots[(int) (currentSecond % slots.length)] += bytes;
+        total += bytes;
+    }
+
+    /**
+     * Average bytes per second over the last complete seconds of the window.
+     */
+    public synchronized long rate() {
+        advance();
+        long sum = 0;
+        for (int i = 1; i <= WINDOW_SECONDS; i++) {
+            sum += slots[(int) ((currentSecond - i) % slots.length)];
+        }
+        return sum / WINDOW_SECONDS;
+    }
+
+    /**
+     * Bytes recorded since creation.
+     */
+    public synchronized long total() {
+        return total;
+    }
+
+    private void advance() {
+        long now = System.nanoTime() / 1_000_000_000L;
+        long elapsed = Math.min(now - currentSecond, slots.length);
+        for (long i = 1; i <= elapsed; i++) {
+            slots[(int) ((currentSecond + i) % slots.length)] = 0;
+        }
+        currentSecond = Math.max(currentSecond, now);
+    }
+}
@@ -0,0 +1,85 @@
+package com.minio.minio_test.qos;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket refilled continuously at a fixed rate of bytes per second.
+ * Tokens may be taken only when available, or reserved ahead into debt that later takers wait out.
+ *
+ * @author Zhang
+ * @date 2025/03/06
+ */
+public final class TokenBucket {
+
+    private final double tokensPerNano;
+
+    private final long capacity;
+
+    private final LongSupplier clock;
+
+    private double tokens;
+
+    private long lastRefill;
+
+    /**
+     * @param ratePerSecond Refill rate in bytes per second.
+     * @param capacity      Largest burst in bytes.
+     */
+    public TokenBucket(long ratePerSecond, long capacity) {
+        this(ratePerSecond, capacity, System::nanoTime);
+    }
+
+    /**
+     * @param ratePerSecond Refill rate in bytes per second.
+     * @param capacity      Largest burst in bytes.
+     * @param clock         Source of {@link System#nanoTime()} readings.
+     */
+    TokenBucket(long ratePerSecond, long capacity, LongSupplier clock) {
+        this.tokensPerNano = ratePerSecond / 1e9;
+        this.capacity = capacity;
+        this.clock = clock;
+        this.tokens = capacity;
+        this.lastRefill = clock.getAsLong();
+    }
+
+    /**
+     * Takes tokens if available.
+     *
+     * @return 0 if taken, otherwise the nanoseconds until enough tokens will have accrued.
+     */
+    public synchronized long tryTake(long amount) {
+        refill();
+        long needed = Math.min(amount, capacity);
+        if (tokens >= needed) {
+            tokens -= needed;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((needed - tokens) / tokensPerNano));
+    }
+
+    /**
+     * Takes tokens unconditionally, going into debt if needed.
+     *
+     * @return The nanoseconds the caller should wait for the debt to be repaid, 0 if none.
+     */
+    public synchronized long reserve(long amount) {
+        refill();
+        tokens -= amount;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+
+    /**
+     * Takes tokens without waiting, for traffic that is accounted but not delayed. The debt is
+     * capped at one burst, so it can delay other takers by at most that much.
+     */
+    public synchronized void charge(long amount) {
+        refill();
+        tokens = Math.max(tokens - amount, -capacity);
+    }
+
+    private void refill() {
+        long now = clock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
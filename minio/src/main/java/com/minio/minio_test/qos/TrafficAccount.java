@@ -0,0 +1,86 @@
+package com.minio.minio_test.qos;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Bandwidth limit and usage of one client, bucket or lane.
+ *
+ * @author Zhang
+ * @date 2025/03/06
+ */
+public final class TrafficAccount {
+
+    private final String name;
+
+    private final long limit;
+
+    private final TokenBucket bucket;
+
+    private final RateMeter meter = new RateMeter();
+
+    private final AtomicInteger activeTransfers = new AtomicInteger();
+
+    private volatile long lastUsed = System.currentTimeMillis();
+
+    /**
+     * @param name  The client, bucket or lane name.
+     * @param limit Bytes per second, or 0 for unlimited.
+     * @param burst Largest burst in bytes.
+     */
+    public TrafficAccount(String name, long limit, long burst) {
+        this(name, limit, burst, System::nanoTime);
+    }
+
+    /**
+     * @param name  The client, bucket or lane name.
+     * @param limit Bytes per second, or 0 for unlimited.
+     * @param burst Largest burst in bytes.
+     * @param clock Source of {@link System#nanoTime()} readings for the token bucket.
+     */
+    TrafficAccount(String name, long limit, long burst, LongSupplier clock) {
+        this.name = name;
+        this.limit = limit;
+        this.bucket = limit > 0 ? new TokenBucket(limit, burst, clock) : null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Bytes per second, or 0 for unlimited.
+     */
+    public long getLimit() {
+        return limit;
+    }
+
+    /**
+     * The token bucket enforcing the limit, or null if unlimited.
+     */
+    public TokenBucket getBucket() {
+        return bucket;
+    }
+
+    public RateMeter getMeter() {
+        return meter;
+    }
+
+    public int getActiveTransfers() {
+        return activeTransfers.get();
+    }
+
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    void open() {
+        activeTransfers.incrementAndGet();
+        lastUsed = System.currentTimeMillis();
+    }
+
+    void close() {
+        activeTransfers.decrementAndGet();
+        lastUsed = System.currentTimeMillis();
+    }
+}
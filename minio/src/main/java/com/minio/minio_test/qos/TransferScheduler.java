@@ -0,0 +1,285 @@
+package com.minio.minio_test.qos;
+
+import com.minio.minio_test.config.QosProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shapes download streams by client, bucket and transfer size.
+ * <p>
+ * Each chunk written by a large transfer first waits for the token buckets of its client and of
+ * its bucket, then for its fair share of the large lane. Small transfers use a lane of their own:
+ * they are charged to their client and bucket but never wait on them, so interactive requests stay
+ * fast while a bulk download of the same client is throttled.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/06
+ */
+@Component
+public class TransferScheduler {
+
+    private static final String SMALL_LANE = "small";
+
+    private static final String LARGE_LANE = "large";
+
+    @Resource
+    private QosProperties qosProperties;
+
+    private final ConcurrentMap<String, TrafficAccount> clients = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, TrafficAccount> buckets = new ConcurrentHashMap<>();
+
+    private FairLane smallLane;
+
+    private FairLane largeLane;
+
+    @PostConstruct
+    public void init() {
+        smallLane = new FairLane(new TrafficAccount(SMALL_LANE, qosProperties.getSmallLaneRate().toBytes(), burst()));
+        largeLane = new FairLane(new TrafficAccount(LARGE_LANE, qosProperties.getLargeLaneRate().toBytes(), burst()));
+    }
+
+    /**
+     * Wraps the output stream of a download so that writes to it are shaped. Closing the returned
+     * stream ends the transfer but leaves the wrapped stream open.
+     *
+     * @param out        The response output stream.
+     * @param bucketName The bucket downloaded from.
+     * @param size       The transfer size, or -1 if unknown.
+     * @return The shaped stream, or a plain wrapper if shaping is disabled.
+     */
+    public OutputStream shape(OutputStream out, String bucketName, long size) {
+        if (!qosProperties.isEnabled()) {
+            return new FilterOutputStream(out) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.flush();
+                }
+            };
+        }
+        QosProperties.Client override = qosProperties.getClients().get(clientId());
+        return new ShapedOutputStream(out, pace(bucketName, size),
+                new FairLane.Flow(override != null ? override.getWeight() : 1));
+    }
+
+    /**
+     * Opens a shaped transfer for a writer that must not block while waiting for bandwidth, such
+     * as a non-blocking download: instead of waiting, {@link Pacer#admit} tells how long to hold
+     * off before sending a chunk. Lane bandwidth is reserved in arrival order, without weights.
+     *
+     * @param bucketName The bucket downloaded from.
+     * @param size       The transfer size, or -1 if unknown.
+     * @return The pacer, which admits everything at once if shaping is disabled.
+     */
+    public Pacer pace(String bucketName, long size) {
+        if (!qosProperties.isEnabled()) {
+            return new Pacer(null, null, null, false);
+        }
+        String clientId = clientId();
+        QosProperties.Client override = qosProperties.getClients().get(clientId);
+        long clientRate = override != null && override.getRate() != null
+                ? override.getRate().toBytes() : qosProperties.getClientRate().toBytes();
+        DataSize bucketOverride = qosProperties.getBuckets().get(bucketName);
+        long bucketRate = bucketOverride != null ? bucketOverride.toBytes() : qosProperties.getBucketRate().toBytes();
+
+        // Opened inside compute so that idle eviction cannot remove an account being handed out
+        TrafficAccount client = clients.compute(clientId, (id, account) -> open(account, id, clientRate));
+        TrafficAccount bucket = buckets.compute(bucketName, (name, account) -> open(account, name, bucketRate));
+        boolean small = size >= 0 && size < qosProperties.getSmallTransferThreshold().toBytes();
+        FairLane lane = small ? smallLane : largeLane;
+        lane.getAccount().open();
+        return new Pacer(client, bucket, lane, small);
+    }
+
+    public List<FairLane> lanes() {
+        return List.of(smallLane, largeLane);
+    }
+
+    public Collection<TrafficAccount> clients() {
+        return clients.values();
+    }
+
+    public Collection<TrafficAccount> buckets() {
+        return buckets.values();
+    }
+
+    /**
+     * Drops the state of clients and buckets without transfers for longer than the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${minio.qos.eviction-interval:60000}")
+    public void evictIdle() {
+        long threshold = System.currentTimeMillis() - qosProperties.getIdleTimeout().toMillis();
+        for (ConcurrentMap<String, TrafficAccount> accounts : List.of(clients, buckets)) {
+            for (String name : accounts.keySet()) {
+                accounts.computeIfPresent(name, (key, account) ->
+                        account.getActiveTransfers() == 0 && account.getLastUsed() < threshold ? null : account);
+            }
+        }
+    }
+
+    private TrafficAccount open(TrafficAccount account, String name, long rate) {
+        TrafficAccount current = account != null ? account : new TrafficAccount(name, rate, burst());
+        current.open();
+        return current;
+    }
+
+    private long burst() {
+        return Math.max(qosProperties.getBurst().toBytes(), qosProperties.getChunkSize().toBytes());
+    }
+
+    private String clientId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            String key = request.getHeader(qosProperties.getClientHeader());
+            return StringUtils.isNotBlank(key) ? key.trim() : request.getRemoteAddr();
+        }
+        return "internal";
+    }
+
+    private static void pause(long nanos) throws InterruptedIOException {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for bandwidth");
+        }
+    }
+
+    /**
+     * The client, bucket and lane accounts of one transfer.
+     */
+    public final class Pacer implements Closeable {
+
+        private final TrafficAccount client;
+
+        private final TrafficAccount bucket;
+
+        private final FairLane lane;
+
+        private final boolean small;
+
+        private boolean closed;
+
+        private Pacer(TrafficAccount client, TrafficAccount bucket, FairLane lane, boolean small) {
+            this.client = client;
+            this.bucket = bucket;
+            this.lane = lane;
+            this.small = small;
+        }
+
+        /**
+         * Charges a chunk to the client, bucket and lane without waiting.
+         *
+         * @param bytes The chunk size.
+         * @return The nanoseconds to wait before sending the chunk, 0 to send it now.
+         */
+        public long admit(int bytes) {
+            if (lane == null) {
+                return 0;
+            }
+            long wait = Math.max(reserve(client, bytes), reserve(bucket, bytes));
+            TokenBucket laneLimit = lane.getAccount().getBucket();
+            if (laneLimit != null) {
+                wait = Math.max(wait, laneLimit.reserve(bytes));
+            }
+            lane.getAccount().getMeter().record(bytes);
+            return wait;
+        }
+
+        private long reserve(TrafficAccount account, int bytes) {
+            TokenBucket limit = account.getBucket();
+            long wait = 0;
+            if (limit != null) {
+                if (small) {
+                    limit.charge(bytes);
+                } else {
+                    wait = limit.reserve(bytes);
+                }
+            }
+            account.getMeter().record(bytes);
+            return wait;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (closed || lane == null) {
+                return;
+            }
+            closed = true;
+            client.close();
+            bucket.close();
+            lane.getAccount().close();
+        }
+    }
+
+    /**
+     * Writes in chunks, each admitted by the client, bucket and lane limits.
+     */
+    private final class ShapedOutputStream extends FilterOutputStream {
+
+        private final Pacer pacer;
+
+        private final FairLane.Flow flow;
+
+        private final int chunkSize = (int) qosProperties.getChunkSize().toBytes();
+
+        private ShapedOutputStream(OutputStream out, Pacer pacer, FairLane.Flow flow) {
+            super(out);
+            this.pacer = pacer;
+            this.flow = flow;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int chunk = Math.min(len, chunkSize);
+                pause(pacer.reserve(pacer.client, chunk));
+                pause(pacer.reserve(pacer.bucket, chunk));
+                pacer.lane.acquire(flow, chunk);
+                out.write(b, off, chunk);
+                off += chunk;
+                len -= chunk;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            pacer.close();
+            out.flush();
+        }
+    }
+}
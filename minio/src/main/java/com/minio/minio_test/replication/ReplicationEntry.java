@@ -0,0 +1,97 @@
+package com.minio.minio_test.replication;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A write waiting to be replicated.
+ * <p>
+ * Replication copies the current state of the key from the primary rather than replaying the
+ * write itself, so entries of the same key may be applied in any order and more than once.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/02/27
+ */
+public class ReplicationEntry implements Delayed {
+
+    /**
+     * Kinds of replicated writes.
+     */
+    public enum Operation {
+        PUT, REMOVE
+    }
+
+    private final long sequence;
+
+    private final Operation operation;
+
+    private final String bucketName;
+
+    private final String objectName;
+
+    private final long enqueuedAt;
+
+    private int attempts;
+
+    private long dueNanos = System.nanoTime();
+
+    public ReplicationEntry(long sequence, Operation operation, String bucketName, String objectName, long enqueuedAt) {
+        this.sequence = sequence;
+        this.operation = operation;
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * Wall-clock time the write was queued, in epoch milliseconds.
+     */
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Records a failed attempt and postpones the entry.
+     *
+     * @param delayNanos Delay before the next attempt.
+     */
+    public void retryAfter(long delayNanos) {
+        attempts++;
+        dueNanos = System.nanoTime() + delayNanos;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        if (other instanceof ReplicationEntry entry) {
+            int byDue = Long.compare(dueNanos, entry.dueNanos);
+            return byDue != 0 ? byDue : Long.compare(sequence, entry.sequence);
+        }
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+}
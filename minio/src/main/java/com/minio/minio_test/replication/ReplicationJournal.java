@@ -0,0 +1,223 @@
+package com.minio.minio_test.replication;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Append-only journal of queued replication writes.
+ * <p>
+ * Every queued write is appended as one JSON line, and every replicated write as an
+ * acknowledgement line. On open the journal is replayed and the writes without acknowledgement
+ * are returned. Once enough records have accumulated the journal is rewritten with only the
+ * pending writes and atomically swapped in. A line torn by a crash is skipped on replay.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/02/27
+ */
+public class ReplicationJournal implements Closeable {
+
+    private static final String JOURNAL_FILE = "replication.journal";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicationJournal.class);
+
+    private final Path file;
+
+    private final ObjectMapper objectMapper;
+
+    private final int compactThreshold;
+
+    /** Pending writes by sequence, oldest first */
+    private final LinkedHashMap<Long, ReplicationEntry> pending = new LinkedHashMap<>();
+
+    private FileChannel channel;
+
+    private long nextSequence = 1;
+
+    private int records;
+
+    private boolean dirty;
+
+    public ReplicationJournal(Path directory, ObjectMapper objectMapper, int compactThreshold) {
+        this.file = directory.resolve(JOURNAL_FILE);
+        this.objectMapper = objectMapper;
+        this.compactThreshold = compactThreshold;
+    }
+
+    /**
+     * Opens the journal, creating it if needed, and replays it.
+     *
+     * @return The writes still waiting for replication, oldest first.
+     */
+    public synchronized List<ReplicationEntry> open() throws IOException {
+        Files.createDirectories(file.getParent());
+        if (Files.exists(file)) {
+            replay();
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        compact();
+        return new ArrayList<>(pending.values());
+    }
+
+    /**
+     * Appends a write to the journal. The record reaches disk with the next {@link #sync()}.
+     *
+     * @return The journaled entry.
+     */
+    public synchronized ReplicationEntry append(ReplicationEntry.Operation operation, String bucketName, String objectName)
+            throws IOException {
+        ReplicationEntry entry = new ReplicationEntry(nextSequence++, operation, bucketName, objectName,
+                System.currentTimeMillis());
+        write(entryRecord(entry));
+        pending.put(entry.getSequence(), entry);
+        return entry;
+    }
+
+    /**
+     * Marks writes as replicated.
+     *
+     * @param entries The replicated entries.
+     */
+    public synchronized void acknowledge(Collection<ReplicationEntry> entries) throws IOException {
+        for (ReplicationEntry entry : entries) {
+            if (pending.remove(entry.getSequence()) != null) {
+                write(objectMapper.createObjectNode().put("ack", entry.getSequence()));
+            }
+        }
+        if (records >= compactThreshold) {
+            compact();
+        }
+    }
+
+    /**
+     * Flushes appended records to disk.
+     */
+    public synchronized void sync() throws IOException {
+        if (dirty && channel != null) {
+            channel.force(false);
+            dirty = false;
+        }
+    }
+
+    /**
+     * Number of writes waiting for replication.
+     */
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Queue time of the oldest pending write in epoch milliseconds, or -1 if none is pending.
+     */
+    public synchronized long oldestEnqueuedAt() {
+        for (ReplicationEntry entry : pending.values()) {
+            return entry.getEnqueuedAt();
+        }
+        return -1;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            sync();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void write(JsonNode record) throws IOException {
+        if (channel == null) {
+            throw new IOException("Replication journal is not open: " + file);
+        }
+        byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        records++;
+        dirty = true;
+    }
+
+    private void replay() throws IOException {
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode record;
+                try {
+                    record = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    skipped++;
+                    continue;
+                }
+                if (record.has("ack")) {
+                    pending.remove(record.get("ack").asLong());
+                } else if (record.has("seq")) {
+                    long sequence = record.get("seq").asLong();
+                    pending.put(sequence, new ReplicationEntry(sequence,
+                            ReplicationEntry.Operation.valueOf(record.get("op").asText()),
+                            record.get("bucket").asText(), record.get("key").asText(),
+                            record.get("time").asLong()));
+                    nextSequence = Math.max(nextSequence, sequence + 1);
+                }
+            }
+        }
+        if (skipped > 0) {
+            LOGGER.warn("Skipped {} unreadable record(s) in replication journal: {}", skipped, file);
+        }
+        LOGGER.info("Replayed replication journal: {} write(s) pending.", pending.size());
+    }
+
+    /**
+     * Rewrites the journal with only the pending writes.
+     */
+    private void compact() throws IOException {
+        Path temp = file.resolveSibling(JOURNAL_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream stream = Channels.newOutputStream(out);
+            for (ReplicationEntry entry : pending.values()) {
+                stream.write((objectMapper.writeValueAsString(entryRecord(entry)) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            stream.flush();
+            out.force(true);
+        }
+        channel.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        records = pending.size();
+        dirty = false;
+    }
+
+    private ObjectNode entryRecord(ReplicationEntry entry) {
+        return objectMapper.createObjectNode()
+                .put("seq", entry.getSequence())
+                .put("op", entry.getOperation().name())
+                .put("bucket", entry.getBucketName())
+                .put("key", entry.getObjectName())
+                .put("time", entry.getEnqueuedAt());
+    }
+}
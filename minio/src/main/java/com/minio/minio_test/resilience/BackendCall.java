@@ -0,0 +1,23 @@
+package com.minio.minio_test.resilience;
+
+import io.minio.MinioClient;
+import io.minio.errors.MinioException;
+
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A single MinIO client call, made with the client of the endpoint picked for it. Declares the same
+ * checked exceptions as {@code MinioClient} methods, so wrapping a call does not change the error
+ * handling of the caller.
+ *
+ * @param <T> The result type.
+ * @author Zhang
+ * @date 2025/02/25
+ */
+@FunctionalInterface
+public interface BackendCall<T> {
+
+    T call(MinioClient client) throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException;
+}
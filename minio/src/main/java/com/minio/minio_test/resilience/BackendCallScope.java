@@ -0,0 +1,74 @@
+package com.minio.minio_test.resilience;
+
+import okhttp3.Call;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The HTTP calls sent by one backend attempt, so that they can be cancelled when the attempt is
+ * abandoned.
+ * <p>
+ * The blocking MinIO client sends its requests through the asynchronous OkHttp dispatcher, so
+ * interrupting the thread that waits for a call leaves the call running and holding one of the
+ * dispatcher's per-host slots until it ends by itself. Calls are registered by the event listener
+ * factory of the HTTP client, which runs on the thread creating the call.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/24
+ */
+public final class BackendCallScope {
+
+    private static final ThreadLocal<BackendCallScope> CURRENT = new ThreadLocal<>();
+
+    private final List<Call> calls = new ArrayList<>();
+
+    private boolean cancelled;
+
+    /**
+     * Registers a call created by the current thread with the scope the thread runs in, if any.
+     * A call created in a cancelled scope is cancelled at once.
+     *
+     * @param call The new call.
+     */
+    public static void register(Call call) {
+        BackendCallScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.add(call);
+        }
+    }
+
+    /**
+     * Makes this the scope of the calls the current thread creates, until {@link #exit()}.
+     */
+    void enter() {
+        CURRENT.set(this);
+    }
+
+    /**
+     * Ends the scope of the current thread; the calls it registered can still be cancelled.
+     */
+    void exit() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Cancels every call registered so far and any registered later.
+     */
+    synchronized void cancel() {
+        cancelled = true;
+        for (Call call : calls) {
+            call.cancel();
+        }
+        calls.clear();
+    }
+
+    private synchronized void add(Call call) {
+        if (cancelled) {
+            call.cancel();
+        } else {
+            calls.add(call);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.minio.minio_test.resilience;
+
+/**
+ * Kinds of MinIO calls, used to key circuit breakers and latency statistics.
+ *
+ * @author Zhang
+ * @date 2025/02/25
+ */
+public enum BackendOperation {
+
+    BUCKET_EXISTS(true, false),
+    STAT_OBJECT(true, false),
+    GET_OBJECT(true, false),
+    SELECT_OBJECT(true, false),
+    LIST_OBJECTS(true, false),
+    LIST_BUCKETS(true, false),
+    GET_BUCKET_POLICY(true, false),
+    PRESIGN(true, false),
+    MAKE_BUCKET(false, false),
+    SET_BUCKET_POLICY(false, false),
+    REMOVE_BUCKET(false, false),
+    REMOVE_OBJECT(false, false),
+    PUT_OBJECT(false, true),
+    UPLOAD_OBJECT(false, true),
+    DOWNLOAD_OBJECT(false, true);
+
+    private final boolean idempotent;
+
+    private final boolean transfer;
+
+    BackendOperation(boolean idempotent, boolean transfer) {
+        this.idempotent = idempotent;
+        this.transfer = transfer;
+    }
+
+    /**
+     * Whether the call may safely be repeated or hedged.
+     */
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    /**
+     * Whether the call moves a whole object body and so runs on the caller thread,
+     * without a deadline and without counting towards slow calls.
+     */
+    public boolean isTransfer() {
+        return transfer;
+    }
+}
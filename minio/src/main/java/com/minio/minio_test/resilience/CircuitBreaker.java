@@ -0,0 +1,152 @@
+package com.minio.minio_test.resilience;
+
+import com.minio.minio_test.config.ResilienceProperties;
+
+/**
+ * Count-based circuit breaker.
+ * <p>
+ * While closed, the outcome of the last {@code windowSize} calls is kept; the breaker opens when,
+ * with at least {@code minimumCalls} recorded, the failure or slow-call percentage reaches its
+ * threshold. While open, calls fail fast. After {@code openDuration} it lets {@code halfOpenProbes}
+ * calls through; it closes if all of them succeed quickly and re-opens otherwise.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/02/25
+ */
+public class CircuitBreaker {
+
+    /**
+     * Breaker states.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+
+    private final ResilienceProperties.Breaker config;
+
+    private final long slowNanos;
+
+    private final byte[] window;
+
+    private int position;
+
+    private int recorded;
+
+    private int failures;
+
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+
+    private long openedAt;
+
+    private int probesIssued;
+
+    private int probesSucceeded;
+
+    public CircuitBreaker(String name, ResilienceProperties.Breaker config) {
+        this.name = name;
+        this.config = config;
+        this.slowNanos = config.getSlowCallDuration().toNanos();
+        this.window = new byte[config.getWindowSize()];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Asks for permission to make a call.
+     *
+     * @return false if the call must fail fast.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < config.getOpenDuration().toNanos()) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesIssued = 0;
+            probesSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesIssued >= config.getHalfOpenProbes()) {
+                return false;
+            }
+            probesIssued++;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a permission whose call was abandoned before producing an outcome.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && probesIssued > probesSucceeded) {
+            probesIssued--;
+        }
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     *
+     * @param nanos  The call duration; negative if it should not be judged as slow.
+     * @param failed Whether the call failed in a way that indicates an unhealthy backend.
+     */
+    public synchronized void onResult(long nanos, boolean failed) {
+        boolean slow = nanos >= 0 && nanos >= slowNanos;
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                open();
+            } else if (++probesSucceeded >= config.getHalfOpenProbes()) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+
+        byte outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+        if (recorded == window.length) {
+            byte evicted = window[position];
+            failures -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            recorded++;
+        }
+        window[position] = outcome;
+        position = (position + 1) % window.length;
+        failures += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+
+        if (recorded >= config.getMinimumCalls()
+                && (failures * 100 >= config.getFailureRateThreshold() * recorded
+                || slowCalls * 100 >= config.getSlowCallRateThreshold() * recorded)) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
@@ -0,0 +1,49 @@
+package com.minio.minio_test.resilience;
+
+import com.minio.minio_test.config.ResilienceProperties;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Starts the {@link RequestDeadline} of every request from the client's time budget header,
+ * capped at the configured maximum, and clears it when the request thread is released.
+ *
+ * @author Zhang
+ * @date 2025/02/25
+ */
+@Component
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    @Resource
+    private ResilienceProperties resilienceProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ResilienceProperties.Deadline config = resilienceProperties.getDeadline();
+        long budget = config.getDefaultTimeout().toMillis();
+        String header = request.getHeader(config.getHeader());
+        if (StringUtils.isNotBlank(header)) {
+            try {
+                budget = Math.min(Long.parseLong(header.trim()), config.getMaxTimeout().toMillis());
+            } catch (NumberFormatException e) {
+                // Ignore a malformed budget and keep the default
+            }
+        }
+        RequestDeadline.start(Math.max(budget, 0));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestDeadline.clear();
+    }
+}
@@ -0,0 +1,62 @@
+package com.minio.minio_test.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks recent latencies of one operation in a fixed ring buffer and estimates a percentile.
+ * The percentile is recomputed every {@value #RECOMPUTE_EVERY} samples, so reading it is free.
+ *
+ * @author Zhang
+ * @date 2025/02/25
+ */
+public class LatencyTracker {
+
+    private static final int CAPACITY = 512;
+
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private static final int MIN_SAMPLES = 32;
+
+    private final double percentile;
+
+    private final AtomicLongArray samples = new AtomicLongArray(CAPACITY);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private volatile long cachedNanos = -1;
+
+    public LatencyTracker(double percentile) {
+        this.percentile = percentile;
+    }
+
+    /**
+     * Records the latency of a successful call.
+     *
+     * @param nanos The latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        long n = count.getAndIncrement();
+        samples.set((int) (n % CAPACITY), nanos);
+        if ((n + 1) % RECOMPUTE_EVERY == 0 && n + 1 >= MIN_SAMPLES) {
+            recompute((int) Math.min(n + 1, CAPACITY));
+        }
+    }
+
+    /**
+     * Returns the estimated percentile latency, or -1 if too few calls were recorded.
+     */
+    public long percentileNanos() {
+        return cachedNanos;
+    }
+
+    private void recompute(int size) {
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        cachedNanos = copy[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+    }
+}
@@ -0,0 +1,558 @@
+package com.minio.minio_test.resilience;
+
+import com.minio.minio_test.cluster.MinioClientPool;
+import com.minio.minio_test.cluster.MinioNode;
+import com.minio.minio_test.config.ResilienceProperties;
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.BackendUnavailableException;
+import com.minio.minio_test.tracing.Span;
+import com.minio.minio_test.tracing.TraceContext;
+import com.minio.minio_test.tracing.Tracer;
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.InvalidResponseException;
+import io.minio.errors.MinioException;
+import io.minio.errors.ServerException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Executes MinIO client calls with load balancing, circuit breaking, deadlines, retries and hedged reads.
+ * <ul>
+ *     <li>Every attempt is sent to a node picked by the {@link MinioClientPool}, skipping nodes whose circuit
+ *     breaker for the operation is open; the call fails fast only when every node's circuit is open.</li>
+ *     <li>Non-transfer calls run on a bounded backend pool; the request thread waits at most until the
+ *     request deadline, so a hung backend cannot hold Tomcat threads beyond the client's budget.</li>
+ *     <li>Idempotent calls that fail transiently are retried with full-jitter exponential backoff,
+ *     as long as the shared retry budget and the deadline allow it, preferably on another node.</li>
+ *     <li>Hedged calls send a second request, preferably to another node, once the first has taken longer than the recent
+ *     latency percentile, and use whichever answers first.</li>
+ * </ul>
+ * Errors the caller already handles are rethrown unchanged; only an open breaker, an exhausted
+ * deadline or a saturated backend pool surface as {@link BusinessException}.
+ *
+ * @author Zhang
+ * @date 2025/02/25
+ */
+@Component
+public class MinioCallExecutor {
+
+    private static final Set<String> TRANSIENT_ERROR_CODES = Set.of(
+            "InternalError", "SlowDown", "ServiceUnavailable", "RequestTimeout",
+            "OperationTimedOut", "XMinioServerNotInitialized");
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MinioCallExecutor.class);
+
+    @Resource
+    private ResilienceProperties resilienceProperties;
+
+    @Resource
+    private MinioClientPool clientPool;
+
+    @Resource
+    private Tracer tracer;
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private final Map<BackendOperation, LatencyTracker> latencies = new EnumMap<>(BackendOperation.class);
+
+    private RetryBudget retryBudget;
+
+    private ThreadPoolExecutor backendExecutor;
+
+    @PostConstruct
+    public void init() {
+        for (BackendOperation operation : BackendOperation.values()) {
+            latencies.put(operation, new LatencyTracker(resilienceProperties.getHedge().getPercentile()));
+        }
+        ResilienceProperties.Retry retry = resilienceProperties.getRetry();
+        retryBudget = new RetryBudget(retry.getBudgetRatio(), retry.getBudgetMaxTokens());
+
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("minio-call-");
+        factory.setDaemon(true);
+        int threads = resilienceProperties.getBackendThreads();
+        int capacity = resilienceProperties.getBackendQueueCapacity();
+        backendExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                capacity > 0 ? new ArrayBlockingQueue<>(capacity) : new SynchronousQueue<>(), factory);
+        backendExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backendExecutor.shutdownNow();
+    }
+
+    /**
+     * Executes a call against one of the configured endpoints.
+     *
+     * @param operation The kind of call.
+     * @param call      The MinIO client call.
+     * @return The call result.
+     */
+    public <T> T execute(BackendOperation operation, BackendCall<T> call)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        return execute(operation, call, false);
+    }
+
+    /**
+     * Executes a small idempotent read with a hedged second request. The result of the losing
+     * request is closed, so the result type must own a connection that can be released that way.
+     *
+     * @param operation The kind of call; must be idempotent.
+     * @param call      The MinIO client call.
+     * @return The result of whichever request answered first.
+     */
+    public <T extends AutoCloseable> T executeHedged(BackendOperation operation, BackendCall<T> call)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        boolean hedge = resilienceProperties.getHedge().isEnabled() && operation.isIdempotent();
+        return execute(operation, call, hedge);
+    }
+
+    /**
+     * Returns the circuit breaker state of an operation against an endpoint.
+     */
+    public CircuitBreaker.State breakerState(String endpoint, BackendOperation operation) {
+        return breaker(endpoint, operation).getState();
+    }
+
+    /**
+     * Returns the number of retry tokens currently available.
+     */
+    public long retryTokens() {
+        return retryBudget.available();
+    }
+
+    private <T> T execute(BackendOperation operation, BackendCall<T> call, boolean hedge)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        Span span = tracer.start("minio." + operation.name().toLowerCase(Locale.ROOT), Span.Kind.INTERNAL);
+        try {
+            return executeAttempts(operation, call, hedge, span);
+        } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException | RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private <T> T executeAttempts(BackendOperation operation, BackendCall<T> call, boolean hedge, Span span)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        if (!resilienceProperties.isEnabled()) {
+            return call.call(clientPool.client());
+        }
+        ResilienceProperties.Retry retry = resilienceProperties.getRetry();
+        int maxAttempts = operation.isIdempotent() ? retry.getMaxAttempts() : 1;
+        retryBudget.deposit();
+
+        MinioNode previous = null;
+        for (int attempt = 1; ; attempt++) {
+            Target target = target(operation, previous);
+            if (target == null) {
+                throw new BackendUnavailableException("MinIO is unavailable: circuit open for "
+                        + operation.name().toLowerCase(Locale.ROOT) + " on every endpoint", null,
+                        resilienceProperties.getBreaker().getOpenDuration());
+            }
+            MinioNode node = target.node;
+            CircuitBreaker breaker = target.breaker;
+            previous = node;
+            span.setAttribute("minio.attempts", attempt).setAttribute("minio.endpoint", node.getEndpoint());
+            long start = System.nanoTime();
+            Throwable failure;
+            try {
+                T result;
+                if (operation.isTransfer()) {
+                    result = transfer(node, call);
+                } else if (hedge) {
+                    result = awaitHedged(operation, call, node);
+                } else {
+                    result = await(operation, call, node);
+                }
+                breaker.onResult(operation.isTransfer() ? -1 : System.nanoTime() - start, false);
+                return result;
+            } catch (DeadlineExceeded e) {
+                if (e.inFlight) {
+                    breaker.onResult(System.nanoTime() - start, true);
+                } else {
+                    // The budget was used up before this endpoint was asked; says nothing about its health
+                    breaker.release();
+                }
+                throw new BusinessException(HttpStatus.GATEWAY_TIMEOUT.value(),
+                        "Deadline exceeded waiting for MinIO " + operation.name().toLowerCase(Locale.ROOT));
+            } catch (RejectedExecutionException e) {
+                breaker.release();
+                throw new BackendUnavailableException("Too many concurrent MinIO calls, try again later.", null,
+                        Duration.ofSeconds(1));
+            } catch (InterruptedException e) {
+                breaker.release();
+                Thread.currentThread().interrupt();
+                throw new BusinessException("Interrupted while waiting for MinIO " + operation.name().toLowerCase(Locale.ROOT), e);
+            } catch (Throwable e) {
+                failure = e;
+            }
+
+            boolean transientFailure = isTransient(failure);
+            breaker.onResult(operation.isTransfer() ? -1 : System.nanoTime() - start, transientFailure);
+            if (!transientFailure || attempt >= maxAttempts) {
+                throw rethrow(failure);
+            }
+            long backoff = backoffMillis(attempt);
+            if (remainingNanos() <= backoff * 1_000_000L || !retryBudget.tryWithdraw()) {
+                throw rethrow(failure);
+            }
+            LOGGER.debug("Retrying MinIO {} after {} ms (attempt {} of {}), last endpoint {}: {}",
+                    operation, backoff, attempt + 1, maxAttempts, node, failure.getMessage());
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw rethrow(failure);
+            }
+        }
+    }
+
+    /**
+     * Picks the node for an attempt: the least loaded node whose circuit is not open, other than
+     * {@code avoid} if there is a choice. The returned node is acquired and its breaker permit taken.
+     */
+    private Target target(BackendOperation operation, MinioNode avoid) {
+        Set<MinioNode> open = new HashSet<>();
+        while (true) {
+            MinioNode node = null;
+            if (avoid != null && !open.contains(avoid)) {
+                open.add(avoid);
+                node = clientPool.acquire(open);
+                open.remove(avoid);
+            }
+            if (node == null) {
+                node = clientPool.acquire(open);
+            }
+            if (node == null) {
+                return null;
+            }
+            CircuitBreaker breaker = breaker(node.getEndpoint(), operation);
+            if (breaker.tryAcquire()) {
+                return new Target(node, breaker);
+            }
+            clientPool.release(node);
+            open.add(node);
+        }
+    }
+
+    private <T> T transfer(MinioNode node, BackendCall<T> call) throws Throwable {
+        boolean failed = false;
+        try {
+            return call.call(node.getClient());
+        } catch (Throwable e) {
+            failed = isTransient(e);
+            throw e;
+        } finally {
+            clientPool.release(node);
+            clientPool.onResult(node, failed);
+        }
+    }
+
+    private <T> T await(BackendOperation operation, BackendCall<T> call, MinioNode node) throws Throwable {
+        long remaining = remainingNanos();
+        if (remaining <= 0) {
+            clientPool.release(node);
+            throw new DeadlineExceeded(false);
+        }
+        Attempt<T> attempt = new Attempt<>(operation, call, node);
+        try {
+            return attempt.future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            attempt.abandon();
+            throw new DeadlineExceeded(true);
+        } catch (InterruptedException e) {
+            attempt.abandon();
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private <T> T awaitHedged(BackendOperation operation, BackendCall<T> call, MinioNode node) throws Throwable {
+        long remaining = remainingNanos();
+        if (remaining <= 0) {
+            clientPool.release(node);
+            throw new DeadlineExceeded(false);
+        }
+        long percentile = latencies.get(operation).percentileNanos();
+        long hedgeDelay = Math.max(resilienceProperties.getHedge().getMinDelay().toNanos(), percentile);
+
+        Attempt<T> first = new Attempt<>(operation, call, node);
+        try {
+            return first.future.get(Math.min(hedgeDelay, remaining), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            first.abandon();
+            throw e;
+        } catch (TimeoutException e) {
+            // Slower than usual: fall through and hedge
+        }
+
+        remaining = remainingNanos();
+        if (remaining <= 0) {
+            first.abandon();
+            throw new DeadlineExceeded(true);
+        }
+        Target hedgeTarget = target(operation, node);
+        if (hedgeTarget == null) {
+            return finish(first, remaining);
+        }
+        if (!retryBudget.tryWithdraw()) {
+            hedgeTarget.breaker.release();
+            clientPool.release(hedgeTarget.node);
+            return finish(first, remaining);
+        }
+
+        Attempt<T> second;
+        try {
+            second = new Attempt<>(operation, call, hedgeTarget.node);
+        } catch (RejectedExecutionException e) {
+            hedgeTarget.breaker.release();
+            return finish(first, remaining);
+        }
+        // The first request reports to its breaker through the caller; the hedge reports here
+        long hedgeStart = System.nanoTime();
+        second.future.whenComplete((result, error) -> {
+            if (second.abandoned) {
+                hedgeTarget.breaker.release();
+            } else {
+                hedgeTarget.breaker.onResult(System.nanoTime() - hedgeStart, error != null && isTransient(error));
+            }
+        });
+        LOGGER.debug("Hedging MinIO {} on {} after {} ms.", operation, hedgeTarget.node, hedgeDelay / 1_000_000L);
+
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicReference<Attempt<T>> won = new AtomicReference<>();
+        AtomicInteger failed = new AtomicInteger();
+        for (Attempt<T> attempt : List.of(first, second)) {
+            attempt.future.whenComplete((result, error) -> {
+                if (error == null) {
+                    if (won.compareAndSet(null, attempt)) {
+                        winner.complete(result);
+                    }
+                } else if (failed.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        try {
+            T result = winner.get(remaining, TimeUnit.NANOSECONDS);
+            (won.get() == first ? second : first).abandon();
+            return result;
+        } catch (TimeoutException e) {
+            first.abandon();
+            second.abandon();
+            throw new DeadlineExceeded(true);
+        } catch (InterruptedException e) {
+            first.abandon();
+            second.abandon();
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private <T> T finish(Attempt<T> attempt, long remaining) throws Throwable {
+        try {
+            return attempt.future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            attempt.abandon();
+            throw new DeadlineExceeded(true);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private CircuitBreaker breaker(String endpoint, BackendOperation operation) {
+        return breakers.computeIfAbsent(endpoint + " " + operation.name(),
+                name -> new CircuitBreaker(name, resilienceProperties.getBreaker()));
+    }
+
+    private long remainingNanos() {
+        Long deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return resilienceProperties.getDeadline().getDefaultTimeout().toNanos();
+        }
+        return deadline - System.nanoTime();
+    }
+
+    private long backoffMillis(int attempt) {
+        ResilienceProperties.Retry retry = resilienceProperties.getRetry();
+        long cap = retry.getMaxBackoff().toMillis();
+        long exponential = retry.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20);
+        // Full jitter spreads retries of concurrent callers apart
+        return ThreadLocalRandom.current().nextLong(Math.min(cap, exponential) + 1);
+    }
+
+    /**
+     * Whether an error indicates an unhealthy or overloaded backend rather than a bad request.
+     */
+    static boolean isTransient(Throwable error) {
+        if (error instanceof ErrorResponseException response) {
+            return response.errorResponse() != null
+                    && TRANSIENT_ERROR_CODES.contains(response.errorResponse().code());
+        }
+        return error instanceof IOException
+                || error instanceof ServerException
+                || error instanceof InvalidResponseException;
+    }
+
+    private static RuntimeException rethrow(Throwable error)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        if (error instanceof MinioException e) {
+            throw e;
+        }
+        if (error instanceof IOException e) {
+            throw e;
+        }
+        if (error instanceof NoSuchAlgorithmException e) {
+            throw e;
+        }
+        if (error instanceof InvalidKeyException e) {
+            throw e;
+        }
+        if (error instanceof RuntimeException e) {
+            throw e;
+        }
+        if (error instanceof Error e) {
+            throw e;
+        }
+        throw new BusinessException("Unexpected MinIO client failure: " + error.getMessage(), error);
+    }
+
+    private static void closeQuietly(Object result) {
+        if (result instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                LOGGER.debug("Error closing abandoned MinIO response: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * One request running on the backend pool against an acquired node, which it releases when the
+     * request ends. If the waiter gives up on it, its HTTP calls are cancelled, freeing their
+     * dispatcher slots, and a result that arrives anyway is closed so the connection is released.
+     */
+    private final class Attempt<T> {
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private final Future<?> task;
+
+        private final BackendCallScope calls = new BackendCallScope();
+
+        private volatile boolean abandoned;
+
+        private Attempt(BackendOperation operation, BackendCall<T> call, MinioNode node) {
+            LatencyTracker tracker = latencies.get(operation);
+            BackendCallScope scope = calls;
+            // Requests sent on the pool thread belong to the trace of the calling request
+            Span parent = TraceContext.current();
+            try {
+                this.task = backendExecutor.submit(() -> {
+                    TraceContext.restore(parent);
+                    scope.enter();
+                    long start = System.nanoTime();
+                    boolean failed = false;
+                    try {
+                        T result = call.call(node.getClient());
+                        tracker.record(System.nanoTime() - start);
+                        future.complete(result);
+                        if (abandoned) {
+                            closeQuietly(result);
+                        }
+                    } catch (Throwable e) {
+                        // Errors of a cancelled request say nothing about the node
+                        failed = !abandoned && isTransient(e);
+                        future.completeExceptionally(e);
+                    } finally {
+                        clientPool.release(node);
+                        clientPool.onResult(node, failed);
+                        scope.exit();
+                        TraceContext.restore(null);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                clientPool.release(node);
+                throw e;
+            }
+        }
+
+        private void abandon() {
+            abandoned = true;
+            task.cancel(true);
+            calls.cancel();
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                closeQuietly(future.getNow(null));
+            }
+        }
+    }
+
+    /**
+     * A node picked for an attempt and its circuit breaker.
+     */
+    private static final class Target {
+
+        private final MinioNode node;
+
+        private final CircuitBreaker breaker;
+
+        private Target(MinioNode node, CircuitBreaker breaker) {
+            this.node = node;
+            this.breaker = breaker;
+        }
+    }
+
+    /**
+     * Signals that the request deadline passed while waiting for the backend.
+     */
+    private static final class DeadlineExceeded extends Exception {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /** Whether a request had been sent, rather than the deadline passing before the attempt started */
+        private final boolean inFlight;
+
+        private DeadlineExceeded(boolean inFlight) {
+            super(null, null, false, false);
+            this.inFlight = inFlight;
+        }
+    }
+}
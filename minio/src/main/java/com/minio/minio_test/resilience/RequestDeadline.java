@@ -0,0 +1,53 @@
+package com.minio.minio_test.resilience;
+
+/**
+ * Holds the deadline of the request being handled by the current thread.
+ * Set by {@link DeadlineInterceptor} from the client's time budget; backend calls made on
+ * behalf of the request are bounded by the time remaining until it.
+ *
+ * @author Zhang
+ * @date 2025/02/25
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Sets the deadline of the current request.
+     *
+     * @param budgetMillis Time budget from now, in milliseconds.
+     */
+    public static void start(long budgetMillis) {
+        DEADLINE.set(System.nanoTime() + budgetMillis * 1_000_000L);
+    }
+
+    /**
+     * Clears the deadline of the current thread.
+     */
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Returns the deadline in {@link System#nanoTime()} terms, or null outside a request.
+     */
+    public static Long current() {
+        return DEADLINE.get();
+    }
+
+    /**
+     * Restores a deadline captured on another thread, or clears it if null.
+     *
+     * @param deadlineNanos The deadline returned by {@link #current()}.
+     */
+    public static void restore(Long deadlineNanos) {
+        if (deadlineNanos == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(deadlineNanos);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.minio.minio_test.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits retries and hedges to a fraction of regular traffic.
+ * Every call deposits {@code ratio} tokens, every retry or hedge withdraws one, so during an
+ * outage the extra load is bounded by the ratio instead of multiplying by the attempt count.
+ *
+ * @author Zhang
+ * @date 2025/02/25
+ */
+public class RetryBudget {
+
+    /** Tokens are kept in thousandths to stay on integer arithmetic */
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+
+    private final long capacity;
+
+    private final AtomicLong balance;
+
+    public RetryBudget(double ratio, int maxTokens) {
+        this.deposit = Math.round(ratio * SCALE);
+        this.capacity = maxTokens * SCALE;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    /**
+     * Records a regular call.
+     */
+    public void deposit() {
+        balance.accumulateAndGet(deposit, (current, amount) -> Math.min(capacity, current + amount));
+    }
+
+    /**
+     * Tries to spend one token for a retry or hedge.
+     *
+     * @return true if the retry may proceed.
+     */
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    /**
+     * Returns the number of whole tokens available.
+     */
+    public long available() {
+        return balance.get() / SCALE;
+    }
+}
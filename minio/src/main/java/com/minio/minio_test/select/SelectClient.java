@@ -0,0 +1,148 @@
+package com.minio.minio_test.select;
+
+import io.minio.Digest;
+import io.minio.S3Escaper;
+import io.minio.SelectObjectContentArgs;
+import io.minio.Signer;
+import io.minio.Time;
+import io.minio.Xml;
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.InvalidResponseException;
+import io.minio.errors.MinioException;
+import io.minio.errors.ServerException;
+import io.minio.messages.ErrorResponse;
+import io.minio.messages.LocationConstraint;
+import io.minio.messages.SelectObjectContentRequest;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends S3 Select requests to a node with its endpoint, credentials and HTTP client, and hands
+ * back the raw event stream of the response instead of the SDK's byte-at-a-time decoder.
+ * <p>
+ * The SDK offers no public way to get the undecoded response, so the request is signed and sent
+ * here. As the SDK does, the region of each bucket is looked up once with a location request.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/18
+ */
+public class SelectClient {
+
+    private static final String DEFAULT_REGION = "us-east-1";
+
+    private static final MediaType XML = MediaType.get("application/xml");
+
+    private final HttpUrl endpoint;
+
+    private final String accessKey;
+
+    private final String secretKey;
+
+    private final OkHttpClient httpClient;
+
+    private final Map<String, String> regions = new ConcurrentHashMap<>();
+
+    public SelectClient(String endpoint, String accessKey, String secretKey, OkHttpClient httpClient) {
+        this.endpoint = HttpUrl.get(endpoint);
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Sends the query. Errors answered before the event stream starts, such as a missing object
+     * or an invalid expression, are thrown as for any other MinIO call.
+     *
+     * @param args The query.
+     * @return The event stream of the response; the caller must close it.
+     */
+    public SelectEventStream select(SelectObjectContentArgs args)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        String body = Xml.marshal(new SelectObjectContentRequest(
+                args.sqlExpression(),
+                Boolean.TRUE.equals(args.requestProgress()),
+                args.inputSerialization(),
+                args.outputSerialization(),
+                args.scanStartRange(),
+                args.scanEndRange()));
+        HttpUrl url = endpoint.newBuilder()
+                .addPathSegment(args.bucket())
+                .addEncodedPathSegments(S3Escaper.encodePath(args.object()))
+                .addQueryParameter("select", "")
+                .addQueryParameter("select-type", "2")
+                .build();
+        Request.Builder request = new Request.Builder().url(url);
+        if (args.ssec() != null) {
+            args.ssec().headers().forEach(request::header);
+        }
+        return new SelectEventStream(send(request, "POST", body.getBytes(StandardCharsets.UTF_8), region(args.bucket())));
+    }
+
+    private String region(String bucketName)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        String region = regions.get(bucketName);
+        if (region != null) {
+            return region;
+        }
+        HttpUrl url = endpoint.newBuilder()
+                .addPathSegment(bucketName)
+                .addQueryParameter("location", "")
+                .build();
+        // Location requests are signed for the default region, whatever the bucket's region is
+        try (Response response = send(new Request.Builder().url(url), "GET", new byte[0], DEFAULT_REGION)) {
+            LocationConstraint location = Xml.unmarshal(LocationConstraint.class, response.body().charStream());
+            region = StringUtils.defaultIfEmpty(location.location(), DEFAULT_REGION);
+        }
+        regions.put(bucketName, region);
+        return region;
+    }
+
+    /**
+     * Signs and sends a request, returning the response if it is successful.
+     */
+    private Response send(Request.Builder request, String method, byte[] body, String region)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        HttpUrl url = request.build().url();
+        String host = url.port() == HttpUrl.defaultPort(url.scheme()) ? url.host() : url.host() + ":" + url.port();
+        String contentSha256 = Digest.sha256Hash(body, body.length);
+        request.header("Host", host)
+                .header("Accept-Encoding", "identity")
+                .header("x-amz-content-sha256", contentSha256)
+                .header("x-amz-date", ZonedDateTime.now(Time.UTC).format(Time.AMZ_DATE_FORMAT))
+                .method(method, "GET".equals(method) ? null : RequestBody.create(body, XML));
+        if (body.length > 0) {
+            request.header("Content-MD5", Digest.md5Hash(body, body.length));
+        }
+        Request signed = Signer.signV4S3(request.build(), region, accessKey, secretKey, contentSha256);
+
+        Response response = httpClient.newCall(signed).execute();
+        if (response.isSuccessful()) {
+            return response;
+        }
+        try (response) {
+            String content = response.body().string();
+            String contentType = response.header("Content-Type");
+            if (content.isEmpty() || contentType == null || !contentType.contains("xml")) {
+                if (response.code() >= 500) {
+                    throw new ServerException("Server failed with HTTP status code " + response.code(), response.code(), null);
+                }
+                throw new InvalidResponseException(response.code(), contentType, content, null);
+            }
+            throw new ErrorResponseException(Xml.unmarshal(ErrorResponse.class, content), response, null);
+        }
+    }
+}
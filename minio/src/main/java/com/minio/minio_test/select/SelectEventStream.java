@@ -0,0 +1,237 @@
+package com.minio.minio_test.select;
+
+import okhttp3.Response;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * The records of an S3 Select response, decoded from its event stream.
+ * <p>
+ * Each message of the stream carries a prelude with its lengths, headers naming the event, a
+ * payload and CRCs over both. Records payloads are handed out through bulk reads;
+ * {@link #available()} is the part of the current payload not yet read, so a reader can flush
+ * its output before a read would wait for the next message. Stats and progress events update
+ * the byte counters, an error event fails the read, and a stream that ends without an end event
+ * is reported as truncated rather than as a complete result.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/18
+ */
+public class SelectEventStream extends InputStream {
+
+    private static final int PRELUDE_LENGTH = 12;
+
+    private static final int CRC_LENGTH = 4;
+
+    /** Largest message accepted; S3 keeps records messages far smaller */
+    private static final int MAX_MESSAGE_LENGTH = 16 * 1024 * 1024;
+
+    private static final byte[] NO_PAYLOAD = new byte[0];
+
+    private final Response response;
+
+    private final DataInputStream in;
+
+    private final CRC32 crc = new CRC32();
+
+    private byte[] payload = NO_PAYLOAD;
+
+    private int position;
+
+    private boolean ended;
+
+    private long bytesScanned = -1;
+
+    private long bytesProcessed = -1;
+
+    private long bytesReturned = -1;
+
+    SelectEventStream(Response response) {
+        this.response = response;
+        this.in = new DataInputStream(response.body().byteStream());
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return payload[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(len, payload.length - position);
+        System.arraycopy(payload, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return payload.length - position;
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+
+    /** Bytes of the object scanned, or -1 before the first stats or progress event */
+    public long getBytesScanned() {
+        return bytesScanned;
+    }
+
+    /** Bytes processed after decompression, or -1 before the first stats or progress event */
+    public long getBytesProcessed() {
+        return bytesProcessed;
+    }
+
+    /** Bytes of records returned, or -1 before the first stats or progress event */
+    public long getBytesReturned() {
+        return bytesReturned;
+    }
+
+    /**
+     * @return Whether the end event was received, i.e. the result is complete.
+     */
+    public boolean isEnded() {
+        return ended;
+    }
+
+    /**
+     * Reads messages until one carries records.
+     *
+     * @return false at the end of the result.
+     */
+    private boolean fill() throws IOException {
+        while (position >= payload.length) {
+            if (ended) {
+                return false;
+            }
+            readMessage();
+        }
+        return true;
+    }
+
+    private void readMessage() throws IOException {
+        byte[] prelude = new byte[PRELUDE_LENGTH];
+        try {
+            in.readFully(prelude);
+        } catch (EOFException e) {
+            throw new IOException("Select response ended before the end event; the result is incomplete", e);
+        }
+        ByteBuffer preludeBuffer = ByteBuffer.wrap(prelude);
+        int totalLength = preludeBuffer.getInt();
+        int headersLength = preludeBuffer.getInt();
+        int preludeCrc = preludeBuffer.getInt();
+        crc.reset();
+        crc.update(prelude, 0, 8);
+        if ((int) crc.getValue() != preludeCrc) {
+            throw new IOException("Select response prelude CRC mismatch");
+        }
+        int payloadLength = totalLength - PRELUDE_LENGTH - headersLength - CRC_LENGTH;
+        if (totalLength > MAX_MESSAGE_LENGTH || headersLength < 0 || payloadLength < 0) {
+            throw new IOException("Invalid select response message of " + totalLength + " bytes");
+        }
+
+        byte[] message = new byte[totalLength - PRELUDE_LENGTH];
+        in.readFully(message);
+        crc.update(prelude, 8, 4);
+        crc.update(message, 0, message.length - CRC_LENGTH);
+        if ((int) crc.getValue() != ByteBuffer.wrap(message, message.length - CRC_LENGTH, CRC_LENGTH).getInt()) {
+            throw new IOException("Select response message CRC mismatch");
+        }
+
+        Headers headers = Headers.parse(message, headersLength);
+        if ("error".equals(headers.messageType)) {
+            throw new IOException("Select failed: " + headers.errorCode + ": " + headers.errorMessage);
+        }
+        switch (String.valueOf(headers.eventType)) {
+            case "Records" -> {
+                payload = new byte[payloadLength];
+                System.arraycopy(message, headersLength, payload, 0, payloadLength);
+                position = 0;
+            }
+            case "Stats", "Progress" -> {
+                String xml = new String(message, headersLength, payloadLength, StandardCharsets.UTF_8);
+                bytesScanned = element(xml, "BytesScanned", bytesScanned);
+                bytesProcessed = element(xml, "BytesProcessed", bytesProcessed);
+                bytesReturned = element(xml, "BytesReturned", bytesReturned);
+            }
+            case "End" -> ended = true;
+            default -> {
+                // Continuation events only keep the connection alive
+            }
+        }
+    }
+
+    private static long element(String xml, String name, long fallback) {
+        int start = xml.indexOf("<" + name + ">");
+        int end = xml.indexOf("</" + name + ">");
+        if (start < 0 || end < start) {
+            return fallback;
+        }
+        try {
+            return Long.parseLong(xml.substring(start + name.length() + 2, end).trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * The headers of one message that matter here.
+     */
+    private static final class Headers {
+
+        private String messageType;
+
+        private String eventType;
+
+        private String errorCode;
+
+        private String errorMessage;
+
+        private static Headers parse(byte[] message, int length) throws IOException {
+            Headers headers = new Headers();
+            ByteBuffer buffer = ByteBuffer.wrap(message, 0, length);
+            while (buffer.hasRemaining()) {
+                String name = string(buffer, buffer.get() & 0xff);
+                byte type = buffer.get();
+                if (type != 7) {
+                    // Only string values are defined for select responses
+                    throw new IOException("Unsupported select response header type " + type);
+                }
+                String value = string(buffer, buffer.getShort() & 0xffff);
+                switch (name) {
+                    case ":message-type" -> headers.messageType = value;
+                    case ":event-type" -> headers.eventType = value;
+                    case ":error-code" -> headers.errorCode = value;
+                    case ":error-message" -> headers.errorMessage = value;
+                    default -> {
+                    }
+                }
+            }
+            return headers;
+        }
+
+        private static String string(ByteBuffer buffer, int length) {
+            String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+    }
+}
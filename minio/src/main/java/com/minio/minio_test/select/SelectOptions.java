@@ -0,0 +1,150 @@
+package com.minio.minio_test.select;
+
+import com.minio.minio_test.exception.BusinessException;
+import io.minio.messages.CompressionType;
+import io.minio.messages.FileHeaderInfo;
+import io.minio.messages.InputSerialization;
+import io.minio.messages.JsonType;
+import io.minio.messages.OutputSerialization;
+import io.minio.messages.QuoteFields;
+import lombok.Data;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpStatus;
+
+import java.util.Locale;
+
+/**
+ * Input and output serialization of an S3 Select query, bound from request parameters.
+ * Defaults follow S3: comma-separated CSV without header, JSON lines, and the output in the
+ * format of the input (JSON for Parquet).
+ *
+ * @author Zhang
+ * @date 2025/03/18
+ */
+@Data
+public class SelectOptions {
+
+    /** Format of the object: csv, json or parquet */
+    private String inputFormat = "csv";
+
+    /** Compression of the object: none, gzip or bzip2 */
+    private String compression = "none";
+
+    /** CSV header line: none, ignore, or use to refer to columns by name */
+    private String fileHeader = "none";
+
+    /** CSV field delimiter of input and output */
+    private String fieldDelimiter = ",";
+
+    /** Record delimiter of input and output */
+    private String recordDelimiter = "\n";
+
+    /** CSV quote character of input and output */
+    private String quoteCharacter = "\"";
+
+    /** CSV character escaping a quote inside a quoted value */
+    private String quoteEscapeCharacter = "\"";
+
+    /** CSV lines starting with this character are skipped; blank for none */
+    private String comments;
+
+    /** Whether CSV record delimiters may appear inside quoted values */
+    private boolean allowQuotedRecordDelimiter;
+
+    /** JSON input type: lines or document */
+    private String jsonType = "lines";
+
+    /** Format of the results: csv or json; blank for the format of the input */
+    private String outputFormat;
+
+    /** Whether CSV output quotes every value instead of only where needed */
+    private boolean quoteAllFields;
+
+    /** First byte of the object to scan, for uncompressed CSV and JSON lines */
+    private Long scanStart;
+
+    /** Last byte of the object to scan, for uncompressed CSV and JSON lines */
+    private Long scanEnd;
+
+    /**
+     * @return The input serialization of the query.
+     */
+    public InputSerialization toInputSerialization() {
+        CompressionType compressionType = parse(CompressionType.class, compression, "compression");
+        return switch (input()) {
+            case "csv" -> new InputSerialization(compressionType, allowQuotedRecordDelimiter,
+                    StringUtils.isEmpty(comments) ? null : character(comments, "comments"),
+                    character(fieldDelimiter, "fieldDelimiter"),
+                    parse(FileHeaderInfo.class, fileHeader, "fileHeader"),
+                    character(quoteCharacter, "quoteCharacter"),
+                    character(quoteEscapeCharacter, "quoteEscapeCharacter"),
+                    character(recordDelimiter, "recordDelimiter"));
+            case "json" -> new InputSerialization(compressionType, parse(JsonType.class, jsonType, "jsonType"));
+            default -> new InputSerialization();
+        };
+    }
+
+    /**
+     * @return The output serialization of the query.
+     */
+    public OutputSerialization toOutputSerialization() {
+        if (isCsvOutput()) {
+            return new OutputSerialization(character(fieldDelimiter, "fieldDelimiter"),
+                    character(quoteCharacter, "quoteCharacter"),
+                    character(quoteEscapeCharacter, "quoteEscapeCharacter"),
+                    quoteAllFields ? QuoteFields.ALWAYS : QuoteFields.ASNEEDED,
+                    character(recordDelimiter, "recordDelimiter"));
+        }
+        return new OutputSerialization(character(recordDelimiter, "recordDelimiter"));
+    }
+
+    /**
+     * @return The content type of the results.
+     */
+    public String outputContentType() {
+        return isCsvOutput() ? "text/csv" : "application/x-ndjson";
+    }
+
+    private boolean isCsvOutput() {
+        if (StringUtils.isBlank(outputFormat)) {
+            return input().equals("csv");
+        }
+        String output = outputFormat.trim().toLowerCase(Locale.ROOT);
+        if (!output.equals("csv") && !output.equals("json")) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Unsupported output format: " + outputFormat);
+        }
+        return output.equals("csv");
+    }
+
+    private String input() {
+        String input = StringUtils.defaultIfBlank(inputFormat, "csv").trim().toLowerCase(Locale.ROOT);
+        if (!input.equals("csv") && !input.equals("json") && !input.equals("parquet")) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Unsupported input format: " + inputFormat);
+        }
+        return input;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String name) {
+        try {
+            return Enum.valueOf(type, StringUtils.defaultString(value).trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Unsupported " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Reads a single character, also given as an escape such as {@code \t} or {@code \n}.
+     */
+    private static Character character(String value, String name) {
+        String unescaped = value == null ? "" : switch (value) {
+            case "\\t" -> "\t";
+            case "\\n" -> "\n";
+            case "\\r" -> "\r";
+            default -> value;
+        };
+        if (unescaped.length() != 1) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), name + " must be a single character.");
+        }
+        return unescaped.charAt(0);
+    }
+}
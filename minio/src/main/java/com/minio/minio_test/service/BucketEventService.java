@@ -0,0 +1,36 @@
+package com.minio.minio_test.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Bucket Event Service Interface.
+ * Pushes object created/removed events of a bucket to clients as server-sent events.
+ *
+ * @author Zhang
+ * @date 2025/02/14
+ */
+public interface BucketEventService {
+
+    /**
+     * Opens an event stream for a bucket.
+     * <p>
+     * The stream emits {@code ready} when events are flowing, {@code created} and {@code removed}
+     * for matching object changes, {@code reset} when the backend stream dropped and changes may
+     * have been missed, and {@code overflow} when the client fell behind and events were dropped.
+     * After {@code reset} or {@code overflow} a client should re-list once.
+     * </p>
+     *
+     * @param bucketName The bucket name.
+     * @param prefix     Only report keys starting with this prefix; blank for all.
+     * @param suffix     Only report keys ending with this suffix; blank for all.
+     * @return The emitter streaming the events.
+     */
+    SseEmitter subscribe(String bucketName, String prefix, String suffix);
+
+    /**
+     * Returns the number of connected event stream clients.
+     *
+     * @return The client count.
+     */
+    int clientCount();
+}
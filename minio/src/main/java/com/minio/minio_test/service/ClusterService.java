@@ -0,0 +1,22 @@
+package com.minio.minio_test.service;
+
+import com.minio.minio_test.vo.NodeStatusVO;
+
+import java.util.List;
+
+/**
+ * Cluster Service Interface.
+ * Reports the state of the Minio endpoints requests are balanced across.
+ *
+ * @author Zhang
+ * @date 2025/02/26
+ */
+public interface ClusterService {
+
+    /**
+     * Returns the state of every configured endpoint.
+     *
+     * @return One entry per endpoint.
+     */
+    List<NodeStatusVO> listNodes();
+}
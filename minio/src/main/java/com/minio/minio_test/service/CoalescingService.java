@@ -0,0 +1,20 @@
+package com.minio.minio_test.service;
+
+import com.minio.minio_test.vo.CoalescingStatusVO;
+
+/**
+ * Coalescing Service Interface.
+ * Reports how many backend calls were shared by concurrent identical requests.
+ *
+ * @author Zhang
+ * @date 2025/03/07
+ */
+public interface CoalescingService {
+
+    /**
+     * Returns the coalescing counters.
+     *
+     * @return The coalescing status.
+     */
+    CoalescingStatusVO status();
+}
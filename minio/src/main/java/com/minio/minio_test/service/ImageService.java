@@ -0,0 +1,27 @@
+package com.minio.minio_test.service;
+
+import com.minio.minio_test.image.ImageSpec;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Image Service Interface.
+ * Serves resized derivatives of images stored in buckets.
+ *
+ * @author Zhang
+ * @date 2025/03/05
+ */
+public interface ImageService {
+
+    /**
+     * Writes a derivative of an image to the response, generating and storing it on first request.
+     *
+     * @param bucketName The bucket of the source image.
+     * @param objectName The source image.
+     * @param spec       The derivative spec.
+     * @param request    The HTTP request, for conditional requests.
+     * @param response   The HTTP response to write the derivative to.
+     */
+    void derivative(String bucketName, String objectName, ImageSpec spec,
+                    HttpServletRequest request, HttpServletResponse response);
+}
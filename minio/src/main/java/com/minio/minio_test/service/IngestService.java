@@ -0,0 +1,27 @@
+package com.minio.minio_test.service;
+
+import com.minio.minio_test.vo.IngestResultVO;
+
+import java.util.List;
+
+/**
+ * Ingest Service Interface.
+ * Stores the content of remote URLs in buckets without a client round trip.
+ *
+ * @author Zhang
+ * @date 2025/03/14
+ */
+public interface IngestService {
+
+    /**
+     * Fetches each URL and streams its body into an object of the bucket.
+     * Items are processed concurrently and fail independently.
+     *
+     * @param bucketName  The bucket name.
+     * @param prefix      Key prefix prepended to every object name; blank for none.
+     * @param urls        The http or https URLs to fetch.
+     * @param objectNames Object names in the order of the URLs; null or empty to use the file name of each URL.
+     * @return The per-item results.
+     */
+    IngestResultVO ingest(String bucketName, String prefix, List<String> urls, List<String> objectNames);
+}
@@ -2,6 +2,7 @@ package com.minio.minio_test.service;
 
 import com.minio.minio_test.vo.BucketVO;
 import com.minio.minio_test.vo.FileItemVO;
+import com.minio.minio_test.vo.UploadFormVO;
 import org.springframework.web.multipart.MultipartFile;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -83,6 +84,20 @@ public interface MinioService {
      */
     List<FileItemVO> listObjects(String bucketName);
 
+    /**
+     * Streams the objects under a prefix to the response as JSON, writing each item
+     * directly without building intermediate value objects.
+     *
+     * @param bucketName The bucket name.
+     * @param prefix     The key prefix; blank for the whole bucket.
+     * @param recursive  Whether to list all nested keys instead of one level.
+     * @param fields     Comma-separated fields to include; blank for the defaults.
+     * @param timeFormat Timestamp encoding: epoch (milliseconds) or iso.
+     * @param response   The HTTP response to write the listing to.
+     */
+    void listObjectsStream(String bucketName, String prefix, boolean recursive, String fields,
+                           String timeFormat, HttpServletResponse response);
+
     /**
      * Retrieves the bucket policy for the specified bucket.
      *
@@ -111,7 +126,8 @@ public interface MinioService {
      *
      * @param bucketName  The bucket name.
      * @param objectNames List of object names to be deleted.
-     * @return true if deletion was successful, false otherwise.
+     * @return true if every object was deleted, false if the bucket does not exist or MinIO
+     * refused to delete some of them.
      */
     Boolean removeObjects(String bucketName, List<String> objectNames);
 
@@ -122,6 +138,8 @@ public interface MinioService {
      * @param objectName The object name inside the bucket.
      * @param expiry     Expiration time in minutes (maximum 7 days).
      * @return A pre-signed URL for downloading the file.
+     * @throws com.minio.minio_test.exception.ConflictException if the object is only held by the
+     *                                                         application and has no MinIO URL.
      */
     String getObjectUrl(String bucketName, String objectName, Integer expiry);
 
@@ -135,6 +153,21 @@ public interface MinioService {
      */
     String createUploadUrl(String bucketName, String objectName, Integer expiry);
 
+    /**
+     * Generates a pre-signed POST form for uploading objects directly from a browser. Posted objects
+     * are applied to packing, the spool and replication from bucket notifications while the form is valid.
+     *
+     * @param bucketName  The bucket name.
+     * @param keyPrefix   The prefix object keys must start with.
+     * @param contentType The content type the upload must have, or a prefix ending in '/'; null allows any.
+     * @param minSize     The smallest allowed upload in bytes; null for 0.
+     * @param maxSize     The largest allowed upload in bytes; null for the configured maximum.
+     * @param expiry      Expiration time in minutes (maximum 7 days).
+     * @return The form URL and the fields to post with the file.
+     */
+    UploadFormVO createUploadForm(String bucketName, String keyPrefix, String contentType,
+                                  Long minSize, Long maxSize, Integer expiry);
+
     /**
      * Downloads a file via a direct URL and streams it to the response.
      *
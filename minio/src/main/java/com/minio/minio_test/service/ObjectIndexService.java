@@ -0,0 +1,53 @@
+package com.minio.minio_test.service;
+
+import com.minio.minio_test.vo.IndexStatusVO;
+import com.minio.minio_test.vo.ObjectListingVO;
+
+/**
+ * Object Index Service Interface.
+ * Answers listing and search queries from a locally maintained per-bucket metadata index,
+ * falling back to a live listing while the index is missing or stale.
+ *
+ * @author Zhang
+ * @date 2025/02/10
+ */
+public interface ObjectIndexService {
+
+    /**
+     * Lists objects under a prefix.
+     *
+     * @param bucketName The bucket name.
+     * @param prefix     The key prefix; blank for the whole bucket.
+     * @param sort       The sort field: name, size or time.
+     * @param descending Whether to sort in descending order.
+     * @param limit      Maximum number of objects to return.
+     * @return The matching objects.
+     */
+    ObjectListingVO listObjects(String bucketName, String prefix, String sort, boolean descending, Integer limit);
+
+    /**
+     * Searches object keys by glob or substring.
+     *
+     * @param bucketName The bucket name.
+     * @param prefix     The key prefix to search under; blank for the whole bucket.
+     * @param pattern    A glob ({@code *}, {@code **}, {@code ?}) or a plain substring.
+     * @param limit      Maximum number of objects to return.
+     * @return The matching objects in key order.
+     */
+    ObjectListingVO search(String bucketName, String prefix, String pattern, Integer limit);
+
+    /**
+     * Triggers a background rebuild of the index of a bucket.
+     *
+     * @param bucketName The bucket name.
+     */
+    void rebuild(String bucketName);
+
+    /**
+     * Returns the state of the index of a bucket.
+     *
+     * @param bucketName The bucket name.
+     * @return The index status.
+     */
+    IndexStatusVO status(String bucketName);
+}
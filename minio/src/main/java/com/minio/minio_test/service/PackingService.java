@@ -0,0 +1,95 @@
+package com.minio.minio_test.service;
+
+import com.minio.minio_test.packing.PackedObject;
+import com.minio.minio_test.vo.PackingStatusVO;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Packing Service Interface.
+ * Stores small objects inside larger pack objects and serves them through an index, so that
+ * clients keep seeing individual keys.
+ *
+ * @author Zhang
+ * @date 2025/03/20
+ */
+public interface PackingService {
+
+    /**
+     * Whether an upload of the given size is packed.
+     *
+     * @param size The size in bytes.
+     * @return false when packing is disabled or the object is too large.
+     */
+    boolean accepts(long size);
+
+    /**
+     * Stores a small object in a pack and removes an object of the same name stored on its own.
+     * Returns once the pack holding it is written.
+     *
+     * @param bucketName  The bucket name.
+     * @param objectName  The object name.
+     * @param content     The content.
+     * @param contentType The content type, may be null.
+     */
+    void put(String bucketName, String objectName, byte[] content, String contentType);
+
+    /**
+     * Looks up a packed object.
+     *
+     * @param bucketName The bucket name.
+     * @param objectName The object name.
+     * @return The object's location and metadata, or null if it is not packed.
+     */
+    PackedObject get(String bucketName, String objectName);
+
+    /**
+     * Reads the content of a packed object with a ranged GET of its pack.
+     *
+     * @param bucketName The bucket name.
+     * @param objectName The object name.
+     * @return The content, or null if the object is not packed.
+     * @throws Exception if the pack cannot be read.
+     */
+    byte[] read(String bucketName, String objectName) throws Exception;
+
+    /**
+     * Writes a packed object to the response, read with a ranged GET of its pack.
+     *
+     * @param bucketName The bucket name.
+     * @param objectName The object name.
+     * @param response   The HTTP response.
+     * @return false if the object is not packed and must be read from Minio.
+     */
+    boolean serve(String bucketName, String objectName, HttpServletResponse response);
+
+    /**
+     * Removes a packed object from the index and records a tombstone in Minio, so a rebuilt index
+     * does not restore it; its bytes are reclaimed by compaction.
+     *
+     * @param bucketName The bucket name.
+     * @param objectName The object name.
+     * @return true if the object was packed.
+     */
+    boolean remove(String bucketName, String objectName);
+
+    /**
+     * Lists packed objects in key order, in the form of an S3 listing.
+     *
+     * @param bucketName The bucket name.
+     * @param prefix     The key prefix.
+     * @param recursive  Whether to list nested keys; otherwise common prefixes are listed as
+     *                   {@link PackedObject#DIRECTORY}.
+     * @return Keys and their packed objects.
+     */
+    Iterator<Map.Entry<String, PackedObject>> list(String bucketName, String prefix, boolean recursive);
+
+    /**
+     * Returns object, pack and compaction counters.
+     *
+     * @return The packing status.
+     */
+    PackingStatusVO status();
+}
@@ -0,0 +1,20 @@
+package com.minio.minio_test.service;
+
+import com.minio.minio_test.vo.QosStatusVO;
+
+/**
+ * QoS Service Interface.
+ * Reports download bandwidth shaping.
+ *
+ * @author Zhang
+ * @date 2025/03/06
+ */
+public interface QosService {
+
+    /**
+     * Returns the limits and current rates of lanes, clients and buckets.
+     *
+     * @return The QoS status.
+     */
+    QosStatusVO status();
+}
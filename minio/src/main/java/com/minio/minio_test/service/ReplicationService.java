@@ -0,0 +1,30 @@
+package com.minio.minio_test.service;
+
+import com.minio.minio_test.replication.ReplicationEntry;
+import com.minio.minio_test.vo.ReplicationStatusVO;
+
+/**
+ * Replication Service Interface.
+ * Replicates successful writes to a secondary Minio deployment in the background.
+ *
+ * @author Zhang
+ * @date 2025/02/27
+ */
+public interface ReplicationService {
+
+    /**
+     * Queues a successful write for replication. Does nothing when replication is disabled.
+     *
+     * @param operation  The kind of write.
+     * @param bucketName The bucket name.
+     * @param objectName The object name.
+     */
+    void enqueue(ReplicationEntry.Operation operation, String bucketName, String objectName);
+
+    /**
+     * Returns queue depth, lag and counters of the replication.
+     *
+     * @return The replication status.
+     */
+    ReplicationStatusVO status();
+}
@@ -0,0 +1,27 @@
+package com.minio.minio_test.service;
+
+import com.minio.minio_test.select.SelectOptions;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Select Service Interface.
+ * Runs S3 Select queries so that only matching records leave the storage layer.
+ *
+ * @author Zhang
+ * @date 2025/03/18
+ */
+public interface SelectService {
+
+    /**
+     * Runs a SQL expression against an object and streams the matching records to the response
+     * as they arrive. Bytes scanned, processed and returned are sent as trailers once the query
+     * has finished.
+     *
+     * @param bucketName The bucket name.
+     * @param objectName The object queried.
+     * @param expression The SQL expression, e.g. {@code SELECT * FROM S3Object s WHERE s.city = 'Berlin'}.
+     * @param options    Input and output serialization.
+     * @param response   The HTTP response to write the records to.
+     */
+    void select(String bucketName, String objectName, String expression, SelectOptions options, HttpServletResponse response);
+}
@@ -0,0 +1,81 @@
+package com.minio.minio_test.service;
+
+import com.minio.minio_test.spool.SpoolEntry;
+import com.minio.minio_test.vo.SpoolStatusVO;
+import com.minio.minio_test.vo.SpoolUploadVO;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Spool Service Interface.
+ * Accepts uploads into a local spool and writes them to Minio in the background.
+ *
+ * @author Zhang
+ * @date 2025/03/19
+ */
+public interface SpoolService {
+
+    /**
+     * Stores uploaded files durably in the spool; they are flushed to Minio asynchronously.
+     *
+     * @param multipartFiles The files, named by their original file names.
+     * @param bucketName     The target bucket name.
+     * @return One accepted upload per file, with the handle to follow it by.
+     */
+    List<SpoolUploadVO> spool(List<MultipartFile> multipartFiles, String bucketName);
+
+    /**
+     * Returns the state of a spooled upload.
+     *
+     * @param handle The handle returned on acceptance.
+     * @return The upload.
+     */
+    SpoolUploadVO upload(String handle);
+
+    /**
+     * Looks up the newest pending upload of an object.
+     *
+     * @param bucketName The bucket name.
+     * @param objectName The object name.
+     * @return The upload, or null if the object is not spooled.
+     */
+    SpoolEntry get(String bucketName, String objectName);
+
+    /**
+     * Opens the spooled file of an object that has not been flushed yet.
+     *
+     * @param bucketName The bucket name.
+     * @param objectName The object name.
+     * @return The content, or null if the object is not spooled and must be read from Minio.
+     */
+    InputStream open(String bucketName, String objectName);
+
+    /**
+     * Writes a spooled object that has not been flushed yet to the response.
+     *
+     * @param bucketName The bucket name.
+     * @param objectName The object name.
+     * @param response   The HTTP response.
+     * @return false if the object is not spooled and must be read from Minio.
+     */
+    boolean serve(String bucketName, String objectName, HttpServletResponse response);
+
+    /**
+     * Discards pending uploads of an object that is being removed or written directly, so that they
+     * neither recreate it nor overwrite the newer object, and waits for one already being flushed.
+     *
+     * @param bucketName The bucket name.
+     * @param objectName The object name.
+     */
+    void discard(String bucketName, String objectName);
+
+    /**
+     * Returns spool size, flush lag and counters.
+     *
+     * @return The spool status.
+     */
+    SpoolStatusVO status();
+}
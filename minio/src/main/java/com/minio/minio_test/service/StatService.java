@@ -0,0 +1,26 @@
+package com.minio.minio_test.service;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.List;
+
+/**
+ * Stat Service Interface.
+ * Looks up the metadata of many objects at once.
+ *
+ * @author Zhang
+ * @date 2025/03/17
+ */
+public interface StatService {
+
+    /**
+     * Streams the metadata of the given objects as JSON, one entry per distinct key in the order
+     * the lookups complete. Missing objects are reported as not found.
+     *
+     * @param bucketName The bucket name.
+     * @param keys       The object keys.
+     * @param timeFormat Timestamp encoding: epoch or iso.
+     * @param response   The HTTP response to write the results to.
+     */
+    void statObjects(String bucketName, List<String> keys, String timeFormat, HttpServletResponse response);
+}
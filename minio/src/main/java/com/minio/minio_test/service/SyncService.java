@@ -0,0 +1,35 @@
+package com.minio.minio_test.service;
+
+import com.minio.minio_test.vo.SyncResultVO;
+
+/**
+ * Sync Service Interface.
+ * Incrementally synchronizes local directories and bucket prefixes.
+ *
+ * @author Zhang
+ * @date 2025/03/03
+ */
+public interface SyncService {
+
+    /**
+     * Uploads the new and changed files of a local directory to a bucket prefix.
+     *
+     * @param directory     The local directory, relative to or inside the sync base directory.
+     * @param bucketName    The bucket name.
+     * @param prefix        The key prefix the directory maps to; blank for the bucket root.
+     * @param deleteOrphans Whether objects under the prefix without a local file are removed.
+     * @return The sync result.
+     */
+    SyncResultVO syncDirectory(String directory, String bucketName, String prefix, boolean deleteOrphans);
+
+    /**
+     * Downloads the new and changed objects under a bucket prefix to a local directory.
+     *
+     * @param bucketName    The bucket name.
+     * @param prefix        The key prefix mirrored; blank for the whole bucket.
+     * @param directory     The local directory, relative to or inside the sync base directory; created if missing.
+     * @param deleteOrphans Whether files the mirror wrote, and whose object is gone, are removed.
+     * @return The mirror result.
+     */
+    SyncResultVO mirrorBucket(String bucketName, String prefix, String directory, boolean deleteOrphans);
+}
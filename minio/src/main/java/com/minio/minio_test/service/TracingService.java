@@ -0,0 +1,23 @@
+package com.minio.minio_test.service;
+
+import com.minio.minio_test.vo.SpanVO;
+
+import java.util.List;
+
+/**
+ * Tracing Service Interface.
+ * Looks up recorded traces.
+ *
+ * @author Zhang
+ * @date 2025/03/10
+ */
+public interface TracingService {
+
+    /**
+     * Returns the finished spans of a trace kept by the memory exporter, in start order.
+     *
+     * @param traceId The trace ID, as returned in the X-Trace-Id response header.
+     * @return The spans of the trace.
+     */
+    List<SpanVO> trace(String traceId);
+}
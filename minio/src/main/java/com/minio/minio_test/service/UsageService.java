@@ -0,0 +1,32 @@
+package com.minio.minio_test.service;
+
+import com.minio.minio_test.vo.UsageVO;
+
+import java.util.List;
+
+/**
+ * Usage Service Interface.
+ * Reports object count and total bytes per bucket and per prefix.
+ *
+ * @author Zhang
+ * @date 2025/02/18
+ */
+public interface UsageService {
+
+    /**
+     * Returns the usage of a prefix and its child prefixes.
+     *
+     * @param bucketName The bucket name.
+     * @param prefix     The prefix; blank for the whole bucket.
+     * @param depth      Number of child prefix levels to break down.
+     * @return The usage tree.
+     */
+    UsageVO getUsage(String bucketName, String prefix, Integer depth);
+
+    /**
+     * Returns the total usage of every bucket.
+     *
+     * @return One entry per bucket, without breakdown.
+     */
+    List<UsageVO> listBucketUsage();
+}
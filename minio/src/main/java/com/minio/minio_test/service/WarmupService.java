@@ -0,0 +1,26 @@
+package com.minio.minio_test.service;
+
+import com.minio.minio_test.vo.WarmupStatusVO;
+
+/**
+ * Warm-up Service Interface.
+ * Reports the startup warm-up and whether the application is ready for traffic.
+ *
+ * @author Zhang
+ * @date 2025/03/11
+ */
+public interface WarmupService {
+
+    /**
+     * Returns the progress and step durations of the startup warm-up.
+     *
+     * @return The warm-up status.
+     */
+    WarmupStatusVO status();
+
+    /**
+     * Checks that the application accepts traffic, i.e. that startup and warm-up have completed.
+     * Fails with 503 otherwise.
+     */
+    void checkReady();
+}
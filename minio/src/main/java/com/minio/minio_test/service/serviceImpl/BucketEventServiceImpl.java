@@ -0,0 +1,336 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.minio.minio_test.config.NotificationProperties;
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.ThrottledException;
+import com.minio.minio_test.exception.NotFoundException;
+import com.minio.minio_test.notification.BucketEvent;
+import com.minio.minio_test.notification.BucketEventListener;
+import com.minio.minio_test.notification.BucketNotificationHub;
+import com.minio.minio_test.service.BucketEventService;
+import com.minio.minio_test.service.MinioService;
+import com.minio.minio_test.vo.BucketEventVO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bucket event service implementation.
+ * <p>
+ * Every client attaches to the shared notification subscription of its bucket and filters
+ * events locally. Events are queued in a bounded per-client buffer and written by a small
+ * sender pool, so a slow client only loses its own events (and is told so with an
+ * {@code overflow} event) instead of stalling the notification thread or other clients.
+ * A sender writes a few events to a client per turn and then yields to the other clients,
+ * and a client whose write blocks longer than the send timeout is dropped and its sender
+ * interrupted.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/02/14
+ */
+@Component
+public class BucketEventServiceImpl implements BucketEventService {
+
+    private static final String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss";
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN)
+            .withZone(ZoneId.systemDefault());
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BucketEventServiceImpl.class);
+
+    /** Events written to one client before its sender moves on to other clients */
+    private static final int EVENTS_PER_TURN = 16;
+
+    private static final long STALL_CHECK_INTERVAL_MILLIS = 1000;
+
+    @Resource
+    private BucketNotificationHub notificationHub;
+
+    @Resource
+    private MinioService minioService;
+
+    @Resource
+    private NotificationProperties notificationProperties;
+
+    private final Set<EventClient> clients = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger clientSlots = new AtomicInteger();
+
+    private ExecutorService senderExecutor;
+
+    /** Sends heartbeats and drops clients whose writes are stuck */
+    private ScheduledExecutorService eventScheduler;
+
+    @PostConstruct
+    public void init() {
+        CustomizableThreadFactory senderFactory = new CustomizableThreadFactory("event-sender-");
+        senderFactory.setDaemon(true);
+        senderExecutor = Executors.newFixedThreadPool(notificationProperties.getSenderThreads(), senderFactory);
+
+        CustomizableThreadFactory schedulerFactory = new CustomizableThreadFactory("event-scheduler-");
+        schedulerFactory.setDaemon(true);
+        eventScheduler = Executors.newSingleThreadScheduledExecutor(schedulerFactory);
+        long interval = notificationProperties.getHeartbeatInterval().toMillis();
+        eventScheduler.scheduleWithFixedDelay(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+        eventScheduler.scheduleWithFixedDelay(this::dropStalledClients, STALL_CHECK_INTERVAL_MILLIS,
+                STALL_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        eventScheduler.shutdownNow();
+        clients.forEach(client -> client.close(true));
+        senderExecutor.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter subscribe(String bucketName, String prefix, String suffix) {
+        if (StringUtils.isBlank(bucketName)) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Bucket name cannot be empty.");
+        }
+        if (!minioService.bucketExists(bucketName)) {
+            throw new NotFoundException("Bucket does not exist: " + bucketName);
+        }
+        if (clientSlots.incrementAndGet() > notificationProperties.getMaxClients()) {
+            clientSlots.decrementAndGet();
+            throw new ThrottledException("Too many event stream clients.", Duration.ofSeconds(1));
+        }
+
+        SseEmitter emitter = new SseEmitter(notificationProperties.getStreamTimeout().toMillis());
+        EventClient client = new EventClient(emitter, StringUtils.defaultString(prefix), StringUtils.defaultString(suffix));
+        emitter.onCompletion(() -> client.close(false));
+        emitter.onTimeout(() -> client.close(true));
+        emitter.onError(e -> client.close(false));
+
+        clients.add(client);
+        client.subscription = notificationHub.subscribe(bucketName, client);
+        if (client.closed.get()) {
+            // The emitter completed while subscribing; release the subscription it never got to close
+            client.releaseSubscription();
+        }
+        LOGGER.debug("Event stream opened. Bucket: {}, Prefix: '{}', Suffix: '{}', Clients: {}",
+                bucketName, prefix, suffix, clients.size());
+        return emitter;
+    }
+
+    @Override
+    public int clientCount() {
+        return clients.size();
+    }
+
+    private void sendHeartbeats() {
+        long idleThreshold = System.currentTimeMillis() - notificationProperties.getHeartbeatInterval().toMillis();
+        for (EventClient client : clients) {
+            if (client.lastSent < idleThreshold) {
+                client.enqueue(SseEmitter.event().comment("keep-alive"), false);
+            }
+        }
+    }
+
+    private void dropStalledClients() {
+        long timeout = notificationProperties.getSendTimeout().toNanos();
+        long now = System.nanoTime();
+        for (EventClient client : clients) {
+            client.abortIfStalled(now, timeout);
+        }
+    }
+
+    private static BucketEventVO toVO(BucketEvent event) {
+        return BucketEventVO.builder()
+                .bucketName(event.getBucketName())
+                .objectName(event.getObjectName())
+                .eventType(event.getType().name().toLowerCase(Locale.ROOT))
+                .eventName(event.getEventName())
+                .size(event.getSize())
+                .etag(event.getEtag())
+                .eventTime(FORMATTER.format(Instant.ofEpochMilli(event.getEventTime())))
+                .build();
+    }
+
+    /**
+     * One connected event stream.
+     */
+    private final class EventClient implements BucketEventListener {
+
+        private final SseEmitter emitter;
+
+        private final String prefix;
+
+        private final String suffix;
+
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer =
+                new ArrayBlockingQueue<>(notificationProperties.getClientBufferSize());
+
+        private final AtomicInteger dropped = new AtomicInteger();
+
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        private volatile Closeable subscription;
+
+        private volatile long lastSent = System.currentTimeMillis();
+
+        /** The thread writing to the client and when it started, guarded by this */
+        private Thread sender;
+
+        private long sendStartedAt;
+
+        /** Whether the sender was interrupted to abort a stuck write, guarded by this */
+        private boolean aborted;
+
+        private EventClient(SseEmitter emitter, String prefix, String suffix) {
+            this.emitter = emitter;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public void onEvent(BucketEvent event) {
+            String key = event.getObjectName();
+            if (!key.startsWith(prefix) || !key.endsWith(suffix)) {
+                return;
+            }
+            enqueue(SseEmitter.event()
+                    .name(event.getType().name().toLowerCase(Locale.ROOT))
+                    .data(toVO(event), MediaType.APPLICATION_JSON), true);
+        }
+
+        @Override
+        public void onConnected() {
+            enqueue(SseEmitter.event().name("ready").data("ready"), true);
+        }
+
+        @Override
+        public void onDisconnected() {
+            enqueue(SseEmitter.event().name("reset").data("reset"), true);
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event, boolean countDrop) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event) && countDrop) {
+                dropped.incrementAndGet();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senderExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                int sent = 0;
+                while (sent++ < EVENTS_PER_TURN && !closed.get() && (event = buffer.poll()) != null) {
+                    int lost = dropped.getAndSet(0);
+                    if (lost > 0) {
+                        send(SseEmitter.event().name("overflow").data(Collections.singletonMap("dropped", lost)));
+                    }
+                    send(event);
+                    lastSent = System.currentTimeMillis();
+                }
+            } catch (IOException | IllegalStateException e) {
+                LOGGER.debug("Event stream client gone: {}", e.getMessage());
+                close(false);
+            } finally {
+                draining.set(false);
+            }
+            // Events left after this turn, or queued after the last poll but before the flag was
+            // cleared, are sent in a new turn behind the other clients
+            if (!closed.get() && !buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            synchronized (this) {
+                sender = Thread.currentThread();
+                sendStartedAt = System.nanoTime();
+            }
+            try {
+                emitter.send(event);
+            } finally {
+                synchronized (this) {
+                    sender = null;
+                    if (aborted) {
+                        // The interrupt was meant for this write only; the thread goes on to other clients
+                        Thread.interrupted();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Drops the client if a write has been blocked for longer than the timeout, interrupting
+         * the sender so that the write fails and the thread is freed.
+         */
+        private void abortIfStalled(long now, long timeout) {
+            synchronized (this) {
+                if (sender == null || now - sendStartedAt < timeout || aborted) {
+                    return;
+                }
+                aborted = true;
+                sender.interrupt();
+            }
+            LOGGER.debug("Event stream client stalled for more than {}, dropping it.", notificationProperties.getSendTimeout());
+            close(false);
+        }
+
+        private void close(boolean complete) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            clients.remove(this);
+            clientSlots.decrementAndGet();
+            buffer.clear();
+            releaseSubscription();
+            if (complete) {
+                emitter.complete();
+            }
+        }
+
+        private void releaseSubscription() {
+            Closeable current = subscription;
+            subscription = null;
+            if (current != null) {
+                try {
+                    current.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Error closing bucket subscription: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
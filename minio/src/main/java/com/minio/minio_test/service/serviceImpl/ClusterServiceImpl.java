@@ -0,0 +1,61 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.minio.minio_test.cluster.MinioClientPool;
+import com.minio.minio_test.cluster.MinioNode;
+import com.minio.minio_test.resilience.BackendOperation;
+import com.minio.minio_test.resilience.CircuitBreaker;
+import com.minio.minio_test.resilience.MinioCallExecutor;
+import com.minio.minio_test.service.ClusterService;
+import com.minio.minio_test.vo.NodeStatusVO;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cluster service implementation.
+ *
+ * @author Zhang
+ * @date 2025/02/26
+ */
+@Component
+public class ClusterServiceImpl implements ClusterService {
+
+    private static final String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss";
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN)
+            .withZone(ZoneId.systemDefault());
+
+    @Resource
+    private MinioClientPool clientPool;
+
+    @Resource
+    private MinioCallExecutor minioCallExecutor;
+
+    @Override
+    public List<NodeStatusVO> listNodes() {
+        List<NodeStatusVO> nodes = new ArrayList<>();
+        for (MinioNode node : clientPool.getNodes()) {
+            List<String> openCircuits = new ArrayList<>();
+            for (BackendOperation operation : BackendOperation.values()) {
+                if (minioCallExecutor.breakerState(node.getEndpoint(), operation) != CircuitBreaker.State.CLOSED) {
+                    openCircuits.add(operation.name());
+                }
+            }
+            nodes.add(NodeStatusVO.builder()
+                    .endpoint(node.getEndpoint())
+                    .healthy(node.isHealthy())
+                    .outstanding(node.getOutstanding())
+                    .consecutiveFailures(node.getConsecutiveFailures())
+                    .openCircuits(openCircuits)
+                    .lastCheckTime(node.getLastCheckTime() > 0
+                            ? FORMATTER.format(Instant.ofEpochMilli(node.getLastCheckTime())) : null)
+                    .lastError(node.getLastError())
+                    .build());
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,54 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.minio.minio_test.coalescing.RequestCoalescer;
+import com.minio.minio_test.coalescing.SingleFlight;
+import com.minio.minio_test.config.CoalescingProperties;
+import com.minio.minio_test.resilience.BackendOperation;
+import com.minio.minio_test.service.CoalescingService;
+import com.minio.minio_test.vo.CoalescedCallVO;
+import com.minio.minio_test.vo.CoalescingStatusVO;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Coalescing service implementation.
+ *
+ * @author Zhang
+ * @date 2025/03/07
+ */
+@Component
+public class CoalescingServiceImpl implements CoalescingService {
+
+    @Resource
+    private RequestCoalescer requestCoalescer;
+
+    @Resource
+    private CoalescingProperties coalescingProperties;
+
+    @Override
+    public CoalescingStatusVO status() {
+        List<CoalescedCallVO> operations = new ArrayList<>();
+        for (BackendOperation operation : BackendOperation.values()) {
+            SingleFlight flight = requestCoalescer.flight(operation);
+            if (flight.calls() == 0 && flight.coalesced() == 0) {
+                continue;
+            }
+            operations.add(CoalescedCallVO.builder()
+                    .operation(operation.name())
+                    .calls(flight.calls())
+                    .coalesced(flight.coalesced())
+                    .inFlight(flight.inFlight())
+                    .build());
+        }
+        return CoalescingStatusVO.builder()
+                .enabled(coalescingProperties.isEnabled())
+                .operations(operations)
+                .bufferedBytes(requestCoalescer.bufferedBytes())
+                .maxBufferedBytes(coalescingProperties.getMaxBufferedBytes().toBytes())
+                .unbufferedGets(requestCoalescer.unbuffered())
+                .build();
+    }
+}
@@ -0,0 +1,336 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.minio.minio_test.coalescing.RequestCoalescer;
+import com.minio.minio_test.config.ImageProperties;
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.ConflictException;
+import com.minio.minio_test.exception.ThrottledException;
+import com.minio.minio_test.exception.NotFoundException;
+import com.minio.minio_test.exception.BackendUnavailableException;
+import com.minio.minio_test.exception.BackendErrors;
+import com.minio.minio_test.image.ImageSpec;
+import com.minio.minio_test.image.ImageTransformer;
+import com.minio.minio_test.packing.PackedObject;
+import com.minio.minio_test.resilience.BackendOperation;
+import com.minio.minio_test.resilience.MinioCallExecutor;
+import com.minio.minio_test.service.ImageService;
+import com.minio.minio_test.service.PackingService;
+import io.minio.BucketExistsArgs;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MakeBucketArgs;
+import io.minio.PutObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Image service implementation.
+ * <p>
+ * Derivatives are stored in the derivative bucket under
+ * {@code <bucket>/<object>/<source ETag>/<spec>}, so a changed source never serves a stale
+ * derivative and identical requests share one stored copy. A missing derivative is generated once
+ * per key: concurrent requests for it wait on the same generation, which runs on a bounded worker
+ * pool and is rejected with 429 when the pool and its queue are full.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/05
+ */
+@Component
+public class ImageServiceImpl implements ImageService {
+
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageServiceImpl.class);
+
+    @Resource
+    private MinioCallExecutor minioCallExecutor;
+
+    @Resource
+    private ImageProperties imageProperties;
+
+    @Resource
+    private RequestCoalescer requestCoalescer;
+
+    @Resource
+    private PackingService packingService;
+
+    /** Generations in progress by derivative key */
+    private final ConcurrentMap<String, CompletableFuture<byte[]>> generations = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor workers;
+
+    private volatile boolean derivativeBucketReady;
+
+    @PostConstruct
+    public void init() {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("image-worker-");
+        factory.setDaemon(true);
+        int threads = imageProperties.getWorkerThreads();
+        int capacity = imageProperties.getQueueCapacity();
+        workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                capacity > 0 ? new ArrayBlockingQueue<>(capacity) : new SynchronousQueue<>(), factory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public void derivative(String bucketName, String objectName, ImageSpec spec,
+                           HttpServletRequest request, HttpServletResponse response) {
+        String sourceEtag;
+        long sourceSize;
+        // Small images may be stored in a pack, whose index knows their ETag and size
+        PackedObject packed = packingService.get(bucketName, objectName);
+        if (packed != null) {
+            sourceEtag = packed.getEtag();
+            sourceSize = packed.getLength();
+        } else {
+            StatObjectResponse source = stat(bucketName, objectName);
+            sourceEtag = StringUtils.remove(source.etag(), '"');
+            sourceSize = source.size();
+        }
+        String etag = "\"" + sourceEtag + "-" + spec.key() + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        if (sourceSize > imageProperties.getMaxSourceSize().toBytes()) {
+            throw new BusinessException(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Source image is too large: " + objectName);
+        }
+
+        String key = bucketName + "/" + objectName + "/" + sourceEtag + "/" + spec.key();
+        try {
+            if (!serveStored(key, spec, etag, response)) {
+                byte[] derivative = awaitGeneration(bucketName, objectName, sourceEtag, key, spec);
+                writeHeaders(response, spec, etag, derivative.length);
+                response.getOutputStream().write(derivative);
+                response.flushBuffer();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write derivative '{}': {}", key, e.getMessage());
+            throw new BusinessException("Failed to write image derivative: " + objectName, e);
+        }
+    }
+
+    private StatObjectResponse stat(String bucketName, String objectName) {
+        try {
+            return requestCoalescer.execute(BackendOperation.STAT_OBJECT, bucketName + "/" + objectName,
+                    () -> minioCallExecutor.execute(BackendOperation.STAT_OBJECT, client -> client.statObject(
+                            StatObjectArgs.builder().bucket(bucketName).object(objectName).build())));
+        } catch (ErrorResponseException e) {
+            if (BackendErrors.isNotFound(e)) {
+                throw new NotFoundException("Bucket or object not found: " + objectName);
+            }
+            LOGGER.error("Failed to stat image '{}' in bucket '{}'. Error: {}", objectName, bucketName, e.getMessage(), e);
+            throw new BusinessException("Failed to read image: " + objectName, e);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            LOGGER.error("Failed to stat image '{}' in bucket '{}'. Error: {}", objectName, bucketName, e.getMessage(), e);
+            throw new BusinessException("Failed to read image: " + objectName, e);
+        }
+    }
+
+    /**
+     * Streams a stored derivative, or returns false if it has not been generated yet.
+     */
+    private boolean serveStored(String key, ImageSpec spec, String etag, HttpServletResponse response) throws IOException {
+        try {
+            ensureDerivativeBucket(imageProperties.getDerivativeBucket());
+        } catch (Exception e) {
+            LOGGER.warn("Image derivative bucket unavailable: {}", e.getMessage());
+            return false;
+        }
+        try (GetObjectResponse stored = minioCallExecutor.execute(BackendOperation.GET_OBJECT,
+                client -> client.getObject(GetObjectArgs.builder()
+                        .bucket(imageProperties.getDerivativeBucket())
+                        .object(key)
+                        .build()))) {
+            String contentLength = stored.headers().get("Content-Length");
+            writeHeaders(response, spec, etag, contentLength != null ? Long.parseLong(contentLength) : -1);
+            IOUtils.copy(stored, response.getOutputStream());
+            response.flushBuffer();
+            return true;
+        } catch (ErrorResponseException e) {
+            if (BackendErrors.isNotFound(e)) {
+                return false;
+            }
+            throw new BusinessException("Failed to read image derivative: " + key, e);
+        } catch (BusinessException | IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException("Failed to read image derivative: " + key, e);
+        }
+    }
+
+    /**
+     * Joins the generation of a derivative, starting it if none is in progress.
+     */
+    private byte[] awaitGeneration(String bucketName, String objectName, String sourceEtag, String key, ImageSpec spec) {
+        CompletableFuture<byte[]> created = new CompletableFuture<>();
+        CompletableFuture<byte[]> generation = generations.putIfAbsent(key, created);
+        if (generation == null) {
+            generation = created;
+            try {
+                workers.execute(() -> generate(bucketName, objectName, sourceEtag, key, spec, created));
+            } catch (RejectedExecutionException e) {
+                generations.remove(key, created);
+                created.completeExceptionally(e);
+            }
+        }
+        try {
+            return generation.get(imageProperties.getGenerationTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BackendUnavailableException("Interrupted while generating image derivative.");
+        } catch (TimeoutException e) {
+            throw new BusinessException(HttpStatus.GATEWAY_TIMEOUT.value(), "Image derivative generation timed out: " + objectName);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RejectedExecutionException) {
+                throw new ThrottledException("Too many image derivatives being generated.", Duration.ofSeconds(1));
+            }
+            if (cause instanceof IllegalArgumentException) {
+                throw new BusinessException(HttpStatus.UNPROCESSABLE_ENTITY.value(), cause.getMessage());
+            }
+            if (cause instanceof BusinessException businessException) {
+                throw businessException;
+            }
+            throw new BusinessException("Failed to generate image derivative: " + objectName, cause);
+        }
+    }
+
+    private void generate(String bucketName, String objectName, String sourceEtag, String key, ImageSpec spec,
+                          CompletableFuture<byte[]> generation) {
+        try {
+            long start = System.currentTimeMillis();
+            byte[] derivative;
+            // The derivative is stored under the stat's ETag, so it must be made from that content
+            try (InputStream source = openSource(bucketName, objectName, sourceEtag)) {
+                derivative = ImageTransformer.transform(source, spec, imageProperties.getMaxSourcePixels());
+            } catch (ErrorResponseException e) {
+                if (e.response() != null && e.response().code() == HttpStatus.PRECONDITION_FAILED.value()) {
+                    throw new ConflictException("Image changed while generating its derivative, try again: " + objectName);
+                }
+                throw e;
+            }
+            // Waiting requests are answered right away; storing only affects later requests
+            generation.complete(derivative);
+            store(key, spec, derivative);
+            LOGGER.info("Generated image derivative '{}' ({} bytes) in {} ms.", key, derivative.length,
+                    System.currentTimeMillis() - start);
+        } catch (Throwable e) {
+            if (!(e instanceof IllegalArgumentException || e instanceof ConflictException)) {
+                LOGGER.error("Failed to generate image derivative '{}'. Error: {}", key, e.getMessage(), e);
+            }
+            generation.completeExceptionally(e);
+        } finally {
+            generations.remove(key, generation);
+        }
+    }
+
+    /**
+     * Opens the source image, failing if it no longer has the given ETag: a packed image is
+     * checked here, an image in MinIO by the GET.
+     */
+    private InputStream openSource(String bucketName, String objectName, String sourceEtag) throws Exception {
+        byte[] packed = packingService.read(bucketName, objectName);
+        if (packed != null) {
+            if (!sourceEtag.equals(DigestUtils.md5DigestAsHex(packed))) {
+                throw new ConflictException("Image changed while generating its derivative, try again: " + objectName);
+            }
+            return new ByteArrayInputStream(packed);
+        }
+        return minioCallExecutor.execute(BackendOperation.GET_OBJECT,
+                client -> client.getObject(GetObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .matchETag(sourceEtag)
+                        .build()));
+    }
+
+    private void store(String key, ImageSpec spec, byte[] derivative) {
+        String bucket = imageProperties.getDerivativeBucket();
+        try {
+            ensureDerivativeBucket(bucket);
+            minioCallExecutor.execute(BackendOperation.PUT_OBJECT, client -> client.putObject(PutObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(key)
+                    .stream(new ByteArrayInputStream(derivative), derivative.length, -1)
+                    .contentType(spec.getFormat().getContentType())
+                    .build()));
+        } catch (Exception e) {
+            // The derivative is regenerated by the next request
+            LOGGER.warn("Failed to store image derivative '{}': {}", key, e.getMessage());
+        }
+    }
+
+    private void ensureDerivativeBucket(String bucket) throws Exception {
+        if (derivativeBucketReady) {
+            return;
+        }
+        synchronized (this) {
+            if (derivativeBucketReady) {
+                return;
+            }
+            boolean exists = minioCallExecutor.execute(BackendOperation.BUCKET_EXISTS,
+                    client -> client.bucketExists(BucketExistsArgs.builder().bucket(bucket).build()));
+            if (!exists) {
+                try {
+                    minioCallExecutor.execute(BackendOperation.MAKE_BUCKET, client -> {
+                        client.makeBucket(MakeBucketArgs.builder().bucket(bucket).build());
+                        return null;
+                    });
+                    LOGGER.info("Created image derivative bucket: {}", bucket);
+                } catch (ErrorResponseException e) {
+                    if (e.errorResponse() == null || !"BucketAlreadyOwnedByYou".equals(e.errorResponse().code())) {
+                        throw e;
+                    }
+                }
+            }
+            derivativeBucketReady = true;
+        }
+    }
+
+    private void writeHeaders(HttpServletResponse response, ImageSpec spec, String etag, long length) {
+        response.setContentType(spec.getFormat().getContentType());
+        if (length >= 0) {
+            response.setContentLengthLong(length);
+        }
+        response.setHeader("ETag", etag);
+        if (StringUtils.isNotBlank(imageProperties.getCacheControl())) {
+            response.setHeader("Cache-Control", imageProperties.getCacheControl());
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.minio.minio_test.config.IngestProperties;
+import com.minio.minio_test.exception.BackendErrors;
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.NotFoundException;
+import com.minio.minio_test.ingest.RemoteFetcher;
+import com.minio.minio_test.ingest.RemoteResource;
+import com.minio.minio_test.replication.ReplicationEntry;
+import com.minio.minio_test.resilience.BackendOperation;
+import com.minio.minio_test.resilience.MinioCallExecutor;
+import com.minio.minio_test.service.IngestService;
+import com.minio.minio_test.service.MinioService;
+import com.minio.minio_test.service.PackingService;
+import com.minio.minio_test.service.ReplicationService;
+import com.minio.minio_test.service.SpoolService;
+import com.minio.minio_test.tracing.Span;
+import com.minio.minio_test.tracing.TraceContext;
+import com.minio.minio_test.vo.IngestItemVO;
+import com.minio.minio_test.vo.IngestResultVO;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import org.apache.commons.io.input.ProxyInputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingest service implementation.
+ * <p>
+ * Every item streams the response body of its URL straight into {@code putObject}; nothing is
+ * buffered on disk. A declared length is uploaded as is, an unknown length as a multipart upload
+ * of {@code minio.ingest.part-size} parts, so one part per item is held in memory. Items run on a
+ * shared pool of {@code minio.ingest.concurrency} threads, which bounds the open remote
+ * connections and MinIO uploads over all requests; items that find the pool and its queue full
+ * fail at once instead of waiting.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/14
+ */
+@Component
+public class IngestServiceImpl implements IngestService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IngestServiceImpl.class);
+
+    /** Smallest part size MinIO accepts for multipart uploads */
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    @Resource
+    private MinioService minioService;
+
+    @Resource
+    private MinioCallExecutor minioCallExecutor;
+
+    @Resource
+    private ReplicationService replicationService;
+
+    @Resource
+    private RemoteFetcher remoteFetcher;
+
+    @Resource
+    private SpoolService spoolService;
+
+    @Resource
+    private PackingService packingService;
+
+    @Resource
+    private IngestProperties ingestProperties;
+
+    private ThreadPoolExecutor ingestExecutor;
+
+    @PostConstruct
+    public void init() {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("ingest-");
+        factory.setDaemon(true);
+        int threads = ingestProperties.getConcurrency();
+        int capacity = ingestProperties.getQueueCapacity();
+        ingestExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                capacity > 0 ? new ArrayBlockingQueue<>(capacity) : new LinkedBlockingQueue<>(1), factory);
+        ingestExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ingestExecutor.shutdownNow();
+    }
+
+    @Override
+    public IngestResultVO ingest(String bucketName, String prefix, List<String> urls, List<String> objectNames) {
+        if (StringUtils.isBlank(bucketName)) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Bucket name cannot be empty.");
+        }
+        if (urls == null || urls.isEmpty()) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "At least one URL is required.");
+        }
+        if (urls.size() > ingestProperties.getMaxBatchSize()) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(),
+                    "Too many URLs, at most " + ingestProperties.getMaxBatchSize() + " per request.");
+        }
+        boolean named = objectNames != null && !objectNames.isEmpty();
+        if (named && objectNames.size() != urls.size()) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Object names must match the URLs one to one.");
+        }
+        if (!minioService.bucketExists(bucketName)) {
+            throw new NotFoundException("Bucket does not exist: " + bucketName);
+        }
+        String keyPrefix = StringUtils.defaultString(prefix);
+        long start = System.currentTimeMillis();
+
+        // Items run on the pool thread within the trace of the request
+        Span parent = TraceContext.current();
+        List<CompletableFuture<IngestItemVO>> futures = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            String url = urls.get(i);
+            String objectName = named ? objectNames.get(i) : null;
+            try {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    TraceContext.restore(parent);
+                    try {
+                        return ingestItem(bucketName, keyPrefix, url, objectName);
+                    } finally {
+                        TraceContext.restore(null);
+                    }
+                }, ingestExecutor));
+            } catch (RejectedExecutionException e) {
+                futures.add(CompletableFuture.completedFuture(failure(url, objectName, HttpStatus.TOO_MANY_REQUESTS.value(),
+                        "Too many ingests in progress, try again later.", 0)));
+            }
+        }
+
+        List<IngestItemVO> items = new ArrayList<>(futures.size());
+        int succeeded = 0;
+        long totalBytes = 0;
+        for (CompletableFuture<IngestItemVO> future : futures) {
+            IngestItemVO item = future.join();
+            items.add(item);
+            if (item.isSuccess()) {
+                succeeded++;
+                totalBytes += item.getSize();
+            }
+        }
+
+        IngestResultVO result = IngestResultVO.builder()
+                .bucketName(bucketName)
+                .requested(urls.size())
+                .succeeded(succeeded)
+                .failed(urls.size() - succeeded)
+                .totalBytes(totalBytes)
+                .durationMillis(System.currentTimeMillis() - start)
+                .items(items)
+                .build();
+        LOGGER.info("Ingested {} of {} URLs into bucket '{}': {} bytes in {} ms.",
+                succeeded, urls.size(), bucketName, totalBytes, result.getDurationMillis());
+        return result;
+    }
+
+    /**
+     * Fetches one URL and stores its body; never throws, failures are reported in the result.
+     */
+    private IngestItemVO ingestItem(String bucketName, String keyPrefix, String url, String objectName) {
+        long start = System.currentTimeMillis();
+        String target = objectName;
+        RemoteResource opened = null;
+        try (RemoteResource resource = remoteFetcher.open(url)) {
+            opened = resource;
+            if (StringUtils.isBlank(target)) {
+                target = resource.getFileName();
+                if (StringUtils.isBlank(target)) {
+                    throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Cannot derive an object name from the URL.");
+                }
+            }
+            String key = keyPrefix + target;
+            target = key;
+            long length = resource.getContentLength();
+            long maxSize = ingestProperties.getMaxObjectSize().toBytes();
+            if (length > maxSize) {
+                throw new BusinessException(HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                        "Remote resource of " + length + " bytes exceeds the limit of " + maxSize + " bytes.");
+            }
+            long partSize = Math.max(MIN_PART_SIZE, ingestProperties.getPartSize().toBytes());
+            String contentType = resource.getContentType();
+            LimitedInputStream body = new LimitedInputStream(resource.getBody(), maxSize);
+
+            // A pending write-behind upload of the same key must not overwrite the ingested object
+            spoolService.discard(bucketName, key);
+
+            // A known length is sent in one request or as parts sized by the SDK; an unknown
+            // length is sent as parts of the configured size as the body arrives
+            ObjectWriteResponse written = minioCallExecutor.execute(BackendOperation.PUT_OBJECT,
+                    client -> client.putObject(PutObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(key)
+                            .stream(body, length, length >= 0 ? -1 : partSize)
+                            .contentType(contentType)
+                            .build()));
+            // The new object replaces a packed one of the same name
+            packingService.remove(bucketName, key);
+            replicationService.enqueue(ReplicationEntry.Operation.PUT, bucketName, key);
+            LOGGER.debug("Ingested '{}' into bucket '{}' as '{}', {} bytes.", url, bucketName, key, body.getByteCount());
+            return IngestItemVO.builder()
+                    .url(url)
+                    .objectName(key)
+                    .success(true)
+                    .status(HttpStatus.OK.value())
+                    .size(body.getByteCount())
+                    .etag(written.etag())
+                    .contentType(contentType)
+                    .durationMillis(System.currentTimeMillis() - start)
+                    .build();
+        } catch (Exception e) {
+            // Failures to reach or read the remote are the remote's fault; the rest concern MinIO
+            boolean remoteFailure = e instanceof IOException && (opened == null || e instanceof RemoteReadException);
+            BusinessException error;
+            if (e instanceof RemoteReadException read && read.tooLarge) {
+                error = new BusinessException(HttpStatus.PAYLOAD_TOO_LARGE.value(), e.getMessage() + ".");
+            } else if (remoteFailure) {
+                error = new BusinessException(HttpStatus.BAD_GATEWAY.value(), "Failed to fetch " + url + ": " + e.getMessage());
+            } else {
+                error = BackendErrors.translate(e, "Failed to store " + url);
+            }
+            LOGGER.warn("Ingest of '{}' into bucket '{}' failed: {}", url, bucketName, error.getErrorMessage());
+            return failure(url, target, error.getErrorCode(), error.getErrorMessage(), System.currentTimeMillis() - start);
+        }
+    }
+
+    private static IngestItemVO failure(String url, String objectName, int status, String error, long durationMillis) {
+        return IngestItemVO.builder()
+                .url(url)
+                .objectName(objectName)
+                .success(false)
+                .status(status)
+                .error(error)
+                .durationMillis(durationMillis)
+                .build();
+    }
+
+    /**
+     * Counts the bytes read and fails once more than the limit were read, for bodies of unknown
+     * length. Read failures are marked as failures of the remote.
+     */
+    private static final class LimitedInputStream extends ProxyInputStream {
+
+        private final long limit;
+
+        private long count;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        private long getByteCount() {
+            return count;
+        }
+
+        @Override
+        protected void afterRead(int n) throws IOException {
+            if (n > 0) {
+                count += n;
+            }
+            if (count > limit) {
+                throw new RemoteReadException("Remote resource exceeds the limit of " + limit + " bytes", null, true);
+            }
+        }
+
+        @Override
+        protected void handleIOException(IOException e) throws IOException {
+            throw e instanceof RemoteReadException ? e : new RemoteReadException(e.getMessage(), e, false);
+        }
+    }
+
+    private static final class RemoteReadException extends IOException {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final boolean tooLarge;
+
+        private RemoteReadException(String message, Throwable cause, boolean tooLarge) {
+            super(message, cause);
+            this.tooLarge = tooLarge;
+        }
+    }
+}
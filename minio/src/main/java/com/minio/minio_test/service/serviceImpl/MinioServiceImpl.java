@@ -1,34 +1,67 @@
 package com.minio.minio_test.service.serviceImpl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minio.minio_test.cluster.MinioClientPool;
+import com.minio.minio_test.config.UploadFormProperties;
+import com.minio.minio_test.coalescing.RequestCoalescer;
+import com.minio.minio_test.exception.BackendErrors;
 import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.ConflictException;
+import com.minio.minio_test.exception.NotFoundException;
+import com.minio.minio_test.ingest.RemoteFetcher;
+import com.minio.minio_test.ingest.RemoteResource;
+import com.minio.minio_test.listing.ListingField;
+import com.minio.minio_test.listing.ListingWriter;
+import com.minio.minio_test.packing.PackedObject;
+import com.minio.minio_test.qos.TransferScheduler;
+import com.minio.minio_test.replication.ReplicationEntry;
+import com.minio.minio_test.resilience.BackendOperation;
+import com.minio.minio_test.resilience.MinioCallExecutor;
 import com.minio.minio_test.vo.BucketVO;
 import com.minio.minio_test.vo.FileItemVO;
+import com.minio.minio_test.vo.UploadFormVO;
 import com.minio.minio_test.service.MinioService;
+import com.minio.minio_test.service.PackingService;
+import com.minio.minio_test.service.ReplicationService;
+import com.minio.minio_test.service.SpoolService;
+import com.minio.minio_test.tracing.Tracer;
+import com.minio.minio_test.transfer.AsyncDownloader;
+import com.minio.minio_test.transfer.MultipartUploader;
+import com.minio.minio_test.transfer.UploadFormWatcher;
 import io.minio.*;
 import io.minio.errors.*;
 import io.minio.http.Method;
 import io.minio.messages.*;
-import org.apache.commons.collections4.IterableUtils;
+import okhttp3.Headers;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.net.MalformedURLException;
-import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -47,21 +80,61 @@ public class MinioServiceImpl implements MinioService {
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN)
             .withZone(ZoneId.systemDefault());
 
+
     private static final Logger LOGGER = LoggerFactory.getLogger(MinioServiceImpl.class);
 
     @Resource
-    private MinioClient minioClient;
+    private MinioClientPool clientPool;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @Resource
+    private MinioCallExecutor minioCallExecutor;
+
+    @Resource
+    private ReplicationService replicationService;
+
+    @Resource
+    private MultipartUploader multipartUploader;
+
+    @Resource
+    private AsyncDownloader asyncDownloader;
+
+    @Resource
+    private TransferScheduler transferScheduler;
+
+    @Resource
+    private RequestCoalescer requestCoalescer;
+
+    @Resource
+    private Tracer tracer;
+
+    @Resource
+    private RemoteFetcher remoteFetcher;
+
+    @Resource
+    private SpoolService spoolService;
+
+    @Resource
+    private PackingService packingService;
+
+    @Resource
+    private UploadFormProperties uploadFormProperties;
+
+    @Resource
+    private UploadFormWatcher uploadFormWatcher;
 
     @Override
     public Boolean bucketExists(String bucketName) {
         try {
             // Check if the bucket exists
-            return minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
+            return requestCoalescer.execute(BackendOperation.BUCKET_EXISTS, bucketName,
+                    () -> minioCallExecutor.execute(BackendOperation.BUCKET_EXISTS,
+                            client -> client.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build())));
         } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
-            // Log the error for debugging purposes
-            LOGGER.error("Error while checking if bucket '{}' exists: {}", bucketName, e.getMessage(), e);
-            // Throw a custom exception with detailed context
-            throw new BusinessException("Failed to check if bucket exists: " + bucketName, e);
+            // Translate into a typed exception; the exception handler logs it
+            throw BackendErrors.translate(e, "Failed to check if bucket exists: " + bucketName);
         }
     }
 
@@ -71,7 +144,10 @@ public class MinioServiceImpl implements MinioService {
             // Check if the bucket already exists
             if (!bucketExists(bucketName)) {
                 // Create the bucket if it does not exist
-                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+                minioCallExecutor.execute(BackendOperation.MAKE_BUCKET, client -> {
+                    client.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+                    return null;
+                });
                 LOGGER.info("Bucket created successfully. Bucket name: {}", bucketName);
 
                 // Define public read policy for the bucket
@@ -93,21 +169,21 @@ public class MinioServiceImpl implements MinioService {
                         "}";
 
                 // Apply bucket policy
-                minioClient.setBucketPolicy(SetBucketPolicyArgs.builder()
-                        .bucket(bucketName)
-                        .config(policy)
-                        .build());
+                minioCallExecutor.execute(BackendOperation.SET_BUCKET_POLICY, client -> {
+                    client.setBucketPolicy(SetBucketPolicyArgs.builder()
+                            .bucket(bucketName)
+                            .config(policy)
+                            .build());
+                    return null;
+                });
 
                 LOGGER.info("Public read policy applied successfully for bucket: {}", bucketName);
             } else {
                 // Throw a custom exception if the bucket already exists
-                throw new BusinessException("Bucket already exists: " + bucketName);
+                throw new ConflictException("Bucket already exists: " + bucketName);
             }
         } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
-            // Log the error with bucket name and full stack trace
-            LOGGER.error("Failed to create bucket or apply policy. Bucket name: {}, Error: {}", bucketName, e.getMessage(), e);
-            // Throw a custom exception with context
-            throw new BusinessException("Failed to create bucket: " + bucketName, e);
+            throw BackendErrors.translate(e, "Failed to create bucket: " + bucketName);
         }
     }
 
@@ -128,11 +204,13 @@ public class MinioServiceImpl implements MinioService {
 
         try {
             // Proceed with bucket deletion
-            minioClient.removeBucket(RemoveBucketArgs.builder().bucket(bucketName).build());
+            minioCallExecutor.execute(BackendOperation.REMOVE_BUCKET, client -> {
+                client.removeBucket(RemoveBucketArgs.builder().bucket(bucketName).build());
+                return null;
+            });
             LOGGER.info("Bucket removed successfully: {}", bucketName);
         } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
-            LOGGER.error("Failed to remove bucket '{}': {}", bucketName, e.getMessage(), e);
-            throw new BusinessException("Failed to remove bucket: " + bucketName, e);
+            throw BackendErrors.translate(e, "Failed to remove bucket: " + bucketName);
         }
     }
 
@@ -142,7 +220,7 @@ public class MinioServiceImpl implements MinioService {
     public void upload(List<MultipartFile> multipartFiles, String bucketName) {
         // Check if the bucket exists
         if (!bucketExists(bucketName)) {
-            throw new BusinessException("Bucket does not exist: " + bucketName);
+            throw new NotFoundException("Bucket does not exist: " + bucketName);
         }
 
         for (MultipartFile file : multipartFiles) {
@@ -153,24 +231,44 @@ public class MinioServiceImpl implements MinioService {
                 continue; // Skip files with no names
             }
 
+            // A pending write-behind upload of the same name must not overwrite this one
+            spoolService.discard(bucketName, fileName);
+
+            if (packingService.accepts(file.getSize())) {
+                // Tiny files share a pack object instead of getting an object of their own
+                try {
+                    packingService.put(bucketName, fileName, file.getBytes(), file.getContentType());
+                } catch (IOException e) {
+                    throw new BusinessException("Failed to read uploaded file: " + fileName, e);
+                }
+                tracer.currentSpan().setAttribute("minio.bytes", file.getSize());
+                LOGGER.info("File packed successfully. File: {}, Size: {} bytes, Bucket: {}",
+                        fileName, file.getSize(), bucketName);
+                replicationService.enqueue(ReplicationEntry.Operation.PUT, bucketName, fileName);
+                continue;
+            }
+
             try (InputStream in = file.getInputStream()) {
                 // Upload the file to MinIO
-                minioClient.putObject(
+                minioCallExecutor.execute(BackendOperation.PUT_OBJECT, client -> client.putObject(
                         PutObjectArgs.builder()
                                 .bucket(bucketName)
                                 .object(fileName)
                                 .stream(in, file.getSize(), -1)
                                 .contentType(file.getContentType())
                                 .build()
-                );
+                ));
+                // The new object replaces a packed one of the same name
+                packingService.remove(bucketName, fileName);
 
+                tracer.currentSpan().setAttribute("minio.bytes", file.getSize());
                 // Log success message
                 LOGGER.info("File uploaded successfully. File: {}, Size: {} bytes, Bucket: {}",
                         fileName, file.getSize(), bucketName);
+                replicationService.enqueue(ReplicationEntry.Operation.PUT, bucketName, fileName);
 
             } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
-                LOGGER.error("Failed to upload file: {} to bucket: {}. Error: {}", fileName, bucketName, e.getMessage(), e);
-                throw new BusinessException("Failed to upload file: " + fileName + " to bucket: " + bucketName, e);
+                throw BackendErrors.translate(e, "Failed to upload file: " + fileName + " to bucket: " + bucketName);
             }
         }
     }
@@ -179,21 +277,28 @@ public class MinioServiceImpl implements MinioService {
     public void uploadObject(String bucketName, String objectName, String fileName) {
         try {
             LOGGER.info("Starting upload. Bucket: {}, Object: {}, File: {}", bucketName, objectName, fileName);
+            spoolService.discard(bucketName, objectName);
 
-            // Upload the object to MinIO
-            minioClient.uploadObject(
-                    UploadObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(objectName)
-                            .filename(fileName)
-                            .build()
-            );
+            // Upload the object to MinIO; large files go through the parallel, resumable multipart uploader
+            Path file = Paths.get(fileName);
+            if (Files.isRegularFile(file) && multipartUploader.accepts(Files.size(file))) {
+                multipartUploader.upload(bucketName, objectName, file);
+            } else {
+                minioCallExecutor.execute(BackendOperation.UPLOAD_OBJECT, client -> client.uploadObject(
+                        UploadObjectArgs.builder()
+                                .bucket(bucketName)
+                                .object(objectName)
+                                .filename(fileName)
+                                .build()
+                ));
+            }
+            packingService.remove(bucketName, objectName);
 
             LOGGER.info("Upload successful. Bucket: {}, Object: {}", bucketName, objectName);
+            replicationService.enqueue(ReplicationEntry.Operation.PUT, bucketName, objectName);
 
         } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
-            LOGGER.error("Upload failed. Bucket: {}, Object: {}, Error: {}", bucketName, objectName, e.getMessage(), e);
-            throw new BusinessException("Failed to upload object: " + objectName + " to bucket: " + bucketName, e);
+            throw BackendErrors.translate(e, "Failed to upload object: " + objectName + " to bucket: " + bucketName);
         }
     }
 
@@ -207,70 +312,136 @@ public class MinioServiceImpl implements MinioService {
      */
     @Override
     public void download(String bucketName, String fileName, HttpServletResponse response) {
+        // Uploads not yet flushed from the write-behind spool are newer than the object in MinIO
+        if (spoolService.serve(bucketName, fileName, response)) {
+            return;
+        }
+        // Small uploads live inside pack objects and are read with a ranged GET
+        if (packingService.serve(bucketName, fileName, response)) {
+            return;
+        }
+        // Fetch object from MinIO; existence and metadata come from the GET response itself.
+        // The hedged request, if any, is dropped once the first response headers arrive.
+        // Concurrent downloads of the same small object share one GET
+        GetObjectResponse object = null;
         try {
-            // Check if the file exists in the bucket
-            minioClient.statObject(StatObjectArgs.builder().bucket(bucketName).object(fileName).build());
+            object = requestCoalescer.getObject(bucketName, fileName,
+                    () -> minioCallExecutor.executeHedged(BackendOperation.GET_OBJECT,
+                            client -> client.getObject(GetObjectArgs.builder()
+                                    .bucket(bucketName)
+                                    .object(fileName)
+                                    .build())));
 
             // Set response headers for file download
+            Headers headers = object.headers();
             response.setHeader("Content-Disposition", "attachment;filename=" + URLEncoder.encode(fileName, StandardCharsets.UTF_8));
-            response.setContentType("application/octet-stream");
-            response.setCharacterEncoding("UTF-8");
-            response.setBufferSize(8192);
+            response.setContentType(StringUtils.defaultIfBlank(headers.get("Content-Type"), "application/octet-stream"));
+            String contentLength = headers.get("Content-Length");
+            long size = contentLength != null ? Long.parseLong(contentLength) : -1;
+            if (size >= 0) {
+                response.setContentLengthLong(size);
+            }
+            String etag = headers.get("ETag");
+            if (etag != null) {
+                response.setHeader("ETag", etag);
+            }
 
-            // Fetch object from MinIO
-            try (InputStream object = minioClient.getObject(GetObjectArgs.builder()
-                    .bucket(bucketName)
-                    .object(fileName)
-                    .build())) {
+            // Copy the body with non-blocking writes, releasing this thread; the download then owns the object
+            if (asyncDownloader.start(object, bucketName, fileName, size, response)) {
+                object = null;
+                tracer.currentSpan().setAttribute("minio.bytes", size).setAttribute("http.async", true);
+                return;
+            }
 
-                // Write file data to the HTTP response
-                IOUtils.copy(object, response.getOutputStream());
-                response.flushBuffer(); // Ensure all data is sent
+            // Write file data to the HTTP response, shaped by client, bucket and transfer size
+            long bytes;
+            try (OutputStream out = transferScheduler.shape(response.getOutputStream(), bucketName, size)) {
+                bytes = IOUtils.copyLarge(object, out);
             }
+            tracer.currentSpan().setAttribute("minio.bytes", bytes);
+            response.flushBuffer(); // Ensure all data is sent
 
             LOGGER.info("File download successful. File: {}, Bucket: {}", fileName, bucketName);
 
+        } catch (ErrorResponseException e) {
+            if (BackendErrors.isNotFound(e)) {
+                throw new NotFoundException("Bucket or object not found: " + fileName);
+            }
+            throw BackendErrors.translate(e, "Failed to download file: " + fileName);
         } catch (Exception e) {
-            LOGGER.error("File download failed. File: {}, Bucket: {}, Error: {}", fileName, bucketName, e.getMessage(), e);
-            throw new BusinessException("Failed to download file: " + fileName, e);
+            throw BackendErrors.translate(e, "Failed to download file: " + fileName);
+        } finally {
+            IOUtils.closeQuietly(object);
         }
     }
 
     @Override
     public void downloadToLocalDisk(String bucketName, String objectName, String diskFileName) {
+        Path target = Paths.get(diskFileName).toAbsolutePath();
+        if (Files.exists(target)) {
+            throw new ConflictException("Destination file already exists: " + diskFileName);
+        }
+        Path partFile = target.resolveSibling(target.getFileName() + ".part");
         try {
-            // Check if the object exists in the bucket
-            minioClient.statObject(StatObjectArgs.builder()
-                    .bucket(bucketName)
-                    .object(objectName)
-                    .build());
-
-            // Download the object to local disk
-            minioClient.downloadObject(DownloadObjectArgs.builder()
-                    .bucket(bucketName)
-                    .object(objectName)
-                    .filename(diskFileName)
-                    .build());
+            // Download the object into a part file, then move it into place; a single GET both
+            // checks existence and transfers the data
+            try (InputStream object = openObject(bucketName, objectName)) {
+                if (target.getParent() != null) {
+                    Files.createDirectories(target.getParent());
+                }
+                long bytes = Files.copy(object, partFile, StandardCopyOption.REPLACE_EXISTING);
+                tracer.currentSpan().setAttribute("minio.bytes", bytes);
+            }
+            Files.move(partFile, target, StandardCopyOption.ATOMIC_MOVE);
 
             // Log successful download
             LOGGER.info("Successfully downloaded object '{}' from bucket '{}' to local disk '{}'.",
                     objectName, bucketName, diskFileName);
         } catch (ErrorResponseException e) {
             // Handle MinIO specific errors (e.g., file not found, bucket not found)
-            LOGGER.error("Failed to download object '{}' from bucket '{}'. Error: {}", objectName, bucketName, e.getMessage(), e);
-            throw new BusinessException("Bucket or object not found: " + objectName, e);
-        } catch (MinioException | IOException e) {
-            // Handle MinIO and IO errors
-            LOGGER.error("Error occurred while downloading object '{}' from bucket '{}'. Error: {}", objectName, bucketName, e.getMessage(), e);
-            throw new BusinessException("Error downloading object: " + objectName, e);
+            if (BackendErrors.isNotFound(e)) {
+                throw new NotFoundException("Bucket or object not found: " + objectName);
+            }
+            throw BackendErrors.translate(e, "Error downloading object: " + objectName);
         } catch (Exception e) {
-            // Handle unexpected errors
-            LOGGER.error("Unexpected error while downloading object '{}' from bucket '{}'. Error: {}", objectName, bucketName, e.getMessage(), e);
-            throw new BusinessException("Unexpected error occurred while downloading object: " + objectName, e);
+            // Handle MinIO, IO and unexpected errors
+            throw BackendErrors.translate(e, "Error downloading object: " + objectName);
+        } finally {
+            try {
+                Files.deleteIfExists(partFile);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to delete partial download '{}': {}", partFile, e.getMessage());
+            }
         }
     }
 
 
+    /**
+     * Opens the newest version of an object: a pending write-behind upload, a packed object, or else
+     * the object in MinIO.
+     *
+     * @param bucketName The bucket name.
+     * @param objectName The object name.
+     * @return The content.
+     * @throws Exception if the object cannot be read.
+     */
+    private InputStream openObject(String bucketName, String objectName) throws Exception {
+        InputStream spooled = spoolService.open(bucketName, objectName);
+        if (spooled != null) {
+            return spooled;
+        }
+        byte[] packed = packingService.read(bucketName, objectName);
+        if (packed != null) {
+            return new ByteArrayInputStream(packed);
+        }
+        return minioCallExecutor.execute(BackendOperation.GET_OBJECT,
+                client -> client.getObject(GetObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .build()));
+    }
+
+
     /**
      * List all objects in the given MinIO bucket.
      *
@@ -281,34 +452,155 @@ public class MinioServiceImpl implements MinioService {
     public List<FileItemVO> listObjects(String bucketName) {
         // Check if bucket exists before listing objects
         if (!bucketExists(bucketName)) {
-            throw new BusinessException("Bucket does not exist: " + bucketName);
+            throw new NotFoundException("Bucket does not exist: " + bucketName);
+        }
+
+        // List all objects in the bucket; the listing is idempotent, so a failed page retries the whole listing
+        List<Item> items;
+        try {
+            items = requestCoalescer.execute(BackendOperation.LIST_OBJECTS, bucketName,
+                    () -> minioCallExecutor.execute(BackendOperation.LIST_OBJECTS, client -> {
+                        List<Item> listed = new ArrayList<>();
+                        for (Result<Item> result : client.listObjects(ListObjectsArgs.builder()
+                                .bucket(bucketName)
+                                .build())) {
+                            listed.add(result.get());
+                        }
+                        return listed;
+                    }));
+        } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
+            throw BackendErrors.translate(e, "Failed to list objects in bucket: " + bucketName);
+        }
+
+        List<FileItemVO> files = items.stream()
+                .map(item -> FileItemVO.builder()
+                        .name(item.objectName())
+                        .ownerName(item.owner() == null ? "" : item.owner().displayName())
+                        .size(item.size())
+                        .isDir(item.isDir())
+                        .encodingType("")
+                        .lastModifyTime(item.lastModified() != null ? item.lastModified().format(FORMATTER) : null)
+                        .build())
+                .collect(Collectors.toList());
+
+        Iterator<Map.Entry<String, PackedObject>> packed = packingService.list(bucketName, "", false);
+        if (!packed.hasNext()) {
+            return files;
+        }
+        // Packed objects shadow objects of the same name; directories are listed once
+        Map<String, FileItemVO> merged = new TreeMap<>();
+        for (FileItemVO file : files) {
+            merged.put(file.getName(), file);
+        }
+        while (packed.hasNext()) {
+            Map.Entry<String, PackedObject> entry = packed.next();
+            PackedObject object = entry.getValue();
+            FileItemVO file = FileItemVO.builder()
+                    .name(entry.getKey())
+                    .ownerName("")
+                    .size(object.getLength())
+                    .isDir(object.isDirectory())
+                    .encodingType("")
+                    .lastModifyTime(object.isDirectory() ? null : FORMATTER.format(Instant.ofEpochMilli(object.getLastModified())))
+                    .build();
+            if (object.isDirectory()) {
+                merged.putIfAbsent(entry.getKey(), file);
+            } else {
+                merged.put(entry.getKey(), file);
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * Stream the objects under a prefix as JSON.
+     * The body has the shape of {@code ResponseData}; {@code code} and {@code message} are written
+     * after the items, so a failure part way through is still reported to the client.
+     *
+     * @param bucketName The name of the bucket.
+     * @param prefix     The key prefix.
+     * @param recursive  Whether to list nested keys.
+     * @param fields     Comma-separated fields to include.
+     * @param timeFormat Timestamp encoding.
+     * @param response   The HTTP response to write the listing to.
+     */
+    @Override
+    public void listObjectsStream(String bucketName, String prefix, boolean recursive, String fields,
+                                  String timeFormat, HttpServletResponse response) {
+        Set<ListingField> selected = ListingField.parse(fields);
+        ListingField.TimeFormat format = ListingField.TimeFormat.parse(timeFormat);
+
+        // Check if bucket exists before committing the response
+        if (!bucketExists(bucketName)) {
+            throw new NotFoundException("Bucket does not exist: " + bucketName);
         }
 
-        // List all objects in the bucket
-        Iterable<Result<Item>> objects = minioClient.listObjects(ListObjectsArgs.builder()
+        Iterable<Result<Item>> objects = clientPool.client().listObjects(ListObjectsArgs.builder()
                 .bucket(bucketName)
+                .prefix(StringUtils.defaultString(prefix))
+                .recursive(recursive)
+                .fetchOwner(selected.contains(ListingField.OWNER))
                 .build());
 
-        // Convert Iterable to List using Java Streams
-        return IterableUtils.toList(objects).stream()
-                .map(result -> {
-                    try {
-                        Item item = result.get();
-                        return FileItemVO.builder()
-                                .name(item.objectName())
-                                .ownerName(item.owner() == null ? "" : item.owner().displayName())
-                                .size(item.size())
-                                .isDir(item.isDir())
-                                .encodingType("")
-                                .lastModifyTime(item.lastModified() != null ? item.lastModified().format(FORMATTER) : null)
-                                .build();
-                    } catch (Exception e) {
-                        LOGGER.error("Error processing object in bucket: {}. Error: {}", bucketName, e.getMessage(), e);
-                        return null; // Skip invalid items
-                    }
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            ListingWriter writer = new ListingWriter(generator, selected, format);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+            BusinessException failure = null;
+            // Both listings are sorted by key; merge them, letting packed objects shadow objects of the same name
+            Iterator<Map.Entry<String, PackedObject>> packed = packingService.list(bucketName, prefix, recursive);
+            Map.Entry<String, PackedObject> nextPacked = packed.hasNext() ? packed.next() : null;
+            for (Result<Item> result : objects) {
+                Item item;
+                try {
+                    item = result.get();
+                } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
+                    failure = BackendErrors.translate(e, "Listing interrupted after " + count + " items");
+                    break;
+                }
+                while (nextPacked != null && nextPacked.getKey().compareTo(item.objectName()) < 0) {
+                    writePacked(writer, nextPacked);
+                    count++;
+                    nextPacked = packed.hasNext() ? packed.next() : null;
+                }
+                if (nextPacked != null && nextPacked.getKey().equals(item.objectName())) {
+                    writePacked(writer, nextPacked);
+                    nextPacked = packed.hasNext() ? packed.next() : null;
+                } else {
+                    writer.write(item);
+                }
+                count++;
+            }
+            while (failure == null && nextPacked != null) {
+                writePacked(writer, nextPacked);
+                count++;
+                nextPacked = packed.hasNext() ? packed.next() : null;
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("code", failure == null ? HttpStatus.OK.value() : failure.getErrorCode());
+            generator.writeStringField("message", failure == null ? "Operation successful" : failure.getErrorMessage());
+            generator.writeEndObject();
+        } catch (IOException e) {
+            // Usually the client went away mid-stream; the response is already committed
+            LOGGER.warn("Failed to stream listing of bucket '{}' after {} items: {}", bucketName, count, e.getMessage());
+            return;
+        }
+        LOGGER.debug("Streamed {} items of bucket '{}', prefix '{}'.", count, bucketName, prefix);
+    }
+
+    private static void writePacked(ListingWriter writer, Map.Entry<String, PackedObject> entry) throws IOException {
+        PackedObject object = entry.getValue();
+        if (object.isDirectory()) {
+            writer.write(entry.getKey(), 0L, null, true, null, null, null);
+        } else {
+            writer.write(entry.getKey(), object.getLength(),
+                    ZonedDateTime.ofInstant(Instant.ofEpochMilli(object.getLastModified()), ZoneOffset.UTC),
+                    false, object.getEtag(), null, null);
+        }
     }
 
     /**
@@ -322,13 +614,14 @@ public class MinioServiceImpl implements MinioService {
         String policy;
         try {
             // Retrieve the bucket policy from MinIO
-            policy = minioClient.getBucketPolicy(GetBucketPolicyArgs.builder()
-                    .bucket(bucketName)
-                    .build());
+            policy = requestCoalescer.execute(BackendOperation.GET_BUCKET_POLICY, bucketName,
+                    () -> minioCallExecutor.execute(BackendOperation.GET_BUCKET_POLICY,
+                            client -> client.getBucketPolicy(GetBucketPolicyArgs.builder()
+                                    .bucket(bucketName)
+                                    .build())));
         } catch (Exception e) {
-            // Log the error and throw a custom business exception
-            LOGGER.error("Failed to retrieve bucket policy for '{}'. Error: {}", bucketName, e.getMessage(), e);
-            throw new BusinessException("Error retrieving policy for bucket: " + bucketName, e);
+            // Translate into a typed business exception
+            throw BackendErrors.translate(e, "Error retrieving policy for bucket: " + bucketName);
         }
         return policy;
     }
@@ -342,7 +635,8 @@ public class MinioServiceImpl implements MinioService {
      */
     private List<Bucket> listBuckets() {
         try {
-            return minioClient.listBuckets();
+            return requestCoalescer.execute(BackendOperation.LIST_BUCKETS, "",
+                    () -> minioCallExecutor.execute(BackendOperation.LIST_BUCKETS, MinioClient::listBuckets));
         } catch (Exception e) {
             LOGGER.error("An error occurred while fetching the bucket list: {}", e.getMessage(), e);
             return Collections.emptyList();
@@ -377,33 +671,32 @@ public class MinioServiceImpl implements MinioService {
 
     @Override
     public void removeObject(String bucketName, String objectName) {
+        // Pending write-behind uploads must not recreate the object once it is removed
+        spoolService.discard(bucketName, objectName);
+        packingService.remove(bucketName, objectName);
         try {
-            // Check if the object exists in the bucket
-            minioClient.statObject(StatObjectArgs.builder()
-                    .bucket(bucketName)
-                    .object(objectName)
-                    .build());
-
-            // Remove the object from the bucket
-            minioClient.removeObject(RemoveObjectArgs.builder()
-                    .bucket(bucketName)
-                    .object(objectName)
-                    .build());
+            // Remove the object from the bucket; like S3, removing a missing object succeeds,
+            // while a missing bucket is reported by the DELETE itself
+            minioCallExecutor.execute(BackendOperation.REMOVE_OBJECT, client -> {
+                client.removeObject(RemoveObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .build());
+                return null;
+            });
 
             // Log successful removal
             LOGGER.info("Successfully removed object '{}' from bucket '{}'.", objectName, bucketName);
+            replicationService.enqueue(ReplicationEntry.Operation.REMOVE, bucketName, objectName);
         } catch (ErrorResponseException e) {
-            // Handle specific MinIO error (e.g., object or bucket not found)
-            LOGGER.error("Failed to remove object '{}'. Bucket '{}' or object might not exist. Error: {}", objectName, bucketName, e.getMessage(), e);
-            throw new BusinessException("Bucket or object not found: " + objectName, e);
-        } catch (MinioException | IOException e) {
-            // Handle other MinIO-related exceptions
-            LOGGER.error("Failed to remove object '{}' from bucket '{}'. Error: {}", objectName, bucketName, e.getMessage(), e);
-            throw new BusinessException("Error occurred while removing object: " + objectName, e);
+            // Handle specific MinIO error (e.g., bucket not found)
+            if (BackendErrors.isNotFound(e)) {
+                throw new NotFoundException("Bucket or object not found: " + objectName);
+            }
+            throw BackendErrors.translate(e, "Error occurred while removing object: " + objectName);
         } catch (Exception e) {
-            // Handle unexpected exceptions
-            LOGGER.error("Unexpected error while removing object '{}' from bucket '{}'. Error: {}", objectName, bucketName, e.getMessage(), e);
-            throw new BusinessException("Unexpected error occurred while removing object: " + objectName, e);
+            // Handle other MinIO-related and unexpected exceptions
+            throw BackendErrors.translate(e, "Error occurred while removing object: " + objectName);
         }
     }
 
@@ -414,47 +707,67 @@ public class MinioServiceImpl implements MinioService {
         }
         List<DeleteObject> deleteObjects = new ArrayList<>(objectNames.size());
         for (String objectName : objectNames) {
+            spoolService.discard(bucketName, objectName);
+            packingService.remove(bucketName, objectName);
             deleteObjects.add(new DeleteObject(objectName));
         }
-        minioClient.removeObjects(
-                RemoveObjectsArgs.builder()
-                        .bucket(bucketName)
-                        .objects(deleteObjects)
-                        .build());
-        return true;
+        Set<String> failed = new HashSet<>();
+        try {
+            // The removal is lazy: it is sent while the results are iterated
+            for (Result<DeleteError> result : clientPool.client().removeObjects(RemoveObjectsArgs.builder()
+                    .bucket(bucketName)
+                    .objects(deleteObjects)
+                    .build())) {
+                DeleteError error = result.get();
+                failed.add(error.objectName());
+                LOGGER.warn("Failed to remove object '{}' from bucket '{}': {}", error.objectName(), bucketName, error.message());
+            }
+        } catch (Exception e) {
+            throw BackendErrors.translate(e, "Error occurred while removing objects from bucket: " + bucketName);
+        }
+        for (String objectName : objectNames) {
+            if (!failed.contains(objectName)) {
+                replicationService.enqueue(ReplicationEntry.Operation.REMOVE, bucketName, objectName);
+            }
+        }
+        LOGGER.info("Removed {} of {} object(s) from bucket '{}'.", objectNames.size() - failed.size(),
+                objectNames.size(), bucketName);
+        return failed.isEmpty();
     }
 
     @Override
     public String getObjectUrl(String bucketName, String objectName, Integer expiry) {
         // Handle expiry with default or validated value
         expiry = expiryHandle(expiry);
+        // A URL signed now would serve an older version, or none, until the spooled upload is flushed
+        if (spoolService.get(bucketName, objectName) != null) {
+            throw new ConflictException("Object has a pending write-behind upload; download it through the "
+                    + "application or request a URL once it is flushed: " + objectName);
+        }
+        if (packingService.get(bucketName, objectName) != null) {
+            throw new ConflictException("Object is stored in a pack and has no MinIO URL; download it through "
+                    + "the application: " + objectName);
+        }
 
         try {
-            // Check if the object exists in the bucket
-            minioClient.statObject(StatObjectArgs.builder()
-                    .bucket(bucketName)
-                    .object(objectName)
-                    .build());
-
-            // Generate a pre-signed URL for the object
-            String url = minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
-                    .method(Method.GET)
-                    .bucket(bucketName)
-                    .object(objectName)
-                    .expiry(expiry)
-                    .build());
+            // Generate a pre-signed URL for the object. Signing is local, so the object is not looked up;
+            // a URL for a missing object answers 404 when used
+            int expirySeconds = expiry;
+            String url = minioCallExecutor.execute(BackendOperation.PRESIGN,
+                    client -> client.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                            .method(Method.GET)
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .expiry(expirySeconds)
+                            .build()));
 
             LOGGER.info("Successfully generated file download URL. Bucket: {}, Object: {}, Expiry: {} seconds",
                     bucketName, objectName, expiry);
             return url;
 
         } catch (Exception e) {
-            // Log the error with full details
-            LOGGER.error("Failed to generate file download URL. Bucket: {}, Object: {}, Error: {}",
-                    bucketName, objectName, e.getMessage(), e);
-
             // Wrap and rethrow the exception with a custom error message
-            throw new BusinessException("Failed to generate download URL for object: " + objectName, e);
+            throw BackendErrors.translate(e, "Failed to generate download URL for object: " + objectName);
         }
     }
 
@@ -469,29 +782,124 @@ public class MinioServiceImpl implements MinioService {
 
             // Check if the bucket exists
             if (!bucketExists(bucketName)) {
-                throw new BusinessException("Bucket does not exist: " + bucketName);
+                throw new NotFoundException("Bucket does not exist: " + bucketName);
             }
 
             // Generate a pre-signed URL for object upload
-            String url = minioClient.getPresignedObjectUrl(
+            int expirySeconds = expiry;
+            String url = minioCallExecutor.execute(BackendOperation.PRESIGN, client -> client.getPresignedObjectUrl(
                     GetPresignedObjectUrlArgs.builder()
                             .method(Method.PUT)
                             .bucket(bucketName)
                             .object(objectName)
-                            .expiry(expiry)
+                            .expiry(expirySeconds)
                             .build()
-            );
+            ));
 
             LOGGER.info("Upload URL generated successfully. Bucket: {}, Object: {}", bucketName, objectName);
             return url;
 
         } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
-            LOGGER.error("Failed to generate upload URL. Bucket: {}, Object: {}, Error: {}", bucketName, objectName, e.getMessage(), e);
-            throw new BusinessException("Failed to generate upload URL for object: " + objectName + " in bucket: " + bucketName, e);
+            throw BackendErrors.translate(e, "Failed to generate upload URL for object: " + objectName + " in bucket: " + bucketName);
         }
     }
 
 
+    @Override
+    public UploadFormVO createUploadForm(String bucketName, String keyPrefix, String contentType,
+                                         Long minSize, Long maxSize, Integer expiry) {
+        expiry = expiryHandle(expiry);
+
+        // An empty prefix would let the form write any key of the bucket
+        if (StringUtils.isBlank(keyPrefix)) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Key prefix cannot be empty.");
+        }
+        long limit = uploadFormProperties.getMaxSize().toBytes();
+        long lower = minSize != null ? minSize : 0;
+        long upper = maxSize != null ? maxSize : limit;
+        if (lower < 0 || lower > upper) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(),
+                    "Invalid size range: " + lower + " to " + upper + " bytes.");
+        }
+        if (upper > limit) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(),
+                    "Max size exceeds the upload form limit of " + limit + " bytes.");
+        }
+        contentType = StringUtils.trimToNull(contentType);
+        if (!isAllowedContentType(contentType)) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(),
+                    "Content type not allowed for upload forms: " + (contentType != null ? contentType : "any"));
+        }
+
+        try {
+            LOGGER.info("Generating upload form. Bucket: {}, Key prefix: {}, Expiry: {} seconds", bucketName, keyPrefix, expiry);
+
+            if (!bucketExists(bucketName)) {
+                throw new NotFoundException("Bucket does not exist: " + bucketName);
+            }
+
+            // MinIO rejects a post that violates any condition, so the limits hold without the upload passing through here
+            ZonedDateTime expiresAt = ZonedDateTime.now().plusSeconds(expiry);
+            PostPolicy policy = new PostPolicy(bucketName, expiresAt);
+            policy.addStartsWithCondition("key", keyPrefix);
+            policy.addContentLengthRangeCondition(lower, upper);
+            if (contentType != null && contentType.endsWith("/")) {
+                policy.addStartsWithCondition("Content-Type", contentType);
+            } else if (contentType != null) {
+                policy.addEqualsCondition("Content-Type", contentType);
+            }
+            Map<String, String> formData = minioCallExecutor.execute(BackendOperation.PRESIGN,
+                    client -> client.getPresignedPostFormData(policy));
+
+            // Prefill the fields the conditions cover; the browser may replace them with matching values
+            Map<String, String> fields = new LinkedHashMap<>();
+            fields.put("key", keyPrefix + "${filename}");
+            if (contentType != null && !contentType.endsWith("/")) {
+                fields.put("Content-Type", contentType);
+            }
+            fields.putAll(formData);
+
+            String endpoint = StringUtils.defaultIfBlank(uploadFormProperties.getPublicEndpoint(),
+                    clientPool.node().getEndpoint());
+            String url = StringUtils.removeEnd(endpoint, "/") + "/" + bucketName;
+            // Posts bypass the write paths here, so packing, spool and replication learn of them from notifications
+            uploadFormWatcher.watch(bucketName, keyPrefix, expiresAt.toInstant().toEpochMilli());
+
+            LOGGER.info("Upload form generated successfully. Bucket: {}, Key prefix: {}", bucketName, keyPrefix);
+            return UploadFormVO.builder()
+                    .url(url)
+                    .fields(fields)
+                    .keyPrefix(keyPrefix)
+                    .contentType(contentType)
+                    .minSize(lower)
+                    .maxSize(upper)
+                    .expiresAt(FORMATTER.format(expiresAt))
+                    .build();
+
+        } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
+            throw BackendErrors.translate(e, "Failed to generate upload form for prefix: " + keyPrefix + " in bucket: " + bucketName);
+        }
+    }
+
+    /**
+     * Checks a requested content type against the configured ones. A configured type ending in
+     * '/' allows its subtypes and the same prefix; a form without a content type is only
+     * issued if any type is allowed.
+     */
+    private boolean isAllowedContentType(String contentType) {
+        List<String> allowed = uploadFormProperties.getAllowedContentTypes();
+        if (allowed.isEmpty()) {
+            return true;
+        }
+        if (contentType == null) {
+            return false;
+        }
+        return allowed.stream().anyMatch(type -> type.endsWith("/")
+                ? StringUtils.startsWithIgnoreCase(contentType, type)
+                : StringUtils.equalsIgnoreCase(contentType, type));
+    }
+
+
     /**
      * Downloads a file from a given URL and streams it to the HTTP response.
      *
@@ -511,15 +919,16 @@ public class MinioServiceImpl implements MinioService {
             throw new BusinessException("File URL cannot be empty.");
         }
 
-        // Derive file name if not provided
-        if (StringUtils.isBlank(fileName)) {
-            fileName = getFileNameFromUrl(fileUrl);
-        }
-
-        // Stream the file from the URL to the HTTP response
-        try (InputStream is = new URL(fileUrl).openStream();
+        // Stream the file from the URL to the HTTP response; the fetcher pools connections and bounds the fetch
+        try (RemoteResource resource = remoteFetcher.open(fileUrl);
+             InputStream is = resource.getBody();
              OutputStream os = response.getOutputStream()) {
 
+            // Derive file name if not provided
+            if (StringUtils.isBlank(fileName)) {
+                fileName = resource.getFileName();
+            }
+
             // Handle file name encoding for different browsers
             String userAgent = request.getHeader("user-agent").toLowerCase();
             if (userAgent.contains("msie") || userAgent.contains("like gecko")) {
@@ -532,47 +941,20 @@ public class MinioServiceImpl implements MinioService {
             response.setContentType("application/octet-stream; charset=UTF-8");
             response.setHeader("Content-Disposition", "attachment; filename=" + fileName);
 
-            // Buffer for reading and writing data
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = is.read(buffer)) != -1) {
-                os.write(buffer, 0, bytesRead);
+            if (resource.getContentLength() >= 0) {
+                response.setContentLengthLong(resource.getContentLength());
             }
+            IOUtils.copyLarge(is, os);
 
             LOGGER.info("File download completed successfully: {}", fileUrl);
 
-        } catch (MalformedURLException e) {
-            LOGGER.error("Invalid file URL: {}. Error: {}", fileUrl, e.getMessage(), e);
-            throw new BusinessException("Invalid file URL: " + fileUrl, e);
         } catch (IOException e) {
-            LOGGER.error("Failed to download file: {}. Error: {}", fileUrl, e.getMessage(), e);
-            throw new BusinessException("Error occurred while downloading file: " + fileName, e);
+            throw new BusinessException(HttpStatus.BAD_GATEWAY.value(), "Error occurred while downloading file: " + fileUrl, e);
         }
     }
 
 
 
-    /**
-     * Extracts the file name from an HTTP URL.
-     *
-     * @param fileUrl The HTTP URL from which to extract the file name.
-     * @return The extracted file name, or an empty string if the URL is invalid or empty.
-     */
-    private String getFileNameFromUrl(String fileUrl) {
-        if (StringUtils.isBlank(fileUrl)) {
-            return "";
-        }
-
-        // Find the last slash (/) in the URL
-        int lastIdx = fileUrl.lastIndexOf('/');
-
-        // Extract the substring after the last slash, if it exists
-        return (lastIdx >= 0 && lastIdx < fileUrl.length() - 1)
-                ? fileUrl.substring(lastIdx + 1)
-                : "";
-    }
-
-
     /**
      * Handle expiry time for pre-signed URLs.
      *
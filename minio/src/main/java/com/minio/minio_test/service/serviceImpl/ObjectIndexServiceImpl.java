@@ -0,0 +1,366 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.minio.minio_test.cluster.MinioClientPool;
+import com.minio.minio_test.config.ObjectIndexProperties;
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.NotFoundException;
+import com.minio.minio_test.exception.ConflictException;
+import com.minio.minio_test.index.BucketIndex;
+import com.minio.minio_test.index.IndexSort;
+import com.minio.minio_test.index.IndexedObject;
+import com.minio.minio_test.index.KeyPattern;
+import com.minio.minio_test.notification.BucketEvent;
+import com.minio.minio_test.notification.BucketEventListener;
+import com.minio.minio_test.notification.BucketNotificationHub;
+import com.minio.minio_test.service.MinioService;
+import com.minio.minio_test.service.ObjectIndexService;
+import com.minio.minio_test.vo.IndexStatusVO;
+import com.minio.minio_test.vo.ObjectListingVO;
+import com.minio.minio_test.vo.ObjectMetadataVO;
+import io.minio.ListObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.Item;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+/**
+ * Object index service implementation.
+ * <p>
+ * Each indexed bucket subscribes to the shared {@link BucketNotificationHub}. Once the notification
+ * stream is connected, the bucket is crawled in parallel (one task per top-level prefix) and the result
+ * is kept current from created/removed events. If the stream drops, the index is invalidated
+ * and rebuilt after reconnecting; queries fall back to a live listing in the meantime.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/02/10
+ */
+@Component
+public class ObjectIndexServiceImpl implements ObjectIndexService {
+
+    private static final String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss";
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN)
+            .withZone(ZoneId.systemDefault());
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ObjectIndexServiceImpl.class);
+
+    @Resource
+    private MinioClientPool clientPool;
+
+    @Resource
+    private MinioService minioService;
+
+    @Resource
+    private ObjectIndexProperties indexProperties;
+
+    @Resource
+    private BucketNotificationHub notificationHub;
+
+    private final ConcurrentMap<String, BucketIndex> indexes = new ConcurrentHashMap<>();
+
+    private ExecutorService crawlExecutor;
+
+    private ExecutorService backgroundExecutor;
+
+    @PostConstruct
+    public void init() {
+        CustomizableThreadFactory crawlFactory = new CustomizableThreadFactory("index-crawl-");
+        crawlFactory.setDaemon(true);
+        crawlExecutor = Executors.newFixedThreadPool(indexProperties.getCrawlParallelism(), crawlFactory);
+
+        CustomizableThreadFactory backgroundFactory = new CustomizableThreadFactory("index-worker-");
+        backgroundFactory.setDaemon(true);
+        backgroundExecutor = Executors.newCachedThreadPool(backgroundFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backgroundExecutor.shutdownNow();
+        crawlExecutor.shutdownNow();
+    }
+
+    /**
+     * Starts indexing the configured buckets once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexConfiguredBuckets() {
+        if (!indexProperties.isEnabled()) {
+            return;
+        }
+        for (String bucketName : indexProperties.getBuckets()) {
+            indexes.computeIfAbsent(bucketName, this::startIndex);
+        }
+    }
+
+    /**
+     * Periodically rebuilds indexes that are invalid or whose last full crawl is older than the configured max age.
+     */
+    @Scheduled(fixedDelayString = "${minio.index.refresh-check-interval:60000}")
+    public void refreshStaleIndexes() {
+        long maxAge = indexProperties.getMaxAge().toMillis();
+        for (BucketIndex index : indexes.values()) {
+            if (index.isListening() && !index.isRebuilding()
+                    && (!index.isReady() || System.currentTimeMillis() - index.getBuiltAt() > maxAge)) {
+                triggerRebuild(index);
+            }
+        }
+    }
+
+    @Override
+    public ObjectListingVO listObjects(String bucketName, String prefix, String sort, boolean descending, Integer limit) {
+        IndexSort indexSort = IndexSort.parse(sort);
+        return query(bucketName, prefix, null, indexSort, descending, limit);
+    }
+
+    @Override
+    public ObjectListingVO search(String bucketName, String prefix, String pattern, Integer limit) {
+        if (StringUtils.isBlank(pattern)) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Search pattern cannot be empty.");
+        }
+        return query(bucketName, prefix, KeyPattern.compile(pattern), IndexSort.NAME, false, limit);
+    }
+
+    @Override
+    public void rebuild(String bucketName) {
+        if (!indexProperties.isEnabled()) {
+            throw new ConflictException("Object index is disabled.");
+        }
+        BucketIndex index = obtainIndex(bucketName);
+        if (index.isListening()) {
+            triggerRebuild(index);
+        }
+        // Otherwise the index is rebuilt as soon as its notification stream (re)connects
+    }
+
+    @Override
+    public IndexStatusVO status(String bucketName) {
+        BucketIndex index = indexes.get(bucketName);
+        if (index == null) {
+            throw new NotFoundException("Bucket is not indexed: " + bucketName);
+        }
+        return IndexStatusVO.builder()
+                .bucketName(bucketName)
+                .objectCount(index.size())
+                .ready(index.isReady())
+                .listening(index.isListening())
+                .rebuilding(index.isRebuilding())
+                .fresh(index.isFresh(indexProperties.getMaxAge().toMillis()))
+                .builtTime(index.getBuiltAt() > 0 ? FORMATTER.format(Instant.ofEpochMilli(index.getBuiltAt())) : null)
+                .build();
+    }
+
+    private ObjectListingVO query(String bucketName, String prefix, Predicate<String> filter,
+                                  IndexSort sort, boolean descending, Integer limit) {
+        int maxResults = indexProperties.getMaxResults();
+        int effectiveLimit = (limit == null || limit <= 0) ? maxResults : Math.min(limit, maxResults);
+
+        if (indexProperties.isEnabled()) {
+            BucketIndex index = obtainIndex(bucketName);
+            if (index.isFresh(indexProperties.getMaxAge().toMillis())) {
+                return toListing(bucketName, true,
+                        index.query(prefix, filter, sort, descending, effectiveLimit));
+            }
+            LOGGER.debug("Index for bucket '{}' is stale, serving live listing.", bucketName);
+            if (index.isListening() && !index.isRebuilding()) {
+                triggerRebuild(index);
+            }
+        } else if (!minioService.bucketExists(bucketName)) {
+            throw new NotFoundException("Bucket does not exist: " + bucketName);
+        }
+
+        return toListing(bucketName, false, liveQuery(bucketName, prefix, filter, sort, descending, effectiveLimit));
+    }
+
+    /**
+     * Returns the index of a bucket, starting one if the bucket exists but is not yet indexed.
+     */
+    private BucketIndex obtainIndex(String bucketName) {
+        BucketIndex index = indexes.get(bucketName);
+        if (index != null) {
+            return index;
+        }
+        if (!minioService.bucketExists(bucketName)) {
+            throw new NotFoundException("Bucket does not exist: " + bucketName);
+        }
+        return indexes.computeIfAbsent(bucketName, this::startIndex);
+    }
+
+    private BucketIndex startIndex(String bucketName) {
+        BucketIndex index = new BucketIndex(bucketName);
+        notificationHub.subscribe(bucketName, new BucketEventListener() {
+            @Override
+            public void onEvent(BucketEvent event) {
+                if (event.getType() == BucketEvent.Type.CREATED) {
+                    index.put(event.getObjectName(), event.getSize(), event.getEventTime(),
+                            event.getEtag(), event.getContentType());
+                } else {
+                    index.remove(event.getObjectName());
+                }
+            }
+
+            @Override
+            public void onConnected() {
+                // Events may have been missed while disconnected, so every (re)connect rebuilds
+                index.setListening(true);
+                triggerRebuild(index);
+            }
+
+            @Override
+            public void onDisconnected() {
+                index.setListening(false);
+                index.invalidate();
+            }
+        });
+        LOGGER.info("Started object index for bucket: {}", bucketName);
+        return index;
+    }
+
+    private void triggerRebuild(BucketIndex index) {
+        ConcurrentSkipListMap<String, IndexedObject> target = index.beginRebuild();
+        if (target == null) {
+            return;
+        }
+        backgroundExecutor.execute(() -> crawl(index, target));
+    }
+
+    /**
+     * Crawls a bucket into {@code target}, fanning out one listing per top-level prefix.
+     */
+    private void crawl(BucketIndex index, ConcurrentSkipListMap<String, IndexedObject> target) {
+        String bucketName = index.getBucketName();
+        long start = System.currentTimeMillis();
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (Result<Item> result : clientPool.client().listObjects(listArgs(bucketName, "", false))) {
+                Item item = result.get();
+                if (item.isDir()) {
+                    String prefix = item.objectName();
+                    tasks.add(crawlExecutor.submit(() -> {
+                        for (Result<Item> nested : clientPool.client().listObjects(listArgs(bucketName, prefix, true))) {
+                            addItem(index, target, nested.get());
+                        }
+                        return null;
+                    }));
+                } else {
+                    addItem(index, target, item);
+                }
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            index.completeRebuild(target);
+            LOGGER.info("Indexed bucket '{}': {} objects in {} ms.", bucketName, index.size(),
+                    System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            index.completeRebuild(null);
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            LOGGER.error("Failed to index bucket '{}': {}", bucketName, cause.getMessage(), cause);
+            index.completeRebuild(null);
+        }
+    }
+
+    private static void addItem(BucketIndex index, Map<String, IndexedObject> target, Item item) {
+        if (item.isDir()) {
+            return;
+        }
+        long lastModified = item.lastModified() != null ? item.lastModified().toInstant().toEpochMilli() : 0L;
+        target.put(item.objectName(),
+                index.newEntry(item.size(), lastModified, item.etag(), contentType(item.userMetadata())));
+    }
+
+    /**
+     * Answers a query with a live recursive listing of the prefix.
+     */
+    private List<Map.Entry<String, IndexedObject>> liveQuery(String bucketName, String prefix, Predicate<String> filter,
+                                                             IndexSort sort, boolean descending, int limit) {
+        BucketIndex scratch = new BucketIndex(bucketName);
+        TreeMap<String, IndexedObject> listed = new TreeMap<>();
+        try {
+            for (Result<Item> result : clientPool.client().listObjects(listArgs(bucketName, StringUtils.defaultString(prefix), true))) {
+                Item item = result.get();
+                if (filter == null || filter.test(item.objectName())) {
+                    addItem(scratch, listed, item);
+                }
+                // Keys arrive in ascending order, so an ascending name query can stop early
+                if (sort == IndexSort.NAME && !descending && listed.size() >= limit) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("Live listing of bucket '{}' failed: {}", bucketName, e.getMessage(), e);
+            throw new BusinessException("Failed to list objects in bucket: " + bucketName, e);
+        }
+        return BucketIndex.select(listed, null, null, sort, descending, limit);
+    }
+
+    private static ListObjectsArgs listArgs(String bucketName, String prefix, boolean recursive) {
+        return ListObjectsArgs.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .recursive(recursive)
+                .includeUserMetadata(true)
+                .build();
+    }
+
+    private static String contentType(Map<String, String> metadata) {
+        if (metadata == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> entry : metadata.entrySet()) {
+            if ("content-type".equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static ObjectListingVO toListing(String bucketName, boolean fromIndex,
+                                             List<Map.Entry<String, IndexedObject>> entries) {
+        List<ObjectMetadataVO> items = new ArrayList<>(entries.size());
+        for (Map.Entry<String, IndexedObject> entry : entries) {
+            IndexedObject object = entry.getValue();
+            items.add(ObjectMetadataVO.builder()
+                    .name(entry.getKey())
+                    .size(object.getSize())
+                    .etag(object.getEtag())
+                    .contentType(object.getContentType())
+                    .lastModifyTime(object.getLastModified() > 0
+                            ? FORMATTER.format(Instant.ofEpochMilli(object.getLastModified()))
+                            : null)
+                    .build());
+        }
+        return ObjectListingVO.builder()
+                .bucketName(bucketName)
+                .fromIndex(fromIndex)
+                .items(items)
+                .build();
+    }
+}
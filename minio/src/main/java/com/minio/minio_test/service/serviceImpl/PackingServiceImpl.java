@@ -0,0 +1,780 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minio.minio_test.cluster.MinioClientPool;
+import com.minio.minio_test.config.PackingProperties;
+import com.minio.minio_test.exception.BackendErrors;
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.ConflictException;
+import com.minio.minio_test.packing.PackIndex;
+import com.minio.minio_test.packing.PackSidecar;
+import com.minio.minio_test.packing.PackedObject;
+import com.minio.minio_test.qos.TransferScheduler;
+import com.minio.minio_test.resilience.BackendOperation;
+import com.minio.minio_test.resilience.MinioCallExecutor;
+import com.minio.minio_test.service.PackingService;
+import com.minio.minio_test.tracing.Tracer;
+import com.minio.minio_test.vo.PackingStatusVO;
+import io.minio.BucketExistsArgs;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.ListObjectsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.Result;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.Item;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Packing service implementation.
+ * <p>
+ * Small uploads to a bucket are collected into one open pack. The pack is written to the pack
+ * bucket as a single object once it reaches {@code minio.packing.pack-size} or the first upload
+ * in it has waited {@code minio.packing.linger}, and every upload in it returns only after the
+ * pack is stored and indexed; one PUT and one journal sync thus serve many uploads, and MinIO
+ * holds one object per pack instead of one per upload. Packed objects are read with ranged GETs
+ * of their pack.
+ * </p>
+ * <p>
+ * Replacing or removing a packed object leaves dead bytes in its pack. Compaction periodically
+ * copies the live objects of packs that are mostly dead, or too small because they were written
+ * after the linger, into new packs, and deletes packs without live objects after a grace period
+ * so reads that looked up the old location just before still succeed.
+ * </p>
+ * <p>
+ * The local index is backed by MinIO: every pack is followed by a {@link PackSidecar} listing its
+ * objects, and removing a packed object writes a tombstone with its removal time. An instance
+ * without a local index rebuilds it from these at startup, where for every key the newest packed
+ * copy wins unless a newer tombstone removed it. Object and tombstone times come from a clock that
+ * never repeats a value, so a removal always orders after the write it removes. Tombstones are
+ * deleted once no pack is old enough to still hold a copy they hide.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/20
+ */
+@Component
+public class PackingServiceImpl implements PackingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PackingServiceImpl.class);
+
+    /** Key segment of tombstones, between the bucket name and the hash of the removed key */
+    private static final String TOMBSTONES = "/tombstones/";
+
+    @Resource
+    private PackingProperties packingProperties;
+
+    @Resource
+    private MinioCallExecutor minioCallExecutor;
+
+    @Resource
+    private TransferScheduler transferScheduler;
+
+    @Resource
+    private Tracer tracer;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @Resource
+    private MinioClientPool clientPool;
+
+    /** Pack being filled per bucket; guarded by itself */
+    private final Map<String, OpenPack> openPacks = new HashMap<>();
+
+    private final AtomicLong packsWritten = new AtomicLong();
+
+    private final AtomicLong packsDeleted = new AtomicLong();
+
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+
+    /** Last time handed out by {@link #tick()} */
+    private final AtomicLong clock = new AtomicLong();
+
+    private volatile String lastCompactionError;
+
+    /** Live bytes copied out of packs by compaction, by pack; used by the compaction thread only */
+    private final Map<String, Long> copiedBytes = new HashMap<>();
+
+    private volatile boolean packBucketReady;
+
+    private PackIndex index;
+
+    private ScheduledExecutorService writerExecutor;
+
+    private ScheduledExecutorService compactionScheduler;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!packingProperties.isEnabled()) {
+            return;
+        }
+        index = new PackIndex(Paths.get(packingProperties.getIndexDir()), objectMapper,
+                packingProperties.getIndexCompactThreshold());
+        index.open();
+        if (index.isEmpty()) {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                // Starting with an empty index would hide every packed object
+                index.close();
+                throw new IllegalStateException("Failed to rebuild the pack index from bucket '"
+                        + packingProperties.getBucket() + "': " + e.getMessage(), e);
+            }
+        }
+
+        CustomizableThreadFactory writerFactory = new CustomizableThreadFactory("pack-writer-");
+        writerFactory.setDaemon(true);
+        writerExecutor = Executors.newScheduledThreadPool(packingProperties.getWriterThreads(), writerFactory);
+
+        CustomizableThreadFactory compactionFactory = new CustomizableThreadFactory("pack-compaction-");
+        compactionFactory.setDaemon(true);
+        compactionScheduler = Executors.newSingleThreadScheduledExecutor(compactionFactory);
+        long interval = packingProperties.getCompactionInterval().toMillis();
+        compactionScheduler.scheduleWithFixedDelay(this::compact, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (index == null) {
+            return;
+        }
+        compactionScheduler.shutdownNow();
+        writerExecutor.shutdownNow();
+        try {
+            index.close();
+        } catch (IOException e) {
+            LOGGER.error("Failed to close pack index: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean accepts(long size) {
+        return index != null && size <= packingProperties.getMaxObjectSize().toBytes();
+    }
+
+    @Override
+    public void put(String bucketName, String objectName, byte[] content, String contentType) {
+        if (index == null) {
+            throw new ConflictException("Packing is disabled.");
+        }
+        String etag = DigestUtils.md5DigestAsHex(content);
+        OpenPack pack;
+        boolean full;
+        synchronized (openPacks) {
+            pack = openPacks.get(bucketName);
+            if (pack == null) {
+                pack = new OpenPack(bucketName, tick());
+                openPacks.put(bucketName, pack);
+                OpenPack lingering = pack;
+                writerExecutor.schedule(() -> seal(lingering),
+                        packingProperties.getLinger().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            pack.add(objectName, content, contentType, etag, tick());
+            full = pack.size() >= packingProperties.getPackSize().toBytes();
+            if (full) {
+                openPacks.remove(bucketName);
+            }
+        }
+        if (full) {
+            OpenPack sealed = pack;
+            writerExecutor.execute(() -> write(sealed));
+        }
+
+        try {
+            pack.written.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Interrupted while packing object: " + objectName, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw BackendErrors.translate(cause instanceof Exception exception ? exception : e,
+                    "Failed to pack object: " + objectName + " in bucket: " + bucketName);
+        }
+        try {
+            // The packed object replaces one of the same name stored on its own, which MinIO would
+            // otherwise keep handing to presigned URLs, Select and anything else reading it directly
+            minioCallExecutor.execute(BackendOperation.REMOVE_OBJECT, client -> {
+                client.removeObject(RemoveObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .build());
+                return null;
+            });
+        } catch (Exception e) {
+            throw BackendErrors.translate(e, "Failed to replace object: " + objectName + " in bucket: " + bucketName);
+        }
+        tracer.currentSpan().setAttribute("packing.pack", pack.id);
+    }
+
+    @Override
+    public PackedObject get(String bucketName, String objectName) {
+        return index == null ? null : index.get(bucketName, objectName);
+    }
+
+    @Override
+    public byte[] read(String bucketName, String objectName) throws Exception {
+        PackedObject object = get(bucketName, objectName);
+        if (object == null) {
+            return null;
+        }
+        try (GetObjectResponse in = readPacked(bucketName, objectName, object)) {
+            return in == null ? null : in.readAllBytes();
+        }
+    }
+
+    @Override
+    public boolean serve(String bucketName, String objectName, HttpServletResponse response) {
+        if (index == null) {
+            return false;
+        }
+        PackedObject object = index.get(bucketName, objectName);
+        if (object == null) {
+            return false;
+        }
+        try (GetObjectResponse in = readPacked(bucketName, objectName, object)) {
+            if (in == null) {
+                return false;
+            }
+            response.setHeader("Content-Disposition", "attachment;filename=" + URLEncoder.encode(objectName, StandardCharsets.UTF_8));
+            response.setContentType(StringUtils.defaultIfBlank(object.getContentType(), "application/octet-stream"));
+            response.setContentLengthLong(object.getLength());
+            response.setHeader("ETag", "\"" + object.getEtag() + "\"");
+            long bytes;
+            try (OutputStream out = transferScheduler.shape(response.getOutputStream(), bucketName, object.getLength())) {
+                bytes = IOUtils.copyLarge(in, out);
+            }
+            tracer.currentSpan().setAttribute("minio.bytes", bytes).setAttribute("packing.pack", object.getPackId());
+            response.flushBuffer();
+            LOGGER.info("File download served from pack. File: {}, Bucket: {}", objectName, bucketName);
+            return true;
+        } catch (Exception e) {
+            throw BackendErrors.translate(e, "Failed to download packed file: " + objectName);
+        }
+    }
+
+    @Override
+    public boolean remove(String bucketName, String objectName) {
+        if (index == null || index.get(bucketName, objectName) == null) {
+            return false;
+        }
+        try {
+            // Recorded in MinIO first, so a rebuilt index does not bring the object back
+            writeTombstone(bucketName, objectName);
+        } catch (Exception e) {
+            throw BackendErrors.translate(e, "Failed to remove packed object: " + objectName);
+        }
+        try {
+            if (!index.remove(bucketName, objectName)) {
+                return false;
+            }
+            index.sync();
+        } catch (IOException e) {
+            throw new BusinessException("Failed to remove packed object: " + objectName, e);
+        }
+        LOGGER.debug("Removed packed object '{}' from bucket '{}'.", objectName, bucketName);
+        return true;
+    }
+
+    @Override
+    public Iterator<Map.Entry<String, PackedObject>> list(String bucketName, String prefix, boolean recursive) {
+        if (index == null) {
+            return Collections.emptyIterator();
+        }
+        return index.list(bucketName, StringUtils.defaultString(prefix), recursive);
+    }
+
+    @Override
+    public PackingStatusVO status() {
+        if (index == null) {
+            return PackingStatusVO.builder().enabled(false).build();
+        }
+        long objects = 0;
+        long packBytes = 0;
+        long liveBytes = 0;
+        List<PackIndex.Pack> packs = index.packs();
+        for (PackIndex.Pack pack : packs) {
+            objects += pack.getLiveCount();
+            packBytes += pack.getSize();
+            liveBytes += pack.getLiveBytes();
+        }
+        return PackingStatusVO.builder()
+                .enabled(true)
+                .objectCount(objects)
+                .packCount(packs.size())
+                .packBytes(packBytes)
+                .liveBytes(liveBytes)
+                .packsWritten(packsWritten.get())
+                .packsDeleted(packsDeleted.get())
+                .reclaimedBytes(reclaimedBytes.get())
+                .lastCompactionError(lastCompactionError)
+                .build();
+    }
+
+    /**
+     * Reads a packed object with a ranged GET. A pack deleted by compaction after the lookup is
+     * retried once at the object's new location.
+     *
+     * @return The content, or null if the object was removed in the meantime.
+     */
+    private GetObjectResponse readPacked(String bucketName, String objectName, PackedObject object) throws Exception {
+        try {
+            return rangedGet(bucketName, object);
+        } catch (ErrorResponseException e) {
+            if (!BackendErrors.isNotFound(e)) {
+                throw e;
+            }
+            PackedObject moved = index.get(bucketName, objectName);
+            if (moved == null) {
+                return null;
+            }
+            if (moved == object) {
+                throw e;
+            }
+            return rangedGet(bucketName, moved);
+        }
+    }
+
+    private GetObjectResponse rangedGet(String bucketName, PackedObject object) throws Exception {
+        return minioCallExecutor.execute(BackendOperation.GET_OBJECT, client -> client.getObject(GetObjectArgs.builder()
+                .bucket(packingProperties.getBucket())
+                .object(packKey(bucketName, object.getPackId()))
+                .offset(object.getOffset())
+                .length((long) object.getLength())
+                .build()));
+    }
+
+    /**
+     * Writes a pack whose linger expired, unless it was written for being full.
+     */
+    private void seal(OpenPack pack) {
+        synchronized (openPacks) {
+            if (openPacks.get(pack.bucketName) != pack) {
+                return;
+            }
+            openPacks.remove(pack.bucketName);
+        }
+        write(pack);
+    }
+
+    private void write(OpenPack pack) {
+        try {
+            byte[] data = pack.data.toByteArray();
+            store(pack.bucketName, pack.id, data);
+            storeSidecar(new PackSidecar(pack.bucketName, pack.id, data.length, pack.createdAt, pack.objects));
+            index.addPack(pack.bucketName, pack.id, data.length, pack.createdAt, pack.objects);
+            index.sync();
+            LOGGER.debug("Wrote pack {} of bucket '{}' with {} object(s), {} bytes.",
+                    pack.id, pack.bucketName, pack.objects.size(), data.length);
+            pack.written.complete(null);
+        } catch (Exception e) {
+            pack.written.completeExceptionally(e);
+        }
+    }
+
+    private void store(String bucketName, String packId, byte[] data) throws Exception {
+        ensurePackBucket();
+        putPackObject(packKey(bucketName, packId), data, "application/octet-stream");
+        packsWritten.incrementAndGet();
+    }
+
+    /**
+     * Writes the sidecar of a stored pack. Without it the pack could not be found by a rebuild, so
+     * the pack is deleted again if the sidecar cannot be written.
+     */
+    private void storeSidecar(PackSidecar sidecar) throws Exception {
+        try {
+            putPackObject(packKey(sidecar.getBucketName(), sidecar.getPackId()) + PackSidecar.SUFFIX,
+                    sidecar.toBytes(objectMapper), "application/json");
+        } catch (Exception e) {
+            try {
+                removePackObject(packKey(sidecar.getBucketName(), sidecar.getPackId()));
+            } catch (Exception suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private void writeTombstone(String bucketName, String objectName) throws Exception {
+        ensurePackBucket();
+        byte[] tombstone = objectMapper.writeValueAsBytes(objectMapper.createObjectNode()
+                .put("bucket", bucketName)
+                .put("key", objectName)
+                .put("time", tick()));
+        putPackObject(tombstoneKey(bucketName, objectName), tombstone, "application/json");
+    }
+
+    private void putPackObject(String key, byte[] data, String contentType) throws Exception {
+        minioCallExecutor.execute(BackendOperation.PUT_OBJECT, client -> client.putObject(PutObjectArgs.builder()
+                .bucket(packingProperties.getBucket())
+                .object(key)
+                .stream(new ByteArrayInputStream(data), data.length, -1)
+                .contentType(contentType)
+                .build()));
+    }
+
+    private byte[] readPackObject(String key) throws Exception {
+        try (GetObjectResponse in = minioCallExecutor.execute(BackendOperation.GET_OBJECT,
+                client -> client.getObject(GetObjectArgs.builder()
+                        .bucket(packingProperties.getBucket())
+                        .object(key)
+                        .build()))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private void removePackObject(String key) throws Exception {
+        minioCallExecutor.execute(BackendOperation.REMOVE_OBJECT, client -> {
+            client.removeObject(RemoveObjectArgs.builder()
+                    .bucket(packingProperties.getBucket())
+                    .object(key)
+                    .build());
+            return null;
+        });
+    }
+
+    private Iterable<Result<Item>> listPackObjects(String prefix) {
+        return clientPool.client().listObjects(ListObjectsArgs.builder()
+                .bucket(packingProperties.getBucket())
+                .prefix(prefix)
+                .recursive(true)
+                .build());
+    }
+
+    /**
+     * Rebuilds an empty local index from the sidecars and tombstones in the pack bucket.
+     */
+    private void rebuild() throws Exception {
+        String packBucket = packingProperties.getBucket();
+        boolean exists = minioCallExecutor.execute(BackendOperation.BUCKET_EXISTS,
+                client -> client.bucketExists(BucketExistsArgs.builder().bucket(packBucket).build()));
+        if (!exists) {
+            return;
+        }
+        List<PackSidecar> sidecars = new ArrayList<>();
+        // Latest removal time by bucket and key
+        Map<String, Long> tombstones = new HashMap<>();
+        long latest = 0;
+        for (Result<Item> result : listPackObjects("")) {
+            String name = result.get().objectName();
+            if (name.endsWith(PackSidecar.SUFFIX)) {
+                PackSidecar sidecar = PackSidecar.parse(objectMapper, readPackObject(name));
+                sidecars.add(sidecar);
+                for (PackedObject object : sidecar.getObjects().values()) {
+                    latest = Math.max(latest, object.getLastModified());
+                }
+            } else if (name.contains(TOMBSTONES)) {
+                JsonNode tombstone = objectMapper.readTree(readPackObject(name));
+                long removedAt = tombstone.get("time").asLong();
+                tombstones.merge(tombstone.get("bucket").asText() + "/" + tombstone.get("key").asText(),
+                        removedAt, Math::max);
+                latest = Math.max(latest, removedAt);
+            }
+        }
+
+        // Newest copy of every key; on a tie the later pack wins, as compaction copies keep their time
+        sidecars.sort(Comparator.comparingLong(PackSidecar::getCreatedAt));
+        Map<String, PackedObject> newest = new HashMap<>();
+        for (PackSidecar sidecar : sidecars) {
+            for (Map.Entry<String, PackedObject> entry : sidecar.getObjects().entrySet()) {
+                newest.merge(sidecar.getBucketName() + "/" + entry.getKey(), entry.getValue(),
+                        (current, candidate) -> candidate.getLastModified() >= current.getLastModified() ? candidate : current);
+            }
+        }
+        long restored = 0;
+        for (PackSidecar sidecar : sidecars) {
+            Map<String, PackedObject> live = new LinkedHashMap<>();
+            for (Map.Entry<String, PackedObject> entry : sidecar.getObjects().entrySet()) {
+                String id = sidecar.getBucketName() + "/" + entry.getKey();
+                Long removedAt = tombstones.get(id);
+                if (newest.get(id) == entry.getValue()
+                        && (removedAt == null || entry.getValue().getLastModified() > removedAt)) {
+                    live.put(entry.getKey(), entry.getValue());
+                }
+            }
+            // Packs left without live objects are recorded too, so compaction deletes them
+            index.addPack(sidecar.getBucketName(), sidecar.getPackId(), sidecar.getSize(), sidecar.getCreatedAt(), live);
+            restored += live.size();
+        }
+        index.sync();
+        // New writes must order after everything written before, even if this host's clock is behind
+        clock.accumulateAndGet(latest, Math::max);
+        LOGGER.info("Rebuilt pack index from bucket '{}': {} object(s) in {} pack(s), {} tombstone(s).",
+                packBucket, restored, sidecars.size(), tombstones.size());
+    }
+
+    private void compact() {
+        try {
+            deleteEmptyPacks();
+
+            long minPackSize = packingProperties.getMinPackSize().toBytes();
+            double minLiveRatio = packingProperties.getMinLiveRatio();
+            Map<String, List<PackIndex.Pack>> candidates = index.packs().stream()
+                    .filter(pack -> pack.getLiveCount() > 0)
+                    .filter(pack -> pack.getLiveBytes() < pack.getSize() * minLiveRatio || pack.getSize() < minPackSize)
+                    .collect(Collectors.groupingBy(PackIndex.Pack::getBucketName));
+            for (Map.Entry<String, List<PackIndex.Pack>> bucket : candidates.entrySet()) {
+                List<PackIndex.Pack> packs = bucket.getValue();
+                // A single small pack without dead bytes has nothing to merge with
+                if (packs.size() > 1 || packs.get(0).getLiveBytes() < packs.get(0).getSize()) {
+                    compactBucket(bucket.getKey(), packs);
+                }
+            }
+        } catch (Exception e) {
+            lastCompactionError = e.getMessage();
+            LOGGER.warn("Pack compaction failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Copies the live objects of the given packs into new packs and points the index at them.
+     */
+    private void compactBucket(String bucketName, List<PackIndex.Pack> packs) throws Exception {
+        Set<String> packIds = packs.stream().map(PackIndex.Pack::getId).collect(Collectors.toSet());
+        // Every object copied is current at this time, which therefore serves as the creation time of the new packs
+        long lookedUp = tick();
+        Map<String, Map<String, PackedObject>> liveByPack = new HashMap<>();
+        Iterator<Map.Entry<String, PackedObject>> entries = index.list(bucketName, "", true);
+        while (entries.hasNext()) {
+            Map.Entry<String, PackedObject> entry = entries.next();
+            if (packIds.contains(entry.getValue().getPackId())) {
+                liveByPack.computeIfAbsent(entry.getValue().getPackId(), id -> new LinkedHashMap<>())
+                        .put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        long packSize = packingProperties.getPackSize().toBytes();
+        OpenPack target = new OpenPack(bucketName, lookedUp);
+        Map<String, PackedObject[]> moves = new LinkedHashMap<>();
+        int moved = 0;
+        for (PackIndex.Pack pack : packs) {
+            Map<String, PackedObject> live = liveByPack.get(pack.getId());
+            if (live == null) {
+                continue;
+            }
+            byte[] data;
+            try (GetObjectResponse in = minioCallExecutor.execute(BackendOperation.GET_OBJECT,
+                    client -> client.getObject(GetObjectArgs.builder()
+                            .bucket(packingProperties.getBucket())
+                            .object(packKey(bucketName, pack.getId()))
+                            .build()))) {
+                data = in.readAllBytes();
+            }
+            for (Map.Entry<String, PackedObject> entry : live.entrySet()) {
+                PackedObject old = entry.getValue();
+                PackedObject copy = target.copy(data, old);
+                copiedBytes.merge(pack.getId(), (long) old.getLength(), Long::sum);
+                moves.put(entry.getKey(), new PackedObject[]{old, copy});
+                if (target.size() >= packSize) {
+                    moved += writeCompacted(target, moves);
+                    target = new OpenPack(bucketName, lookedUp);
+                    moves = new LinkedHashMap<>();
+                }
+            }
+        }
+        if (!moves.isEmpty()) {
+            moved += writeCompacted(target, moves);
+        }
+        LOGGER.info("Compacted {} pack(s) of bucket '{}', moving {} object(s).", packs.size(), bucketName, moved);
+    }
+
+    private int writeCompacted(OpenPack pack, Map<String, PackedObject[]> moves) throws Exception {
+        byte[] data = pack.data.toByteArray();
+        store(pack.bucketName, pack.id, data);
+        // Lists every copy, also those replaced or removed before the relocation: they are older
+        // than the replacement or the tombstone, so a rebuild ignores them
+        Map<String, PackedObject> copies = new LinkedHashMap<>();
+        moves.forEach((key, move) -> copies.put(key, move[1]));
+        storeSidecar(new PackSidecar(pack.bucketName, pack.id, data.length, pack.createdAt, copies));
+        int moved = index.relocate(pack.bucketName, pack.id, data.length, pack.createdAt, moves);
+        index.sync();
+        return moved;
+    }
+
+    /**
+     * Deletes packs that have had no live objects for the grace period.
+     */
+    private void deleteEmptyPacks() throws Exception {
+        long deadline = System.currentTimeMillis() - packingProperties.getDeleteGrace().toMillis();
+        List<PackIndex.Pack> empty = new ArrayList<>();
+        for (PackIndex.Pack pack : index.packs()) {
+            if (pack.getLiveCount() == 0 && pack.getEmptiedAt() > 0 && pack.getEmptiedAt() <= deadline) {
+                empty.add(pack);
+            }
+        }
+        Set<String> buckets = new HashSet<>();
+        for (PackIndex.Pack pack : empty) {
+            // The sidecar goes first, so a rebuild never finds one without its pack
+            removePackObject(packKey(pack.getBucketName(), pack.getId()) + PackSidecar.SUFFIX);
+            removePackObject(packKey(pack.getBucketName(), pack.getId()));
+            index.dropPack(pack.getId());
+            buckets.add(pack.getBucketName());
+            packsDeleted.incrementAndGet();
+            Long copied = copiedBytes.remove(pack.getId());
+            reclaimedBytes.addAndGet(pack.getSize() - (copied != null ? copied : 0L));
+        }
+        if (!empty.isEmpty()) {
+            index.sync();
+            LOGGER.debug("Deleted {} empty pack(s).", empty.size());
+        }
+        for (String bucketName : buckets) {
+            deleteTombstones(bucketName);
+        }
+    }
+
+    /**
+     * Deletes the tombstones of a bucket that are older than all of its packs. Every pack that
+     * holds a copy a tombstone hides was created before the removal, so once those packs are
+     * deleted the tombstone hides nothing.
+     */
+    private void deleteTombstones(String bucketName) throws Exception {
+        long oldest = index.packs().stream()
+                .filter(pack -> pack.getBucketName().equals(bucketName))
+                .mapToLong(PackIndex.Pack::getCreatedAt)
+                .min()
+                .orElse(Long.MAX_VALUE);
+        int deleted = 0;
+        for (Result<Item> result : listPackObjects(bucketName + TOMBSTONES)) {
+            String name = result.get().objectName();
+            long removedAt = objectMapper.readTree(readPackObject(name)).get("time").asLong();
+            if (removedAt < oldest) {
+                removePackObject(name);
+                deleted++;
+            }
+        }
+        if (deleted > 0) {
+            LOGGER.debug("Deleted {} tombstone(s) of bucket '{}'.", deleted, bucketName);
+        }
+    }
+
+    private void ensurePackBucket() throws Exception {
+        if (packBucketReady) {
+            return;
+        }
+        synchronized (this) {
+            if (packBucketReady) {
+                return;
+            }
+            String bucket = packingProperties.getBucket();
+            boolean exists = minioCallExecutor.execute(BackendOperation.BUCKET_EXISTS,
+                    client -> client.bucketExists(BucketExistsArgs.builder().bucket(bucket).build()));
+            if (!exists) {
+                try {
+                    minioCallExecutor.execute(BackendOperation.MAKE_BUCKET, client -> {
+                        client.makeBucket(MakeBucketArgs.builder().bucket(bucket).build());
+                        return null;
+                    });
+                    LOGGER.info("Created pack bucket: {}", bucket);
+                } catch (ErrorResponseException e) {
+                    if (e.errorResponse() == null || !"BucketAlreadyOwnedByYou".equals(e.errorResponse().code())) {
+                        throw e;
+                    }
+                }
+            }
+            packBucketReady = true;
+        }
+    }
+
+    /**
+     * Returns a time in epoch milliseconds that is later than every time returned before.
+     */
+    private long tick() {
+        return clock.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+    }
+
+    private static String packKey(String bucketName, String packId) {
+        return bucketName + "/" + packId;
+    }
+
+    private static String tombstoneKey(String bucketName, String objectName) {
+        return bucketName + TOMBSTONES + DigestUtils.md5DigestAsHex(objectName.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A pack being assembled in memory.
+     */
+    private static final class OpenPack {
+
+        private final String id = UUID.randomUUID().toString();
+
+        private final String bucketName;
+
+        private final long createdAt;
+
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        /** Objects in the pack by key; a key added twice keeps its last content */
+        private final Map<String, PackedObject> objects = new LinkedHashMap<>();
+
+        /** Completed once the pack is stored and indexed */
+        private final CompletableFuture<Void> written = new CompletableFuture<>();
+
+        private OpenPack(String bucketName, long createdAt) {
+            this.bucketName = bucketName;
+            this.createdAt = createdAt;
+        }
+
+        private void add(String objectName, byte[] content, String contentType, String etag, long lastModified) {
+            objects.put(objectName, new PackedObject(id, data.size(), content.length, contentType, etag, lastModified));
+            data.write(content, 0, content.length);
+        }
+
+        /**
+         * Appends an object copied from another pack, keeping its metadata.
+         *
+         * @param source The other pack's content.
+         * @param object The object's location in it.
+         * @return The object's location in this pack.
+         */
+        private PackedObject copy(byte[] source, PackedObject object) {
+            PackedObject copy = new PackedObject(id, data.size(), object.getLength(), object.getContentType(),
+                    object.getEtag(), object.getLastModified());
+            data.write(source, (int) object.getOffset(), object.getLength());
+            return copy;
+        }
+
+        private int size() {
+            return data.size();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.minio.minio_test.config.QosProperties;
+import com.minio.minio_test.qos.FairLane;
+import com.minio.minio_test.qos.TrafficAccount;
+import com.minio.minio_test.qos.TransferScheduler;
+import com.minio.minio_test.service.QosService;
+import com.minio.minio_test.vo.QosStatusVO;
+import com.minio.minio_test.vo.TransferRateVO;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * QoS service implementation.
+ *
+ * @author Zhang
+ * @date 2025/03/06
+ */
+@Component
+public class QosServiceImpl implements QosService {
+
+    @Resource
+    private TransferScheduler transferScheduler;
+
+    @Resource
+    private QosProperties qosProperties;
+
+    @Override
+    public QosStatusVO status() {
+        List<TransferRateVO> lanes = new ArrayList<>();
+        for (FairLane lane : transferScheduler.lanes()) {
+            TransferRateVO vo = toVO(lane.getAccount());
+            vo.setWaiting(lane.waiting());
+            lanes.add(vo);
+        }
+        return QosStatusVO.builder()
+                .enabled(qosProperties.isEnabled())
+                .lanes(lanes)
+                .clients(toVOs(transferScheduler.clients()))
+                .buckets(toVOs(transferScheduler.buckets()))
+                .build();
+    }
+
+    private static List<TransferRateVO> toVOs(Collection<TrafficAccount> accounts) {
+        List<TransferRateVO> result = new ArrayList<>(accounts.size());
+        accounts.forEach(account -> result.add(toVO(account)));
+        result.sort(Comparator.comparingLong(TransferRateVO::getRate).reversed());
+        return result;
+    }
+
+    private static TransferRateVO toVO(TrafficAccount account) {
+        return TransferRateVO.builder()
+                .name(account.getName())
+                .limit(account.getLimit())
+                .rate(account.getMeter().rate())
+                .totalBytes(account.getMeter().total())
+                .activeTransfers(account.getActiveTransfers())
+                .build();
+    }
+}
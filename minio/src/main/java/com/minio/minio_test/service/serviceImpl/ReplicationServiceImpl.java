@@ -0,0 +1,368 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minio.minio_test.cluster.MinioClientPool;
+import com.minio.minio_test.config.ReplicationProperties;
+import com.minio.minio_test.exception.BackendErrors;
+import com.minio.minio_test.packing.PackedObject;
+import com.minio.minio_test.replication.ReplicationEntry;
+import com.minio.minio_test.replication.ReplicationJournal;
+import com.minio.minio_test.service.PackingService;
+import com.minio.minio_test.service.ReplicationService;
+import com.minio.minio_test.vo.ReplicationStatusVO;
+import io.minio.*;
+import io.minio.errors.ErrorResponseException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replication service implementation.
+ * <p>
+ * Writes are appended to a local {@link ReplicationJournal} on the request thread, which only costs a
+ * buffered file append, and replicated by a background thread. The replicator drains the queue in
+ * batches, collapses writes of the same key, and copies the current state of each key from the
+ * primary with bounded parallelism: the object is copied if it exists on the primary and removed
+ * from the secondary otherwise; a packed object is copied as an object of its own. Failed keys are retried with exponential backoff; a write leaves the
+ * journal only once replicated, so pending writes survive restarts.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/02/27
+ */
+@Component
+public class ReplicationServiceImpl implements ReplicationService {
+
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicationServiceImpl.class);
+
+    @Resource
+    private ReplicationProperties replicationProperties;
+
+    @Resource
+    private MinioClientPool clientPool;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @Resource
+    private PackingService packingService;
+
+    private final DelayQueue<ReplicationEntry> queue = new DelayQueue<>();
+
+    private final Set<String> secondaryBuckets = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong replicatedCount = new AtomicLong();
+
+    private final AtomicLong failedAttempts = new AtomicLong();
+
+    private volatile long lastReplicationDelay;
+
+    private volatile String lastError;
+
+    private volatile boolean running;
+
+    private ReplicationJournal journal;
+
+    private MinioClient secondary;
+
+    private ExecutorService replicatorExecutor;
+
+    private ExecutorService copyExecutor;
+
+    private ScheduledExecutorService syncScheduler;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!replicationProperties.isEnabled()) {
+            return;
+        }
+        secondary = MinioClient.builder()
+                .endpoint(replicationProperties.getEndpoint())
+                .credentials(replicationProperties.getAccessKey(), replicationProperties.getSecretKey())
+                .build();
+        journal = new ReplicationJournal(Paths.get(replicationProperties.getJournalDir()), objectMapper,
+                replicationProperties.getCompactThreshold());
+        queue.addAll(journal.open());
+
+        CustomizableThreadFactory copyFactory = new CustomizableThreadFactory("replication-copy-");
+        copyFactory.setDaemon(true);
+        copyExecutor = Executors.newFixedThreadPool(replicationProperties.getParallelism(), copyFactory);
+
+        CustomizableThreadFactory syncFactory = new CustomizableThreadFactory("replication-sync-");
+        syncFactory.setDaemon(true);
+        syncScheduler = Executors.newSingleThreadScheduledExecutor(syncFactory);
+        long interval = replicationProperties.getSyncInterval().toMillis();
+        syncScheduler.scheduleWithFixedDelay(this::syncJournal, interval, interval, TimeUnit.MILLISECONDS);
+
+        CustomizableThreadFactory replicatorFactory = new CustomizableThreadFactory("replicator-");
+        replicatorFactory.setDaemon(true);
+        replicatorExecutor = Executors.newSingleThreadExecutor(replicatorFactory);
+        running = true;
+        replicatorExecutor.execute(this::replicate);
+        LOGGER.info("Replication to {} started with {} pending write(s).", replicationProperties.getEndpoint(), queue.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (journal == null) {
+            return;
+        }
+        running = false;
+        replicatorExecutor.shutdownNow();
+        copyExecutor.shutdownNow();
+        syncScheduler.shutdownNow();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            LOGGER.error("Failed to close replication journal: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void enqueue(ReplicationEntry.Operation operation, String bucketName, String objectName) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            queue.add(journal.append(operation, bucketName, objectName));
+        } catch (IOException e) {
+            // The write itself succeeded; it will only be missing on the secondary
+            LOGGER.error("Failed to queue {} of '{}' in bucket '{}' for replication. Error: {}",
+                    operation, objectName, bucketName, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ReplicationStatusVO status() {
+        if (journal == null) {
+            return ReplicationStatusVO.builder().enabled(false).build();
+        }
+        long oldest = journal.oldestEnqueuedAt();
+        return ReplicationStatusVO.builder()
+                .enabled(true)
+                .endpoint(replicationProperties.getEndpoint())
+                .queueDepth(journal.size())
+                .lagMillis(oldest < 0 ? 0 : System.currentTimeMillis() - oldest)
+                .lastReplicationDelayMillis(lastReplicationDelay)
+                .replicatedCount(replicatedCount.get())
+                .failedAttempts(failedAttempts.get())
+                .lastError(lastError)
+                .build();
+    }
+
+    private void replicate() {
+        int batchSize = replicationProperties.getBatchSize();
+        while (running) {
+            try {
+                ReplicationEntry first = queue.take();
+                List<ReplicationEntry> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                replicateBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.error("Replication batch failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void replicateBatch(List<ReplicationEntry> batch) throws InterruptedException {
+        // Replication copies the current state of a key, so all writes of a key are settled by one copy
+        Map<String, List<ReplicationEntry>> byKey = new LinkedHashMap<>();
+        for (ReplicationEntry entry : batch) {
+            byKey.computeIfAbsent(entry.getBucketName() + '\u0000' + entry.getObjectName(), key -> new ArrayList<>())
+                    .add(entry);
+        }
+
+        List<List<ReplicationEntry>> groups = new ArrayList<>(byKey.values());
+        List<CompletableFuture<Void>> copies = new ArrayList<>(groups.size());
+        for (List<ReplicationEntry> entries : groups) {
+            ReplicationEntry entry = entries.get(0);
+            copies.add(CompletableFuture.runAsync(() -> {
+                try {
+                    replicateKey(entry.getBucketName(), entry.getObjectName());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            }, copyExecutor));
+        }
+
+        List<ReplicationEntry> done = new ArrayList<>();
+        for (int i = 0; i < groups.size(); i++) {
+            List<ReplicationEntry> entries = groups.get(i);
+            try {
+                copies.get(i).join();
+                done.addAll(entries);
+            } catch (RuntimeException e) {
+                Throwable cause = e.getCause() instanceof IllegalStateException wrapped && wrapped.getCause() != null
+                        ? wrapped.getCause() : e;
+                ReplicationEntry entry = entries.get(0);
+                failedAttempts.incrementAndGet();
+                lastError = cause.getMessage();
+                LOGGER.warn("Replication of '{}' in bucket '{}' failed (attempt {}): {}",
+                        entry.getObjectName(), entry.getBucketName(), entry.getAttempts() + 1, cause.getMessage());
+                for (ReplicationEntry failed : entries) {
+                    failed.retryAfter(backoffNanos(failed.getAttempts()));
+                    queue.add(failed);
+                }
+            }
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (done.isEmpty()) {
+            return;
+        }
+
+        try {
+            journal.acknowledge(done);
+        } catch (IOException e) {
+            // Unacknowledged writes are replicated again after a restart, which is harmless
+            LOGGER.error("Failed to acknowledge replicated writes in the journal: {}", e.getMessage(), e);
+        }
+        long now = System.currentTimeMillis();
+        replicatedCount.addAndGet(done.size());
+        lastReplicationDelay = now - done.get(done.size() - 1).getEnqueuedAt();
+    }
+
+    private void replicateKey(String bucketName, String objectName) throws Exception {
+        // A packed object is what the primary serves for the key, so it is replicated as an object of its own
+        PackedObject packed = packingService.get(bucketName, objectName);
+        if (packed != null && replicatePacked(bucketName, objectName, packed)) {
+            return;
+        }
+        MinioClient primary = clientPool.client();
+        StatObjectResponse source;
+        try {
+            source = primary.statObject(StatObjectArgs.builder().bucket(bucketName).object(objectName).build());
+        } catch (ErrorResponseException e) {
+            if (!BackendErrors.isNotFound(e)) {
+                throw e;
+            }
+            removeFromSecondary(bucketName, objectName);
+            return;
+        }
+        if (source.etag() != null && source.etag().equals(secondaryEtag(bucketName, objectName))) {
+            return;
+        }
+
+        ensureSecondaryBucket(bucketName);
+        try (GetObjectResponse in = primary.getObject(GetObjectArgs.builder()
+                .bucket(bucketName)
+                .object(objectName)
+                .matchETag(source.etag())
+                .build())) {
+            secondary.putObject(PutObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .stream(in, source.size(), -1)
+                    .contentType(source.contentType())
+                    .userMetadata(source.userMetadata())
+                    .build());
+        }
+        LOGGER.debug("Replicated '{}' in bucket '{}' ({} bytes).", objectName, bucketName, source.size());
+    }
+
+    /**
+     * Copies a packed object to the secondary unless it has the same content already.
+     *
+     * @return false if the object left its pack meanwhile and must be replicated from the primary.
+     */
+    private boolean replicatePacked(String bucketName, String objectName, PackedObject packed) throws Exception {
+        // A single-part upload of the same bytes has the packed object's MD5 as its ETag
+        if (packed.getEtag().equals(secondaryEtag(bucketName, objectName))) {
+            return true;
+        }
+        byte[] content = packingService.read(bucketName, objectName);
+        if (content == null) {
+            return false;
+        }
+        ensureSecondaryBucket(bucketName);
+        secondary.putObject(PutObjectArgs.builder()
+                .bucket(bucketName)
+                .object(objectName)
+                .stream(new ByteArrayInputStream(content), content.length, -1)
+                .contentType(StringUtils.defaultIfBlank(packed.getContentType(), "application/octet-stream"))
+                .build());
+        LOGGER.debug("Replicated packed '{}' in bucket '{}' ({} bytes).", objectName, bucketName, content.length);
+        return true;
+    }
+
+    private String secondaryEtag(String bucketName, String objectName) throws Exception {
+        try {
+            return secondary.statObject(StatObjectArgs.builder().bucket(bucketName).object(objectName).build()).etag();
+        } catch (ErrorResponseException e) {
+            if (BackendErrors.isNotFound(e)) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private void removeFromSecondary(String bucketName, String objectName) throws Exception {
+        try {
+            secondary.removeObject(RemoveObjectArgs.builder().bucket(bucketName).object(objectName).build());
+            LOGGER.debug("Replicated removal of '{}' in bucket '{}'.", objectName, bucketName);
+        } catch (ErrorResponseException e) {
+            if (!BackendErrors.isNotFound(e)) {
+                throw e;
+            }
+        }
+    }
+
+    private void ensureSecondaryBucket(String bucketName) throws Exception {
+        if (secondaryBuckets.contains(bucketName)) {
+            return;
+        }
+        if (!secondary.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build())) {
+            try {
+                secondary.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+                LOGGER.info("Created bucket '{}' on the replication secondary.", bucketName);
+            } catch (ErrorResponseException e) {
+                if (e.errorResponse() == null || !"BucketAlreadyOwnedByYou".equals(e.errorResponse().code())) {
+                    throw e;
+                }
+            }
+        }
+        secondaryBuckets.add(bucketName);
+    }
+
+    private void syncJournal() {
+        try {
+            journal.sync();
+        } catch (IOException e) {
+            LOGGER.error("Failed to sync replication journal: {}", e.getMessage(), e);
+        }
+    }
+
+    private long backoffNanos(int attempts) {
+        long initial = replicationProperties.getInitialBackoff().toNanos();
+        long max = replicationProperties.getMaxBackoff().toNanos();
+        return Math.min(max, initial << Math.min(attempts, 20));
+    }
+}
@@ -0,0 +1,173 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.minio.minio_test.cluster.MinioClientPool;
+import com.minio.minio_test.cluster.MinioNode;
+import com.minio.minio_test.config.MinioClientProperties;
+import com.minio.minio_test.exception.BackendErrors;
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.ConflictException;
+import com.minio.minio_test.exception.NotFoundException;
+import com.minio.minio_test.qos.TransferScheduler;
+import com.minio.minio_test.resilience.BackendOperation;
+import com.minio.minio_test.resilience.MinioCallExecutor;
+import com.minio.minio_test.select.SelectClient;
+import com.minio.minio_test.select.SelectEventStream;
+import com.minio.minio_test.select.SelectOptions;
+import com.minio.minio_test.service.PackingService;
+import com.minio.minio_test.service.SelectService;
+import com.minio.minio_test.tracing.Tracer;
+import io.minio.MinioClient;
+import io.minio.SelectObjectContentArgs;
+import io.minio.errors.ErrorResponseException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletResponse;
+import okhttp3.OkHttpClient;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Select service implementation.
+ * <p>
+ * Queries go to MinIO through the same retries and circuit breakers as every other call; only
+ * the records matching the expression cross the network. The response is decoded with
+ * {@link SelectEventStream} rather than the SDK's stream, which reads byte by byte and only
+ * returns a bulk read once the buffer is full, so a selective query would hold its few records
+ * back. Here every records event is written as soon as it arrives and the response is flushed
+ * whenever no further records are buffered.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/18
+ */
+@Component
+public class SelectServiceImpl implements SelectService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SelectServiceImpl.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Resource
+    private MinioClientPool clientPool;
+
+    @Resource
+    private MinioCallExecutor minioCallExecutor;
+
+    @Resource
+    private TransferScheduler transferScheduler;
+
+    @Resource
+    private Tracer tracer;
+
+    @Resource
+    private MinioClientProperties minioClientProperties;
+
+    @Resource
+    private OkHttpClient minioHttpClient;
+
+    @Resource
+    private PackingService packingService;
+
+    /** Select clients sharing endpoint, credentials and connections with the client of each node */
+    private final Map<MinioClient, SelectClient> selectClients = new IdentityHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (MinioNode node : clientPool.getNodes()) {
+            selectClients.put(node.getClient(), new SelectClient(node.getEndpoint(), minioClientProperties.getAccessKey(),
+                    minioClientProperties.getSecretKey(), minioHttpClient));
+        }
+    }
+
+    @Override
+    public void select(String bucketName, String objectName, String expression, SelectOptions options, HttpServletResponse response) {
+        if (StringUtils.isAnyBlank(bucketName, objectName, expression)) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Bucket name, object name and expression are required.");
+        }
+        // Serialization errors answer 400 before anything is sent to MinIO
+        SelectObjectContentArgs args = SelectObjectContentArgs.builder()
+                .bucket(bucketName)
+                .object(objectName)
+                .sqlExpression(expression)
+                .inputSerialization(options.toInputSerialization())
+                .outputSerialization(options.toOutputSerialization())
+                .requestProgress(false)
+                .scanStartRange(options.getScanStart())
+                .scanEndRange(options.getScanEnd())
+                .build();
+        // MinIO runs the query, and it only holds the pack an object was packed into
+        if (packingService.get(bucketName, objectName) != null) {
+            throw new ConflictException("Select is not supported on packed objects: " + objectName);
+        }
+
+        SelectEventStream records;
+        try {
+            records = minioCallExecutor.execute(BackendOperation.SELECT_OBJECT,
+                    client -> selectClients.get(client).select(args));
+        } catch (ErrorResponseException e) {
+            if (BackendErrors.isNotFound(e)) {
+                throw new NotFoundException("Bucket or object not found: " + objectName);
+            }
+            throw BackendErrors.translate(e, "Failed to select from object: " + objectName);
+        } catch (Exception e) {
+            throw BackendErrors.translate(e, "Failed to select from object: " + objectName);
+        }
+
+        response.setContentType(options.outputContentType());
+        response.setHeader("Trailer", "X-Select-Bytes-Scanned, X-Select-Bytes-Processed, X-Select-Bytes-Returned, X-Select-Error");
+        Map<String, String> trailers = new LinkedHashMap<>();
+        setTrailers(response, trailers);
+
+        long bytes = 0;
+        // Closing the shaped stream ends the transfer and leaves the response open for the trailers
+        try (records; OutputStream out = transferScheduler.shape(response.getOutputStream(), bucketName, -1)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = records.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                bytes += read;
+                if (records.available() == 0) {
+                    // Send what has arrived before waiting for the next records event
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            // Either the client went away or MinIO failed mid-stream; the status is already sent
+            trailers.put("X-Select-Error", String.valueOf(e.getMessage()));
+            LOGGER.warn("Select from {}/{} aborted after {} bytes: {}", bucketName, objectName, bytes, e.getMessage());
+        }
+
+        trailers.put("X-Select-Bytes-Scanned", String.valueOf(records.getBytesScanned()));
+        trailers.put("X-Select-Bytes-Processed", String.valueOf(records.getBytesProcessed()));
+        trailers.put("X-Select-Bytes-Returned", String.valueOf(records.getBytesReturned()));
+        tracer.currentSpan()
+                .setAttribute("minio.bytes", bytes)
+                .setAttribute("select.bytes_scanned", records.getBytesScanned())
+                .setAttribute("select.bytes_returned", records.getBytesReturned());
+        LOGGER.debug("Select from {}/{}: scanned {} bytes, processed {}, returned {}", bucketName, objectName,
+                records.getBytesScanned(), records.getBytesProcessed(), records.getBytesReturned());
+    }
+
+    /**
+     * Registers the trailers, read once the body is complete. Clients that did not ask for
+     * trailers simply do not receive them.
+     */
+    private static void setTrailers(HttpServletResponse response, Map<String, String> trailers) {
+        try {
+            response.setTrailerFields(() -> trailers);
+        } catch (IllegalStateException e) {
+            // HTTP/1.0 or a committed response; the stats remain in the log and the span
+            LOGGER.debug("Trailers not supported for this response: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,640 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minio.minio_test.config.SpoolProperties;
+import com.minio.minio_test.exception.BackendErrors;
+import com.minio.minio_test.exception.BackendUnavailableException;
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.ConflictException;
+import com.minio.minio_test.exception.NotFoundException;
+import com.minio.minio_test.exception.ThrottledException;
+import com.minio.minio_test.qos.TransferScheduler;
+import com.minio.minio_test.replication.ReplicationEntry;
+import com.minio.minio_test.resilience.BackendOperation;
+import com.minio.minio_test.resilience.MinioCallExecutor;
+import com.minio.minio_test.service.PackingService;
+import com.minio.minio_test.service.ReplicationService;
+import com.minio.minio_test.service.SpoolService;
+import com.minio.minio_test.spool.SpoolEntry;
+import com.minio.minio_test.spool.SpoolJournal;
+import com.minio.minio_test.tracing.Tracer;
+import com.minio.minio_test.vo.SpoolStatusVO;
+import com.minio.minio_test.vo.SpoolUploadVO;
+import io.minio.BucketExistsArgs;
+import io.minio.PutObjectArgs;
+import io.minio.errors.ErrorResponseException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spool service implementation.
+ * <p>
+ * An accepted upload is written to its own file in the spool directory and synced, then appended
+ * to a {@link SpoolJournal} that is synced before the request is answered, so an acknowledged
+ * upload survives a crash. A background thread drains the queue in batches and writes the files
+ * to Minio with bounded parallelism through the usual retries and circuit breakers; failed
+ * uploads are retried with exponential backoff for as long as Minio is unavailable. An upload
+ * leaves the journal and its file is deleted only once flushed, so pending uploads are replayed
+ * on restart.
+ * </p>
+ * <p>
+ * Until then the spooled file is the newest version of the object and downloads are served from
+ * it. A newer upload or a removal of the same key supersedes a pending upload, which is then
+ * finished without being written.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/19
+ */
+@Component
+public class SpoolServiceImpl implements SpoolService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpoolServiceImpl.class);
+
+    private static final String DATA_DIR = "data";
+
+    private static final String PART_SUFFIX = ".part";
+
+    @Resource
+    private SpoolProperties spoolProperties;
+
+    @Resource
+    private MinioCallExecutor minioCallExecutor;
+
+    @Resource
+    private ReplicationService replicationService;
+
+    @Resource
+    private PackingService packingService;
+
+    @Resource
+    private TransferScheduler transferScheduler;
+
+    @Resource
+    private Tracer tracer;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    private final DelayQueue<SpoolEntry> queue = new DelayQueue<>();
+
+    /** Newest pending upload of each key */
+    private final Map<String, SpoolEntry> latest = new ConcurrentHashMap<>();
+
+    /** Pending uploads by handle */
+    private final Map<String, SpoolEntry> pending = new ConcurrentHashMap<>();
+
+    /** Puts the flusher has started, by key */
+    private final Map<String, CompletableFuture<Boolean>> flushing = new ConcurrentHashMap<>();
+
+    /** Finished uploads by handle, oldest evicted first */
+    private final Map<String, SpoolUploadVO> history = new LinkedHashMap<>();
+
+    private final AtomicLong pendingBytes = new AtomicLong();
+
+    private final AtomicLong flushedCount = new AtomicLong();
+
+    private final AtomicLong supersededCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final AtomicLong failedAttempts = new AtomicLong();
+
+    private volatile long lastFlushDelay;
+
+    private volatile String lastError;
+
+    private volatile boolean running;
+
+    private SpoolJournal journal;
+
+    private Path dataDir;
+
+    private ExecutorService flusherExecutor;
+
+    private ExecutorService putExecutor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!spoolProperties.isEnabled()) {
+            return;
+        }
+        Path directory = Paths.get(spoolProperties.getDirectory());
+        dataDir = directory.resolve(DATA_DIR);
+        Files.createDirectories(dataDir);
+        journal = new SpoolJournal(directory, objectMapper, spoolProperties.getCompactThreshold());
+        recover(journal.open());
+
+        CustomizableThreadFactory putFactory = new CustomizableThreadFactory("spool-put-");
+        putFactory.setDaemon(true);
+        putExecutor = Executors.newFixedThreadPool(spoolProperties.getParallelism(), putFactory);
+
+        CustomizableThreadFactory flusherFactory = new CustomizableThreadFactory("spool-flusher-");
+        flusherFactory.setDaemon(true);
+        flusherExecutor = Executors.newSingleThreadExecutor(flusherFactory);
+        running = true;
+        flusherExecutor.execute(this::flush);
+        LOGGER.info("Upload spool in {} started with {} pending upload(s), {} bytes.",
+                directory.toAbsolutePath(), pending.size(), pendingBytes.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (journal == null) {
+            return;
+        }
+        running = false;
+        flusherExecutor.shutdownNow();
+        putExecutor.shutdownNow();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            LOGGER.error("Failed to close spool journal: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<SpoolUploadVO> spool(List<MultipartFile> multipartFiles, String bucketName) {
+        if (journal == null) {
+            throw new ConflictException("Write-behind uploads are disabled.");
+        }
+        checkBucket(bucketName);
+
+        List<SpoolUploadVO> accepted = new ArrayList<>(multipartFiles.size());
+        for (MultipartFile file : multipartFiles) {
+            String fileName = file.getOriginalFilename();
+            if (fileName == null || fileName.isEmpty()) {
+                LOGGER.warn("Skipping file with empty name in bucket: {}", bucketName);
+                continue;
+            }
+            accepted.add(toVO(accept(file, bucketName, fileName)));
+        }
+        tracer.currentSpan().setAttribute("spool.uploads", accepted.size());
+        return accepted;
+    }
+
+    @Override
+    public SpoolUploadVO upload(String handle) {
+        SpoolEntry entry = pending.get(handle);
+        if (entry != null) {
+            return toVO(entry);
+        }
+        SpoolUploadVO finished;
+        synchronized (history) {
+            finished = history.get(handle);
+        }
+        if (finished == null) {
+            throw new NotFoundException("Spooled upload not found: " + handle);
+        }
+        return finished;
+    }
+
+    @Override
+    public SpoolEntry get(String bucketName, String objectName) {
+        return latest.get(key(bucketName, objectName));
+    }
+
+    @Override
+    public InputStream open(String bucketName, String objectName) {
+        SpoolEntry entry = latest.get(key(bucketName, objectName));
+        return entry == null ? null : open(entry);
+    }
+
+    @Override
+    public boolean serve(String bucketName, String objectName, HttpServletResponse response) {
+        SpoolEntry entry = latest.get(key(bucketName, objectName));
+        InputStream in = entry == null ? null : open(entry);
+        if (in == null) {
+            return false;
+        }
+
+        try (in) {
+            response.setHeader("Content-Disposition", "attachment;filename=" + URLEncoder.encode(objectName, StandardCharsets.UTF_8));
+            response.setContentType(StringUtils.defaultIfBlank(entry.getContentType(), "application/octet-stream"));
+            response.setContentLengthLong(entry.getSize());
+            response.setBufferSize(8192);
+            long bytes;
+            try (OutputStream out = transferScheduler.shape(response.getOutputStream(), bucketName, entry.getSize())) {
+                bytes = IOUtils.copyLarge(in, out);
+            }
+            tracer.currentSpan().setAttribute("minio.bytes", bytes).setAttribute("spool.hit", true);
+            response.flushBuffer();
+            LOGGER.info("File download served from spool. File: {}, Bucket: {}", objectName, bucketName);
+        } catch (IOException e) {
+            throw new BusinessException("Failed to download spooled file: " + objectName, e);
+        }
+        return true;
+    }
+
+    @Override
+    public void discard(String bucketName, String objectName) {
+        if (journal == null) {
+            return;
+        }
+        String key = key(bucketName, objectName);
+        SpoolEntry entry = latest.remove(key);
+        if (entry != null) {
+            supersede(entry);
+        }
+        // A put already under way is awaited, so that it cannot land after the write or removal that follows
+        CompletableFuture<Boolean> put = flushing.get(key);
+        if (put != null) {
+            put.exceptionally(e -> false).join();
+        }
+    }
+
+    @Override
+    public SpoolStatusVO status() {
+        if (journal == null) {
+            return SpoolStatusVO.builder().enabled(false).build();
+        }
+        long oldest = journal.oldestSpooledAt();
+        return SpoolStatusVO.builder()
+                .enabled(true)
+                .pendingCount(journal.size())
+                .pendingBytes(pendingBytes.get())
+                .maxBytes(spoolProperties.getMaxSize().toBytes())
+                .flushLagMillis(oldest < 0 ? 0 : System.currentTimeMillis() - oldest)
+                .lastFlushDelayMillis(lastFlushDelay)
+                .flushedCount(flushedCount.get())
+                .supersededCount(supersededCount.get())
+                .droppedCount(droppedCount.get())
+                .failedAttempts(failedAttempts.get())
+                .lastError(lastError)
+                .build();
+    }
+
+    /**
+     * Rejects uploads to a bucket Minio reports as missing. While Minio is unavailable the
+     * bucket cannot be checked and uploads are accepted; riding out such periods is what the
+     * spool is for.
+     */
+    private void checkBucket(String bucketName) {
+        try {
+            Boolean exists = minioCallExecutor.execute(BackendOperation.BUCKET_EXISTS,
+                    client -> client.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build()));
+            if (!Boolean.TRUE.equals(exists)) {
+                throw new NotFoundException("Bucket does not exist: " + bucketName);
+            }
+        } catch (Exception e) {
+            BusinessException translated = BackendErrors.translate(e, "Failed to check if bucket exists: " + bucketName);
+            if (!(translated instanceof BackendUnavailableException) && !(translated instanceof ThrottledException)) {
+                throw translated;
+            }
+            LOGGER.debug("Spooling uploads to unchecked bucket '{}': {}", bucketName, translated.getMessage());
+        }
+    }
+
+    private SpoolEntry accept(MultipartFile file, String bucketName, String objectName) {
+        long size = file.getSize();
+        long maxBytes = spoolProperties.getMaxSize().toBytes();
+        if (pendingBytes.addAndGet(size) > maxBytes) {
+            pendingBytes.addAndGet(-size);
+            throw new ThrottledException("Upload spool is full; retry once pending uploads are flushed.",
+                    Duration.ofSeconds(1));
+        }
+
+        String handle = UUID.randomUUID().toString();
+        Path target = dataFile(handle);
+        Path part = target.resolveSibling(handle + PART_SUFFIX);
+        SpoolEntry entry;
+        try {
+            // Data first, then the journal record pointing at it; both reach disk before the answer
+            try (InputStream in = file.getInputStream();
+                 FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                IOUtils.copyLarge(in, Channels.newOutputStream(channel));
+                channel.force(true);
+            }
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+            entry = journal.append(handle, bucketName, objectName, file.getContentType(), size);
+            journal.sync();
+        } catch (IOException e) {
+            pendingBytes.addAndGet(-size);
+            deleteQuietly(part);
+            deleteQuietly(target);
+            throw new BusinessException("Failed to spool file: " + objectName + " for bucket: " + bucketName, e);
+        }
+
+        pending.put(handle, entry);
+        SpoolEntry previous = latest.put(key(bucketName, objectName), entry);
+        if (previous != null) {
+            supersede(previous);
+        }
+        queue.add(entry);
+        LOGGER.info("File spooled. File: {}, Size: {} bytes, Bucket: {}, Handle: {}", objectName, size, bucketName, handle);
+        return entry;
+    }
+
+    /**
+     * Finishes a superseded upload right away unless the flusher already holds it; the flusher
+     * skips it otherwise.
+     */
+    private void supersede(SpoolEntry entry) {
+        entry.supersede();
+        if (queue.remove(entry)) {
+            finish(List.of(entry), List.of());
+        }
+    }
+
+    /**
+     * Rebuilds the queue from the replayed journal and removes files no pending upload refers to.
+     */
+    private void recover(List<SpoolEntry> entries) throws IOException {
+        List<SpoolEntry> missing = new ArrayList<>();
+        Set<String> handles = new HashSet<>();
+        for (SpoolEntry entry : entries) {
+            if (!Files.isRegularFile(dataFile(entry.getHandle()))) {
+                LOGGER.error("Spooled file of '{}' in bucket '{}' is missing; the upload is lost. Handle: {}",
+                        entry.getObjectName(), entry.getBucketName(), entry.getHandle());
+                entry.fail("Spooled file is missing.");
+                entry.setState(SpoolEntry.State.DROPPED);
+                missing.add(entry);
+                continue;
+            }
+            handles.add(entry.getHandle());
+            pending.put(entry.getHandle(), entry);
+            pendingBytes.addAndGet(entry.getSize());
+            // Entries are replayed oldest first, so the newest upload of a key remains
+            SpoolEntry previous = latest.put(key(entry.getBucketName(), entry.getObjectName()), entry);
+            if (previous != null) {
+                previous.supersede();
+            }
+            queue.add(entry);
+        }
+        if (!missing.isEmpty()) {
+            journal.acknowledge(missing);
+            journal.sync();
+        }
+
+        // Files written by uploads that were never journaled
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dataDir)) {
+            for (Path file : files) {
+                if (!handles.contains(file.getFileName().toString())) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    private void flush() {
+        int batchSize = spoolProperties.getBatchSize();
+        while (running) {
+            try {
+                SpoolEntry first = queue.take();
+                List<SpoolEntry> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flushBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.error("Spool flush batch failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void flushBatch(List<SpoolEntry> batch) throws InterruptedException {
+        List<SpoolEntry> superseded = new ArrayList<>();
+        List<SpoolEntry> uploads = new ArrayList<>(batch.size());
+        List<CompletableFuture<Boolean>> puts = new ArrayList<>(batch.size());
+        for (SpoolEntry entry : batch) {
+            // Registered before the entry is checked: a discard() either supersedes it before the
+            // check, or finds the put and waits for it
+            String key = key(entry.getBucketName(), entry.getObjectName());
+            CompletableFuture<Boolean> put = new CompletableFuture<>();
+            CompletableFuture<Boolean> previous = flushing.put(key, put);
+            put.whenComplete((result, error) -> flushing.remove(key, put));
+            // Uploads of one key in a batch complete in spool order
+            CompletableFuture<Boolean> ready = previous == null
+                    ? CompletableFuture.completedFuture(false) : previous.exceptionally(e -> false);
+            if (entry.isSuperseded()) {
+                superseded.add(entry);
+                ready.thenRun(() -> put.complete(false));
+                continue;
+            }
+            ready.thenRunAsync(() -> {
+                try {
+                    put.complete(put(entry));
+                } catch (Exception e) {
+                    put.completeExceptionally(e);
+                }
+            }, putExecutor).exceptionally(e -> {
+                put.completeExceptionally(e);
+                return null;
+            });
+            uploads.add(entry);
+            puts.add(put);
+        }
+
+        List<SpoolEntry> done = new ArrayList<>(superseded);
+        List<SpoolEntry> flushed = new ArrayList<>();
+        for (int i = 0; i < uploads.size(); i++) {
+            SpoolEntry entry = uploads.get(i);
+            try {
+                if (puts.get(i).join()) {
+                    flushed.add(entry);
+                }
+                done.add(entry);
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                failedAttempts.incrementAndGet();
+                lastError = cause.getMessage();
+                if (cause instanceof ErrorResponseException response && BackendErrors.isNotFound(response)) {
+                    // The bucket is gone; retrying cannot succeed
+                    LOGGER.error("Dropping spooled upload of '{}': bucket '{}' does not exist. Handle: {}",
+                            entry.getObjectName(), entry.getBucketName(), entry.getHandle());
+                    entry.fail(cause.getMessage());
+                    entry.setState(SpoolEntry.State.DROPPED);
+                    done.add(entry);
+                    continue;
+                }
+                LOGGER.warn("Flush of spooled '{}' to bucket '{}' failed (attempt {}): {}",
+                        entry.getObjectName(), entry.getBucketName(), entry.getAttempts() + 1, cause.getMessage());
+                entry.retryAfter(cause.getMessage(), backoffNanos(entry.getAttempts()));
+                queue.add(entry);
+            }
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        finish(done, flushed);
+    }
+
+    /**
+     * Writes a spooled upload to Minio.
+     *
+     * @return false if the upload was superseded while it waited for a put thread and was not written.
+     */
+    private boolean put(SpoolEntry entry) throws Exception {
+        if (entry.isSuperseded()) {
+            return false;
+        }
+        Path file = dataFile(entry.getHandle());
+        // Opened per attempt, so that a retried call reads the file from the start
+        minioCallExecutor.execute(BackendOperation.PUT_OBJECT, client -> {
+            try (InputStream in = Files.newInputStream(file)) {
+                return client.putObject(PutObjectArgs.builder()
+                        .bucket(entry.getBucketName())
+                        .object(entry.getObjectName())
+                        .stream(in, entry.getSize(), -1)
+                        .contentType(entry.getContentType())
+                        .build());
+            }
+        });
+        // The flushed object replaces a packed one of the same name
+        packingService.remove(entry.getBucketName(), entry.getObjectName());
+        return true;
+    }
+
+    /**
+     * Acknowledges finished uploads in the journal and deletes their files.
+     *
+     * @param done    Flushed, superseded and dropped uploads.
+     * @param flushed The flushed uploads among them.
+     */
+    private void finish(List<SpoolEntry> done, List<SpoolEntry> flushed) {
+        if (done.isEmpty()) {
+            return;
+        }
+        try {
+            journal.acknowledge(done);
+            journal.sync();
+        } catch (IOException e) {
+            // Unacknowledged uploads are flushed again after a restart, which is harmless
+            LOGGER.error("Failed to acknowledge finished uploads in the spool journal: {}", e.getMessage(), e);
+        }
+        long now = System.currentTimeMillis();
+        for (SpoolEntry entry : done) {
+            if (flushed.contains(entry)) {
+                entry.setState(entry.isSuperseded() ? SpoolEntry.State.SUPERSEDED : SpoolEntry.State.FLUSHED);
+                replicationService.enqueue(ReplicationEntry.Operation.PUT, entry.getBucketName(), entry.getObjectName());
+                flushedCount.incrementAndGet();
+                lastFlushDelay = now - entry.getSpooledAt();
+            } else if (entry.getState() == SpoolEntry.State.DROPPED) {
+                droppedCount.incrementAndGet();
+            } else {
+                entry.setState(SpoolEntry.State.SUPERSEDED);
+                supersededCount.incrementAndGet();
+            }
+            // Reads switch to Minio before the file disappears
+            latest.remove(key(entry.getBucketName(), entry.getObjectName()), entry);
+            deleteQuietly(dataFile(entry.getHandle()));
+            pendingBytes.addAndGet(-entry.getSize());
+            pending.remove(entry.getHandle());
+            remember(toVO(entry));
+        }
+    }
+
+    /**
+     * Opens the spooled file of a pending upload.
+     *
+     * @return The content, or null if the upload was finished in the meantime.
+     */
+    private InputStream open(SpoolEntry entry) {
+        try {
+            return Files.newInputStream(dataFile(entry.getHandle()));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new BusinessException("Failed to read spooled file: " + entry.getObjectName(), e);
+        }
+    }
+
+    private void remember(SpoolUploadVO upload) {
+        int historySize = spoolProperties.getHistorySize();
+        synchronized (history) {
+            history.put(upload.getHandle(), upload);
+            while (history.size() > historySize) {
+                history.remove(history.keySet().iterator().next());
+            }
+        }
+    }
+
+    /**
+     * Syncs the data directory, so that the name of a new file survives a crash with its content.
+     */
+    private void syncDirectory() {
+        try (FileChannel directory = FileChannel.open(dataDir, StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform
+            LOGGER.debug("Failed to sync spool directory: {}", e.getMessage());
+        }
+    }
+
+    private Path dataFile(String handle) {
+        return dataDir.resolve(handle);
+    }
+
+    private static String key(String bucketName, String objectName) {
+        return bucketName + '\u0000' + objectName;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete spool file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private SpoolUploadVO toVO(SpoolEntry entry) {
+        return SpoolUploadVO.builder()
+                .handle(entry.getHandle())
+                .bucketName(entry.getBucketName())
+                .objectName(entry.getObjectName())
+                .size(entry.getSize())
+                .state(entry.getState())
+                .spooledAt(entry.getSpooledAt())
+                .attempts(entry.getAttempts())
+                .lastError(entry.getLastError())
+                .build();
+    }
+
+    private long backoffNanos(int attempts) {
+        long initial = spoolProperties.getInitialBackoff().toNanos();
+        long max = spoolProperties.getMaxBackoff().toNanos();
+        return Math.min(max, initial << Math.min(attempts, 20));
+    }
+}
@@ -0,0 +1,293 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minio.minio_test.config.StatProperties;
+import com.minio.minio_test.exception.BackendErrors;
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.NotFoundException;
+import com.minio.minio_test.listing.ListingField;
+import com.minio.minio_test.packing.PackedObject;
+import com.minio.minio_test.resilience.BackendOperation;
+import com.minio.minio_test.resilience.MinioCallExecutor;
+import com.minio.minio_test.resilience.RequestDeadline;
+import com.minio.minio_test.service.MinioService;
+import com.minio.minio_test.service.PackingService;
+import com.minio.minio_test.service.SpoolService;
+import com.minio.minio_test.service.StatService;
+import com.minio.minio_test.spool.SpoolEntry;
+import com.minio.minio_test.tracing.Span;
+import com.minio.minio_test.tracing.TraceContext;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Stat service implementation.
+ * <p>
+ * Lookups run as {@code statObject} calls on a shared pool, through the same retries and circuit
+ * breakers as every other MinIO call. The request thread keeps at most
+ * {@code minio.stat.request-concurrency} lookups of its request in flight, submitting the next
+ * key whenever one completes, and writes each result to the response as it arrives; the
+ * response is flushed whenever no further result is ready. One request therefore never queues
+ * more than its window on the pool, and the client sees results while later keys are pending.
+ * Keys with a pending write-behind upload or packed into a shared pack are answered from the
+ * spool or the pack index without a call.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/17
+ */
+@Component
+public class StatServiceImpl implements StatService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatServiceImpl.class);
+
+    @Resource
+    private MinioService minioService;
+
+    @Resource
+    private MinioCallExecutor minioCallExecutor;
+
+    @Resource
+    private SpoolService spoolService;
+
+    @Resource
+    private PackingService packingService;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @Resource
+    private StatProperties statProperties;
+
+    private ExecutorService statExecutor;
+
+    @PostConstruct
+    public void init() {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("stat-");
+        factory.setDaemon(true);
+        statExecutor = Executors.newFixedThreadPool(statProperties.getThreads(), factory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        statExecutor.shutdownNow();
+    }
+
+    @Override
+    public void statObjects(String bucketName, List<String> keys, String timeFormat, HttpServletResponse response) {
+        if (StringUtils.isBlank(bucketName)) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Bucket name cannot be empty.");
+        }
+        if (keys == null || keys.isEmpty()) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "At least one key is required.");
+        }
+        if (keys.size() > statProperties.getMaxKeys()) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(),
+                    "Too many keys, at most " + statProperties.getMaxKeys() + " per request.");
+        }
+        ListingField.TimeFormat format = ListingField.TimeFormat.parse(timeFormat);
+
+        // Check if bucket exists before committing the response
+        if (!minioService.bucketExists(bucketName)) {
+            throw new NotFoundException("Bucket does not exist: " + bucketName);
+        }
+
+        LinkedHashSet<String> distinct = new LinkedHashSet<>(keys.size());
+        for (String key : keys) {
+            if (StringUtils.isNotEmpty(key)) {
+                distinct.add(key);
+            }
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        long start = System.currentTimeMillis();
+        int found = 0;
+        int missing = 0;
+        int failed = 0;
+        Iterator<String> pending = distinct.iterator();
+        BlockingQueue<StatResult> completed = new LinkedBlockingQueue<>();
+        List<Future<?>> submitted = new ArrayList<>(distinct.size());
+        int window = statProperties.getRequestConcurrency();
+        int inFlight = 0;
+        // Lookups run on pool threads within the trace and time budget of the request
+        Span parent = TraceContext.current();
+        Long deadline = RequestDeadline.current();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+            while (pending.hasNext() || inFlight > 0) {
+                while (inFlight < window && pending.hasNext()) {
+                    String key = pending.next();
+                    try {
+                        submitted.add(statExecutor.submit(() -> completed.add(lookup(bucketName, key, parent, deadline))));
+                    } catch (RejectedExecutionException e) {
+                        completed.add(StatResult.failed(key, "Lookup rejected, the application is shutting down."));
+                    }
+                    inFlight++;
+                }
+                if (completed.isEmpty()) {
+                    generator.flush();
+                }
+                StatResult result = completed.take();
+                inFlight--;
+                write(generator, result, format);
+                if (result.error != null) {
+                    failed++;
+                } else if (!result.found) {
+                    missing++;
+                } else {
+                    found++;
+                }
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("found", found);
+            generator.writeNumberField("missing", missing);
+            generator.writeNumberField("failed", failed);
+            generator.writeNumberField("code", HttpStatus.OK.value());
+            generator.writeStringField("message", "Operation successful");
+            generator.writeEndObject();
+        } catch (IOException e) {
+            // Usually the client went away mid-stream; the response is already committed
+            LOGGER.warn("Failed to stream stat results of bucket '{}' after {} keys: {}", bucketName,
+                    found + missing + failed, e.getMessage());
+            submitted.forEach(future -> future.cancel(true));
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            submitted.forEach(future -> future.cancel(true));
+            return;
+        }
+        LOGGER.debug("Looked up {} keys of bucket '{}' in {} ms: {} found, {} missing, {} failed.",
+                distinct.size(), bucketName, System.currentTimeMillis() - start, found, missing, failed);
+    }
+
+    private StatResult lookup(String bucketName, String key, Span parent, Long deadline) {
+        TraceContext.restore(parent);
+        RequestDeadline.restore(deadline);
+        try {
+            // A pending write-behind upload is newer than the object in MinIO; its ETag is only known once flushed
+            SpoolEntry spooled = spoolService.get(bucketName, key);
+            if (spooled != null) {
+                return StatResult.found(key, spooled.getSize(), null, spooled.getContentType(),
+                        Instant.ofEpochMilli(spooled.getSpooledAt()));
+            }
+            PackedObject packed = packingService.get(bucketName, key);
+            if (packed != null) {
+                return StatResult.found(key, packed.getLength(), packed.getEtag(), packed.getContentType(),
+                        Instant.ofEpochMilli(packed.getLastModified()));
+            }
+            StatObjectResponse stat = minioCallExecutor.execute(BackendOperation.STAT_OBJECT,
+                    client -> client.statObject(StatObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(key)
+                            .build()));
+            return StatResult.found(key, stat.size(), StringUtils.strip(stat.etag(), "\""), stat.contentType(),
+                    stat.lastModified() == null ? null : stat.lastModified().toInstant());
+        } catch (ErrorResponseException e) {
+            if (BackendErrors.isNotFound(e)) {
+                return StatResult.missing(key);
+            }
+            return StatResult.failed(key, BackendErrors.translate(e, "Lookup failed").getErrorMessage());
+        } catch (Exception e) {
+            return StatResult.failed(key, BackendErrors.translate(e, "Lookup failed").getErrorMessage());
+        } finally {
+            RequestDeadline.restore(null);
+            TraceContext.restore(null);
+        }
+    }
+
+    private static void write(JsonGenerator generator, StatResult result, ListingField.TimeFormat format) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("name", result.key);
+        generator.writeBooleanField("found", result.found);
+        if (result.found) {
+            generator.writeNumberField("size", result.size);
+            generator.writeStringField("etag", result.etag);
+            generator.writeStringField("contentType", result.contentType);
+            if (result.lastModified == null) {
+                generator.writeNullField("lastModified");
+            } else if (format == ListingField.TimeFormat.ISO) {
+                generator.writeStringField("lastModified", DateTimeFormatter.ISO_INSTANT.format(result.lastModified));
+            } else {
+                generator.writeNumberField("lastModified", result.lastModified.toEpochMilli());
+            }
+        }
+        if (result.error != null) {
+            generator.writeStringField("error", result.error);
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Outcome of one lookup: the metadata, nothing for a missing object, or an error.
+     */
+    private static final class StatResult {
+
+        private final String key;
+
+        private final boolean found;
+
+        private final long size;
+
+        private final String etag;
+
+        private final String contentType;
+
+        private final Instant lastModified;
+
+        private final String error;
+
+        private StatResult(String key, boolean found, long size, String etag, String contentType,
+                           Instant lastModified, String error) {
+            this.key = key;
+            this.found = found;
+            this.size = size;
+            this.etag = etag;
+            this.contentType = contentType;
+            this.lastModified = lastModified;
+            this.error = error;
+        }
+
+        private static StatResult found(String key, long size, String etag, String contentType, Instant lastModified) {
+            return new StatResult(key, true, size, etag, contentType, lastModified, null);
+        }
+
+        private static StatResult missing(String key) {
+            return new StatResult(key, false, 0, null, null, null, null);
+        }
+
+        private static StatResult failed(String key, String error) {
+            return new StatResult(key, false, 0, null, null, null, error);
+        }
+    }
+}
@@ -0,0 +1,561 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minio.minio_test.cluster.MinioClientPool;
+import com.minio.minio_test.config.SyncProperties;
+import com.minio.minio_test.exception.BackendErrors;
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.NotFoundException;
+import com.minio.minio_test.packing.PackedObject;
+import com.minio.minio_test.replication.ReplicationEntry;
+import com.minio.minio_test.resilience.BackendOperation;
+import com.minio.minio_test.resilience.MinioCallExecutor;
+import com.minio.minio_test.service.MinioService;
+import com.minio.minio_test.service.PackingService;
+import com.minio.minio_test.service.ReplicationService;
+import com.minio.minio_test.service.SpoolService;
+import com.minio.minio_test.service.SyncService;
+import com.minio.minio_test.sync.DirectoryWalker;
+import com.minio.minio_test.sync.LocalFile;
+import com.minio.minio_test.sync.MirrorManifest;
+import com.minio.minio_test.sync.SyncMetadata;
+import com.minio.minio_test.transfer.MultipartUploader;
+import com.minio.minio_test.vo.SyncResultVO;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.ListObjectsArgs;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Sync service implementation.
+ * <p>
+ * The local tree is walked in parallel while nothing is read from the files, and compared
+ * against one recursive listing of the prefix, including user metadata. Only files whose size,
+ * recorded modification time or MD5 differ are uploaded, with bounded concurrency; the source
+ * modification time is stored with each upload so the next run recognizes it from the listing.
+ * Mirroring works the other way round and remembers what it wrote in a {@link MirrorManifest}.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/03
+ */
+@Component
+public class SyncServiceImpl implements SyncService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String MIRROR_PART_SUFFIX = ".mirror-part";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SyncServiceImpl.class);
+
+    @Resource
+    private MinioService minioService;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @Resource
+    private MinioClientPool clientPool;
+
+    @Resource
+    private MinioCallExecutor minioCallExecutor;
+
+    @Resource
+    private MultipartUploader multipartUploader;
+
+    @Resource
+    private ReplicationService replicationService;
+
+    @Resource
+    private SyncProperties syncProperties;
+
+    @Resource
+    private SpoolService spoolService;
+
+    @Resource
+    private PackingService packingService;
+
+    private ForkJoinPool walkPool;
+
+    private ExecutorService transferExecutor;
+
+    @PostConstruct
+    public void init() {
+        walkPool = new ForkJoinPool(syncProperties.getWalkParallelism());
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("sync-transfer-");
+        factory.setDaemon(true);
+        transferExecutor = Executors.newCachedThreadPool(factory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        walkPool.shutdownNow();
+        transferExecutor.shutdownNow();
+    }
+
+    @Override
+    public SyncResultVO syncDirectory(String directory, String bucketName, String prefix, boolean deleteOrphans) {
+        Path root = resolveDirectory(directory);
+        if (!Files.isDirectory(root)) {
+            throw new NotFoundException("Directory does not exist: " + directory);
+        }
+        if (!minioService.bucketExists(bucketName)) {
+            throw new NotFoundException("Bucket does not exist: " + bucketName);
+        }
+        String keyPrefix = normalizePrefix(prefix);
+        long start = System.currentTimeMillis();
+
+        Map<String, LocalFile> localFiles;
+        try {
+            localFiles = DirectoryWalker.walk(root, walkPool);
+        } catch (IOException e) {
+            LOGGER.error("Failed to walk directory '{}'. Error: {}", root, e.getMessage(), e);
+            throw new BusinessException("Failed to read directory: " + directory, e);
+        }
+        Map<String, RemoteObject> remoteObjects = listRemote(bucketName, keyPrefix, true);
+
+        AtomicInteger unchanged = new AtomicInteger();
+        AtomicInteger uploaded = new AtomicInteger();
+        AtomicLong uploadedBytes = new AtomicLong();
+        AtomicInteger failed = new AtomicInteger();
+        Queue<String> errors = new ConcurrentLinkedQueue<>();
+
+        forEachBounded(localFiles.values(), syncProperties.getUploadParallelism(), file -> {
+            String objectName = keyPrefix + file.getRelativePath();
+            try {
+                RemoteObject remote = remoteObjects.get(file.getRelativePath());
+                if (remote != null && SyncMetadata.sameContent(file, remote.size, remote.etag, remote.userMetadata)) {
+                    unchanged.incrementAndGet();
+                    return;
+                }
+                upload(bucketName, objectName, file);
+                uploaded.incrementAndGet();
+                uploadedBytes.addAndGet(file.getSize());
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                recordError(errors, objectName, e);
+                LOGGER.warn("Sync upload of '{}' to bucket '{}' failed: {}", file.getPath(), bucketName, e.getMessage());
+            }
+        }, directory);
+
+        List<String> orphans = new ArrayList<>();
+        for (String relativePath : remoteObjects.keySet()) {
+            if (!localFiles.containsKey(relativePath)) {
+                orphans.add(keyPrefix + relativePath);
+            }
+        }
+        int deleted = 0;
+        if (deleteOrphans && !orphans.isEmpty()) {
+            deleted = removeOrphans(bucketName, orphans, failed, errors);
+        }
+
+        SyncResultVO result = SyncResultVO.builder()
+                .bucketName(bucketName)
+                .prefix(keyPrefix)
+                .directory(root.toString())
+                .scanned(localFiles.size())
+                .unchanged(unchanged.get())
+                .transferred(uploaded.get())
+                .transferredBytes(uploadedBytes.get())
+                .deleted(deleted)
+                .orphans(deleteOrphans ? 0 : orphans.size())
+                .failed(failed.get())
+                .errors(new ArrayList<>(errors))
+                .durationMillis(System.currentTimeMillis() - start)
+                .build();
+        LOGGER.info("Synced directory '{}' to bucket '{}' prefix '{}': {} scanned, {} uploaded, {} unchanged, {} deleted, {} failed in {} ms.",
+                root, bucketName, keyPrefix, result.getScanned(), result.getTransferred(), result.getUnchanged(),
+                result.getDeleted(), result.getFailed(), result.getDurationMillis());
+        return result;
+    }
+
+    @Override
+    public SyncResultVO mirrorBucket(String bucketName, String prefix, String directory, boolean deleteOrphans) {
+        Path root = resolveDirectory(directory);
+        if (Files.exists(root) && !Files.isDirectory(root)) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Not a directory: " + directory);
+        }
+        if (!minioService.bucketExists(bucketName)) {
+            throw new NotFoundException("Bucket does not exist: " + bucketName);
+        }
+        String keyPrefix = normalizePrefix(prefix);
+        long start = System.currentTimeMillis();
+
+        Map<String, LocalFile> localFiles;
+        try {
+            Files.createDirectories(root);
+            localFiles = DirectoryWalker.walk(root, walkPool);
+        } catch (IOException e) {
+            LOGGER.error("Failed to walk directory '{}'. Error: {}", root, e.getMessage(), e);
+            throw new BusinessException("Failed to read directory: " + directory, e);
+        }
+        // Bookkeeping files of the mirror itself are neither compared nor orphans
+        localFiles.keySet().removeIf(relativePath -> relativePath.startsWith(MirrorManifest.FILE_NAME)
+                || relativePath.endsWith(MIRROR_PART_SUFFIX));
+        Map<String, RemoteObject> remoteObjects = listRemote(bucketName, keyPrefix, false);
+        remoteObjects.keySet().removeIf(relativePath -> relativePath.isEmpty() || relativePath.endsWith("/"));
+        MirrorManifest manifest = MirrorManifest.load(root, objectMapper);
+
+        // Only files the mirror wrote, and that were not changed since, are its orphans; anything
+        // else in the directory is left alone
+        List<String> orphans = new ArrayList<>();
+        for (LocalFile local : localFiles.values()) {
+            if (!remoteObjects.containsKey(local.getRelativePath()) && manifest.wrote(local)) {
+                orphans.add(local.getRelativePath());
+            }
+        }
+
+        AtomicInteger unchanged = new AtomicInteger();
+        AtomicInteger downloaded = new AtomicInteger();
+        AtomicLong downloadedBytes = new AtomicLong();
+        AtomicInteger failed = new AtomicInteger();
+        Queue<String> errors = new ConcurrentLinkedQueue<>();
+        int deleted = 0;
+
+        try {
+            forEachBounded(remoteObjects.entrySet(), syncProperties.getDownloadParallelism(), remote -> {
+                String relativePath = remote.getKey();
+                RemoteObject item = remote.getValue();
+                try {
+                    LocalFile local = localFiles.get(relativePath);
+                    if (local != null && manifest.matches(local, item.etag, item.size)) {
+                        unchanged.incrementAndGet();
+                        return;
+                    }
+                    if (local != null && SyncMetadata.sameContent(local, item.size, item.etag, null)) {
+                        // Identical file not written by a mirror yet; adopt it
+                        manifest.put(relativePath, item.etag, local.getSize(), local.getLastModified());
+                        unchanged.incrementAndGet();
+                        return;
+                    }
+                    Path target = root.resolve(relativePath).normalize();
+                    if (!target.startsWith(root) || target.equals(root)) {
+                        throw new IOException("Object key escapes the mirror directory");
+                    }
+                    download(bucketName, keyPrefix + relativePath, item, target, relativePath, manifest);
+                    downloaded.incrementAndGet();
+                    downloadedBytes.addAndGet(item.size);
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    recordError(errors, keyPrefix + relativePath, e);
+                    LOGGER.warn("Mirror download of '{}' from bucket '{}' failed: {}", keyPrefix + relativePath,
+                            bucketName, e.getMessage());
+                }
+            }, directory);
+
+            if (deleteOrphans) {
+                for (Iterator<String> it = orphans.iterator(); it.hasNext(); ) {
+                    String relativePath = it.next();
+                    try {
+                        Files.deleteIfExists(localFiles.get(relativePath).getPath());
+                        it.remove();
+                        deleted++;
+                    } catch (IOException e) {
+                        failed.incrementAndGet();
+                        recordError(errors, relativePath, e);
+                    }
+                }
+            }
+        } finally {
+            // Orphans still on disk stay recorded, so a later run may remove them
+            Set<String> retained = new HashSet<>(remoteObjects.keySet());
+            retained.addAll(orphans);
+            manifest.retainAll(retained);
+            saveManifest(manifest, root);
+        }
+
+        SyncResultVO result = SyncResultVO.builder()
+                .bucketName(bucketName)
+                .prefix(keyPrefix)
+                .directory(root.toString())
+                .scanned(remoteObjects.size())
+                .unchanged(unchanged.get())
+                .transferred(downloaded.get())
+                .transferredBytes(downloadedBytes.get())
+                .deleted(deleted)
+                .orphans(deleteOrphans ? 0 : orphans.size())
+                .failed(failed.get())
+                .errors(new ArrayList<>(errors))
+                .durationMillis(System.currentTimeMillis() - start)
+                .build();
+        LOGGER.info("Mirrored bucket '{}' prefix '{}' to directory '{}': {} scanned, {} downloaded, {} unchanged, {} deleted, {} failed in {} ms.",
+                bucketName, keyPrefix, root, result.getScanned(), result.getTransferred(), result.getUnchanged(),
+                result.getDeleted(), result.getFailed(), result.getDurationMillis());
+        return result;
+    }
+
+    /**
+     * Resolves a requested directory against the configured base directory. Relative paths are
+     * taken from the base and absolute ones must lie within it; the existing part of the path is
+     * also checked with symbolic links resolved, so a link cannot lead out of the base either.
+     */
+    private Path resolveDirectory(String directory) {
+        if (StringUtils.isBlank(directory)) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Directory cannot be empty.");
+        }
+        Path base = Paths.get(syncProperties.getBaseDirectory()).toAbsolutePath().normalize();
+        Path root;
+        try {
+            root = base.resolve(directory).normalize();
+        } catch (InvalidPathException e) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Invalid directory: " + directory);
+        }
+        if (!root.startsWith(base)) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Directory is outside the sync base directory: " + directory);
+        }
+        Path existing = root;
+        while (!Files.exists(existing)) {
+            existing = existing.getParent();
+        }
+        try {
+            if (existing.startsWith(base) && !existing.toRealPath().startsWith(base.toRealPath())) {
+                throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Directory is outside the sync base directory: " + directory);
+            }
+        } catch (IOException e) {
+            throw new BusinessException("Failed to resolve directory: " + directory, e);
+        }
+        return root;
+    }
+
+    /**
+     * Downloads an object into a hidden part file next to the target and renames it into place, so
+     * readers of the mirror never see a partial file.
+     */
+    private void download(String bucketName, String objectName, RemoteObject item, Path target, String relativePath,
+                          MirrorManifest manifest) throws Exception {
+        Files.createDirectories(target.getParent());
+        Path partFile = target.resolveSibling("." + target.getFileName() + MIRROR_PART_SUFFIX);
+        try {
+            byte[] packed = item.packed ? packingService.read(bucketName, objectName) : null;
+            if (packed != null) {
+                Files.write(partFile, packed);
+            } else {
+                try (GetObjectResponse object = minioCallExecutor.execute(BackendOperation.GET_OBJECT,
+                        client -> client.getObject(GetObjectArgs.builder()
+                                .bucket(bucketName)
+                                .object(objectName)
+                                .build()))) {
+                    Files.copy(object, partFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (item.lastModified != null) {
+                Files.setLastModifiedTime(partFile, FileTime.from(item.lastModified));
+            }
+            Files.move(partFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // Recorded in the form of the listing it is compared with
+            manifest.put(relativePath, item.etag, Files.size(target), Files.getLastModifiedTime(target).toMillis());
+        } finally {
+            Files.deleteIfExists(partFile);
+        }
+    }
+
+    private static void saveManifest(MirrorManifest manifest, Path root) {
+        try {
+            manifest.save();
+        } catch (IOException e) {
+            // Only costs a full comparison on the next run
+            LOGGER.warn("Failed to save mirror manifest of '{}': {}", root, e.getMessage());
+        }
+    }
+
+    /**
+     * Runs an action for every item on the transfer pool, at most {@code parallelism} at a time, and
+     * waits for all of them. The action handles its own failures.
+     */
+    private <T> void forEachBounded(Collection<T> items, int parallelism, Consumer<T> action, String directory) {
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<?>> tasks = new ArrayList<>();
+        try {
+            for (T item : items) {
+                permits.acquire();
+                tasks.add(transferExecutor.submit(() -> {
+                    try {
+                        action.accept(item);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            tasks.forEach(task -> task.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Interrupted while syncing directory: " + directory, e);
+        } catch (ExecutionException e) {
+            throw new BusinessException("Failed to sync directory: " + directory, e.getCause());
+        }
+    }
+
+    /**
+     * Lists the objects under a prefix by their path relative to it, packed objects included.
+     */
+    private Map<String, RemoteObject> listRemote(String bucketName, String keyPrefix, boolean includeUserMetadata) {
+        Map<String, RemoteObject> objects = new HashMap<>();
+        try {
+            for (Result<Item> result : clientPool.client().listObjects(ListObjectsArgs.builder()
+                    .bucket(bucketName)
+                    .prefix(keyPrefix)
+                    .recursive(true)
+                    .includeUserMetadata(includeUserMetadata)
+                    .build())) {
+                Item item = result.get();
+                if (!item.isDir()) {
+                    objects.put(item.objectName().substring(keyPrefix.length()), new RemoteObject(item.size(), item.etag(),
+                            item.lastModified() == null ? null : item.lastModified().toInstant(), item.userMetadata(), false));
+                }
+            }
+        } catch (Exception e) {
+            throw BackendErrors.translate(e, "Failed to list objects in bucket: " + bucketName);
+        }
+        // A packed object is newer than an object of the same name left in the bucket
+        Iterator<Map.Entry<String, PackedObject>> packed = packingService.list(bucketName, keyPrefix, true);
+        while (packed.hasNext()) {
+            Map.Entry<String, PackedObject> entry = packed.next();
+            PackedObject object = entry.getValue();
+            objects.put(entry.getKey().substring(keyPrefix.length()), new RemoteObject(object.getLength(),
+                    object.getEtag(), Instant.ofEpochMilli(object.getLastModified()), null, true));
+        }
+        return objects;
+    }
+
+    private void upload(String bucketName, String objectName, LocalFile file) throws Exception {
+        // A pending write-behind upload of the same key must not overwrite the synced file
+        spoolService.discard(bucketName, objectName);
+        Map<String, String> metadata = Collections.singletonMap(SyncMetadata.SOURCE_MTIME, String.valueOf(file.getLastModified()));
+        if (multipartUploader.accepts(file.getSize())) {
+            multipartUploader.upload(bucketName, objectName, file.getPath(), metadata);
+        } else {
+            String contentType = Files.probeContentType(file.getPath());
+            try (InputStream in = Files.newInputStream(file.getPath())) {
+                minioCallExecutor.execute(BackendOperation.PUT_OBJECT, client -> client.putObject(PutObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .stream(in, file.getSize(), -1)
+                        .contentType(contentType != null ? contentType : "application/octet-stream")
+                        .userMetadata(metadata)
+                        .build()));
+            }
+        }
+        // The new object replaces a packed one of the same name
+        packingService.remove(bucketName, objectName);
+        replicationService.enqueue(ReplicationEntry.Operation.PUT, bucketName, objectName);
+    }
+
+    private int removeOrphans(String bucketName, List<String> orphans, AtomicInteger failed, Queue<String> errors) {
+        int deleted = 0;
+        int batchSize = syncProperties.getDeleteBatchSize();
+        for (int from = 0; from < orphans.size(); from += batchSize) {
+            List<String> batch = orphans.subList(from, Math.min(orphans.size(), from + batchSize));
+            List<DeleteObject> objects = new ArrayList<>(batch.size());
+            batch.forEach(objectName -> {
+                spoolService.discard(bucketName, objectName);
+                packingService.remove(bucketName, objectName);
+                objects.add(new DeleteObject(objectName));
+            });
+            int batchFailures = 0;
+            try {
+                // The removal is lazy: it is sent while the results are iterated
+                for (Result<DeleteError> result : clientPool.client().removeObjects(RemoveObjectsArgs.builder()
+                        .bucket(bucketName)
+                        .objects(objects)
+                        .build())) {
+                    DeleteError error = result.get();
+                    batchFailures++;
+                    recordError(errors, error.objectName(), new IOException(error.message()));
+                }
+            } catch (Exception e) {
+                LOGGER.warn("Failed to remove orphans from bucket '{}': {}", bucketName, e.getMessage());
+                failed.addAndGet(batch.size());
+                recordError(errors, batch.get(0), e);
+                continue;
+            }
+            failed.addAndGet(batchFailures);
+            deleted += batch.size() - batchFailures;
+            batch.forEach(objectName -> replicationService.enqueue(ReplicationEntry.Operation.REMOVE, bucketName, objectName));
+        }
+        return deleted;
+    }
+
+    private static void recordError(Queue<String> errors, String objectName, Exception e) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(objectName + ": " + e.getMessage());
+        }
+    }
+
+    private static String normalizePrefix(String prefix) {
+        String normalized = StringUtils.defaultString(prefix).replace('\\', '/');
+        normalized = StringUtils.stripStart(normalized, "/");
+        return normalized.isEmpty() || normalized.endsWith("/") ? normalized : normalized + "/";
+    }
+
+    /**
+     * Object in the bucket as listed for a comparison, stored on its own or in a pack.
+     */
+    private static final class RemoteObject {
+
+        private final long size;
+
+        private final String etag;
+
+        private final Instant lastModified;
+
+        private final Map<String, String> userMetadata;
+
+        private final boolean packed;
+
+        private RemoteObject(long size, String etag, Instant lastModified, Map<String, String> userMetadata,
+                             boolean packed) {
+            this.size = size;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.userMetadata = userMetadata;
+            this.packed = packed;
+        }
+    }
+}
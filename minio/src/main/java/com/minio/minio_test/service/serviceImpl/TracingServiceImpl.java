@@ -0,0 +1,65 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.minio.minio_test.config.TracingProperties;
+import com.minio.minio_test.exception.NotFoundException;
+import com.minio.minio_test.service.TracingService;
+import com.minio.minio_test.tracing.InMemorySpanExporter;
+import com.minio.minio_test.tracing.Span;
+import com.minio.minio_test.vo.SpanVO;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Tracing service implementation.
+ *
+ * @author Zhang
+ * @date 2025/03/10
+ */
+@Component
+public class TracingServiceImpl implements TracingService {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    @Resource
+    private InMemorySpanExporter inMemorySpanExporter;
+
+    @Resource
+    private TracingProperties tracingProperties;
+
+    @Override
+    public List<SpanVO> trace(String traceId) {
+        if (!tracingProperties.getExporters().contains(TracingProperties.Exporter.MEMORY)) {
+            throw new NotFoundException("The memory span exporter is not enabled.");
+        }
+        List<SpanVO> spans = inMemorySpanExporter.getFinishedSpans(traceId).stream()
+                .sorted(Comparator.comparingLong(Span::getStartEpochMillis))
+                .map(TracingServiceImpl::toVO)
+                .toList();
+        if (spans.isEmpty()) {
+            throw new NotFoundException("Trace not found: " + traceId);
+        }
+        return spans;
+    }
+
+    private static SpanVO toVO(Span span) {
+        return SpanVO.builder()
+                .traceId(span.getTraceId())
+                .spanId(span.getSpanId())
+                .parentSpanId(span.getParentSpanId())
+                .name(span.getName())
+                .kind(span.getKind().name())
+                .startTime(FORMATTER.format(Instant.ofEpochMilli(span.getStartEpochMillis())))
+                .durationMicros(span.getDurationNanos() / 1_000)
+                .status(span.getStatus().name())
+                .statusMessage(span.getStatusMessage())
+                .attributes(span.getAttributes())
+                .build();
+    }
+}
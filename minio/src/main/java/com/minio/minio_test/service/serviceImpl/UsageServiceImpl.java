@@ -0,0 +1,360 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.minio.minio_test.cluster.MinioClientPool;
+import com.minio.minio_test.config.UsageProperties;
+import com.minio.minio_test.exception.BusinessException;
+import com.minio.minio_test.exception.NotFoundException;
+import com.minio.minio_test.notification.BucketEvent;
+import com.minio.minio_test.notification.BucketEventListener;
+import com.minio.minio_test.notification.BucketNotificationHub;
+import com.minio.minio_test.service.MinioService;
+import com.minio.minio_test.service.UsageService;
+import com.minio.minio_test.usage.UsageNode;
+import com.minio.minio_test.vo.BucketVO;
+import com.minio.minio_test.vo.UsageVO;
+import io.minio.ListObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.Item;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Usage service implementation.
+ * <p>
+ * Usage of a bucket is computed by listing every top-level prefix in parallel and cached per
+ * top-level prefix, broken down to the configured depth. Bucket notifications mark the
+ * top-level prefixes that changed as dirty, and only those are re-listed on the next query or
+ * background refresh. Without a notification stream the whole cache expires after max age.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/02/18
+ */
+@Component
+public class UsageServiceImpl implements UsageService {
+
+    private static final String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss";
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN)
+            .withZone(ZoneId.systemDefault());
+
+    /** Partition key of the objects directly at the bucket root */
+    private static final String ROOT = "";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UsageServiceImpl.class);
+
+    @Resource
+    private MinioClientPool clientPool;
+
+    @Resource
+    private MinioService minioService;
+
+    @Resource
+    private BucketNotificationHub notificationHub;
+
+    @Resource
+    private UsageProperties usageProperties;
+
+    private final ConcurrentMap<String, BucketUsage> cache = new ConcurrentHashMap<>();
+
+    private ExecutorService listingExecutor;
+
+    @PostConstruct
+    public void init() {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("usage-list-");
+        factory.setDaemon(true);
+        listingExecutor = Executors.newFixedThreadPool(usageProperties.getParallelism(), factory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        listingExecutor.shutdownNow();
+    }
+
+    /**
+     * Re-lists dirty prefixes in the background so queries usually find a clean cache.
+     */
+    @Scheduled(fixedDelayString = "${minio.usage.refresh-interval:30000}")
+    public void refreshDirtyUsage() {
+        for (BucketUsage usage : cache.values()) {
+            if (usage.needsRefresh(usageProperties.getMaxAge().toMillis())) {
+                try {
+                    usage.refresh();
+                } catch (BusinessException e) {
+                    LOGGER.warn("Background usage refresh of bucket '{}' failed: {}", usage.bucketName, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public UsageVO getUsage(String bucketName, String prefix, Integer depth) {
+        String base = StringUtils.defaultString(prefix);
+        int maxDepth = usageProperties.getMaxDepth();
+        int levels = depth == null ? 1 : depth;
+        if (levels < 0) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST.value(), "Usage depth cannot be negative.");
+        }
+
+        int prefixDepth = StringUtils.countMatches(base, '/');
+        boolean cacheable = (base.isEmpty() || base.endsWith("/")) && prefixDepth + levels <= maxDepth;
+        if (!cacheable) {
+            // Arbitrary or deep prefixes are computed on demand with the same fan-out
+            if (!minioService.bucketExists(bucketName)) {
+                throw new NotFoundException("Bucket does not exist: " + bucketName);
+            }
+            UsageNode node = assemble(crawl(bucketName, base, levels, null));
+            return toVO(bucketName, base, node, levels, System.currentTimeMillis());
+        }
+
+        BucketUsage usage = obtainUsage(bucketName);
+        if (usage.needsRefresh(usageProperties.getMaxAge().toMillis())) {
+            usage.refresh();
+        }
+        UsageNode node = assemble(usage.partitions);
+        // Walk down to the requested prefix; a missing segment simply has no objects
+        for (String segment : segments(base)) {
+            node = node.getChildren().getOrDefault(segment, new UsageNode());
+        }
+        return toVO(bucketName, base, node, levels, usage.computedAt);
+    }
+
+    @Override
+    public List<UsageVO> listBucketUsage() {
+        List<UsageVO> result = new ArrayList<>();
+        for (BucketVO bucket : minioService.listBucketNames()) {
+            result.add(getUsage(bucket.getName(), ROOT, 0));
+        }
+        return result;
+    }
+
+    private BucketUsage obtainUsage(String bucketName) {
+        BucketUsage usage = cache.get(bucketName);
+        if (usage != null) {
+            return usage;
+        }
+        if (!minioService.bucketExists(bucketName)) {
+            throw new NotFoundException("Bucket does not exist: " + bucketName);
+        }
+        return cache.computeIfAbsent(bucketName, name -> {
+            BucketUsage created = new BucketUsage(name);
+            notificationHub.subscribe(name, created);
+            return created;
+        });
+    }
+
+    /**
+     * Lists {@code base} and computes the usage of each partition (the objects directly under
+     * {@code base}, and each child prefix), one parallel listing per child prefix.
+     *
+     * @param partitions The partitions to compute, or null to discover and compute all of them.
+     */
+    private Map<String, UsageNode> crawl(String bucketName, String base, int depth, Collection<String> partitions) {
+        Map<String, UsageNode> result = new ConcurrentHashMap<>();
+        List<Future<?>> tasks = new ArrayList<>();
+        try {
+            if (partitions == null || partitions.contains(ROOT)) {
+                UsageNode direct = new UsageNode();
+                for (Result<Item> listed : clientPool.client().listObjects(listArgs(bucketName, base, false))) {
+                    Item item = listed.get();
+                    if (!item.isDir()) {
+                        direct.add(ROOT, item.size(), 0);
+                    } else if (partitions == null) {
+                        String segment = item.objectName().substring(base.length());
+                        tasks.add(listingExecutor.submit(() -> crawlPrefix(bucketName, base, segment, depth, result)));
+                    }
+                }
+                result.put(ROOT, direct);
+            }
+            if (partitions != null) {
+                for (String segment : partitions) {
+                    if (!ROOT.equals(segment)) {
+                        tasks.add(listingExecutor.submit(() -> crawlPrefix(bucketName, base, segment, depth, result)));
+                    }
+                }
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            tasks.forEach(task -> task.cancel(true));
+            throw new BusinessException("Interrupted while computing usage of bucket: " + bucketName, e);
+        } catch (Exception e) {
+            tasks.forEach(task -> task.cancel(true));
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            LOGGER.error("Failed to compute usage of bucket '{}', prefix '{}'. Error: {}", bucketName, base, cause.getMessage(), cause);
+            throw new BusinessException("Failed to compute usage of bucket: " + bucketName, cause);
+        }
+    }
+
+    private Void crawlPrefix(String bucketName, String base, String segment, int depth,
+                             Map<String, UsageNode> result) throws Exception {
+        String prefix = base + segment;
+        UsageNode node = new UsageNode();
+        for (Result<Item> listed : clientPool.client().listObjects(listArgs(bucketName, prefix, true))) {
+            Item item = listed.get();
+            node.add(item.objectName().substring(prefix.length()), item.size(), depth - 1);
+        }
+        result.put(segment, node);
+        return null;
+    }
+
+    private static UsageNode assemble(Map<String, UsageNode> partitions) {
+        UsageNode root = new UsageNode();
+        partitions.forEach(root::attach);
+        return root;
+    }
+
+    private static List<String> segments(String prefix) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int slash;
+        while ((slash = prefix.indexOf('/', start)) >= 0) {
+            segments.add(prefix.substring(start, slash + 1));
+            start = slash + 1;
+        }
+        return segments;
+    }
+
+    private static ListObjectsArgs listArgs(String bucketName, String prefix, boolean recursive) {
+        return ListObjectsArgs.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .recursive(recursive)
+                .build();
+    }
+
+    private static UsageVO toVO(String bucketName, String prefix, UsageNode node, int depth, long computedAt) {
+        UsageVO vo = toVO(prefix, node, depth);
+        vo.setBucketName(bucketName);
+        vo.setComputedTime(FORMATTER.format(Instant.ofEpochMilli(computedAt)));
+        return vo;
+    }
+
+    private static UsageVO toVO(String prefix, UsageNode node, int depth) {
+        List<UsageVO> children = null;
+        if (depth > 0) {
+            children = new ArrayList<>(node.getChildren().size());
+            for (Map.Entry<String, UsageNode> child : node.getChildren().entrySet()) {
+                children.add(toVO(prefix + child.getKey(), child.getValue(), depth - 1));
+            }
+        }
+        return UsageVO.builder()
+                .prefix(prefix)
+                .objectCount(node.getObjectCount())
+                .totalBytes(node.getTotalBytes())
+                .children(children)
+                .build();
+    }
+
+    /**
+     * Cached usage of one bucket, partitioned by top-level prefix.
+     */
+    private final class BucketUsage implements BucketEventListener {
+
+        private final String bucketName;
+
+        private volatile Map<String, UsageNode> partitions = Map.of();
+
+        private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+        private volatile boolean complete;
+
+        private volatile boolean listening;
+
+        private volatile long computedAt;
+
+        private BucketUsage(String bucketName) {
+            this.bucketName = bucketName;
+        }
+
+        @Override
+        public void onEvent(BucketEvent event) {
+            String key = event.getObjectName();
+            int slash = key.indexOf('/');
+            dirty.add(slash >= 0 ? key.substring(0, slash + 1) : ROOT);
+        }
+
+        @Override
+        public void onConnected() {
+            listening = true;
+            // Changes made while disconnected are unknown
+            complete = false;
+        }
+
+        @Override
+        public void onDisconnected() {
+            listening = false;
+        }
+
+        private boolean needsRefresh(long maxAgeMillis) {
+            if (!complete || !dirty.isEmpty()) {
+                return true;
+            }
+            return !listening && System.currentTimeMillis() - computedAt > maxAgeMillis;
+        }
+
+        private synchronized void refresh() {
+            long maxAge = usageProperties.getMaxAge().toMillis();
+            if (!needsRefresh(maxAge)) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            int maxDepth = usageProperties.getMaxDepth();
+            if (!complete || (!listening && start - computedAt > maxAge)) {
+                dirty.clear();
+                partitions = crawl(bucketName, ROOT, maxDepth, null);
+                complete = true;
+                LOGGER.info("Computed usage of bucket '{}' in {} ms.", bucketName, System.currentTimeMillis() - start);
+            } else {
+                Set<String> changed = new HashSet<>(dirty);
+                dirty.removeAll(changed);
+                Map<String, UsageNode> updated = new ConcurrentHashMap<>(partitions);
+                Map<String, UsageNode> recomputed;
+                try {
+                    recomputed = crawl(bucketName, ROOT, maxDepth, changed);
+                } catch (BusinessException e) {
+                    dirty.addAll(changed);
+                    throw e;
+                }
+                for (String segment : changed) {
+                    UsageNode node = recomputed.get(segment);
+                    if (node == null || node.getObjectCount() == 0) {
+                        updated.remove(segment);
+                    } else {
+                        updated.put(segment, node);
+                    }
+                }
+                partitions = updated;
+                LOGGER.debug("Refreshed usage of {} prefixes in bucket '{}' in {} ms.", changed.size(), bucketName,
+                        System.currentTimeMillis() - start);
+            }
+            computedAt = start;
+        }
+    }
+}
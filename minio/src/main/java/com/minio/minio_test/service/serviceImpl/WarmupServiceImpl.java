@@ -0,0 +1,60 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.minio.minio_test.exception.BackendUnavailableException;
+import com.minio.minio_test.service.WarmupService;
+import com.minio.minio_test.vo.WarmupStatusVO;
+import com.minio.minio_test.vo.WarmupStepVO;
+import com.minio.minio_test.warmup.StartupWarmup;
+import jakarta.annotation.Resource;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Warm-up service implementation.
+ *
+ * @author Zhang
+ * @date 2025/03/11
+ */
+@Component
+public class WarmupServiceImpl implements WarmupService {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    @Resource
+    private StartupWarmup startupWarmup;
+
+    @Resource
+    private ApplicationAvailability applicationAvailability;
+
+    @Override
+    public WarmupStatusVO status() {
+        long startedAt = startupWarmup.getStartedAt();
+        return WarmupStatusVO.builder()
+                .state(startupWarmup.getState().name())
+                .readiness(applicationAvailability.getReadinessState().name())
+                .startTime(startedAt > 0 ? FORMATTER.format(Instant.ofEpochMilli(startedAt)) : null)
+                .durationMillis(startupWarmup.getDurationMillis())
+                .steps(startupWarmup.getSteps().stream()
+                        .map(step -> WarmupStepVO.builder()
+                                .name(step.getName())
+                                .durationMillis(step.getDurationMillis())
+                                .success(step.isSuccess())
+                                .detail(step.getDetail())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    @Override
+    public void checkReady() {
+        if (applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            throw new BackendUnavailableException("Not ready, warm-up state: " + startupWarmup.getState().name());
+        }
+    }
+}
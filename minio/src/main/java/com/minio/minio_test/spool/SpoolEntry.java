@@ -0,0 +1,161 @@
+package com.minio.minio_test.spool;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An upload accepted into the spool and waiting to be flushed to Minio.
+ * <p>
+ * Accepting a newer upload of the same key supersedes the entry: its data is never flushed, so
+ * an older upload waiting for a retry cannot overwrite a newer one.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/19
+ */
+public class SpoolEntry implements Delayed {
+
+    /**
+     * Progress of a spooled upload.
+     */
+    public enum State {
+        /** Waiting to be flushed */
+        PENDING,
+        /** Stored in Minio */
+        FLUSHED,
+        /** Replaced by a newer upload or removal of the same key before it was flushed */
+        SUPERSEDED,
+        /** Not flushed because the bucket no longer exists */
+        DROPPED
+    }
+
+    private final long sequence;
+
+    private final String handle;
+
+    private final String bucketName;
+
+    private final String objectName;
+
+    private final String contentType;
+
+    private final long size;
+
+    private final long spooledAt;
+
+    private volatile State state = State.PENDING;
+
+    private volatile boolean superseded;
+
+    private volatile int attempts;
+
+    private volatile String lastError;
+
+    private long dueNanos = System.nanoTime();
+
+    public SpoolEntry(long sequence, String handle, String bucketName, String objectName, String contentType,
+                      long size, long spooledAt) {
+        this.sequence = sequence;
+        this.handle = handle;
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+        this.contentType = contentType;
+        this.size = size;
+        this.spooledAt = spooledAt;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Identifier of the upload, returned to the client and naming its spooled file.
+     */
+    public String getHandle() {
+        return handle;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Wall-clock time the upload was accepted, in epoch milliseconds.
+     */
+    public long getSpooledAt() {
+        return spooledAt;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public boolean isSuperseded() {
+        return superseded;
+    }
+
+    /**
+     * Marks the entry as replaced; it is finished without being flushed.
+     */
+    public void supersede() {
+        superseded = true;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Records a failed attempt and postpones the entry.
+     *
+     * @param error      Error of the attempt.
+     * @param delayNanos Delay before the next attempt.
+     */
+    public void retryAfter(String error, long delayNanos) {
+        attempts++;
+        lastError = error;
+        dueNanos = System.nanoTime() + delayNanos;
+    }
+
+    /**
+     * Records the error that ended the entry without a flush.
+     */
+    public void fail(String error) {
+        attempts++;
+        lastError = error;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        if (other instanceof SpoolEntry entry) {
+            int byDue = Long.compare(dueNanos, entry.dueNanos);
+            return byDue != 0 ? byDue : Long.compare(sequence, entry.sequence);
+        }
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+}
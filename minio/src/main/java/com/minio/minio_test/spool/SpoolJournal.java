@@ -0,0 +1,226 @@
+package com.minio.minio_test.spool;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Append-only journal of spooled uploads.
+ * <p>
+ * Every accepted upload is appended as one JSON line, and every finished upload as an
+ * acknowledgement line. On open the journal is replayed and the uploads without acknowledgement
+ * are returned. Once enough records have accumulated the journal is rewritten with only the
+ * pending uploads and atomically swapped in. A line torn by a crash is skipped on replay.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/19
+ */
+public class SpoolJournal implements Closeable {
+
+    private static final String JOURNAL_FILE = "spool.journal";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpoolJournal.class);
+
+    private final Path file;
+
+    private final ObjectMapper objectMapper;
+
+    private final int compactThreshold;
+
+    /** Pending uploads by sequence, oldest first */
+    private final LinkedHashMap<Long, SpoolEntry> pending = new LinkedHashMap<>();
+
+    private FileChannel channel;
+
+    private long nextSequence = 1;
+
+    private int records;
+
+    private boolean dirty;
+
+    public SpoolJournal(Path directory, ObjectMapper objectMapper, int compactThreshold) {
+        this.file = directory.resolve(JOURNAL_FILE);
+        this.objectMapper = objectMapper;
+        this.compactThreshold = compactThreshold;
+    }
+
+    /**
+     * Opens the journal, creating it if needed, and replays it.
+     *
+     * @return The uploads still waiting to be flushed, oldest first.
+     */
+    public synchronized List<SpoolEntry> open() throws IOException {
+        Files.createDirectories(file.getParent());
+        if (Files.exists(file)) {
+            replay();
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        compact();
+        return new ArrayList<>(pending.values());
+    }
+
+    /**
+     * Appends an accepted upload to the journal. The record reaches disk with the next {@link #sync()}.
+     *
+     * @return The journaled entry.
+     */
+    public synchronized SpoolEntry append(String handle, String bucketName, String objectName, String contentType, long size)
+            throws IOException {
+        SpoolEntry entry = new SpoolEntry(nextSequence++, handle, bucketName, objectName, contentType, size,
+                System.currentTimeMillis());
+        write(entryRecord(entry));
+        pending.put(entry.getSequence(), entry);
+        return entry;
+    }
+
+    /**
+     * Marks uploads as finished, whether flushed or not.
+     *
+     * @param entries The finished entries.
+     */
+    public synchronized void acknowledge(Collection<SpoolEntry> entries) throws IOException {
+        for (SpoolEntry entry : entries) {
+            if (pending.remove(entry.getSequence()) != null) {
+                write(objectMapper.createObjectNode().put("ack", entry.getSequence()));
+            }
+        }
+        if (records >= compactThreshold) {
+            compact();
+        }
+    }
+
+    /**
+     * Flushes appended records to disk.
+     */
+    public synchronized void sync() throws IOException {
+        if (dirty && channel != null) {
+            channel.force(false);
+            dirty = false;
+        }
+    }
+
+    /**
+     * Number of uploads waiting to be flushed.
+     */
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Accept time of the oldest pending upload in epoch milliseconds, or -1 if none is pending.
+     */
+    public synchronized long oldestSpooledAt() {
+        for (SpoolEntry entry : pending.values()) {
+            return entry.getSpooledAt();
+        }
+        return -1;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            sync();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void write(JsonNode record) throws IOException {
+        if (channel == null) {
+            throw new IOException("Spool journal is not open: " + file);
+        }
+        byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        records++;
+        dirty = true;
+    }
+
+    private void replay() throws IOException {
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode record;
+                try {
+                    record = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    skipped++;
+                    continue;
+                }
+                if (record.has("ack")) {
+                    pending.remove(record.get("ack").asLong());
+                } else if (record.has("seq")) {
+                    long sequence = record.get("seq").asLong();
+                    JsonNode contentType = record.get("type");
+                    pending.put(sequence, new SpoolEntry(sequence, record.get("handle").asText(),
+                            record.get("bucket").asText(), record.get("key").asText(),
+                            contentType == null || contentType.isNull() ? null : contentType.asText(),
+                            record.get("size").asLong(), record.get("time").asLong()));
+                    nextSequence = Math.max(nextSequence, sequence + 1);
+                }
+            }
+        }
+        if (skipped > 0) {
+            LOGGER.warn("Skipped {} unreadable record(s) in spool journal: {}", skipped, file);
+        }
+        LOGGER.info("Replayed spool journal: {} upload(s) pending.", pending.size());
+    }
+
+    /**
+     * Rewrites the journal with only the pending uploads.
+     */
+    private void compact() throws IOException {
+        Path temp = file.resolveSibling(JOURNAL_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream stream = Channels.newOutputStream(out);
+            for (SpoolEntry entry : pending.values()) {
+                stream.write((objectMapper.writeValueAsString(entryRecord(entry)) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            stream.flush();
+            out.force(true);
+        }
+        channel.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        records = pending.size();
+        dirty = false;
+    }
+
+    private ObjectNode entryRecord(SpoolEntry entry) {
+        return objectMapper.createObjectNode()
+                .put("seq", entry.getSequence())
+                .put("handle", entry.getHandle())
+                .put("bucket", entry.getBucketName())
+                .put("key", entry.getObjectName())
+                .put("type", entry.getContentType())
+                .put("size", entry.getSize())
+                .put("time", entry.getSpooledAt());
+    }
+}
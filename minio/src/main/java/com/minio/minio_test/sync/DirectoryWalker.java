@@ -0,0 +1,95 @@
+package com.minio.minio_test.sync;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Walks a directory tree in parallel, one fork/join task per directory.
+ * Symbolic links are not followed.
+ *
+ * @author Zhang
+ * @date 2025/03/03
+ */
+public final class DirectoryWalker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectoryWalker.class);
+
+    private DirectoryWalker() {
+    }
+
+    /**
+     * Lists the regular files under a directory.
+     *
+     * @param root The directory.
+     * @param pool The pool walking the tree.
+     * @return The files by path relative to {@code root}, with {@code /} separators.
+     */
+    public static Map<String, LocalFile> walk(Path root, ForkJoinPool pool) throws IOException {
+        Map<String, LocalFile> files = new ConcurrentHashMap<>();
+        try {
+            pool.invoke(new WalkTask(root, root, files));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return files;
+    }
+
+    private static final class WalkTask extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient Path root;
+
+        private final transient Path directory;
+
+        private final transient Map<String, LocalFile> files;
+
+        private WalkTask(Path root, Path directory, Map<String, LocalFile> files) {
+            this.root = root;
+            this.directory = directory;
+            this.files = files;
+        }
+
+        @Override
+        protected void compute() {
+            List<WalkTask> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class,
+                            LinkOption.NOFOLLOW_LINKS);
+                    if (attributes.isDirectory()) {
+                        subdirectories.add(new WalkTask(root, entry, files));
+                    } else if (attributes.isRegularFile()) {
+                        String relativePath = root.relativize(entry).toString().replace(entry.getFileSystem().getSeparator(), "/");
+                        files.put(relativePath, new LocalFile(relativePath, entry, attributes.size(),
+                                attributes.lastModifiedTime().toMillis()));
+                    }
+                }
+            } catch (IOException e) {
+                if (directory.equals(root)) {
+                    throw new UncheckedIOException(e);
+                }
+                // An unreadable subdirectory is skipped rather than failing the whole walk
+                LOGGER.warn("Skipping unreadable directory '{}': {}", directory, e.getMessage());
+                return;
+            }
+            invokeAll(subdirectories);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.minio.minio_test.sync;
+
+import java.nio.file.Path;
+
+/**
+ * A regular file found while walking a local directory.
+ *
+ * @author Zhang
+ * @date 2025/03/03
+ */
+public class LocalFile {
+
+    private final String relativePath;
+
+    private final Path path;
+
+    private final long size;
+
+    private final long lastModified;
+
+    public LocalFile(String relativePath, Path path, long size, long lastModified) {
+        this.relativePath = relativePath;
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Path relative to the walked directory, with {@code /} separators.
+     */
+    public String getRelativePath() {
+        return relativePath;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Modification time in epoch milliseconds.
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,143 @@
+package com.minio.minio_test.sync;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Record of the objects a bucket mirror has written to a local directory.
+ * <p>
+ * For every mirrored file it keeps the ETag and size of the object and the size and modification
+ * time of the file as written, so a re-run recognizes an unchanged file from the listing and one
+ * stat call. A file edited locally since no longer matches and is downloaded again. The manifest
+ * is stored in the mirrored directory and replaced atomically on save.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/04
+ */
+public class MirrorManifest {
+
+    /** File name of the manifest inside the mirrored directory */
+    public static final String FILE_NAME = ".minio-mirror.json";
+
+    private static final TypeReference<Map<String, Entry>> ENTRIES_TYPE = new TypeReference<>() {
+    };
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MirrorManifest.class);
+
+    private final Path file;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private MirrorManifest(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Loads the manifest of a directory. A missing or unreadable manifest yields an empty one, which
+     * only costs a full comparison.
+     */
+    public static MirrorManifest load(Path directory, ObjectMapper objectMapper) {
+        MirrorManifest manifest = new MirrorManifest(directory.resolve(FILE_NAME), objectMapper);
+        if (Files.isRegularFile(manifest.file)) {
+            try {
+                manifest.entries.putAll(objectMapper.readValue(manifest.file.toFile(), ENTRIES_TYPE));
+            } catch (IOException e) {
+                LOGGER.warn("Ignoring unreadable mirror manifest '{}': {}", manifest.file, e.getMessage());
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Whether a local file is the one mirrored from an object with the given ETag and size.
+     */
+    public boolean matches(LocalFile file, String etag, long size) {
+        Entry entry = entries.get(file.getRelativePath());
+        return entry != null
+                && entry.getSize() == size
+                && entry.getSize() == file.getSize()
+                && entry.getLastModified() == file.getLastModified()
+                && entry.getEtag() != null && entry.getEtag().equals(etag);
+    }
+
+    /**
+     * Whether a local file was written by the mirror and is unchanged since, so it may be removed
+     * once its object is gone.
+     */
+    public boolean wrote(LocalFile file) {
+        Entry entry = entries.get(file.getRelativePath());
+        return entry != null
+                && entry.getSize() == file.getSize()
+                && entry.getLastModified() == file.getLastModified();
+    }
+
+    public void put(String relativePath, String etag, long size, long lastModified) {
+        entries.put(relativePath, new Entry(etag, size, lastModified));
+    }
+
+    public void remove(String relativePath) {
+        entries.remove(relativePath);
+    }
+
+    /**
+     * Drops the entries of files that are not in the given set.
+     */
+    public void retainAll(Collection<String> relativePaths) {
+        entries.keySet().retainAll(relativePaths);
+    }
+
+    /**
+     * Writes the manifest to a temporary file and moves it into place.
+     */
+    public void save() throws IOException {
+        Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+        ByteBuffer buffer = ByteBuffer.wrap(objectMapper.writeValueAsBytes(new TreeMap<>(entries)));
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * One mirrored file.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+
+        /** ETag of the object the file was downloaded from */
+        private String etag;
+
+        /** Size of the object and of the file */
+        private long size;
+
+        /** Modification time of the file as written, in epoch milliseconds */
+        private long lastModified;
+    }
+}
@@ -0,0 +1,105 @@
+package com.minio.minio_test.sync;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Change detection shared by directory sync and bucket mirroring.
+ * <p>
+ * Synced uploads record the source modification time as user metadata, so an unchanged file is
+ * recognized from the listing alone. Without that metadata, a file of the same size is compared
+ * by MD5 against the ETag, which S3 sets to the MD5 of objects not uploaded in parts.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/03
+ */
+public final class SyncMetadata {
+
+    /** User metadata key holding the modification time of the source file in epoch milliseconds */
+    public static final String SOURCE_MTIME = "src-mtime";
+
+    private SyncMetadata() {
+    }
+
+    /**
+     * Reads the recorded source modification time from listing or stat user metadata, whose keys
+     * may or may not carry the {@code x-amz-meta-} prefix.
+     *
+     * @return The modification time, or -1 if not recorded.
+     */
+    public static long sourceMtime(Map<String, String> userMetadata) {
+        if (userMetadata == null) {
+            return -1;
+        }
+        for (Map.Entry<String, String> entry : userMetadata.entrySet()) {
+            String key = entry.getKey().toLowerCase(Locale.ROOT);
+            if (key.equals(SOURCE_MTIME) || key.equals("x-amz-meta-" + SOURCE_MTIME)) {
+                try {
+                    return Long.parseLong(entry.getValue().trim());
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the ETag without quotes, or null if it is not a plain MD5 (e.g. of a multipart upload).
+     */
+    public static String md5Etag(String etag) {
+        if (etag == null) {
+            return null;
+        }
+        String value = etag.replace("\"", "");
+        return value.length() == 32 && value.indexOf('-') < 0 ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Computes the hex MD5 of a file.
+     */
+    public static String md5Hex(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Whether a local file and a remote object hold the same content.
+     *
+     * @param file         The local file.
+     * @param size         The object size.
+     * @param etag         The object ETag.
+     * @param userMetadata The object user metadata.
+     */
+    public static boolean sameContent(LocalFile file, long size, String etag, Map<String, String> userMetadata)
+            throws IOException {
+        if (file.getSize() != size) {
+            return false;
+        }
+        if (sourceMtime(userMetadata) == file.getLastModified()) {
+            return true;
+        }
+        String md5 = md5Etag(etag);
+        return md5 != null && md5.equals(md5Hex(file.getPath()));
+    }
+}
@@ -0,0 +1,113 @@
+package com.minio.minio_test.tracing;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens a client span per HTTP request a MinIO client sends, with bucket, object and byte counts.
+ * The span covers the request until the response headers arrive; the bytes of a streamed body
+ * are counted by the span of the step consuming it. Requests made outside a trace, such as health
+ * checks and background jobs, are not traced.
+ * <p>
+ * The blocking MinIO client sends its requests through the asynchronous OkHttp dispatcher, so the
+ * interceptor runs on a dispatcher thread. The span of the caller is therefore captured when the
+ * call is created, by registering this class as the event listener factory too, and used as parent.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/10
+ */
+public class BackendTracingInterceptor extends EventListener implements Interceptor, EventListener.Factory {
+
+    private final Tracer tracer;
+
+    private final Map<Call, Span> parents = new ConcurrentHashMap<>();
+
+    public BackendTracingInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public EventListener create(Call call) {
+        Span parent = TraceContext.current();
+        if (parent != null) {
+            parents.put(call, parent);
+        }
+        return this;
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        parents.remove(call);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        parents.remove(call);
+    }
+
+    @Override
+    public void canceled(Call call) {
+        parents.remove(call);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Span caller = TraceContext.current();
+        Span parent = caller != null ? caller : parents.get(chain.call());
+        if (parent == null) {
+            return chain.proceed(chain.request());
+        }
+        TraceContext.restore(parent);
+        try {
+            return trace(chain);
+        } finally {
+            TraceContext.restore(caller);
+        }
+    }
+
+    private Response trace(Chain chain) throws IOException {
+        Request request = chain.request();
+        HttpUrl url = request.url();
+        Span span = tracer.start("minio " + request.method(), Span.Kind.CLIENT);
+        span.setAttribute("http.method", request.method())
+                .setAttribute("server.address", url.host() + ":" + url.port());
+        List<String> segments = url.pathSegments();
+        if (!segments.isEmpty() && !segments.get(0).isEmpty()) {
+            span.setAttribute("minio.bucket", segments.get(0));
+            if (segments.size() > 1) {
+                span.setAttribute("minio.object", String.join("/", segments.subList(1, segments.size())));
+            }
+        }
+        if (url.querySize() > 0) {
+            span.setAttribute("url.query", url.encodedQuery());
+        }
+        if (request.body() != null) {
+            span.setAttribute("http.request_content_length", request.body().contentLength());
+        }
+        try {
+            Response response = chain.proceed(request);
+            span.setAttribute("http.status_code", response.code());
+            String length = response.header("Content-Length");
+            if (length != null) {
+                span.setAttribute("http.response_content_length", length);
+            }
+            span.setStatus(response.code() >= 500 ? Span.Status.ERROR : Span.Status.OK);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.minio.minio_test.tracing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Opens a span per controller method, named after it, with the bucket and object of the request
+ * as attributes.
+ *
+ * @author Zhang
+ * @date 2025/03/10
+ */
+public class HandlerTracingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SPAN_ATTRIBUTE = HandlerTracingInterceptor.class.getName() + ".span";
+
+    private final Tracer tracer;
+
+    public HandlerTracingInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            Span span = tracer.start(handlerMethod.getBeanType().getSimpleName() + "."
+                    + handlerMethod.getMethod().getName(), Span.Kind.INTERNAL);
+            span.setAttribute("minio.bucket", request.getParameter("bucketName"));
+            String object = request.getParameter("fileName");
+            span.setAttribute("minio.object", object != null ? object : request.getParameter("objectName"));
+            request.setAttribute(SPAN_ATTRIBUTE, span);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        end(request, null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        end(request, ex);
+    }
+
+    private static void end(HttpServletRequest request, Exception ex) {
+        if (request.getAttribute(SPAN_ATTRIBUTE) instanceof Span span) {
+            request.removeAttribute(SPAN_ATTRIBUTE);
+            span.recordError(ex);
+            span.end();
+        }
+    }
+}
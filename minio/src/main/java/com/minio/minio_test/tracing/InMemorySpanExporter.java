@@ -0,0 +1,61 @@
+package com.minio.minio_test.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent ended spans in memory, for tests and for inspecting recent traces.
+ *
+ * @author Zhang
+ * @date 2025/03/10
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final int capacity;
+
+    private final Deque<Span> spans = new ArrayDeque<>();
+
+    /**
+     * @param capacity Number of spans kept; the oldest are dropped first.
+     */
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void export(Span span) {
+        if (spans.size() >= capacity) {
+            spans.removeFirst();
+        }
+        spans.addLast(span);
+    }
+
+    /**
+     * Returns the kept spans in the order they ended.
+     */
+    public synchronized List<Span> getFinishedSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    /**
+     * Returns the kept spans of one trace in the order they ended.
+     */
+    public synchronized List<Span> getFinishedSpans(String traceId) {
+        List<Span> result = new ArrayList<>();
+        for (Span span : spans) {
+            if (span.getTraceId().equals(traceId)) {
+                result.add(span);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops all kept spans.
+     */
+    public synchronized void reset() {
+        spans.clear();
+    }
+}
@@ -0,0 +1,25 @@
+package com.minio.minio_test.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes every ended span as one log line at DEBUG level.
+ *
+ * @author Zhang
+ * @date 2025/03/10
+ */
+public class LoggingSpanExporter implements SpanExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoggingSpanExporter.class);
+
+    @Override
+    public void export(Span span) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Span '{}' {} trace={} span={} parent={} {} us {}{} {}", span.getName(), span.getKind(),
+                    span.getTraceId(), span.getSpanId(), span.getParentSpanId(), span.getDurationNanos() / 1000,
+                    span.getStatus(), span.getStatusMessage() != null ? " (" + span.getStatusMessage() + ")" : "",
+                    span.getAttributes());
+        }
+    }
+}
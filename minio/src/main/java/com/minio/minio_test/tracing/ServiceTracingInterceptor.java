@@ -0,0 +1,42 @@
+package com.minio.minio_test.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Wraps every service call in a span named after the service interface and method,
+ * e.g. {@code MinioService.upload}.
+ *
+ * @author Zhang
+ * @date 2025/03/10
+ */
+public class ServiceTracingInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<Tracer> tracer;
+
+    /**
+     * @param tracer The tracer, looked up lazily as the interceptor is created before regular beans.
+     */
+    public ServiceTracingInterceptor(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String service = AopUtils.getTargetClass(invocation.getThis()).getSimpleName();
+        if (service.endsWith("Impl")) {
+            service = service.substring(0, service.length() - "Impl".length());
+        }
+        Span span = tracer.getObject().start(service + "." + invocation.getMethod().getName(), Span.Kind.INTERNAL);
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
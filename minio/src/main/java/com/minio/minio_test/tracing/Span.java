@@ -0,0 +1,208 @@
+package com.minio.minio_test.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A timed operation within a trace, in the OpenTelemetry model: trace and span IDs, a parent,
+ * a kind, attributes and a status.
+ * <p>
+ * Starting a span through the {@link Tracer} makes it current on the starting thread, and ending it
+ * restores the span that was current before. Spans that are not sampled still carry IDs, so log
+ * lines are correlated either way, but record no attributes and are not exported.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/10
+ */
+public final class Span implements AutoCloseable {
+
+    public enum Kind {
+        /** Handling of an incoming request */
+        SERVER,
+        /** A step inside the application */
+        INTERNAL,
+        /** An outgoing request */
+        CLIENT
+    }
+
+    public enum Status {
+        UNSET,
+        OK,
+        ERROR
+    }
+
+    /** Span handed out while tracing is disabled; every operation on it is a no-op */
+    static final Span NOOP = new Span(null, "", "", null, "", Kind.INTERNAL, false, null);
+
+    private final Tracer tracer;
+
+    private final String traceId;
+
+    private final String spanId;
+
+    private final String parentSpanId;
+
+    private final Kind kind;
+
+    private final boolean sampled;
+
+    /** Span that was current when this one started, restored when it ends */
+    private final Span previous;
+
+    private final long startEpochMillis = System.currentTimeMillis();
+
+    private final long startNanos = System.nanoTime();
+
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+
+    private final AtomicBoolean ended = new AtomicBoolean();
+
+    private volatile String name;
+
+    private volatile long durationNanos = -1;
+
+    private volatile Status status = Status.UNSET;
+
+    private volatile String statusMessage;
+
+    Span(Tracer tracer, String traceId, String spanId, String parentSpanId, String name, Kind kind, boolean sampled,
+         Span previous) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.sampled = sampled;
+        this.previous = previous;
+    }
+
+    /**
+     * Sets an attribute; ignored if the span is not sampled or the value is null.
+     *
+     * @return This span.
+     */
+    public Span setAttribute(String key, Object value) {
+        if (sampled && value != null && !ended.get()) {
+            synchronized (attributes) {
+                attributes.put(key, value);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Renames the span, e.g. once the route of a request is known.
+     */
+    public Span updateName(String name) {
+        if (tracer != null) {
+            this.name = name;
+        }
+        return this;
+    }
+
+    /**
+     * Marks the span as failed with an exception.
+     */
+    public Span recordError(Throwable error) {
+        if (tracer != null && error != null) {
+            status = Status.ERROR;
+            statusMessage = error.getClass().getSimpleName() + ": " + error.getMessage();
+        }
+        return this;
+    }
+
+    /**
+     * Sets the status unless an error has been recorded.
+     */
+    public Span setStatus(Status status) {
+        if (tracer != null && this.status != Status.ERROR) {
+            this.status = status;
+        }
+        return this;
+    }
+
+    /**
+     * Ends the span, restores the previous span on this thread and exports the span if sampled.
+     * Ending a span again has no effect.
+     */
+    public void end() {
+        if (tracer == null || !ended.compareAndSet(false, true)) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        tracer.onEnd(this);
+    }
+
+    @Override
+    public void close() {
+        end();
+    }
+
+    /**
+     * The W3C {@code traceparent} value of this span.
+     */
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public boolean isNoop() {
+        return tracer == null;
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    /**
+     * Duration in nanoseconds, or -1 while the span has not ended.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    public Map<String, Object> getAttributes() {
+        synchronized (attributes) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        }
+    }
+
+    Span getPrevious() {
+        return previous;
+    }
+}
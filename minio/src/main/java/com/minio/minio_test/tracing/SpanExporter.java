@@ -0,0 +1,17 @@
+package com.minio.minio_test.tracing;
+
+/**
+ * Receives sampled spans as they end.
+ *
+ * @author Zhang
+ * @date 2025/03/10
+ */
+public interface SpanExporter {
+
+    /**
+     * Exports an ended span. Called on the thread that ended it, so it must not block.
+     *
+     * @param span The ended span.
+     */
+    void export(Span span);
+}
@@ -0,0 +1,47 @@
+package com.minio.minio_test.tracing;
+
+import org.slf4j.MDC;
+
+/**
+ * Holds the current span of a thread and mirrors its IDs into the logging MDC as
+ * {@code traceId} and {@code spanId}, so log lines can be correlated with traces.
+ *
+ * @author Zhang
+ * @date 2025/03/10
+ */
+public final class TraceContext {
+
+    public static final String TRACE_ID_KEY = "traceId";
+
+    public static final String SPAN_ID_KEY = "spanId";
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private TraceContext() {
+    }
+
+    /**
+     * Returns the current span of this thread, or null if none.
+     */
+    public static Span current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes a span current on this thread, e.g. one captured on another thread, or clears the
+     * current span if null.
+     *
+     * @param span The span returned by {@link #current()}.
+     */
+    public static void restore(Span span) {
+        if (span == null || span.isNoop()) {
+            CURRENT.remove();
+            MDC.remove(TRACE_ID_KEY);
+            MDC.remove(SPAN_ID_KEY);
+        } else {
+            CURRENT.set(span);
+            MDC.put(TRACE_ID_KEY, span.getTraceId());
+            MDC.put(SPAN_ID_KEY, span.getSpanId());
+        }
+    }
+}
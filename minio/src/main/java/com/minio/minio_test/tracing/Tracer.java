@@ -0,0 +1,151 @@
+package com.minio.minio_test.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Starts spans and hands ended ones to the exporters.
+ * <p>
+ * Sampling is decided once per trace at its root: a trace continued from an incoming
+ * {@code traceparent} follows the caller's decision, a new trace is sampled with the configured
+ * ratio, derived from the trace ID so every service sampling the same trace decides alike.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/10
+ */
+public class Tracer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Tracer.class);
+
+    private final boolean enabled;
+
+    private final double sampleRatio;
+
+    private final List<SpanExporter> exporters;
+
+    /**
+     * @param enabled     Whether spans are created at all.
+     * @param sampleRatio Share of new traces that are sampled, from 0 to 1.
+     * @param exporters   Receivers of sampled spans.
+     */
+    public Tracer(boolean enabled, double sampleRatio, List<SpanExporter> exporters) {
+        this.enabled = enabled;
+        this.sampleRatio = sampleRatio;
+        this.exporters = List.copyOf(exporters);
+    }
+
+    /**
+     * Starts a span as a child of the current span, or as the root of a new trace, and makes it current.
+     *
+     * @param name The span name.
+     * @param kind The span kind.
+     * @return The started span; end it on the same thread.
+     */
+    public Span start(String name, Span.Kind kind) {
+        if (!enabled) {
+            return Span.NOOP;
+        }
+        Span parent = TraceContext.current();
+        if (parent == null) {
+            String traceId = randomId(16);
+            return activate(new Span(this, traceId, randomId(8), null, name, kind, sample(traceId), null));
+        }
+        return activate(new Span(this, parent.getTraceId(), randomId(8), parent.getSpanId(), name, kind,
+                parent.isSampled(), parent));
+    }
+
+    /**
+     * Starts the server span of an incoming request and makes it current, continuing the caller's
+     * trace if the request carries a valid W3C {@code traceparent}.
+     *
+     * @param name        The span name.
+     * @param traceparent The {@code traceparent} header, or null.
+     * @return The started span.
+     */
+    public Span startServer(String name, String traceparent) {
+        if (!enabled) {
+            return Span.NOOP;
+        }
+        Span previous = TraceContext.current();
+        String[] parts = traceparent != null ? traceparent.trim().split("-") : new String[0];
+        if (parts.length >= 4 && parts[1].length() == 32 && parts[2].length() == 16 && parts[3].length() == 2
+                && isHex(parts[1]) && isHex(parts[2]) && isHex(parts[3])) {
+            boolean sampled = (Integer.parseInt(parts[3], 16) & 1) == 1;
+            return activate(new Span(this, parts[1], randomId(8), parts[2], name, Span.Kind.SERVER, sampled, previous));
+        }
+        String traceId = randomId(16);
+        return activate(new Span(this, traceId, randomId(8), null, name, Span.Kind.SERVER, sample(traceId), previous));
+    }
+
+    /**
+     * Returns the current span, or a no-op span if there is none.
+     */
+    public Span currentSpan() {
+        Span current = TraceContext.current();
+        return current != null ? current : Span.NOOP;
+    }
+
+    void onEnd(Span span) {
+        if (TraceContext.current() == span) {
+            TraceContext.restore(span.getPrevious());
+        }
+        if (!span.isSampled()) {
+            return;
+        }
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.export(span);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Span exporter {} failed: {}", exporter.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private boolean sample(String traceId) {
+        if (sampleRatio >= 1) {
+            return true;
+        }
+        if (sampleRatio <= 0) {
+            return false;
+        }
+        // The low 63 bits of the trace ID are uniformly random
+        long value = Long.parseUnsignedLong(traceId.substring(16), 16) & Long.MAX_VALUE;
+        return value < (long) (sampleRatio * Long.MAX_VALUE);
+    }
+
+    private static Span activate(Span span) {
+        TraceContext.restore(span);
+        return span;
+    }
+
+    private static String randomId(int bytes) {
+        byte[] id = new byte[bytes];
+        do {
+            ThreadLocalRandom.current().nextBytes(id);
+        } while (isZero(id));
+        return HexFormat.of().formatHex(id);
+    }
+
+    private static boolean isZero(byte[] id) {
+        for (byte b : id) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
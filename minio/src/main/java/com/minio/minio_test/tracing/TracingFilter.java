@@ -0,0 +1,97 @@
+package com.minio.minio_test.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Opens the server span of every request, continuing the caller's trace from its
+ * {@code traceparent} header and returning the trace ID in {@code X-Trace-Id}.
+ * <p>
+ * Multipart bodies are parsed here, in a span of their own, instead of lazily by the dispatcher,
+ * so time spent receiving uploads is told apart from time spent in the handler. A parse failure
+ * is left for the dispatcher to report as before.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/10
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String method = request.getMethod();
+        Span span = tracer.startServer("HTTP " + method, request.getHeader(TRACEPARENT_HEADER));
+        if (!span.isNoop()) {
+            response.setHeader(TRACE_ID_HEADER, span.getTraceId());
+        }
+        span.setAttribute("http.method", method)
+                .setAttribute("url.path", request.getRequestURI())
+                .setAttribute("client.address", request.getRemoteAddr());
+        try {
+            if (isMultipart(request)) {
+                parseMultipart(request);
+            }
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (route != null) {
+                span.updateName("HTTP " + method + " " + route);
+                span.setAttribute("http.route", route);
+            }
+            span.setAttribute("http.status_code", response.getStatus());
+            if (request.isAsyncStarted()) {
+                span.setAttribute("http.async", true);
+            }
+            span.setStatus(response.getStatus() >= 500 ? Span.Status.ERROR : Span.Status.OK);
+            span.end();
+            TraceContext.restore(null);
+        }
+    }
+
+    private void parseMultipart(HttpServletRequest request) {
+        Span span = tracer.start("multipart.parse", Span.Kind.INTERNAL);
+        try {
+            Collection<Part> parts = request.getParts();
+            long bytes = 0;
+            for (Part part : parts) {
+                bytes += part.getSize();
+            }
+            span.setAttribute("multipart.parts", parts.size()).setAttribute("multipart.bytes", bytes);
+        } catch (Exception e) {
+            // The container keeps the failure and the dispatcher reports it when it asks again
+            span.recordError(e);
+        } finally {
+            span.end();
+        }
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null
+                && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.MULTIPART_FORM_DATA_VALUE);
+    }
+}
@@ -0,0 +1,284 @@
+package com.minio.minio_test.transfer;
+
+import com.minio.minio_test.config.TransferProperties;
+import com.minio.minio_test.qos.TransferScheduler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Streams downloads with non-blocking servlet I/O.
+ * <p>
+ * The request thread only fetches the object and writes the headers. The body is then copied by a
+ * {@link WriteListener}: whenever the client can take more data, a container thread reads the next
+ * buffer from MinIO and writes it, and returns as soon as the socket would block, so a slow client
+ * holds a connection but no thread. Bandwidth waits of the QoS shaper are scheduled instead of
+ * slept. Copy buffers come from a {@link BufferPool} and are sized by the object. A download is
+ * closed once the client has taken no data for the idle timeout; its total duration is not limited.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/21
+ */
+@Component
+public class AsyncDownloader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncDownloader.class);
+
+    @Resource
+    private TransferProperties transferProperties;
+
+    @Resource
+    private TransferScheduler transferScheduler;
+
+    private BufferPool bufferPool;
+
+    /** Resumes downloads after bandwidth waits and checks them for idleness */
+    private ScheduledExecutorService downloadScheduler;
+
+    @PostConstruct
+    public void init() {
+        int[] sizes = transferProperties.getDownloadBufferSizes().stream()
+                .mapToInt(size -> (int) size.toBytes())
+                .toArray();
+        bufferPool = new BufferPool(sizes, transferProperties.getPooledDownloadBuffers());
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("download-scheduler-");
+        factory.setDaemon(true);
+        downloadScheduler = Executors.newSingleThreadScheduledExecutor(factory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        downloadScheduler.shutdownNow();
+    }
+
+    /**
+     * Continues a download asynchronously once its headers are set.
+     *
+     * @param content    The object content; owned by the download if it is started.
+     * @param bucketName The bucket downloaded from.
+     * @param objectName The object downloaded.
+     * @param size       The content length, or -1 if unknown.
+     * @param response   The response, with its headers set.
+     * @return true if the download continues asynchronously; false if asynchronous downloads are
+     * disabled or not supported by the request, and the caller must copy the content itself.
+     * @throws IOException if the response output stream cannot be opened.
+     */
+    public boolean start(InputStream content, String bucketName, String objectName, long size,
+                         HttpServletResponse response) throws IOException {
+        if (!transferProperties.isAsyncDownloads()) {
+            return false;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)
+                || !servletAttributes.getRequest().isAsyncSupported()) {
+            return false;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        ServletOutputStream out = response.getOutputStream();
+
+        // The shaper identifies the client from the request, so it is opened on the request thread
+        TransferScheduler.Pacer pacer = transferScheduler.pace(bucketName, size);
+        AsyncContext context;
+        try {
+            context = request.startAsync(request, response);
+        } catch (IllegalStateException e) {
+            pacer.close();
+            return false;
+        }
+        // The container timeout would cap the whole transfer; idleness is checked by the transfer instead
+        context.setTimeout(0);
+        Transfer transfer = new Transfer(context, out, content, pacer, bufferPool.acquire(size), bucketName, objectName);
+        context.addListener(transfer);
+        out.setWriteListener(transfer);
+        transfer.scheduleIdleCheck(transferProperties.getAsyncDownloadIdleTimeout().toNanos());
+        return true;
+    }
+
+    /**
+     * The state of one download, driven by one container thread at a time: by write callbacks
+     * while the client is slower than MinIO, by a dispatch after each wait for the shaper.
+     */
+    private final class Transfer implements WriteListener, AsyncListener {
+
+        private final AsyncContext context;
+
+        private final ServletOutputStream out;
+
+        private final InputStream content;
+
+        private final TransferScheduler.Pacer pacer;
+
+        private final byte[] buffer;
+
+        private final String bucketName;
+
+        private final String objectName;
+
+        /** Bytes read into the buffer but held back by the shaper */
+        private int pending;
+
+        private long bytes;
+
+        /** Time of the last write the client took, or until which the shaper holds the transfer back */
+        private volatile long lastProgress = System.nanoTime();
+
+        private boolean finished;
+
+        private ScheduledFuture<?> idleCheck;
+
+        private Transfer(AsyncContext context, ServletOutputStream out, InputStream content,
+                         TransferScheduler.Pacer pacer, byte[] buffer, String bucketName, String objectName) {
+            this.context = context;
+            this.out = out;
+            this.content = content;
+            this.pacer = pacer;
+            this.buffer = buffer;
+            this.bucketName = bucketName;
+            this.objectName = objectName;
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            while (out.isReady()) {
+                int read = IOUtils.read(content, buffer);
+                if (read == 0) {
+                    finish(null);
+                    return;
+                }
+                long wait = pacer.admit(read);
+                if (wait > 0) {
+                    // The container only calls back after isReady() returned false, so the write
+                    // it allowed is made once the wait is over, on a container thread
+                    pending = read;
+                    lastProgress = System.nanoTime() + wait;
+                    downloadScheduler.schedule(this::dispatchResume, wait, TimeUnit.NANOSECONDS);
+                    return;
+                }
+                out.write(buffer, 0, read);
+                bytes += read;
+                lastProgress = System.nanoTime();
+            }
+        }
+
+        private void checkIdle() {
+            long timeout = transferProperties.getAsyncDownloadIdleTimeout().toNanos();
+            long idle = System.nanoTime() - lastProgress;
+            if (idle >= timeout) {
+                finish(new TimeoutException("Download made no progress for "
+                        + transferProperties.getAsyncDownloadIdleTimeout()));
+            } else {
+                scheduleIdleCheck(timeout - idle);
+            }
+        }
+
+        private synchronized void scheduleIdleCheck(long delay) {
+            if (!finished) {
+                idleCheck = downloadScheduler.schedule(this::checkIdle, delay, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void dispatchResume() {
+            try {
+                context.start(this::resume);
+            } catch (IllegalStateException e) {
+                // The request timed out or failed while waiting
+                finish(e);
+            }
+        }
+
+        private void resume() {
+            if (isFinished()) {
+                return;
+            }
+            try {
+                out.write(buffer, 0, pending);
+                bytes += pending;
+                pending = 0;
+                lastProgress = System.nanoTime();
+                onWritePossible();
+            } catch (Throwable e) {
+                finish(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            finish(t);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            finish(new TimeoutException("Download timed out"));
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            finish(event.getThrowable());
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // Completed by finish(), or by the container after an error already handled
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Not restarted
+        }
+
+        private synchronized boolean isFinished() {
+            return finished;
+        }
+
+        private void finish(Throwable error) {
+            synchronized (this) {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                if (idleCheck != null) {
+                    idleCheck.cancel(false);
+                }
+            }
+            IOUtils.closeQuietly(content);
+            pacer.close();
+            if (error == null) {
+                // After a failure the buffer may still be in use by the thread that failed
+                bufferPool.release(buffer);
+                LOGGER.info("File download successful. File: {}, Bucket: {}, Bytes: {}", objectName, bucketName, bytes);
+            } else {
+                LOGGER.warn("Download of '{}' from bucket '{}' aborted after {} bytes: {}",
+                        objectName, bucketName, bytes, error.toString());
+            }
+            try {
+                context.complete();
+            } catch (IllegalStateException e) {
+                // The container already completed the request after a timeout or error
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.minio.minio_test.transfer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reusable copy buffers in a few fixed sizes.
+ * <p>
+ * A transfer takes the smallest buffer that holds it whole, or the largest, so a 3KB object does
+ * not pin a 256KB buffer and a large one is copied in few chunks. Each size keeps a bounded number
+ * of idle buffers; buffers released beyond that, and buffers of unknown size, are dropped.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/21
+ */
+public final class BufferPool {
+
+    private final int[] sizes;
+
+    private final List<BlockingQueue<byte[]>> idle;
+
+    /**
+     * @param sizes    The buffer sizes in bytes.
+     * @param capacity Idle buffers kept per size.
+     */
+    public BufferPool(int[] sizes, int capacity) {
+        this.sizes = sizes.clone();
+        Arrays.sort(this.sizes);
+        this.idle = new ArrayList<>(this.sizes.length);
+        for (int i = 0; i < this.sizes.length; i++) {
+            idle.add(new ArrayBlockingQueue<>(capacity));
+        }
+    }
+
+    /**
+     * Takes a buffer for a transfer.
+     *
+     * @param size The transfer size, or -1 if unknown.
+     * @return An idle buffer, or a new one if none of the size is idle.
+     */
+    public byte[] acquire(long size) {
+        int index = sizes.length - 1;
+        if (size >= 0) {
+            for (int i = 0; i < sizes.length; i++) {
+                if (size <= sizes[i]) {
+                    index = i;
+                    break;
+                }
+            }
+        }
+        byte[] buffer = idle.get(index).poll();
+        return buffer != null ? buffer : new byte[sizes[index]];
+    }
+
+    /**
+     * Returns a buffer for reuse.
+     *
+     * @param buffer A buffer taken from this pool.
+     */
+    public void release(byte[] buffer) {
+        int index = Arrays.binarySearch(sizes, buffer.length);
+        if (index >= 0) {
+            idle.get(index).offer(buffer);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.minio.minio_test.transfer;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Request body streaming one part of a file from a memory-mapped slice, so the part is sent
+ * straight from the page cache without being copied into a heap array first. The body can be
+ * written more than once, as OkHttp does when it retries a request.
+ *
+ * @author Zhang
+ * @date 2025/02/28
+ */
+public class MappedPartBody extends RequestBody {
+
+    private final ByteBuffer slice;
+
+    public MappedPartBody(ByteBuffer slice) {
+        this.slice = slice;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return null;
+    }
+
+    @Override
+    public long contentLength() {
+        return slice.remaining();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        ByteBuffer buffer = slice.duplicate();
+        while (buffer.hasRemaining()) {
+            sink.write(buffer);
+        }
+    }
+}
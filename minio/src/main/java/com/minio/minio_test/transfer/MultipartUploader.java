@@ -0,0 +1,388 @@
+package com.minio.minio_test.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import com.minio.minio_test.cluster.MinioClientPool;
+import com.minio.minio_test.cluster.MinioNode;
+import com.minio.minio_test.config.TransferProperties;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.ListPartsResponse;
+import io.minio.ObjectWriteResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.MinioException;
+import io.minio.http.Method;
+import io.minio.messages.Part;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Uploads large local files as parallel S3 multipart uploads.
+ * <p>
+ * The file is split into parts whose size and upload parallelism are derived from the file size.
+ * Each part is sent from a memory-mapped slice of the file through a pre-signed part URL, so no
+ * part is copied into the heap or hashed before sending, and parts are spread over the nodes of
+ * the client pool. Completed parts are recorded in a checkpoint file; uploading the same file to
+ * the same object again resumes the multipart upload and only sends the missing parts.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/02/28
+ */
+@Component
+public class MultipartUploader {
+
+    /** S3 limit on the number of parts of one upload */
+    private static final int MAX_PARTS = 10000;
+
+    private static final long MIB = 1024L * 1024L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultipartUploader.class);
+
+    @Resource
+    private TransferProperties transferProperties;
+
+    @Resource
+    private MinioClientPool clientPool;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    private OkHttpClient httpClient;
+
+    private ExecutorService uploadExecutor;
+
+    @PostConstruct
+    public void init() {
+        httpClient = new OkHttpClient.Builder()
+                .connectTimeout(10, TimeUnit.SECONDS)
+                .writeTimeout(5, TimeUnit.MINUTES)
+                .readTimeout(5, TimeUnit.MINUTES)
+                .build();
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("multipart-upload-");
+        factory.setDaemon(true);
+        uploadExecutor = Executors.newFixedThreadPool(transferProperties.getUploadThreads(), factory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdownNow();
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    /**
+     * Whether a file is large enough to be uploaded with this uploader.
+     *
+     * @param fileSize The file size in bytes.
+     * @return true if the multipart threshold is reached.
+     */
+    public boolean accepts(long fileSize) {
+        return fileSize >= transferProperties.getMultipartThreshold().toBytes();
+    }
+
+    /**
+     * Uploads a file, resuming a previous interrupted upload of it if there is one.
+     *
+     * @param bucketName The bucket name.
+     * @param objectName The object name.
+     * @param file       The local file.
+     * @return The ETag of the uploaded object.
+     */
+    public String upload(String bucketName, String objectName, Path file)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        return upload(bucketName, objectName, file, Map.of());
+    }
+
+    /**
+     * Uploads a file with user metadata, resuming a previous interrupted upload of it if there is one.
+     *
+     * @param bucketName   The bucket name.
+     * @param objectName   The object name.
+     * @param file         The local file.
+     * @param userMetadata User metadata of the object, without the {@code x-amz-meta-} prefix.
+     * @return The ETag of the uploaded object.
+     */
+    public String upload(String bucketName, String objectName, Path file, Map<String, String> userMetadata)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        long fileSize = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        long partSize = partSize(fileSize);
+        int partCount = (int) ((fileSize + partSize - 1) / partSize);
+        int parallelism = Math.min(transferProperties.getMaxParallelism(), partCount);
+
+        Path checkpointFile = checkpointFile(bucketName, objectName, file);
+        UploadCheckpoint checkpoint = resume(checkpointFile, fileSize, lastModified, partSize);
+        if (checkpoint == null) {
+            checkpoint = new UploadCheckpoint();
+            checkpoint.setBucketName(bucketName);
+            checkpoint.setObjectName(objectName);
+            checkpoint.setFilePath(file.toAbsolutePath().toString());
+            checkpoint.setFileSize(fileSize);
+            checkpoint.setLastModified(lastModified);
+            checkpoint.setPartSize(partSize);
+            checkpoint.setUploadId(createUpload(bucketName, objectName, file, userMetadata));
+            saveCheckpoint(checkpointFile, checkpoint);
+        }
+        String uploadId = checkpoint.getUploadId();
+        Map<Integer, String> done = new ConcurrentSkipListMap<>(checkpoint.getParts());
+        LOGGER.info("Multipart upload of '{}' to {}/{}: {} bytes in {} part(s) of {} bytes, {} already uploaded, parallelism {}.",
+                file, bucketName, objectName, fileSize, partCount, partSize, done.size(), parallelism);
+
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        List<Future<?>> tasks = new ArrayList<>();
+        UploadCheckpoint progress = checkpoint;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (int partNumber = 1; partNumber <= partCount && failure.get() == null; partNumber++) {
+                if (done.containsKey(partNumber)) {
+                    continue;
+                }
+                int number = partNumber;
+                long offset = (number - 1) * partSize;
+                long length = Math.min(partSize, fileSize - offset);
+                permits.acquire();
+                tasks.add(uploadExecutor.submit(() -> {
+                    try {
+                        done.put(number, uploadPart(channel, bucketName, objectName, uploadId, number, offset, length));
+                        saveProgress(checkpointFile, progress, done);
+                    } catch (Exception e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            tasks.forEach(task -> task.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while uploading " + file);
+        } catch (ExecutionException e) {
+            failure.compareAndSet(null, new IOException(e.getCause()));
+        }
+        if (failure.get() != null) {
+            // The checkpoint is kept, so uploading the file again only sends the missing parts
+            throw rethrow(failure.get());
+        }
+
+        Part[] parts = done.entrySet().stream()
+                .map(entry -> new Part(entry.getKey(), entry.getValue()))
+                .toArray(Part[]::new);
+        ObjectWriteResponse response = await(clientPool.node().getAsyncClient()
+                .completeMultipartUploadAsync(bucketName, null, objectName, uploadId, parts, null, null));
+        Files.deleteIfExists(checkpointFile);
+        LOGGER.info("Multipart upload of '{}' to {}/{} completed.", file, bucketName, objectName);
+        return response.etag();
+    }
+
+    /**
+     * Picks the part size: the file split into the target number of parts, rounded up to a power
+     * of two MiB, within the configured bounds and the S3 limit of 10000 parts.
+     */
+    long partSize(long fileSize) {
+        long target = Math.max(1, (fileSize + transferProperties.getTargetParts() - 1) / transferProperties.getTargetParts());
+        long size = MIB;
+        while (size < target) {
+            size <<= 1;
+        }
+        size = Math.max(transferProperties.getMinPartSize().toBytes(), Math.min(transferProperties.getMaxPartSize().toBytes(), size));
+        long smallest = (fileSize + MAX_PARTS - 1) / MAX_PARTS;
+        return Math.max(size, smallest);
+    }
+
+    private String uploadPart(FileChannel channel, String bucketName, String objectName, String uploadId,
+                              int partNumber, long offset, long length) throws Exception {
+        Map<String, String> query = Map.of("partNumber", String.valueOf(partNumber), "uploadId", uploadId);
+        Exception last = null;
+        for (int attempt = 1; attempt <= transferProperties.getPartAttempts(); attempt++) {
+            MinioNode node = clientPool.acquire(List.of());
+            boolean failed = true;
+            try {
+                String url = node.getClient().getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                        .method(Method.PUT)
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .extraQueryParams(query)
+                        .expiry((int) transferProperties.getPartUrlExpiry().toSeconds())
+                        .build());
+                Request request = new Request.Builder()
+                        .url(url)
+                        .put(new MappedPartBody(channel.map(FileChannel.MapMode.READ_ONLY, offset, length)))
+                        .build();
+                try (Response response = httpClient.newCall(request).execute()) {
+                    if (!response.isSuccessful()) {
+                        String body = response.body() != null ? response.body().string() : "";
+                        throw new IOException("Part " + partNumber + " upload returned HTTP " + response.code() + ": " + body);
+                    }
+                    failed = false;
+                    return response.header("ETag");
+                }
+            } catch (IOException e) {
+                last = e;
+                LOGGER.warn("Upload of part {} of {}/{} failed (attempt {}): {}",
+                        partNumber, bucketName, objectName, attempt, e.getMessage());
+            } finally {
+                clientPool.release(node);
+                clientPool.onResult(node, failed);
+            }
+            Thread.sleep(Math.min(10_000L, 500L << (attempt - 1)));
+        }
+        throw last;
+    }
+
+    private String createUpload(String bucketName, String objectName, Path file, Map<String, String> userMetadata)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        Multimap<String, String> headers = HashMultimap.create();
+        String contentType = Files.probeContentType(file);
+        headers.put("Content-Type", contentType != null ? contentType : "application/octet-stream");
+        userMetadata.forEach((key, value) -> headers.put("x-amz-meta-" + key, value));
+        return await(clientPool.node().getAsyncClient()
+                .createMultipartUploadAsync(bucketName, null, objectName, headers, null))
+                .result().uploadId();
+    }
+
+    /**
+     * Loads the checkpoint of a previous upload of the same file and reconciles it with the parts
+     * the server actually holds. Returns null if there is nothing to resume.
+     */
+    private UploadCheckpoint resume(Path checkpointFile, long fileSize, long lastModified, long partSize)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        if (!Files.exists(checkpointFile)) {
+            return null;
+        }
+        UploadCheckpoint checkpoint;
+        try {
+            checkpoint = objectMapper.readValue(checkpointFile.toFile(), UploadCheckpoint.class);
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unreadable upload checkpoint '{}': {}", checkpointFile, e.getMessage());
+            return null;
+        }
+        if (!checkpoint.matches(fileSize, lastModified, partSize)) {
+            LOGGER.info("Source file changed since the last upload attempt, starting over: {}", checkpoint.getFilePath());
+            return null;
+        }
+
+        Map<Integer, String> uploaded = new ConcurrentSkipListMap<>();
+        int marker = 0;
+        try {
+            while (true) {
+                ListPartsResponse response = await(clientPool.node().getAsyncClient().listPartsAsync(
+                        checkpoint.getBucketName(), null, checkpoint.getObjectName(), 1000, marker,
+                        checkpoint.getUploadId(), null, null));
+                for (Part part : response.result().partList()) {
+                    long expected = Math.min(partSize, fileSize - (part.partNumber() - 1L) * partSize);
+                    if (part.partSize() == expected) {
+                        uploaded.put(part.partNumber(), part.etag());
+                    }
+                }
+                if (!response.result().isTruncated()) {
+                    break;
+                }
+                marker = response.result().nextPartNumberMarker();
+            }
+        } catch (ErrorResponseException e) {
+            if (e.errorResponse() != null && "NoSuchUpload".equals(e.errorResponse().code())) {
+                LOGGER.info("Multipart upload {} no longer exists, starting over.", checkpoint.getUploadId());
+                return null;
+            }
+            throw e;
+        }
+        checkpoint.setParts(uploaded);
+        return checkpoint;
+    }
+
+    private void saveProgress(Path checkpointFile, UploadCheckpoint checkpoint, Map<Integer, String> done) throws IOException {
+        synchronized (checkpoint) {
+            checkpoint.setParts(new TreeMap<>(done));
+            saveCheckpoint(checkpointFile, checkpoint);
+        }
+    }
+
+    private void saveCheckpoint(Path checkpointFile, UploadCheckpoint checkpoint) throws IOException {
+        Files.createDirectories(checkpointFile.getParent());
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        objectMapper.writeValue(temp.toFile(), checkpoint);
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path checkpointFile(String bucketName, String objectName, Path file) throws NoSuchAlgorithmException {
+        String key = bucketName + '\u0000' + objectName + '\u0000' + file.toAbsolutePath();
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        return Paths.get(transferProperties.getCheckpointDir(), HexFormat.of().formatHex(digest) + ".json");
+    }
+
+    private static <T> T await(CompletableFuture<T> future)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for MinIO");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            throw rethrow(cause);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable error)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        if (error instanceof MinioException e) {
+            throw e;
+        }
+        if (error instanceof IOException e) {
+            throw e;
+        }
+        if (error instanceof NoSuchAlgorithmException e) {
+            throw e;
+        }
+        if (error instanceof InvalidKeyException e) {
+            throw e;
+        }
+        if (error instanceof RuntimeException e) {
+            throw e;
+        }
+        throw new IOException(error.getMessage(), error);
+    }
+}
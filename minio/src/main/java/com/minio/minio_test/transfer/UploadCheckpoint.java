@@ -0,0 +1,43 @@
+package com.minio.minio_test.transfer;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Progress of a multipart upload, persisted so an interrupted upload can resume.
+ * The checkpoint only applies while the source file keeps its size and modification time.
+ *
+ * @author Zhang
+ * @date 2025/02/28
+ */
+@Data
+@NoArgsConstructor
+public class UploadCheckpoint {
+
+    private String bucketName;
+
+    private String objectName;
+
+    private String filePath;
+
+    private long fileSize;
+
+    private long lastModified;
+
+    private long partSize;
+
+    private String uploadId;
+
+    /** ETags of the uploaded parts by part number */
+    private Map<Integer, String> parts = new TreeMap<>();
+
+    /**
+     * Whether this checkpoint was taken for the same file contents and part layout.
+     */
+    public boolean matches(long fileSize, long lastModified, long partSize) {
+        return this.fileSize == fileSize && this.lastModified == lastModified && this.partSize == partSize;
+    }
+}
@@ -0,0 +1,171 @@
+package com.minio.minio_test.transfer;
+
+import com.minio.minio_test.notification.BucketEvent;
+import com.minio.minio_test.notification.BucketEventListener;
+import com.minio.minio_test.notification.BucketNotificationHub;
+import com.minio.minio_test.packing.PackedObject;
+import com.minio.minio_test.replication.ReplicationEntry;
+import com.minio.minio_test.service.PackingService;
+import com.minio.minio_test.service.ReplicationService;
+import com.minio.minio_test.service.SpoolService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies browser uploads through issued upload forms as the application's own writes are applied.
+ * <p>
+ * Form uploads go straight to MinIO, so nothing here sees them being written. While a form of a
+ * bucket is valid, the bucket's notifications are followed, and every object posted under the
+ * prefix of a form replaces a packed object of the same key and discards pending spooled uploads
+ * of it, and is queued for replication. Only {@code s3:ObjectCreated:Post} events count, so writes
+ * made through this application are not applied twice.
+ * </p>
+ * <p>
+ * This is best effort: forms are remembered in memory only, and posts made while the notification
+ * stream is down, or to forms issued before a restart, are not applied.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/24
+ */
+@Component
+public class UploadFormWatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UploadFormWatcher.class);
+
+    private static final String FORM_UPLOAD_EVENT = "s3:ObjectCreated:Post";
+
+    /** How long after a form expires its prefix is still followed; a post accepted just before may still be uploading */
+    private static final long GRACE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @Resource
+    private BucketNotificationHub notificationHub;
+
+    @Resource
+    private SpoolService spoolService;
+
+    @Resource
+    private PackingService packingService;
+
+    @Resource
+    private ReplicationService replicationService;
+
+    /** Followed buckets by name; guarded by this */
+    private final Map<String, Watch> watches = new HashMap<>();
+
+    private ExecutorService uploadExecutor;
+
+    @PostConstruct
+    public void init() {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("upload-form-");
+        factory.setDaemon(true);
+        // Listener callbacks must not block, so the uploads are applied here, in order
+        uploadExecutor = Executors.newSingleThreadExecutor(factory);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        watches.values().forEach(Watch::close);
+        watches.clear();
+        uploadExecutor.shutdownNow();
+    }
+
+    /**
+     * Follows the uploads of a form until it has expired.
+     *
+     * @param bucketName The bucket the form uploads to.
+     * @param keyPrefix  The prefix of the keys the form may write.
+     * @param expiresAt  Expiry of the form in epoch milliseconds.
+     */
+    public synchronized void watch(String bucketName, String keyPrefix, long expiresAt) {
+        Watch watch = watches.get(bucketName);
+        if (watch == null) {
+            watch = new Watch();
+            watches.put(bucketName, watch);
+            watch.subscription = notificationHub.subscribe(bucketName, watch);
+        }
+        watch.prefixes.merge(keyPrefix, expiresAt + GRACE_MILLIS, Math::max);
+    }
+
+    /**
+     * Stops following expired forms, and the buckets without valid forms.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public synchronized void evict() {
+        long now = System.currentTimeMillis();
+        Iterator<Watch> iterator = watches.values().iterator();
+        while (iterator.hasNext()) {
+            Watch watch = iterator.next();
+            watch.prefixes.values().removeIf(until -> until < now);
+            if (watch.prefixes.isEmpty()) {
+                watch.close();
+                iterator.remove();
+            }
+        }
+    }
+
+    private void apply(BucketEvent event) {
+        String bucketName = event.getBucketName();
+        String objectName = event.getObjectName();
+        try {
+            spoolService.discard(bucketName, objectName);
+            // A packed write made after the post is newer and stays
+            PackedObject packed = packingService.get(bucketName, objectName);
+            if (packed != null && packed.getLastModified() <= event.getEventTime()) {
+                packingService.remove(bucketName, objectName);
+            }
+            replicationService.enqueue(ReplicationEntry.Operation.PUT, bucketName, objectName);
+            LOGGER.debug("Applied form upload of '{}' in bucket '{}'.", objectName, bucketName);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to apply form upload of '{}' in bucket '{}': {}", objectName, bucketName, e.getMessage());
+        }
+    }
+
+    /**
+     * The valid forms of one bucket and its notification subscription.
+     */
+    private final class Watch implements BucketEventListener {
+
+        /** Key prefixes of the forms, with the time until which they are followed */
+        private final Map<String, Long> prefixes = new ConcurrentHashMap<>();
+
+        private Closeable subscription;
+
+        @Override
+        public void onEvent(BucketEvent event) {
+            if (event.getType() != BucketEvent.Type.CREATED || !FORM_UPLOAD_EVENT.equals(event.getEventName())) {
+                return;
+            }
+            for (String prefix : prefixes.keySet()) {
+                if (event.getObjectName().startsWith(prefix)) {
+                    uploadExecutor.execute(() -> apply(event));
+                    return;
+                }
+            }
+        }
+
+        private void close() {
+            try {
+                subscription.close();
+            } catch (IOException e) {
+                LOGGER.debug("Error closing form upload subscription: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.minio.minio_test.usage;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Object count and total size of a prefix, with per-child-prefix breakdown down to a fixed depth.
+ * Children are keyed by their segment relative to this node, including the trailing {@code /}.
+ * Instances are built by a single thread and must not be modified once published.
+ *
+ * @author Zhang
+ * @date 2025/02/18
+ */
+public final class UsageNode {
+
+    private long objectCount;
+
+    private long totalBytes;
+
+    private final Map<String, UsageNode> children = new TreeMap<>();
+
+    /**
+     * Accounts one object.
+     *
+     * @param relativeKey The object key relative to this node.
+     * @param size        The object size in bytes.
+     * @param depth       Number of child levels still to break down.
+     */
+    public void add(String relativeKey, long size, int depth) {
+        objectCount++;
+        totalBytes += size;
+        if (depth <= 0) {
+            return;
+        }
+        int slash = relativeKey.indexOf('/');
+        if (slash >= 0) {
+            children.computeIfAbsent(relativeKey.substring(0, slash + 1), segment -> new UsageNode())
+                    .add(relativeKey.substring(slash + 1), size, depth - 1);
+        }
+    }
+
+    /**
+     * Attaches a child subtree and adds its totals to this node.
+     *
+     * @param segment The child segment, including the trailing {@code /}.
+     * @param child   The child subtree.
+     */
+    public void attach(String segment, UsageNode child) {
+        objectCount += child.objectCount;
+        totalBytes += child.totalBytes;
+        if (!segment.isEmpty()) {
+            children.put(segment, child);
+        }
+    }
+
+    public long getObjectCount() {
+        return objectCount;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public Map<String, UsageNode> getChildren() {
+        return Collections.unmodifiableMap(children);
+    }
+}
@@ -0,0 +1,44 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * An object change pushed to event stream clients.
+ *
+ * @author Zhang
+ * @date 2025/02/14
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class BucketEventVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** The bucket the object belongs to */
+    private String bucketName;
+
+    /** The object key */
+    private String objectName;
+
+    /** The kind of change: created or removed */
+    private String eventType;
+
+    /** The raw S3 event name, e.g. s3:ObjectCreated:Put */
+    private String eventName;
+
+    /** The object size in bytes; 0 for removals */
+    private long size;
+
+    /** The object ETag; null for removals */
+    private String etag;
+
+    /** The event timestamp, formatted as a string */
+    private String eventTime;
+}
@@ -0,0 +1,35 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Describes how many calls of one backend operation were coalesced.
+ *
+ * @author Zhang
+ * @date 2025/03/07
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class CoalescedCallVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** The backend operation */
+    private String operation;
+
+    /** Calls that reached the backend */
+    private long calls;
+
+    /** Calls answered by joining an identical call in progress */
+    private long coalesced;
+
+    /** Calls currently in progress */
+    private int inFlight;
+}
@@ -0,0 +1,40 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Describes the state of backend call coalescing.
+ *
+ * @author Zhang
+ * @date 2025/03/07
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class CoalescingStatusVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** Whether identical concurrent calls are coalesced */
+    private boolean enabled;
+
+    /** Counters of the operations that were called */
+    @SuppressWarnings("serial")
+    private List<CoalescedCallVO> operations;
+
+    /** Bytes currently buffered by shared GETs */
+    private long bufferedBytes;
+
+    /** Limit of the bytes buffered by shared GETs */
+    private long maxBufferedBytes;
+
+    /** GETs streamed unshared because the object was too large or the buffer budget was used up */
+    private long unbufferedGets;
+}
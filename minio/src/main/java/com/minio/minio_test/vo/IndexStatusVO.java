@@ -0,0 +1,44 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Describes the state of the local metadata index of a bucket.
+ *
+ * @author Zhang
+ * @date 2025/02/10
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class IndexStatusVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** The indexed bucket */
+    private String bucketName;
+
+    /** Number of objects currently in the index */
+    private int objectCount;
+
+    /** Whether a full crawl has completed since the last invalidation */
+    private boolean ready;
+
+    /** Whether the bucket notification stream is connected */
+    private boolean listening;
+
+    /** Whether a rebuild is currently running */
+    private boolean rebuilding;
+
+    /** Whether queries are currently served from the index */
+    private boolean fresh;
+
+    /** Completion time of the last full crawl, formatted as a string */
+    private String builtTime;
+}
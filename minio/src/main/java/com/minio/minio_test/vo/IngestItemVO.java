@@ -0,0 +1,50 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Outcome of ingesting one remote URL.
+ *
+ * @author Zhang
+ * @date 2025/03/14
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class IngestItemVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** The source URL */
+    private String url;
+
+    /** The object the content was stored as */
+    private String objectName;
+
+    /** Whether the content was stored */
+    private boolean success;
+
+    /** HTTP status describing the outcome, 200 on success */
+    private int status;
+
+    /** Bytes stored */
+    private long size;
+
+    /** ETag of the stored object */
+    private String etag;
+
+    /** Content type stored with the object */
+    private String contentType;
+
+    /** Time taken to fetch and store, in milliseconds */
+    private long durationMillis;
+
+    /** Error message if the item failed */
+    private String error;
+}
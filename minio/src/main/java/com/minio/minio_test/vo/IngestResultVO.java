@@ -0,0 +1,46 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Outcome of ingesting a batch of remote URLs into a bucket.
+ *
+ * @author Zhang
+ * @date 2025/03/14
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class IngestResultVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** The bucket */
+    private String bucketName;
+
+    /** URLs requested */
+    private int requested;
+
+    /** URLs stored */
+    private int succeeded;
+
+    /** URLs that failed */
+    private int failed;
+
+    /** Bytes stored over all items */
+    private long totalBytes;
+
+    /** Time taken for the whole batch, in milliseconds */
+    private long durationMillis;
+
+    /** Per-item outcomes, in request order */
+    @SuppressWarnings("serial")
+    private List<IngestItemVO> items;
+}
@@ -0,0 +1,46 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Describes the state of one Minio endpoint of the client pool.
+ *
+ * @author Zhang
+ * @date 2025/02/26
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class NodeStatusVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** The endpoint URL */
+    private String endpoint;
+
+    /** Whether the endpoint currently receives requests */
+    private boolean healthy;
+
+    /** Requests currently in flight against the endpoint */
+    private int outstanding;
+
+    /** Requests that failed in a row since the last success */
+    private int consecutiveFailures;
+
+    /** Operations whose circuit breaker is not closed on this endpoint */
+    @SuppressWarnings("serial")
+    private List<String> openCircuits;
+
+    /** Time of the last health check, formatted as a string */
+    private String lastCheckTime;
+
+    /** Reason of the last failed health check or ejection */
+    private String lastError;
+}
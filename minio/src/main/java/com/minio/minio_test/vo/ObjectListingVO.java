@@ -0,0 +1,40 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Result of an object listing or search query.
+ *
+ * @author Zhang
+ * @date 2025/02/10
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class ObjectListingVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The bucket that was queried.
+     */
+    private String bucketName;
+
+    /**
+     * True if the result was served from the local index, false if from a live listing.
+     */
+    private boolean fromIndex;
+
+    /**
+     * The matching objects, sorted and truncated to the requested limit.
+     */
+    @SuppressWarnings("serial")
+    private List<ObjectMetadataVO> items;
+}
@@ -0,0 +1,49 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Represents the metadata of a single object stored in MinIO.
+ * Returned by index queries and other metadata-only operations.
+ *
+ * @author Zhang
+ * @date 2025/02/10
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class ObjectMetadataVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The object key.
+     */
+    private String name;
+
+    /**
+     * The size of the object in bytes.
+     */
+    private long size;
+
+    /**
+     * The ETag of the object, without surrounding quotes.
+     */
+    private String etag;
+
+    /**
+     * The content type of the object, if known.
+     */
+    private String contentType;
+
+    /**
+     * The last modified timestamp of the object, formatted as a string.
+     */
+    private String lastModifyTime;
+}
@@ -0,0 +1,50 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Describes the packed objects and the packs holding them.
+ *
+ * @author Zhang
+ * @date 2025/03/20
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class PackingStatusVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** Whether small uploads are packed */
+    private boolean enabled;
+
+    /** Objects stored in packs */
+    private long objectCount;
+
+    /** Pack objects, including empty ones waiting to be deleted */
+    private int packCount;
+
+    /** Total size of all packs in bytes */
+    private long packBytes;
+
+    /** Bytes of packs still referenced by objects */
+    private long liveBytes;
+
+    /** Packs written since startup, by uploads and by compaction */
+    private long packsWritten;
+
+    /** Packs deleted by compaction since startup */
+    private long packsDeleted;
+
+    /** Pack bytes reclaimed by compaction since startup */
+    private long reclaimedBytes;
+
+    /** Error of the most recent failed compaction */
+    private String lastCompactionError;
+}
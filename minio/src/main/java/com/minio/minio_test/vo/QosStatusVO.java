@@ -0,0 +1,39 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Describes the state of download bandwidth shaping.
+ *
+ * @author Zhang
+ * @date 2025/03/06
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class QosStatusVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** Whether downloads are shaped */
+    private boolean enabled;
+
+    /** The small and large transfer lanes */
+    @SuppressWarnings("serial")
+    private List<TransferRateVO> lanes;
+
+    /** Clients seen recently, busiest first */
+    @SuppressWarnings("serial")
+    private List<TransferRateVO> clients;
+
+    /** Buckets downloaded from recently, busiest first */
+    @SuppressWarnings("serial")
+    private List<TransferRateVO> buckets;
+}
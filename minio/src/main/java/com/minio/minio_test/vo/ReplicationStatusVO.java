@@ -0,0 +1,47 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Describes the state of asynchronous replication to the secondary deployment.
+ *
+ * @author Zhang
+ * @date 2025/02/27
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class ReplicationStatusVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** Whether writes are queued for replication */
+    private boolean enabled;
+
+    /** Endpoint of the secondary deployment */
+    private String endpoint;
+
+    /** Writes waiting for replication */
+    private int queueDepth;
+
+    /** Age of the oldest pending write in milliseconds, 0 when the queue is empty */
+    private long lagMillis;
+
+    /** Time from queueing to replication of the most recently replicated write, in milliseconds */
+    private long lastReplicationDelayMillis;
+
+    /** Writes replicated since startup */
+    private long replicatedCount;
+
+    /** Failed replication attempts since startup */
+    private long failedAttempts;
+
+    /** Error of the most recent failed attempt */
+    private String lastError;
+}
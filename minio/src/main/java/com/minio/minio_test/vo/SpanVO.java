@@ -0,0 +1,55 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Describes one finished span of a trace.
+ *
+ * @author Zhang
+ * @date 2025/03/10
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class SpanVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** The trace the span belongs to */
+    private String traceId;
+
+    /** The span ID */
+    private String spanId;
+
+    /** The span ID of the parent, null for the root span */
+    private String parentSpanId;
+
+    /** The operation name */
+    private String name;
+
+    /** SERVER, INTERNAL or CLIENT */
+    private String kind;
+
+    /** Start time (format: yyyy-MM-dd HH:mm:ss.SSS) */
+    private String startTime;
+
+    /** Duration in microseconds */
+    private long durationMicros;
+
+    /** UNSET, OK or ERROR */
+    private String status;
+
+    /** The error message, if the span failed */
+    private String statusMessage;
+
+    /** Span attributes such as bucket, object and byte counts */
+    @SuppressWarnings("serial")
+    private Map<String, Object> attributes;
+}
@@ -0,0 +1,56 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Describes the state of the write-behind upload spool.
+ *
+ * @author Zhang
+ * @date 2025/03/19
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class SpoolStatusVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** Whether write-behind uploads are accepted */
+    private boolean enabled;
+
+    /** Uploads waiting to be flushed */
+    private int pendingCount;
+
+    /** Bytes of spooled files waiting to be flushed */
+    private long pendingBytes;
+
+    /** Limit of pending bytes */
+    private long maxBytes;
+
+    /** Age of the oldest pending upload in milliseconds, 0 when the spool is empty */
+    private long flushLagMillis;
+
+    /** Time from acceptance to flush of the most recently flushed upload, in milliseconds */
+    private long lastFlushDelayMillis;
+
+    /** Uploads flushed since startup */
+    private long flushedCount;
+
+    /** Uploads superseded by a newer upload or removal before they were flushed, since startup */
+    private long supersededCount;
+
+    /** Uploads dropped because their bucket no longer exists, since startup */
+    private long droppedCount;
+
+    /** Failed flush attempts since startup */
+    private long failedAttempts;
+
+    /** Error of the most recent failed attempt */
+    private String lastError;
+}
@@ -0,0 +1,48 @@
+package com.minio.minio_test.vo;
+
+import com.minio.minio_test.spool.SpoolEntry;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Describes an upload accepted into the write-behind spool.
+ *
+ * @author Zhang
+ * @date 2025/03/19
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class SpoolUploadVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** Handle to look up the outcome of the upload */
+    private String handle;
+
+    /** Bucket of the object */
+    private String bucketName;
+
+    /** Name of the object */
+    private String objectName;
+
+    /** Size in bytes */
+    private long size;
+
+    /** PENDING, FLUSHED, SUPERSEDED or DROPPED */
+    private SpoolEntry.State state;
+
+    /** Time the upload was accepted, in epoch milliseconds */
+    private long spooledAt;
+
+    /** Failed flush attempts */
+    private int attempts;
+
+    /** Error of the most recent failed attempt */
+    private String lastError;
+}
@@ -0,0 +1,61 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Outcome of a synchronization between a local directory and a bucket prefix.
+ *
+ * @author Zhang
+ * @date 2025/03/03
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class SyncResultVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** The bucket */
+    private String bucketName;
+
+    /** The key prefix the directory maps to */
+    private String prefix;
+
+    /** The local directory */
+    private String directory;
+
+    /** Files on the source side */
+    private int scanned;
+
+    /** Files found unchanged and skipped */
+    private int unchanged;
+
+    /** Files transferred */
+    private int transferred;
+
+    /** Bytes transferred */
+    private long transferredBytes;
+
+    /** Orphans on the destination side that were removed */
+    private int deleted;
+
+    /** Orphans on the destination side that were kept */
+    private int orphans;
+
+    /** Files that failed to transfer or delete */
+    private int failed;
+
+    /** Errors of failed files, capped in number */
+    @SuppressWarnings("serial")
+    private List<String> errors;
+
+    /** Duration of the synchronization in milliseconds */
+    private long durationMillis;
+}
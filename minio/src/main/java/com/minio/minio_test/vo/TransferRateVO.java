@@ -0,0 +1,41 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Describes the bandwidth limit and current rate of a client, bucket or transfer lane.
+ *
+ * @author Zhang
+ * @date 2025/03/06
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class TransferRateVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** The client, bucket or lane name */
+    private String name;
+
+    /** Limit in bytes per second, 0 if unlimited */
+    private long limit;
+
+    /** Current rate in bytes per second, averaged over the last seconds */
+    private long rate;
+
+    /** Bytes transferred since the state was created */
+    private long totalBytes;
+
+    /** Transfers currently in progress */
+    private int activeTransfers;
+
+    /** Chunks waiting for bandwidth, for lanes only */
+    private Integer waiting;
+}
@@ -0,0 +1,46 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * A presigned POST form for uploading directly to MinIO.
+ *
+ * @author Zhang
+ * @date 2025/03/24
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class UploadFormVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** URL the form is posted to */
+    private String url;
+
+    /** Form fields to send before the file, including the signed policy */
+    @SuppressWarnings("serial")
+    private Map<String, String> fields;
+
+    /** Prefix the object key must start with */
+    private String keyPrefix;
+
+    /** Content type, or content type prefix, the upload must have; null if any */
+    private String contentType;
+
+    /** Smallest allowed upload in bytes */
+    private long minSize;
+
+    /** Largest allowed upload in bytes */
+    private long maxSize;
+
+    /** Time the form expires */
+    private String expiresAt;
+}
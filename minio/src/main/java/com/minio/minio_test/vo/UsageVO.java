@@ -0,0 +1,43 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Storage usage of a bucket or prefix.
+ *
+ * @author Zhang
+ * @date 2025/02/18
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class UsageVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** The bucket name */
+    private String bucketName;
+
+    /** The prefix the usage is reported for; empty for the whole bucket */
+    private String prefix;
+
+    /** Number of objects under the prefix */
+    private long objectCount;
+
+    /** Total size in bytes of the objects under the prefix */
+    private long totalBytes;
+
+    /** When the statistics were computed, formatted as a string; set on the top-level entry only */
+    private String computedTime;
+
+    /** Usage of the direct child prefixes, down to the requested depth */
+    @SuppressWarnings("serial")
+    private List<UsageVO> children;
+}
@@ -0,0 +1,40 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Describes the startup warm-up and the readiness of the application.
+ *
+ * @author Zhang
+ * @date 2025/03/11
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class WarmupStatusVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** PENDING, RUNNING, COMPLETED or DISABLED */
+    private String state;
+
+    /** Readiness state of the application: ACCEPTING_TRAFFIC or REFUSING_TRAFFIC */
+    private String readiness;
+
+    /** Start of the warm-up (format: yyyy-MM-dd HH:mm:ss), null if it has not started */
+    private String startTime;
+
+    /** Duration of the whole warm-up in milliseconds, -1 while it has not finished */
+    private long durationMillis;
+
+    /** Outcome of each step */
+    @SuppressWarnings("serial")
+    private List<WarmupStepVO> steps;
+}
@@ -0,0 +1,35 @@
+package com.minio.minio_test.vo;
+
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Describes the outcome of one startup warm-up step.
+ *
+ * @author Zhang
+ * @date 2025/03/11
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class WarmupStepVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** The step name */
+    private String name;
+
+    /** Time the step took, in milliseconds */
+    private long durationMillis;
+
+    /** Whether the step completed */
+    private boolean success;
+
+    /** What the step did, or why it failed */
+    private String detail;
+}
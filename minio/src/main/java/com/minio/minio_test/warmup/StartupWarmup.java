@@ -0,0 +1,379 @@
+package com.minio.minio_test.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minio.minio_test.Response.ResponseData;
+import com.minio.minio_test.cluster.MinioClientPool;
+import com.minio.minio_test.cluster.MinioNode;
+import com.minio.minio_test.config.WarmupProperties;
+import com.minio.minio_test.resilience.BackendOperation;
+import com.minio.minio_test.resilience.MinioCallExecutor;
+import com.minio.minio_test.service.MinioService;
+import com.minio.minio_test.vo.BucketVO;
+import com.minio.minio_test.vo.FileItemVO;
+import io.minio.BucketExistsArgs;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import jakarta.annotation.Resource;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the application up at startup, before it reports ready.
+ * <p>
+ * Spring Boot moves the readiness state to {@code ACCEPTING_TRAFFIC} only after all application
+ * runners have returned, so running the warm-up here gates readiness on it. The warm-up opens
+ * idle connections to every endpoint, lists the buckets and primes each client's bucket region
+ * cache (the lookup a cold {@code bucketExists} pays for), and runs the JSON and transfer code
+ * paths often enough for the JIT to compile them. Failed steps are reported but never fail the
+ * startup, and the whole warm-up is bounded by {@code minio.warmup.timeout}.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/11
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final String HEALTH_PATH = "minio/health/live";
+
+    private static final String SCRATCH_PREFIX = ".warmup/";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupWarmup.class);
+
+    /**
+     * Progress of the warm-up.
+     */
+    public enum State {
+        PENDING, RUNNING, COMPLETED, DISABLED
+    }
+
+    @Resource
+    private WarmupProperties warmupProperties;
+
+    @Resource
+    private MinioClientPool clientPool;
+
+    @Resource
+    private OkHttpClient minioHttpClient;
+
+    @Resource
+    private MinioService minioService;
+
+    @Resource
+    private MinioCallExecutor minioCallExecutor;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    private final List<StepResult> steps = Collections.synchronizedList(new ArrayList<>());
+
+    private volatile State state = State.PENDING;
+
+    private volatile long startedAt;
+
+    private volatile long durationMillis = -1;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!warmupProperties.isEnabled()) {
+            state = State.DISABLED;
+            return;
+        }
+        state = State.RUNNING;
+        startedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        long deadline = start + warmupProperties.getTimeout().toNanos();
+        LOGGER.info("Warm-up started.");
+
+        int threads = Math.max(2, clientPool.getNodes().size() * warmupProperties.getConnectionsPerEndpoint());
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("warmup-");
+        factory.setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, factory);
+        try {
+            step("connections", deadline, executor, this::openConnections);
+            List<String> buckets = new ArrayList<>();
+            step("buckets", deadline, executor, () -> listBuckets(buckets));
+            step("bucket-existence", deadline, executor, () -> primeBuckets(buckets, executor));
+            step("serialization", deadline, executor, this::serialize);
+            step("transfer", deadline, executor, this::transfer);
+            if (StringUtils.isNotBlank(warmupProperties.getTransferBucket())) {
+                step("round-trip", deadline, executor, this::roundTrips);
+            }
+        } finally {
+            executor.shutdownNow();
+            durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            state = State.COMPLETED;
+        }
+        LOGGER.info("Warm-up finished in {} ms: {}", durationMillis, steps);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Start of the warm-up as epoch milliseconds, or 0 if it has not started.
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Duration of the whole warm-up, or -1 while it has not finished.
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public List<StepResult> getSteps() {
+        synchronized (steps) {
+            return List.copyOf(steps);
+        }
+    }
+
+    /**
+     * Runs one step on the warm-up pool, abandoning it once the warm-up deadline is reached.
+     */
+    private void step(String name, long deadline, ExecutorService executor, Callable<String> task) {
+        long start = System.nanoTime();
+        long remaining = deadline - start;
+        if (remaining <= 0) {
+            steps.add(new StepResult(name, 0, false, "Skipped, warm-up timeout reached."));
+            return;
+        }
+        Future<String> future = executor.submit(task);
+        boolean success = false;
+        String detail;
+        try {
+            detail = future.get(remaining, TimeUnit.NANOSECONDS);
+            success = true;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            detail = "Timed out.";
+        } catch (ExecutionException e) {
+            detail = e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            detail = "Interrupted.";
+        }
+        StepResult result = new StepResult(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), success, detail);
+        steps.add(result);
+        LOGGER.debug("Warm-up step {}", result);
+    }
+
+    /**
+     * Sends concurrent health requests to every endpoint, so that each request opens its own
+     * connection; the connections then stay idle in the shared pool.
+     */
+    private String openConnections() throws InterruptedException {
+        int perEndpoint = warmupProperties.getConnectionsPerEndpoint();
+        List<MinioNode> nodes = clientPool.getNodes();
+        CountDownLatch done = new CountDownLatch(nodes.size() * perEndpoint);
+        AtomicInteger opened = new AtomicInteger();
+        for (MinioNode node : nodes) {
+            String endpoint = node.getEndpoint();
+            String url = endpoint.endsWith("/") ? endpoint + HEALTH_PATH : endpoint + "/" + HEALTH_PATH;
+            for (int i = 0; i < perEndpoint; i++) {
+                minioHttpClient.newCall(new Request.Builder().url(url).get().build()).enqueue(new Callback() {
+                    @Override
+                    public void onResponse(Call call, Response response) {
+                        response.close();
+                        opened.incrementAndGet();
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onFailure(Call call, IOException e) {
+                        done.countDown();
+                    }
+                });
+            }
+        }
+        done.await();
+        if (opened.get() == 0) {
+            throw new IllegalStateException("No endpoint could be reached.");
+        }
+        return opened.get() + " of " + nodes.size() * perEndpoint + " requests answered, "
+                + minioHttpClient.connectionPool().idleConnectionCount() + " idle connections.";
+    }
+
+    private String listBuckets(List<String> buckets) {
+        Set<String> names = new LinkedHashSet<>(warmupProperties.getBuckets());
+        for (BucketVO bucket : minioService.listBucketNames()) {
+            names.add(bucket.getName());
+        }
+        names.stream().limit(warmupProperties.getMaxBuckets()).forEach(buckets::add);
+        return buckets.size() + " buckets.";
+    }
+
+    /**
+     * Checks every bucket on the blocking and the asynchronous client of every endpoint, which
+     * also caches each bucket's region in that client.
+     */
+    private String primeBuckets(List<String> buckets, ExecutorService executor) throws InterruptedException {
+        List<Future<Boolean>> checks = new ArrayList<>();
+        for (MinioNode node : clientPool.getNodes()) {
+            for (String bucket : buckets) {
+                BucketExistsArgs args = BucketExistsArgs.builder().bucket(bucket).build();
+                checks.add(executor.submit(() -> node.getClient().bucketExists(args)
+                        && node.getAsyncClient().bucketExists(args).get()));
+            }
+        }
+        int primed = 0;
+        String lastError = null;
+        for (Future<Boolean> check : checks) {
+            try {
+                if (check.get()) {
+                    primed++;
+                }
+            } catch (ExecutionException e) {
+                lastError = e.getCause().getMessage();
+            }
+        }
+        if (!checks.isEmpty() && primed == 0 && lastError != null) {
+            throw new IllegalStateException(lastError);
+        }
+        return primed + " of " + checks.size() + " bucket checks primed.";
+    }
+
+    private String serialize() throws IOException {
+        int iterations = warmupProperties.getSerializationIterations();
+        List<BucketVO> buckets = new ArrayList<>();
+        List<FileItemVO> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            buckets.add(BucketVO.builder().name("warmup-" + i).createTime("2025-01-01 00:00:00").build());
+            items.add(FileItemVO.builder().name("warmup/object-" + i).lastModifyTime("2025-01-01 00:00:00")
+                    .size(i * 1024L).isDir(false).build());
+        }
+        long bytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            bytes += objectMapper.writeValueAsBytes(ResponseData.success(buckets)).length;
+            bytes += objectMapper.writeValueAsBytes(ResponseData.success(items)).length;
+        }
+        return iterations + " iterations, " + bytes + " bytes.";
+    }
+
+    private String transfer() throws IOException {
+        byte[] data = randomData();
+        byte[] buffer = new byte[8192];
+        long bytes = 0;
+        for (int i = 0; i < warmupProperties.getTransferIterations(); i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            bytes += IOUtils.copyLarge(new ByteArrayInputStream(data), NullOutputStream.INSTANCE, buffer);
+        }
+        return warmupProperties.getTransferIterations() + " iterations, " + bytes + " bytes.";
+    }
+
+    /**
+     * Puts, reads back and removes a scratch object through the call executor, like a request would.
+     */
+    private String roundTrips() throws Exception {
+        String bucket = warmupProperties.getTransferBucket();
+        byte[] data = randomData();
+        for (int i = 0; i < warmupProperties.getRoundTrips(); i++) {
+            String object = SCRATCH_PREFIX + UUID.randomUUID();
+            minioCallExecutor.execute(BackendOperation.PUT_OBJECT, client -> client.putObject(PutObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(object)
+                    .stream(new ByteArrayInputStream(data), data.length, -1)
+                    .build()));
+            try (GetObjectResponse response = minioCallExecutor.execute(BackendOperation.GET_OBJECT,
+                    client -> client.getObject(GetObjectArgs.builder().bucket(bucket).object(object).build()))) {
+                IOUtils.copyLarge(response, NullOutputStream.INSTANCE);
+            } finally {
+                minioCallExecutor.execute(BackendOperation.REMOVE_OBJECT, client -> {
+                    client.removeObject(RemoveObjectArgs.builder().bucket(bucket).object(object).build());
+                    return null;
+                });
+            }
+        }
+        return warmupProperties.getRoundTrips() + " round trips of " + data.length + " bytes.";
+    }
+
+    private byte[] randomData() {
+        byte[] data = new byte[(int) warmupProperties.getTransferSize().toBytes()];
+        ThreadLocalRandom.current().nextBytes(data);
+        return data;
+    }
+
+    /**
+     * Outcome of one warm-up step.
+     */
+    public static final class StepResult {
+
+        private final String name;
+
+        private final long durationMillis;
+
+        private final boolean success;
+
+        private final String detail;
+
+        StepResult(String name, long durationMillis, boolean success, String detail) {
+            this.name = name;
+            this.durationMillis = durationMillis;
+            this.success = success;
+            this.detail = detail;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public String getDetail() {
+            return detail;
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + durationMillis + " ms, " + (success ? "ok" : "failed") + ": " + detail + ")";
+        }
+    }
+}
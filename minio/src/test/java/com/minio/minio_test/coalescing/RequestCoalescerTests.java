@@ -0,0 +1,179 @@
+package com.minio.minio_test.coalescing;
+
+import com.minio.minio_test.config.CoalescingProperties;
+import com.minio.minio_test.resilience.BackendOperation;
+import io.minio.GetObjectResponse;
+import okhttp3.Headers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for RequestCoalescer.getObject.
+ * The first fetch waits until every other caller has joined its flight, so the tests do not depend on timing.
+ */
+class RequestCoalescerTests {
+
+    private static final int CALLERS = 8;
+
+    private static final byte[] CONTENT = "hello".getBytes(StandardCharsets.UTF_8);
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+
+    private final CoalescingProperties properties = new CoalescingProperties();
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    RequestCoalescerTests() {
+        ReflectionTestUtils.setField(coalescer, "coalescingProperties", properties);
+    }
+
+    @AfterEach
+    void shutdown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void joinersShareOneBufferedFetch() throws Exception {
+        CountDownLatch read = new CountDownLatch(1);
+        List<Future<byte[]>> results = getConcurrently(() -> new HeldInputStream(CONTENT, read));
+
+        // The leader is reading the body into its reserved buffer
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalescer.bufferedBytes() != CONTENT.length) {
+            assertTrue(System.nanoTime() < deadline, "The leader did not reserve its buffer");
+            Thread.sleep(1);
+        }
+        read.countDown();
+
+        for (Future<byte[]> result : results) {
+            assertEquals("hello", new String(result.get(10, TimeUnit.SECONDS), StandardCharsets.UTF_8));
+        }
+        assertEquals(1, fetches.get());
+        assertEquals(0, coalescer.unbuffered());
+        assertEquals(0, coalescer.bufferedBytes());
+    }
+
+    @Test
+    void oversizeObjectIsFetchedByEveryJoiner() throws Exception {
+        properties.setMaxObjectSize(DataSize.ofBytes(CONTENT.length - 1));
+        List<Future<byte[]>> results = getConcurrently(() -> new ByteArrayInputStream(CONTENT));
+
+        for (Future<byte[]> result : results) {
+            assertEquals("hello", new String(result.get(10, TimeUnit.SECONDS), StandardCharsets.UTF_8));
+        }
+        assertEquals(CALLERS, fetches.get());
+        assertEquals(1, coalescer.unbuffered());
+        assertEquals(0, coalescer.bufferedBytes());
+    }
+
+    @Test
+    void leaderFailureReachesJoinersAndReleasesBuffer() throws Exception {
+        List<Future<byte[]>> results = getConcurrently(() -> new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        for (Future<byte[]> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, thrown.getCause());
+        }
+        assertEquals(1, fetches.get());
+        assertEquals(0, coalescer.bufferedBytes());
+    }
+
+    /**
+     * Gets the object from every caller at once. The first fetch waits until the other callers
+     * have joined; later fetches, made by joiners of an unshared flight, return at once.
+     */
+    private List<Future<byte[]>> getConcurrently(BodySource body) {
+        List<Future<byte[]>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> {
+                try (GetObjectResponse object = coalescer.getObject("bucket", "key", () -> {
+                    if (fetches.incrementAndGet() == 1) {
+                        awaitJoiners();
+                    }
+                    return new GetObjectResponse(Headers.of("Content-Length", String.valueOf(CONTENT.length)),
+                            "bucket", "", "key", body.open());
+                })) {
+                    return object.readAllBytes();
+                }
+            }));
+        }
+        return results;
+    }
+
+    private void awaitJoiners() {
+        SingleFlight flight = coalescer.flight(BackendOperation.GET_OBJECT);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (flight.coalesced() < CALLERS - 1) {
+            assertTrue(System.nanoTime() < deadline, "Callers did not join the flight");
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BodySource {
+
+        InputStream open();
+    }
+
+    /**
+     * A body whose reads wait until released.
+     */
+    private static final class HeldInputStream extends ByteArrayInputStream {
+
+        private final CountDownLatch released;
+
+        private HeldInputStream(byte[] content, CountDownLatch released) {
+            super(content);
+            this.released = released;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            await();
+            return super.read(b, off, len);
+        }
+
+        @Override
+        public synchronized int read() {
+            await();
+            return super.read();
+        }
+
+        private void await() {
+            try {
+                assertTrue(released.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
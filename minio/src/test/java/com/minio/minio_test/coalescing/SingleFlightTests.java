@@ -0,0 +1,104 @@
+package com.minio.minio_test.coalescing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for SingleFlight.
+ * The leader's call waits until every other caller has joined it, so the tests do not depend on timing.
+ */
+class SingleFlightTests {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void shutdown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersReceiveOneResult() throws Exception {
+        SingleFlight flight = new SingleFlight();
+        AtomicInteger invocations = new AtomicInteger();
+
+        List<Future<Object>> results = submit(() -> flight.execute("bucket/key", () -> {
+            invocations.incrementAndGet();
+            awaitJoiners(flight);
+            return new Object();
+        }));
+
+        Object first = results.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<Object> result : results) {
+            assertSame(first, result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, invocations.get());
+        assertEquals(1, flight.calls());
+        assertEquals(CALLERS - 1, flight.coalesced());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void leaderFailureReachesJoiners() throws Exception {
+        SingleFlight flight = new SingleFlight();
+        IOException failure = new IOException("Connection reset");
+
+        List<Future<Object>> results = submit(() -> flight.execute("bucket/key", () -> {
+            awaitJoiners(flight);
+            throw failure;
+        }));
+
+        for (Future<Object> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void completedCallIsNotCached() throws Exception {
+        SingleFlight flight = new SingleFlight();
+
+        Object first = flight.execute("bucket/key", Object::new);
+        Object second = flight.execute("bucket/key", Object::new);
+
+        assertNotSame(first, second);
+        assertEquals(2, flight.calls());
+        assertEquals(0, flight.coalesced());
+    }
+
+    private List<Future<Object>> submit(Callable<Object> call) {
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(call));
+        }
+        return results;
+    }
+
+    private static void awaitJoiners(SingleFlight flight) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (flight.coalesced() < CALLERS - 1) {
+            assertTrue(System.nanoTime() < deadline, "Callers did not join the flight");
+            LockSupport.parkNanos(100_000);
+        }
+    }
+}
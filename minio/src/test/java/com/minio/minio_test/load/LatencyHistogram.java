@@ -0,0 +1,169 @@
+package com.minio.minio_test.load;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Latency histogram with the bucket layout of an HDR histogram: values up to 2048 are counted
+ * exactly, larger values in 1024 linear sub-buckets per power of two, i.e. with three significant
+ * digits over the whole range. Recording is lock-free, so completion threads record directly.
+ * <p>
+ * Values are microseconds. {@link #outputPercentileDistribution} writes the {@code .hgrm} text
+ * format, so distributions of different runs can be plotted together with the usual HDR tools.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/12
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 10;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Largest power-of-two shift tracked; larger values are clamped (about 38 hours in microseconds) */
+    private static final int MAX_SHIFT = 26;
+
+    private static final int TICKS_PER_HALF = 5;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SUB_BUCKETS * (MAX_SHIFT + 2));
+
+    private final AtomicLong totalCount = new AtomicLong();
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(long value) {
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(indexOf(clamped));
+        totalCount.incrementAndGet();
+        sum.addAndGet(clamped);
+        max.accumulate(clamped);
+    }
+
+    long getTotalCount() {
+        return totalCount.get();
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+
+    /**
+     * The value at or below which the given percentage of recorded values fall, reported as the
+     * highest value equivalent to its bucket like HDR histograms do.
+     *
+     * @param percentile Percentile between 0 and 100.
+     * @return The value, or 0 if nothing was recorded.
+     */
+    long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Writes the percentile distribution in the HDR histogram {@code .hgrm} format.
+     *
+     * @param out   The stream to write to.
+     * @param scale Divisor applied to values, e.g. 1000.0 to report microseconds as milliseconds.
+     */
+    void outputPercentileDistribution(PrintStream out, double scale) {
+        long count = totalCount.get();
+        out.println("       Value     Percentile TotalCount 1/(1-Percentile)");
+        out.println();
+        if (count > 0) {
+            // Five reporting points per halving of the remaining distance to 100%, as HDR does
+            for (int half = 0; half < 60; half++) {
+                double start = 100.0 - 100.0 / (1L << half);
+                double end = 100.0 - 100.0 / (1L << (half + 1));
+                for (int tick = 0; tick < TICKS_PER_HALF; tick++) {
+                    writeLine(out, start + tick * (end - start) / TICKS_PER_HALF, scale, count);
+                }
+                if ((100.0 - end) / 100.0 * count < 1 || getValueAtPercentile(end) >= getMax()) {
+                    break;
+                }
+            }
+            writeLine(out, 100.0, scale, count);
+        }
+        double mean = getMean();
+        out.printf(Locale.ROOT, "#[Mean    = %12.3f, StdDeviation   = %12.3f]%n", mean / scale, standardDeviation(mean) / scale);
+        out.printf(Locale.ROOT, "#[Max     = %12.3f, Total count    = %12d]%n", getMax() / scale, count);
+        out.printf(Locale.ROOT, "#[Buckets = %12d, SubBuckets     = %12d]%n", MAX_SHIFT + 1, SUB_BUCKETS * 2);
+    }
+
+    private void writeLine(PrintStream out, double percentile, double scale, long count) {
+        long value = getValueAtPercentile(percentile);
+        long below = countAtOrBelow(value);
+        double fraction = percentile / 100.0;
+        if (fraction < 1.0) {
+            out.printf(Locale.ROOT, "%12.3f %2.12f %10d %14.2f%n", value / scale, fraction, below, 1 / (1 - fraction));
+        } else {
+            out.printf(Locale.ROOT, "%12.3f %2.12f %10d%n", value / scale, fraction, count);
+        }
+    }
+
+    private long countAtOrBelow(long value) {
+        long seen = 0;
+        int last = indexOf(value);
+        for (int i = 0; i <= last; i++) {
+            seen += counts.get(i);
+        }
+        return seen;
+    }
+
+    private double standardDeviation(double mean) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        double squares = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount > 0) {
+                double deviation = Math.min(highestEquivalentValue(i), getMax()) - mean;
+                squares += deviation * deviation * bucketCount;
+            }
+        }
+        return Math.sqrt(squares / count);
+    }
+
+    static int indexOf(long value) {
+        if (value < 2L * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        if (shift > MAX_SHIFT) {
+            return SUB_BUCKETS * (MAX_SHIFT + 2) - 1;
+        }
+        return SUB_BUCKETS * (shift + 1) + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket) << shift) + (1L << shift) - 1;
+    }
+}
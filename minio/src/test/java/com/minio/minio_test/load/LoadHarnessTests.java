@@ -0,0 +1,483 @@
+package com.minio.minio_test.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load-generation harness for the REST API.
+ * <p>
+ * Starts the application on a random port against an in-memory S3 stand-in, then replays a
+ * weighted mix of {@code /upload}, {@code /downloadFile}, {@code /listObjects} and
+ * {@code /getObjectUrl} requests with open-model arrivals: requests are sent at the configured
+ * rate whether or not earlier ones have completed, and latency is measured from the time a
+ * request was due, so a stalled server shows up in the percentiles instead of slowing the load
+ * down. Arrivals and the mix are drawn from a seeded random source, so runs with the same
+ * profile send the same request sequence.
+ * </p>
+ * <p>
+ * Only runs with {@code -Dload=true}; the profile is read from {@code load.*} system properties:
+ * </p>
+ * <pre>
+ * mvn test -Dtest=LoadHarnessTests -Dload=true -Dload.rate=300 -Dload.duration=60s \
+ *     -Dload.mix=download:6,list:2,url:1,upload:1 -Dload.baseline=target/load-reports/load-...json
+ * </pre>
+ * <p>
+ * Results are printed and written to {@code load.reportDir} as a JSON summary and one
+ * {@code .hgrm} percentile distribution per endpoint. With {@code load.baseline} set, throughput
+ * and p99 of each endpoint are compared with that summary and the run fails when one of them
+ * regressed by more than {@code load.maxRegression} percent.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/12
+ */
+@EnabledIfSystemProperty(named = "load", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.minio.minio_test=warn",
+        "spring.servlet.multipart.max-file-size=1GB",
+        "spring.servlet.multipart.max-request-size=1GB"
+})
+class LoadHarnessTests {
+
+    private static final String BUCKET = "load";
+
+    private static final String UPLOAD_BUCKET = "load-upload";
+
+    private static final String BOUNDARY = "load-harness-boundary";
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    private static LocalS3Server s3;
+
+    @LocalServerPort
+    private int port;
+
+    private enum Endpoint {
+        UPLOAD("upload"), DOWNLOAD("download"), LIST("list"), URL("url");
+
+        private final String key;
+
+        Endpoint(String key) {
+            this.key = key;
+        }
+
+        static Endpoint of(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equalsIgnoreCase(key.trim())) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint in load.mix: " + key);
+        }
+    }
+
+    @DynamicPropertySource
+    static void backend(DynamicPropertyRegistry registry) throws IOException {
+        s3 = LocalS3Server.start();
+        s3.createBucket(BUCKET);
+        s3.createBucket(UPLOAD_BUCKET);
+        registry.add("minio.endpoint", s3::endpoint);
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        if (s3 != null) {
+            s3.close();
+        }
+    }
+
+    @Test
+    void replayMix() throws Exception {
+        Profile profile = new Profile();
+        byte[] payload = new byte[(int) profile.objectSize.toBytes()];
+        new Random(profile.seed).nextBytes(payload);
+        for (int i = 0; i < profile.objects; i++) {
+            s3.putObject(BUCKET, objectName(i), payload, "application/octet-stream");
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        Random random = new Random(profile.seed);
+        System.out.println("Load profile: " + profile);
+
+        // Unrecorded warm-up phase, then the measured phase with the same arrival process
+        run(client, profile, payload, random, profile.warmup, new Results());
+        Results results = new Results();
+        long elapsed = run(client, profile, payload, random, profile.duration, results);
+
+        Map<String, Object> summary = summarize(profile, results, elapsed);
+        Path report = writeReport(profile, results, summary);
+        System.out.println("Load report: " + report.toAbsolutePath());
+
+        long total = results.total.getTotalCount() + results.rejected();
+        assertTrue(total == 0 || (double) results.errors() / total <= profile.maxErrorRate,
+                "Error rate above load.maxErrorRate: " + results.errors() + " of " + total);
+        if (profile.baseline != null) {
+            List<String> regressions = compare(summary, profile.baseline, profile.maxRegression);
+            assertTrue(regressions.isEmpty(), "Regressions against baseline: " + regressions);
+        }
+    }
+
+    /**
+     * Sends requests at their due times for the given duration, then waits for the last responses.
+     *
+     * @return The length of the phase in nanoseconds, including the wait for outstanding responses.
+     */
+    private long run(HttpClient client, Profile profile, byte[] payload, Random random, Duration duration,
+                     Results results) throws InterruptedException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicLong uploads = new AtomicLong();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long due = start;
+        while (due < end) {
+            long now;
+            while ((now = System.nanoTime()) < due) {
+                LockSupport.parkNanos(due - now);
+            }
+            Endpoint endpoint = profile.pick(random);
+            HttpRequest request = request(endpoint, profile, payload, random, uploads);
+            if (inFlight.get() >= profile.maxInFlight) {
+                results.stats.get(endpoint).rejected.incrementAndGet();
+            } else {
+                inFlight.incrementAndGet();
+                long sentAt = due;
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                    long latency = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAt);
+                    results.record(endpoint, latency, error == null && response.statusCode() == 200);
+                    inFlight.decrementAndGet();
+                });
+            }
+            due += profile.interArrivalNanos(random);
+        }
+        long drainDeadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private HttpRequest request(Endpoint endpoint, Profile profile, byte[] payload, Random random, AtomicLong uploads) {
+        String object = objectName(random.nextInt(profile.objects));
+        return switch (endpoint) {
+            case UPLOAD -> {
+                String fileName = "upload-" + uploads.incrementAndGet() + ".bin";
+                byte[] head = ("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"bucketName\"\r\n\r\n"
+                        + UPLOAD_BUCKET + "\r\n--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"files\"; filename=\""
+                        + fileName + "\"\r\nContent-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+                byte[] tail = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+                yield HttpRequest.newBuilder(uri("/upload", Map.of()))
+                        .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                        .POST(HttpRequest.BodyPublishers.ofByteArrays(List.of(head, payload, tail)))
+                        .build();
+            }
+            case DOWNLOAD -> HttpRequest.newBuilder(uri("/downloadFile", Map.of("bucketName", BUCKET, "fileName", object)))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case LIST -> HttpRequest.newBuilder(uri("/listObjects", Map.of("bucketName", BUCKET)))
+                    .GET()
+                    .build();
+            case URL -> HttpRequest.newBuilder(uri("/getObjectUrl", Map.of("bucketName", BUCKET, "objectName", object)))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        };
+    }
+
+    private URI uri(String path, Map<String, String> params) {
+        StringBuilder uri = new StringBuilder("http://127.0.0.1:").append(port).append(path);
+        char separator = '?';
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            uri.append(separator).append(param.getKey()).append('=')
+                    .append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        return URI.create(uri.toString());
+    }
+
+    private static String objectName(int index) {
+        return String.format(Locale.ROOT, "object-%05d", index);
+    }
+
+    private static Map<String, Object> summarize(Profile profile, Results results, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf(Locale.ROOT, "%-10s %9s %7s %8s %11s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "rejected", "throughput", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Stats stats = results.stats.get(endpoint);
+            if (stats.histogram.getTotalCount() > 0 || stats.rejected.get() > 0) {
+                endpoints.put(endpoint.key, summarize(endpoint.key, stats.histogram, stats.errors.get(),
+                        stats.rejected.get(), seconds));
+            }
+        }
+        endpoints.put("total", summarize("total", results.total, results.errors(), results.rejected(), seconds));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("timestamp", LocalDateTime.now().toString());
+        summary.put("profile", profile.describe());
+        summary.put("elapsedSeconds", seconds);
+        summary.put("endpoints", endpoints);
+        return summary;
+    }
+
+    private static Map<String, Object> summarize(String name, LatencyHistogram histogram, long errors, long rejected,
+                                                 double seconds) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("count", histogram.getTotalCount());
+        values.put("errors", errors);
+        values.put("rejected", rejected);
+        values.put("throughput", (histogram.getTotalCount() - errors) / seconds);
+        values.put("meanMs", histogram.getMean() / 1000.0);
+        for (double percentile : PERCENTILES) {
+            values.put(percentileKey(percentile), histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        values.put("maxMs", histogram.getMax() / 1000.0);
+        System.out.printf(Locale.ROOT, "%-10s %9d %7d %8d %9.1f/s %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                name, histogram.getTotalCount(), errors, rejected, values.get("throughput"),
+                values.get("p50Ms"), values.get("p90Ms"), values.get("p99Ms"), values.get("p99.9Ms"), values.get("maxMs"));
+        return values;
+    }
+
+    private static String percentileKey(double percentile) {
+        return "p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile)) + "Ms";
+    }
+
+    private static Path writeReport(Profile profile, Results results, Map<String, Object> summary) throws IOException {
+        Files.createDirectories(profile.reportDir);
+        String name = "load-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencyHistogram histogram = results.stats.get(endpoint).histogram;
+            if (histogram.getTotalCount() > 0) {
+                try (PrintStream out = new PrintStream(Files.newOutputStream(
+                        profile.reportDir.resolve(name + "-" + endpoint.key + ".hgrm")), false, StandardCharsets.UTF_8)) {
+                    histogram.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+        Path report = profile.reportDir.resolve(name + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), summary);
+        return report;
+    }
+
+    /**
+     * Compares throughput and p99 of every endpoint with a previous summary.
+     *
+     * @return Descriptions of the regressions beyond the allowed percentage.
+     */
+    private static List<String> compare(Map<String, Object> summary, Path baseline, double maxRegression)
+            throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode previous = mapper.readTree(baseline.toFile()).path("endpoints");
+        JsonNode current = mapper.valueToTree(summary).path("endpoints");
+        List<String> regressions = new ArrayList<>();
+        System.out.println("Compared with baseline " + baseline + ":");
+        current.fieldNames().forEachRemaining(endpoint -> {
+            JsonNode before = previous.path(endpoint);
+            if (before.isMissingNode()) {
+                return;
+            }
+            JsonNode after = current.path(endpoint);
+            double throughputChange = change(before.path("throughput").asDouble(), after.path("throughput").asDouble());
+            double p99Change = change(before.path("p99Ms").asDouble(), after.path("p99Ms").asDouble());
+            System.out.printf(Locale.ROOT, "%-10s throughput %+7.1f%%, p99 %+7.1f%%%n", endpoint, throughputChange, p99Change);
+            if (-throughputChange > maxRegression) {
+                regressions.add(endpoint + " throughput " + String.format(Locale.ROOT, "%+.1f%%", throughputChange));
+            }
+            if (p99Change > maxRegression) {
+                regressions.add(endpoint + " p99 " + String.format(Locale.ROOT, "%+.1f%%", p99Change));
+            }
+        });
+        return regressions;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100.0;
+    }
+
+    /**
+     * Load profile read from {@code load.*} system properties.
+     */
+    private static final class Profile {
+
+        /** Arrivals per second */
+        private final double rate = Double.parseDouble(System.getProperty("load.rate", "100"));
+
+        /** Length of the measured phase */
+        private final Duration duration = DurationStyle.detectAndParse(System.getProperty("load.duration", "30s"));
+
+        /** Length of the unrecorded phase before it */
+        private final Duration warmup = DurationStyle.detectAndParse(System.getProperty("load.warmup", "5s"));
+
+        /** Poisson (exponential gaps) or uniform (fixed gaps) arrivals */
+        private final boolean poisson = !"uniform".equalsIgnoreCase(System.getProperty("load.arrival", "poisson"));
+
+        /** Seed of arrivals, mix and object choice */
+        private final long seed = Long.parseLong(System.getProperty("load.seed", "42"));
+
+        /** Size of uploaded and preloaded objects */
+        private final DataSize objectSize = DataSize.parse(System.getProperty("load.objectSize", "64KB"));
+
+        /** Objects preloaded for downloads, listings and URLs */
+        private final int objects = Integer.parseInt(System.getProperty("load.objects", "200"));
+
+        /** Requests outstanding before new arrivals are counted as rejected instead of sent */
+        private final int maxInFlight = Integer.parseInt(System.getProperty("load.maxInFlight", "5000"));
+
+        /** Share of failed or rejected requests that fails the run */
+        private final double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+
+        /** Percentage by which throughput may drop or p99 grow against the baseline */
+        private final double maxRegression = Double.parseDouble(System.getProperty("load.maxRegression", "20"));
+
+        private final Path reportDir = Paths.get(System.getProperty("load.reportDir", "target/load-reports"));
+
+        private final Path baseline = System.getProperty("load.baseline") == null
+                ? null : Paths.get(System.getProperty("load.baseline"));
+
+        private final String mixSpec = System.getProperty("load.mix", "download:6,list:2,url:1,upload:1");
+
+        private final Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+
+        private final int totalWeight;
+
+        private Profile() {
+            int total = 0;
+            for (String entry : mixSpec.split(",")) {
+                String[] parts = entry.split(":");
+                int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+                if (weight > 0) {
+                    mix.merge(Endpoint.of(parts[0]), weight, Integer::sum);
+                    total += weight;
+                }
+            }
+            if (total == 0 || rate <= 0 || objects <= 0) {
+                throw new IllegalArgumentException("load.mix, load.rate and load.objects must be positive.");
+            }
+            this.totalWeight = total;
+        }
+
+        private Endpoint pick(Random random) {
+            int ticket = random.nextInt(totalWeight);
+            for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+                ticket -= entry.getValue();
+                if (ticket < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        private long interArrivalNanos(Random random) {
+            double mean = 1e9 / rate;
+            return (long) (poisson ? -Math.log(1 - random.nextDouble()) * mean : mean);
+        }
+
+        private Map<String, Object> describe() {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("rate", rate);
+            values.put("duration", duration.toString());
+            values.put("warmup", warmup.toString());
+            values.put("arrival", poisson ? "poisson" : "uniform");
+            values.put("mix", mixSpec);
+            values.put("objectSize", objectSize.toBytes());
+            values.put("objects", objects);
+            values.put("seed", seed);
+            values.put("maxInFlight", maxInFlight);
+            values.put("cpus", Runtime.getRuntime().availableProcessors());
+            values.put("java", System.getProperty("java.version"));
+            return values;
+        }
+
+        @Override
+        public String toString() {
+            return describe().toString();
+        }
+    }
+
+    /**
+     * Outcomes of one endpoint.
+     */
+    private static final class Stats {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private final AtomicLong errors = new AtomicLong();
+
+        private final AtomicLong rejected = new AtomicLong();
+    }
+
+    /**
+     * Outcomes of one phase, per endpoint and in total.
+     */
+    private static final class Results {
+
+        private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+
+        private final LatencyHistogram total = new LatencyHistogram();
+
+        private Results() {
+            for (Endpoint endpoint : Endpoint.values()) {
+                stats.put(endpoint, new Stats());
+            }
+        }
+
+        private void record(Endpoint endpoint, long latencyMicros, boolean success) {
+            Stats endpointStats = stats.get(endpoint);
+            endpointStats.histogram.record(latencyMicros);
+            total.record(latencyMicros);
+            if (!success) {
+                endpointStats.errors.incrementAndGet();
+            }
+        }
+
+        private long errors() {
+            return stats.values().stream().mapToLong(s -> s.errors.get()).sum();
+        }
+
+        private long rejected() {
+            return stats.values().stream().mapToLong(s -> s.rejected.get()).sum();
+        }
+    }
+}
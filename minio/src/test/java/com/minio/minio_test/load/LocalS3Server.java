@@ -0,0 +1,458 @@
+package com.minio.minio_test.load;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory S3 stand-in for load and service tests, serving the subset of the S3 API the
+ * application uses on its main paths: bucket listing, existence and location, object put, ranged
+ * get, head and delete, multi-object delete and ListObjectsV2, plus the MinIO liveness endpoint.
+ * Signatures are not checked and every other request is answered with {@code NotImplemented}.
+ * <p>
+ * Serving from memory keeps the backend out of the measurement, so that the latencies reported
+ * by a load run are those of the application itself.
+ * </p>
+ *
+ * @author Zhang
+ * @date 2025/03/12
+ */
+public final class LocalS3Server implements AutoCloseable {
+
+    private static final String NAMESPACE = "http://s3.amazonaws.com/doc/2006-03-01/";
+
+    private static final DateTimeFormatter ISO_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private static final Pattern DELETE_KEY = Pattern.compile("<Key>(.*?)</Key>", Pattern.DOTALL);
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final HttpServer server;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+
+    private LocalS3Server(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Starts a server on a free loopback port.
+     */
+    public static LocalS3Server start() throws IOException {
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        LocalS3Server s3 = new LocalS3Server(httpServer);
+        httpServer.createContext("/", s3::handle);
+        httpServer.setExecutor(s3.executor);
+        httpServer.start();
+        return s3;
+    }
+
+    public String endpoint() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public void createBucket(String name) {
+        buckets.putIfAbsent(name, new Bucket());
+    }
+
+    public void putObject(String bucket, String key, byte[] data, String contentType) {
+        buckets.get(bucket).objects.put(key, new StoredObject(data, contentType));
+    }
+
+    /**
+     * Returns the content of an object, or null if it does not exist.
+     */
+    public byte[] getObject(String bucket, String key) {
+        Bucket stored = buckets.get(bucket);
+        StoredObject object = stored == null ? null : stored.objects.get(key);
+        return object == null ? null : object.data;
+    }
+
+    public int objectCount(String bucket) {
+        Bucket stored = buckets.get(bucket);
+        return stored == null ? 0 : stored.objects.size();
+    }
+
+    /**
+     * Holds the next PUT of a key after its body is read and before it is stored, until the hold
+     * is released.
+     */
+    public Hold holdPut(String bucket, String key) {
+        Hold hold = new Hold();
+        holds.put(bucket + '/' + key, hold);
+        return hold;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getRawPath();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String method = exchange.getRequestMethod();
+            if (path.startsWith("/minio/health/")) {
+                drain(exchange);
+                send(exchange, 200, null, new byte[0]);
+                return;
+            }
+            String[] parts = path.substring(1).split("/", 2);
+            String bucket = decode(parts[0]);
+            String key = parts.length > 1 && !parts[1].isEmpty() ? decode(parts[1]) : null;
+            if (bucket.isEmpty()) {
+                if ("GET".equals(method)) {
+                    listBuckets(exchange);
+                } else {
+                    error(exchange, 501, "NotImplemented", null);
+                }
+            } else if (key == null) {
+                handleBucket(exchange, method, bucket, query);
+            } else {
+                handleObject(exchange, method, bucket, key, query);
+            }
+        }
+    }
+
+    private void handleBucket(HttpExchange exchange, String method, String bucket, Map<String, String> query)
+            throws IOException {
+        Bucket stored = buckets.get(bucket);
+        if ("PUT".equals(method) && query.isEmpty()) {
+            drain(exchange);
+            createBucket(bucket);
+            send(exchange, 200, null, new byte[0]);
+            return;
+        }
+        if (stored == null) {
+            error(exchange, 404, "NoSuchBucket", bucket);
+            return;
+        }
+        if ("HEAD".equals(method)) {
+            send(exchange, 200, null, null);
+        } else if ("GET".equals(method) && query.containsKey("location")) {
+            sendXml(exchange, "<LocationConstraint xmlns=\"" + NAMESPACE + "\"></LocationConstraint>");
+        } else if ("GET".equals(method) && "2".equals(query.get("list-type"))) {
+            listObjects(exchange, bucket, stored, query);
+        } else if ("POST".equals(method) && query.containsKey("delete")) {
+            deleteObjects(exchange, stored);
+        } else {
+            error(exchange, 501, "NotImplemented", bucket);
+        }
+    }
+
+    private void handleObject(HttpExchange exchange, String method, String bucket, String key, Map<String, String> query)
+            throws IOException {
+        Bucket stored = buckets.get(bucket);
+        if (stored == null) {
+            drain(exchange);
+            error(exchange, 404, "NoSuchBucket", bucket);
+            return;
+        }
+        if (!query.isEmpty() && !query.containsKey("versionId")) {
+            drain(exchange);
+            error(exchange, 501, "NotImplemented", bucket);
+            return;
+        }
+        switch (method) {
+            case "PUT" -> {
+                byte[] data;
+                try (InputStream in = exchange.getRequestBody()) {
+                    data = in.readAllBytes();
+                }
+                Hold hold = holds.remove(bucket + '/' + key);
+                if (hold != null) {
+                    hold.await();
+                }
+                StoredObject object = new StoredObject(data, exchange.getRequestHeaders().getFirst("Content-Type"));
+                stored.objects.put(key, object);
+                exchange.getResponseHeaders().set("ETag", "\"" + object.etag + "\"");
+                send(exchange, 200, null, new byte[0]);
+            }
+            case "GET", "HEAD" -> {
+                StoredObject object = stored.objects.get(key);
+                if (object == null) {
+                    error(exchange, 404, "NoSuchKey", bucket);
+                    return;
+                }
+                Headers headers = exchange.getResponseHeaders();
+                headers.set("ETag", "\"" + object.etag + "\"");
+                headers.set("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(object.lastModified.atOffset(ZoneOffset.UTC)));
+                Matcher range = RANGE.matcher(StringUtils.defaultString(exchange.getRequestHeaders().getFirst("Range")));
+                if ("HEAD".equals(method)) {
+                    headers.set("Content-Length", String.valueOf(object.data.length));
+                    send(exchange, 200, object.contentType, null);
+                } else if (range.matches()) {
+                    int from = Integer.parseInt(range.group(1));
+                    int to = range.group(2).isEmpty() ? object.data.length - 1
+                            : Math.min(Integer.parseInt(range.group(2)), object.data.length - 1);
+                    headers.set("Content-Range", "bytes " + from + "-" + to + "/" + object.data.length);
+                    send(exchange, 206, object.contentType, Arrays.copyOfRange(object.data, from, to + 1));
+                } else {
+                    send(exchange, 200, object.contentType, object.data);
+                }
+            }
+            case "DELETE" -> {
+                stored.objects.remove(key);
+                send(exchange, 204, null, null);
+            }
+            default -> error(exchange, 501, "NotImplemented", bucket);
+        }
+    }
+
+    /**
+     * Multi-object delete; every key is deleted, missing ones included, as S3 does.
+     */
+    private void deleteObjects(HttpExchange exchange, Bucket stored) throws IOException {
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        StringBuilder xml = new StringBuilder("<DeleteResult xmlns=\"" + NAMESPACE + "\">");
+        Matcher matcher = DELETE_KEY.matcher(body);
+        while (matcher.find()) {
+            String key = unescape(matcher.group(1));
+            stored.objects.remove(key);
+            xml.append("<Deleted><Key>").append(escape(key)).append("</Key></Deleted>");
+        }
+        sendXml(exchange, xml.append("</DeleteResult>").toString());
+    }
+
+    private void listBuckets(HttpExchange exchange) throws IOException {
+        StringBuilder xml = new StringBuilder("<ListAllMyBucketsResult xmlns=\"" + NAMESPACE + "\">")
+                .append("<Owner><ID>local</ID><DisplayName>local</DisplayName></Owner><Buckets>");
+        for (String name : new TreeSet<>(buckets.keySet())) {
+            xml.append("<Bucket><Name>").append(escape(name)).append("</Name><CreationDate>")
+                    .append(ISO_FORMAT.format(buckets.get(name).created)).append("</CreationDate></Bucket>");
+        }
+        sendXml(exchange, xml.append("</Buckets></ListAllMyBucketsResult>").toString());
+    }
+
+    /**
+     * ListObjectsV2 with prefix, delimiter, start-after/continuation token and max-keys.
+     */
+    private void listObjects(HttpExchange exchange, String bucket, Bucket stored, Map<String, String> query)
+            throws IOException {
+        String prefix = query.getOrDefault("prefix", "");
+        String delimiter = query.getOrDefault("delimiter", "");
+        int maxKeys = Integer.parseInt(query.getOrDefault("max-keys", "1000"));
+        String after = query.getOrDefault("continuation-token", query.getOrDefault("start-after", ""));
+
+        StringBuilder contents = new StringBuilder();
+        TreeSet<String> commonPrefixes = new TreeSet<>();
+        int keyCount = 0;
+        String lastKey = null;
+        boolean truncated = false;
+        for (Map.Entry<String, StoredObject> entry : stored.objects.tailMap(after, false).entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(prefix)) {
+                if (key.compareTo(prefix) > 0) {
+                    break;
+                }
+                continue;
+            }
+            if (keyCount >= maxKeys) {
+                truncated = true;
+                break;
+            }
+            int index = delimiter.isEmpty() ? -1 : key.indexOf(delimiter, prefix.length());
+            if (index >= 0) {
+                if (commonPrefixes.add(key.substring(0, index + delimiter.length()))) {
+                    keyCount++;
+                }
+            } else {
+                StoredObject object = entry.getValue();
+                contents.append("<Contents><Key>").append(escape(key)).append("</Key><LastModified>")
+                        .append(ISO_FORMAT.format(object.lastModified)).append("</LastModified><ETag>&quot;")
+                        .append(object.etag).append("&quot;</ETag><Size>").append(object.data.length)
+                        .append("</Size><StorageClass>STANDARD</StorageClass></Contents>");
+                keyCount++;
+            }
+            lastKey = key;
+        }
+
+        StringBuilder xml = new StringBuilder("<ListBucketResult xmlns=\"" + NAMESPACE + "\">")
+                .append("<Name>").append(escape(bucket)).append("</Name><Prefix>").append(escape(prefix))
+                .append("</Prefix><KeyCount>").append(keyCount).append("</KeyCount><MaxKeys>").append(maxKeys)
+                .append("</MaxKeys>");
+        if (!delimiter.isEmpty()) {
+            xml.append("<Delimiter>").append(escape(delimiter)).append("</Delimiter>");
+        }
+        xml.append("<IsTruncated>").append(truncated).append("</IsTruncated>");
+        if (truncated && lastKey != null) {
+            xml.append("<NextContinuationToken>").append(escape(lastKey)).append("</NextContinuationToken>");
+        }
+        xml.append(contents);
+        for (String commonPrefix : commonPrefixes) {
+            xml.append("<CommonPrefixes><Prefix>").append(escape(commonPrefix)).append("</Prefix></CommonPrefixes>");
+        }
+        sendXml(exchange, xml.append("</ListBucketResult>").toString());
+    }
+
+    private static void error(HttpExchange exchange, int status, String code, String bucket) throws IOException {
+        String xml = "<Error><Code>" + code + "</Code><Message>" + code + "</Message><BucketName>"
+                + escape(bucket == null ? "" : bucket) + "</BucketName><Resource>"
+                + escape(exchange.getRequestURI().getPath()) + "</Resource><RequestId>local</RequestId>"
+                + "<HostId>local</HostId></Error>";
+        send(exchange, status, "application/xml", "HEAD".equals(exchange.getRequestMethod())
+                ? null : xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void sendXml(HttpExchange exchange, String xml) throws IOException {
+        send(exchange, 200, "application/xml", xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends a response; a null body sends headers only.
+     */
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        exchange.getResponseHeaders().set("x-amz-request-id", "local");
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static void drain(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int index = pair.indexOf('=');
+            if (index < 0) {
+                query.put(decode(pair), "");
+            } else {
+                query.put(decode(pair.substring(0, index)), decode(pair.substring(index + 1)));
+            }
+        }
+        return query;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value.replace("+", "%2B"), StandardCharsets.UTF_8);
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static String unescape(String value) {
+        return value.replace("&quot;", "\"").replace("&apos;", "'").replace("&lt;", "<").replace("&gt;", ">")
+                .replace("&amp;", "&");
+    }
+
+    /**
+     * A PUT held by {@link #holdPut}.
+     */
+    public static final class Hold {
+
+        private final CountDownLatch arrived = new CountDownLatch(1);
+
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        /**
+         * Waits until the held PUT has arrived.
+         */
+        public void awaitArrival() throws InterruptedException {
+            if (!arrived.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("No PUT arrived within 10 seconds.");
+            }
+        }
+
+        public void release() {
+            released.countDown();
+        }
+
+        private void await() throws IOException {
+            arrived.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while holding a PUT.", e);
+            }
+        }
+    }
+
+    private static final class Bucket {
+
+        private final Instant created = Instant.now();
+
+        private final NavigableMap<String, StoredObject> objects = new ConcurrentSkipListMap<>();
+    }
+
+    private static final class StoredObject {
+
+        private final byte[] data;
+
+        private final String contentType;
+
+        private final String etag;
+
+        private final Instant lastModified = Instant.now();
+
+        private StoredObject(byte[] data, String contentType) {
+            this.data = data;
+            this.contentType = contentType == null ? "application/octet-stream" : contentType;
+            this.etag = md5(data);
+        }
+
+        private static String md5(byte[] data) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.minio.minio_test.packing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for PackIndex.
+ * Closing an index and opening another on the same directory stands in for a restart.
+ */
+class PackIndexTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenRestoresObjectsAndLiveBytes() throws IOException {
+        try (PackIndex index = open(100)) {
+            assertTrue(index.isEmpty());
+            index.addPack("bucket", "p1", 30, 1000, objects("p1", "a.txt", "dir/b.txt", "dir/c.txt"));
+            assertTrue(index.remove("bucket", "a.txt"));
+        }
+
+        try (PackIndex index = open(100)) {
+            assertNull(index.get("bucket", "a.txt"));
+            PackedObject object = index.get("bucket", "dir/b.txt");
+            assertNotNull(object);
+            assertEquals("p1", object.getPackId());
+            assertEquals(10, object.getOffset());
+            assertEquals("text/plain", object.getContentType());
+            PackIndex.Pack pack = index.packs().get(0);
+            assertEquals(20, pack.getLiveBytes());
+            assertEquals(2, pack.getLiveCount());
+            assertEquals(0, pack.getEmptiedAt());
+            assertEquals(List.of("dir/"), keys(index.list("bucket", "", false)));
+            assertEquals(List.of("dir/b.txt", "dir/c.txt"), keys(index.list("bucket", "", true)));
+        }
+    }
+
+    @Test
+    void tornPutIsSkipped() throws IOException {
+        try (PackIndex index = open(100)) {
+            index.addPack("bucket", "p1", 20, 1000, objects("p1", "a.txt", "b.txt"));
+        }
+        tearLastRecord();
+
+        try (PackIndex index = open(100)) {
+            assertNotNull(index.get("bucket", "a.txt"));
+            assertNull(index.get("bucket", "b.txt"));
+            assertEquals(10, index.packs().get(0).getLiveBytes());
+        }
+        // The torn record is gone from the rewritten journal too
+        assertEquals(2, records());
+    }
+
+    @Test
+    void tornRemovalLeavesObjectPacked() throws IOException {
+        try (PackIndex index = open(100)) {
+            index.addPack("bucket", "p1", 20, 1000, objects("p1", "a.txt", "b.txt"));
+            index.remove("bucket", "a.txt");
+        }
+        tearLastRecord();
+
+        try (PackIndex index = open(100)) {
+            assertNotNull(index.get("bucket", "a.txt"));
+            assertEquals(2, index.packs().get(0).getLiveCount());
+        }
+    }
+
+    @Test
+    void compactionKeepsOnlyCurrentState() throws IOException {
+        try (PackIndex index = open(4)) {
+            index.addPack("bucket", "p1", 20, 1000, objects("p1", "a.txt", "b.txt"));
+            index.addPack("bucket", "p2", 20, 2000, objects("p2", "a.txt", "b.txt"));
+            assertEquals(6, records());
+
+            // Seven records against three live ones: two packs and one object
+            index.remove("bucket", "a.txt");
+            assertEquals(3, records());
+            PackIndex.Pack first = pack(index, "p1");
+            assertEquals(0, first.getLiveCount());
+            assertTrue(first.getEmptiedAt() > 0);
+
+            index.dropPack("p1");
+        }
+
+        try (PackIndex index = open(4)) {
+            assertEquals(List.of("p2"), index.packs().stream().map(PackIndex.Pack::getId).toList());
+            assertNull(index.get("bucket", "a.txt"));
+            assertEquals("p2", index.get("bucket", "b.txt").getPackId());
+            assertEquals(10, pack(index, "p2").getLiveBytes());
+        }
+        assertEquals(2, records());
+    }
+
+    @Test
+    void relocateMovesOnlyUnchangedObjects() throws IOException {
+        try (PackIndex index = open(100)) {
+            index.addPack("bucket", "p1", 20, 1000, objects("p1", "a.txt", "b.txt"));
+            PackedObject a = index.get("bucket", "a.txt");
+            PackedObject b = index.get("bucket", "b.txt");
+            // Replaced after compaction copied it
+            index.addPack("bucket", "p2", 10, 2000, objects("p2", "b.txt"));
+
+            Map<String, PackedObject[]> moves = new LinkedHashMap<>();
+            moves.put("a.txt", new PackedObject[]{a, new PackedObject("p3", 0, 10, "text/plain", "etag", 1000)});
+            moves.put("b.txt", new PackedObject[]{b, new PackedObject("p3", 10, 10, "text/plain", "etag", 1000)});
+            assertEquals(1, index.relocate("bucket", "p3", 20, 3000, moves));
+        }
+
+        try (PackIndex index = open(100)) {
+            assertEquals("p3", index.get("bucket", "a.txt").getPackId());
+            assertEquals("p2", index.get("bucket", "b.txt").getPackId());
+            assertEquals(0, pack(index, "p1").getLiveCount());
+            assertEquals(10, pack(index, "p3").getLiveBytes());
+            assertFalse(index.isEmpty());
+        }
+    }
+
+    private PackIndex open(int compactThreshold) throws IOException {
+        PackIndex index = new PackIndex(directory, objectMapper, compactThreshold);
+        index.open();
+        return index;
+    }
+
+    private static PackIndex.Pack pack(PackIndex index, String packId) {
+        return index.packs().stream().filter(pack -> pack.getId().equals(packId)).findFirst().orElseThrow();
+    }
+
+    /**
+     * Objects of 10 bytes each, laid out one after the other.
+     */
+    private static Map<String, PackedObject> objects(String packId, String... keys) {
+        Map<String, PackedObject> objects = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            objects.put(keys[i], new PackedObject(packId, i * 10L, 10, "text/plain", "etag" + i, 1000));
+        }
+        return objects;
+    }
+
+    private static List<String> keys(Iterator<Map.Entry<String, PackedObject>> entries) {
+        List<String> keys = new ArrayList<>();
+        entries.forEachRemaining(entry -> keys.add(entry.getKey()));
+        return keys;
+    }
+
+    /**
+     * Drops the newline and the last few bytes of the final record, leaving it unparseable.
+     */
+    private void tearLastRecord() throws IOException {
+        Path journal = directory.resolve("pack-index.journal");
+        byte[] content = Files.readAllBytes(journal);
+        Files.write(journal, Arrays.copyOf(content, content.length - 8));
+    }
+
+    private long records() throws IOException {
+        try (Stream<String> lines = Files.lines(directory.resolve("pack-index.journal"))) {
+            return lines.count();
+        }
+    }
+}
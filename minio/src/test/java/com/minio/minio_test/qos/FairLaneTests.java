@@ -0,0 +1,129 @@
+package com.minio.minio_test.qos;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for FairLane.
+ * The lane's token bucket reads a manual clock that starts empty. The test releases exactly one
+ * chunk of tokens at a time, once every flow has a chunk waiting, so the order of grants follows
+ * from the fair-queueing tags alone.
+ */
+class FairLaneTests {
+
+    /** One token per nanosecond */
+    private static final long RATE = 1_000_000_000L;
+
+    private static final long CHUNK = 1000;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final FairLane lane = new FairLane(new TrafficAccount("lane", RATE, CHUNK, clock::get));
+
+    private final ExecutorService flows = Executors.newCachedThreadPool();
+
+    private final List<String> grants = new ArrayList<>();
+
+    FairLaneTests() {
+        lane.getAccount().getBucket().charge(CHUNK);
+    }
+
+    @AfterEach
+    void shutdown() {
+        flows.shutdownNow();
+    }
+
+    @Test
+    void weightTwoGetsTwiceTheBandwidthOfWeightOne() {
+        int rounds = 30;
+        flows.submit(() -> send("heavy", new FairLane.Flow(2), rounds));
+        flows.submit(() -> send("light", new FairLane.Flow(1), rounds));
+
+        for (int granted = 0; granted < rounds; granted++) {
+            awaitWaiting(2);
+            clock.addAndGet(CHUNK);
+            int expected = granted + 1;
+            awaitUntil(() -> grantCount() == expected);
+        }
+
+        synchronized (grants) {
+            long heavy = grants.stream().filter("heavy"::equals).count();
+            assertEquals(2 * rounds / 3, heavy, "Grants in order: " + grants);
+        }
+    }
+
+    @Test
+    void interruptedWaiterLeavesTheQueue() throws Exception {
+        Future<?> first = flows.submit(() -> send("first", new FairLane.Flow(1), 1));
+        awaitWaiting(1);
+        Future<?> second = flows.submit(() -> send("second", new FairLane.Flow(1), 1));
+        awaitWaiting(2);
+
+        first.cancel(true);
+        awaitWaiting(1);
+
+        // The chunk queued behind the interrupted one is next in line
+        clock.addAndGet(CHUNK);
+        second.get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("second"), grants);
+        assertEquals(0, lane.waiting());
+    }
+
+    @Test
+    void interruptReportsInterruptedIo() throws Exception {
+        Future<?> waiter = flows.submit(() -> {
+            Thread.currentThread().interrupt();
+            lane.acquire(new FairLane.Flow(1), CHUNK);
+            return null;
+        });
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> waiter.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(InterruptedIOException.class, thrown.getCause());
+        assertEquals(0, lane.waiting());
+    }
+
+    private Void send(String name, FairLane.Flow flow, int chunks) throws InterruptedIOException {
+        for (int i = 0; i < chunks; i++) {
+            lane.acquire(flow, CHUNK);
+            synchronized (grants) {
+                grants.add(name);
+            }
+        }
+        return null;
+    }
+
+    private int grantCount() {
+        synchronized (grants) {
+            return grants.size();
+        }
+    }
+
+    private void awaitWaiting(int waiting) {
+        awaitUntil(() -> lane.waiting() == waiting);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the lane");
+            LockSupport.parkNanos(100_000);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.minio.minio_test.qos;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for TokenBucket.
+ * The bucket reads a manual clock, so refills happen only when the test advances it.
+ */
+class TokenBucketTests {
+
+    /** One token per nanosecond */
+    private static final long RATE = 1_000_000_000L;
+
+    private static final long CAPACITY = 1000;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final TokenBucket bucket = new TokenBucket(RATE, CAPACITY, clock::get);
+
+    @Test
+    void startsFullAndRefillsWithTime() {
+        assertEquals(0, bucket.tryTake(CAPACITY));
+        assertEquals(400, bucket.tryTake(400));
+
+        clock.addAndGet(300);
+        assertEquals(100, bucket.tryTake(400));
+        clock.addAndGet(100);
+        assertEquals(0, bucket.tryTake(400));
+    }
+
+    @Test
+    void refillStopsAtCapacity() {
+        clock.addAndGet(10 * CAPACITY);
+        assertEquals(0, bucket.tryTake(CAPACITY));
+        assertEquals(1, bucket.tryTake(1));
+    }
+
+    @Test
+    void takeLargerThanBurstNeedsOnlyOneBurst() {
+        assertEquals(0, bucket.tryTake(5 * CAPACITY));
+        assertEquals(CAPACITY, bucket.tryTake(5 * CAPACITY));
+    }
+
+    @Test
+    void reserveGoesIntoDebt() {
+        assertEquals(0, bucket.reserve(CAPACITY));
+        assertEquals(3 * CAPACITY, bucket.reserve(3 * CAPACITY));
+
+        // Later takers wait for the debt to be repaid as well
+        assertEquals(4 * CAPACITY, bucket.tryTake(CAPACITY));
+        clock.addAndGet(3 * CAPACITY);
+        assertEquals(CAPACITY, bucket.tryTake(CAPACITY));
+    }
+
+    @Test
+    void chargeCapsDebtAtOneBurst() {
+        bucket.charge(CAPACITY);
+        bucket.charge(100 * CAPACITY);
+
+        assertEquals(CAPACITY, bucket.reserve(0));
+        assertEquals(2 * CAPACITY, bucket.tryTake(CAPACITY));
+        clock.addAndGet(CAPACITY);
+        assertEquals(CAPACITY, bucket.tryTake(CAPACITY));
+        clock.addAndGet(CAPACITY);
+        assertEquals(0, bucket.tryTake(CAPACITY));
+    }
+}
@@ -0,0 +1,188 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minio.minio_test.cluster.MinioClientPool;
+import com.minio.minio_test.config.PackingProperties;
+import com.minio.minio_test.exception.ConflictException;
+import com.minio.minio_test.load.LocalS3Server;
+import com.minio.minio_test.packing.PackedObject;
+import com.minio.minio_test.qos.TransferScheduler;
+import com.minio.minio_test.resilience.MinioCallExecutor;
+import com.minio.minio_test.service.MinioService;
+import com.minio.minio_test.service.PackingService;
+import com.minio.minio_test.service.StatService;
+import com.minio.minio_test.tracing.Tracer;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for PackingServiceImpl.
+ * Packs are written to an in-memory S3 stand-in; compaction runs every 100 ms, and a second
+ * instance with an empty index shows what a rebuild restores.
+ */
+@SpringBootTest(properties = {
+        "minio.packing.enabled=true",
+        "minio.packing.linger=5ms",
+        "minio.packing.compaction-interval=100ms",
+        "logging.level.com.minio.minio_test=warn"
+})
+class PackingServiceImplTests {
+
+    private static LocalS3Server s3;
+
+    private static Path indexDirectory;
+
+    @Resource
+    private PackingService packingService;
+
+    @Resource
+    private MinioService minioService;
+
+    @Resource
+    private StatService statService;
+
+    @Resource
+    private PackingProperties packingProperties;
+
+    @Resource
+    private MinioCallExecutor minioCallExecutor;
+
+    @Resource
+    private TransferScheduler transferScheduler;
+
+    @Resource
+    private Tracer tracer;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @Resource
+    private MinioClientPool clientPool;
+
+    @DynamicPropertySource
+    static void backend(DynamicPropertyRegistry registry) throws IOException {
+        s3 = LocalS3Server.start();
+        s3.createBucket("served");
+        s3.createBucket("compacted");
+        s3.createBucket("rebuilt");
+        indexDirectory = Files.createTempDirectory("packing-tests");
+        registry.add("minio.endpoint", s3::endpoint);
+        registry.add("minio.packing.index-dir", indexDirectory::toString);
+    }
+
+    @AfterAll
+    static void stopBackend() throws IOException {
+        s3.close();
+        FileSystemUtils.deleteRecursively(indexDirectory);
+    }
+
+    @Test
+    void packedUploadReplacesTheStoredObjectOnEveryReadPath(@TempDir Path downloads) throws Exception {
+        s3.putObject("served", "logo.svg", bytes("<svg old/>"), "image/svg+xml");
+        upload("served", "logo.svg", "<svg new/>");
+
+        assertNotNull(packingService.get("served", "logo.svg"));
+        assertNull(s3.getObject("served", "logo.svg"), "the object stored on its own was left behind");
+
+        MockHttpServletResponse download = new MockHttpServletResponse();
+        minioService.download("served", "logo.svg", download);
+        assertEquals("<svg new/>", download.getContentAsString());
+
+        Path local = downloads.resolve("logo.svg");
+        minioService.downloadToLocalDisk("served", "logo.svg", local.toString());
+        assertEquals("<svg new/>", Files.readString(local));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        statService.statObjects("served", List.of("logo.svg"), null, response);
+        JsonNode stat = objectMapper.readTree(response.getContentAsByteArray()).get("data").get(0);
+        assertEquals(10, stat.get("size").asInt());
+        assertEquals(DigestUtils.md5DigestAsHex(bytes("<svg new/>")), stat.get("etag").asText());
+
+        assertThrows(ConflictException.class, () -> minioService.getObjectUrl("served", "logo.svg", 10));
+    }
+
+    @Test
+    void compactionMergesSmallPacks() throws Exception {
+        upload("compacted", "a.txt", "alpha");
+        upload("compacted", "b.txt", "beta");
+        // Each upload waited for its own pack
+        assertNotEquals(packingService.get("compacted", "a.txt").getPackId(),
+                packingService.get("compacted", "b.txt").getPackId());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!packingService.get("compacted", "a.txt").getPackId()
+                .equals(packingService.get("compacted", "b.txt").getPackId())) {
+            assertTrue(System.nanoTime() < deadline, "packs were not merged");
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+        }
+        assertEquals("alpha", new String(packingService.read("compacted", "a.txt"), StandardCharsets.UTF_8));
+        assertEquals("beta", new String(packingService.read("compacted", "b.txt"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rebuildRestoresNewestCopiesAndHonoursTombstones(@TempDir Path emptyIndex) throws Exception {
+        upload("rebuilt", "kept.txt", "kept");
+        upload("rebuilt", "removed.txt", "removed");
+        upload("rebuilt", "replaced.txt", "first");
+        upload("rebuilt", "replaced.txt", "second");
+        minioService.removeObject("rebuilt", "removed.txt");
+
+        PackingProperties properties = new PackingProperties();
+        BeanUtils.copyProperties(packingProperties, properties);
+        properties.setIndexDir(emptyIndex.toString());
+        properties.setCompactionInterval(Duration.ofHours(1));
+        PackingServiceImpl rebuilt = new PackingServiceImpl();
+        ReflectionTestUtils.setField(rebuilt, "packingProperties", properties);
+        ReflectionTestUtils.setField(rebuilt, "minioCallExecutor", minioCallExecutor);
+        ReflectionTestUtils.setField(rebuilt, "transferScheduler", transferScheduler);
+        ReflectionTestUtils.setField(rebuilt, "tracer", tracer);
+        ReflectionTestUtils.setField(rebuilt, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(rebuilt, "clientPool", clientPool);
+        rebuilt.init();
+        try {
+            assertEquals("kept", new String(rebuilt.read("rebuilt", "kept.txt"), StandardCharsets.UTF_8));
+            assertEquals("second", new String(rebuilt.read("rebuilt", "replaced.txt"), StandardCharsets.UTF_8));
+            assertNull(rebuilt.get("rebuilt", "removed.txt"));
+            PackedObject replaced = rebuilt.get("rebuilt", "replaced.txt");
+            assertEquals(DigestUtils.md5DigestAsHex(bytes("second")), replaced.getEtag());
+        } finally {
+            rebuilt.shutdown();
+        }
+    }
+
+    private void upload(String bucketName, String objectName, String content) {
+        minioService.upload(List.of(new MockMultipartFile("files", objectName, "text/plain", bytes(content))), bucketName);
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,168 @@
+package com.minio.minio_test.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minio.minio_test.exception.ConflictException;
+import com.minio.minio_test.load.LocalS3Server;
+import com.minio.minio_test.service.MinioService;
+import com.minio.minio_test.service.SpoolService;
+import com.minio.minio_test.service.StatService;
+import com.minio.minio_test.spool.SpoolEntry;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for SpoolServiceImpl.
+ * The application runs against an in-memory S3 stand-in that can hold a flush at the backend, so
+ * that a spooled upload is observed while its PUT is in flight.
+ */
+@SpringBootTest(properties = {
+        "minio.spool.enabled=true",
+        "logging.level.com.minio.minio_test=warn"
+})
+class SpoolServiceImplTests {
+
+    private static final String BUCKET = "spooled";
+
+    private static LocalS3Server s3;
+
+    private static Path spoolDirectory;
+
+    @Resource
+    private SpoolService spoolService;
+
+    @Resource
+    private MinioService minioService;
+
+    @Resource
+    private StatService statService;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void backend(DynamicPropertyRegistry registry) throws IOException {
+        s3 = LocalS3Server.start();
+        s3.createBucket(BUCKET);
+        spoolDirectory = Files.createTempDirectory("spool-tests");
+        registry.add("minio.endpoint", s3::endpoint);
+        registry.add("minio.spool.directory", spoolDirectory::toString);
+    }
+
+    @AfterAll
+    static void stopBackend() throws IOException {
+        s3.close();
+        FileSystemUtils.deleteRecursively(spoolDirectory);
+    }
+
+    @Test
+    void readsUseTheSpooledFileUntilItIsFlushed(@TempDir Path downloads) throws Exception {
+        s3.putObject(BUCKET, "report.csv", bytes("old"), "text/csv");
+        LocalS3Server.Hold hold = s3.holdPut(BUCKET, "report.csv");
+        spool("report.csv", "new");
+        hold.awaitArrival();
+        try {
+            try (InputStream in = spoolService.open(BUCKET, "report.csv")) {
+                assertNotNull(in);
+                assertEquals("new", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            Path local = downloads.resolve("report.csv");
+            minioService.downloadToLocalDisk(BUCKET, "report.csv", local.toString());
+            assertEquals("new", Files.readString(local));
+
+            JsonNode spooled = stat("report.csv");
+            assertTrue(spooled.get("found").asBoolean());
+            assertEquals("text/csv", spooled.get("contentType").asText());
+            assertTrue(spooled.get("etag").isNull());
+
+            // A URL signed now would still serve the old object
+            assertThrows(ConflictException.class, () -> minioService.getObjectUrl(BUCKET, "report.csv", 10));
+        } finally {
+            hold.release();
+        }
+
+        awaitFlushed("report.csv");
+        assertEquals("new", new String(s3.getObject(BUCKET, "report.csv"), StandardCharsets.UTF_8));
+        assertNull(spoolService.open(BUCKET, "report.csv"));
+        assertFalse(stat("report.csv").get("etag").isNull());
+        assertNotNull(minioService.getObjectUrl(BUCKET, "report.csv", 10));
+    }
+
+    @Test
+    void removalWaitsForTheFlushInFlight() throws Exception {
+        LocalS3Server.Hold hold = s3.holdPut(BUCKET, "draft.txt");
+        spool("draft.txt", "draft");
+        hold.awaitArrival();
+
+        CompletableFuture<Void> removal = CompletableFuture.runAsync(() -> minioService.removeObject(BUCKET, "draft.txt"));
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+        assertFalse(removal.isDone(), "the removal overtook the put already sent");
+
+        hold.release();
+        removal.get(10, TimeUnit.SECONDS);
+        assertNull(s3.getObject(BUCKET, "draft.txt"));
+    }
+
+    @Test
+    void newerUploadWinsOverOneBeingFlushed() throws Exception {
+        LocalS3Server.Hold hold = s3.holdPut(BUCKET, "notes.txt");
+        String first = spool("notes.txt", "first");
+        hold.awaitArrival();
+        String second = spool("notes.txt", "second");
+        hold.release();
+
+        awaitFlushed("notes.txt");
+        assertEquals("second", new String(s3.getObject(BUCKET, "notes.txt"), StandardCharsets.UTF_8));
+        assertEquals(SpoolEntry.State.SUPERSEDED, spoolService.upload(first).getState());
+        assertEquals(SpoolEntry.State.FLUSHED, spoolService.upload(second).getState());
+    }
+
+    private String spool(String objectName, String content) {
+        MockMultipartFile file = new MockMultipartFile("files", objectName,
+                objectName.endsWith(".csv") ? "text/csv" : "text/plain", bytes(content));
+        return spoolService.spool(List.of(file), BUCKET).get(0).getHandle();
+    }
+
+    private JsonNode stat(String objectName) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        statService.statObjects(BUCKET, List.of(objectName), null, response);
+        return objectMapper.readTree(response.getContentAsByteArray()).get("data").get(0);
+    }
+
+    private void awaitFlushed(String objectName) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (spoolService.get(BUCKET, objectName) != null) {
+            assertTrue(System.nanoTime() < deadline, "upload of " + objectName + " was not flushed");
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
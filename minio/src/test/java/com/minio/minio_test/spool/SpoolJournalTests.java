@@ -0,0 +1,142 @@
+package com.minio.minio_test.spool;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for SpoolJournal.
+ * Each test works on a journal in its own temporary directory and reopens it as a restart would.
+ */
+class SpoolJournalTests {
+
+    private static final int COMPACT_THRESHOLD = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private SpoolJournal journal;
+
+    @AfterEach
+    void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void reopenReturnsUnacknowledgedUploads() throws IOException {
+        journal = open(COMPACT_THRESHOLD);
+        SpoolEntry first = journal.append("h1", "bucket", "a.txt", "text/plain", 1);
+        journal.append("h2", "bucket", "b.txt", null, 2);
+        journal.append("h3", "bucket", "c.txt", "text/plain", 3);
+        journal.acknowledge(List.of(first));
+        journal.close();
+
+        List<SpoolEntry> pending = reopen(COMPACT_THRESHOLD);
+        assertEquals(List.of(2L, 3L), pending.stream().map(SpoolEntry::getSequence).toList());
+        SpoolEntry second = pending.get(0);
+        assertEquals("h2", second.getHandle());
+        assertEquals("bucket", second.getBucketName());
+        assertEquals("b.txt", second.getObjectName());
+        assertNull(second.getContentType());
+        assertEquals(2, second.getSize());
+        assertEquals(4, journal.append("h4", "bucket", "d.txt", null, 4).getSequence());
+    }
+
+    @Test
+    void tornAppendIsSkipped() throws IOException {
+        journal = open(COMPACT_THRESHOLD);
+        journal.append("h1", "bucket", "a.txt", null, 1);
+        journal.append("h2", "bucket", "b.txt", null, 2);
+        journal.close();
+        truncateMidLastLine();
+
+        List<SpoolEntry> pending = reopen(COMPACT_THRESHOLD);
+        assertEquals(List.of("a.txt"), pending.stream().map(SpoolEntry::getObjectName).toList());
+        // The torn record is gone from the rewritten journal too
+        assertEquals(1, journalLines().size());
+        assertEquals(2, journal.append("h3", "bucket", "c.txt", null, 3).getSequence());
+    }
+
+    @Test
+    void tornAcknowledgementLeavesUploadPending() throws IOException {
+        journal = open(COMPACT_THRESHOLD);
+        SpoolEntry first = journal.append("h1", "bucket", "a.txt", null, 1);
+        journal.append("h2", "bucket", "b.txt", null, 2);
+        journal.acknowledge(List.of(first));
+        journal.close();
+        truncateMidLastLine();
+
+        List<SpoolEntry> pending = reopen(COMPACT_THRESHOLD);
+        assertEquals(List.of("a.txt", "b.txt"), pending.stream().map(SpoolEntry::getObjectName).toList());
+    }
+
+    @Test
+    void compactionKeepsOnlyPendingUploads() throws IOException {
+        journal = open(4);
+        SpoolEntry first = journal.append("h1", "bucket", "a.txt", null, 1);
+        SpoolEntry second = journal.append("h2", "bucket", "b.txt", null, 2);
+        journal.append("h3", "bucket", "c.txt", null, 3);
+        assertEquals(3, journalLines().size());
+
+        // Two acknowledgements reach the threshold
+        journal.acknowledge(List.of(first, second));
+        List<String> lines = journalLines();
+        assertEquals(1, lines.size());
+        assertEquals(3, objectMapper.readTree(lines.get(0)).get("seq").asLong());
+        journal.close();
+
+        List<SpoolEntry> pending = reopen(4);
+        assertEquals(List.of("c.txt"), pending.stream().map(SpoolEntry::getObjectName).toList());
+        assertEquals(1, journal.size());
+    }
+
+    @Test
+    void appendBeforeOpenFails() {
+        journal = new SpoolJournal(directory, objectMapper, COMPACT_THRESHOLD);
+        assertThrows(IOException.class, () -> journal.append("h1", "bucket", "a.txt", null, 1));
+    }
+
+    private SpoolJournal open(int compactThreshold) throws IOException {
+        SpoolJournal opened = new SpoolJournal(directory, objectMapper, compactThreshold);
+        opened.open();
+        return opened;
+    }
+
+    private List<SpoolEntry> reopen(int compactThreshold) throws IOException {
+        journal = new SpoolJournal(directory, objectMapper, compactThreshold);
+        return journal.open();
+    }
+
+    /**
+     * Cuts the last record in half, as a crash during the write would.
+     */
+    private void truncateMidLastLine() throws IOException {
+        Path file = directory.resolve("spool.journal");
+        List<String> lines = journalLines();
+        int last = lines.get(lines.size() - 1).getBytes(StandardCharsets.UTF_8).length + 1;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - last / 2);
+        }
+    }
+
+    private List<String> journalLines() throws IOException {
+        return Files.readAllLines(directory.resolve("spool.journal"), StandardCharsets.UTF_8);
+    }
+}